@@ -0,0 +1,81 @@
+package net.sf.jclec.sbse.discovery;
+
+import net.sf.jclec.syntaxtree.SyntaxTree;
+
+/**
+ * Syntax tree created by the schema, together with
+ * the distribution of classes into components that
+ * it represents. The schema returns both elements,
+ * so it does not need to keep the last distribution
+ * and several trees can be created at the same time.
+ *
+ * <p>HISTORY:
+ * <ul>
+ * 	<li>1.0: Creation (October 2026)
+ * </ul>
+ *
+ * @author Aurora Ramirez
+ * @author Jose Raul Romero
+ * @author Sebastian Ventura
+ * @version 1.0
+ * @see Schema
+ * */
+public class GeneratedTree {
+
+	//////////////////////////////////////////////////////////////////
+	//----------------------------------------------------- Properties
+	//////////////////////////////////////////////////////////////////
+
+	/** The syntax tree */
+	private SyntaxTree tree;
+
+	/** Components assigned to each class (e.g. distribution[class]=component) */
+	private int [] distribution;
+
+	/** Number of components */
+	private int numberOfComponents;
+
+	//////////////////////////////////////////////////////////////////
+	//---------------------------------------------------- Constructor
+	//////////////////////////////////////////////////////////////////
+
+	/**
+	 * Parameterized constructor
+	 * @param tree The syntax tree
+	 * @param distribution The distribution of classes into components
+	 * @param numberOfComponents The number of components
+	 * */
+	public GeneratedTree(SyntaxTree tree, int [] distribution, int numberOfComponents){
+		this.tree = tree;
+		this.distribution = distribution;
+		this.numberOfComponents = numberOfComponents;
+	}
+
+	//////////////////////////////////////////////////////////////////
+	//------------------------------------------------ Get/set methods
+	//////////////////////////////////////////////////////////////////
+
+	/**
+	 * Get the syntax tree
+	 * @return The tree
+	 * */
+	public SyntaxTree getTree(){
+		return this.tree;
+	}
+
+	/**
+	 * Get the distribution of classes
+	 * @return The component of each class
+	 * */
+	public int [] getClassesDistribution(){
+		return this.distribution;
+	}
+
+	/**
+	 * Get the number of components
+	 * @return The number of components
+	 * */
+	public int getNumberOfComponents(){
+		return this.numberOfComponents;
+	}
+}
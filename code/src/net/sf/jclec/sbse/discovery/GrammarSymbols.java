@@ -0,0 +1,139 @@
+package net.sf.jclec.sbse.discovery;
+
+import net.sf.jclec.syntaxtree.SyntaxTreeNode;
+
+/**
+ * Codes of the symbols of the grammar that defines
+ * the component-based architectures. Each node stores
+ * the code of its symbol, so the genotype can be routed
+ * comparing integer codes instead of strings. The code
+ * of a non terminal is given by its symbol, while the
+ * code of a terminal is assigned by the species or the
+ * schema that creates it.
+ *
+ * <p>HISTORY:
+ * <ul>
+ * 	<li>1.0: Creation (October 2026)
+ * </ul>
+ *
+ * @author Aurora Ramirez
+ * @author Jose Raul Romero
+ * @author Sebastian Ventura
+ * @version 1.0
+ * @see TerminalNode
+ * @see NonTerminalNode
+ * */
+public final class GrammarSymbols {
+
+	//////////////////////////////////////////////////////////////////
+	//----------------------------------------------------- Properties
+	//////////////////////////////////////////////////////////////////
+
+	/** Symbol not defined by the grammar */
+	public static final int UNKNOWN = -1;
+
+	/** Non terminal "architecture" */
+	public static final int ARCHITECTURE = 0;
+
+	/** Non terminal "components" */
+	public static final int COMPONENTS = 1;
+
+	/** Non terminal "connectors" */
+	public static final int CONNECTORS = 2;
+
+	/** Non terminal "component" */
+	public static final int COMPONENT = 3;
+
+	/** Non terminal "connector" */
+	public static final int CONNECTOR = 4;
+
+	/** Non terminal "classes" */
+	public static final int CLASSES = 5;
+
+	/** Non terminal "required-interfaces" */
+	public static final int REQUIRED_INTERFACES = 6;
+
+	/** Non terminal "interface" */
+	public static final int INTERFACE = 7;
+
+	/** Non terminal "provided-interfaces" */
+	public static final int PROVIDED_INTERFACES = 8;
+
+	/** Non terminal "required-interface" */
+	public static final int REQUIRED_INTERFACE = 9;
+
+	/** Non terminal "provided-interface" */
+	public static final int PROVIDED_INTERFACE = 10;
+
+	/** Terminal that represents a class */
+	public static final int CLASS = 11;
+
+	/** Terminal that represents an operation (Class:operation) */
+	public static final int OPERATION = 12;
+
+	/** Terminal that represents an end of a connector (componentN-interfaceM) */
+	public static final int CONNECTOR_END = 13;
+
+	/** Names of the non terminal symbols, indexed by their code */
+	private static final String [] NON_TERMINALS = new String []{
+		"architecture", "components", "connectors", "component", "connector", "classes",
+		"required-interfaces", "interface", "provided-interfaces", "required-interface", "provided-interface"};
+
+	//////////////////////////////////////////////////////////////////
+	//---------------------------------------------------- Constructor
+	//////////////////////////////////////////////////////////////////
+
+	/**
+	 * The class only defines constants
+	 * */
+	private GrammarSymbols(){
+	}
+
+	//////////////////////////////////////////////////////////////////
+	//------------------------------------------------- Public methods
+	//////////////////////////////////////////////////////////////////
+
+	/**
+	 * Get the code of a non terminal symbol
+	 * @param symbol The symbol
+	 * @return The code, <code>UNKNOWN</code> if the
+	 * symbol is not defined by the grammar
+	 * */
+	public static int getNonTerminalCode(String symbol){
+		for(int i=0; i<NON_TERMINALS.length; i++){
+			if(NON_TERMINALS[i].equalsIgnoreCase(symbol)){
+				return i;
+			}
+		}
+		return UNKNOWN;
+	}
+
+	/**
+	 * Get the code of the symbol of a node
+	 * @param node The node
+	 * @return The code stored by the node. If the node does
+	 * not store it, the code of its symbol if it is a non
+	 * terminal, or <code>UNKNOWN</code> if it is a terminal
+	 * */
+	public static int getCode(SyntaxTreeNode node){
+		if(node instanceof NonTerminalNode){
+			return ((NonTerminalNode)node).getCode();
+		}
+		if(node instanceof TerminalNode){
+			return ((TerminalNode)node).getCode();
+		}
+		if(node.arity() != 0){
+			return getNonTerminalCode(node.getSymbol());
+		}
+		return UNKNOWN;
+	}
+
+	/**
+	 * Get the name of a non terminal symbol
+	 * @param code The code
+	 * @return The name of the symbol
+	 * */
+	public static String getName(int code){
+		return NON_TERMINALS[code];
+	}
+}
@@ -16,17 +16,23 @@ import net.sf.jclec.syntaxtree.SyntaxTreeNode;
  * will implement specific properties of the problem formulation
  * (ranking-based, multi-objective...)
  * 
+ * <p>The arrays of properties are never written in place.
+ * The setters copy the given arrays and the arrays returned
+ * by the getters must not be modified, so the copies of an
+ * individual can share them.
+ * 
  * @author Aurora Ramirez Quesada
  * @author Jose Raul Romero
  * @author Sebastian Ventura
  * 
- * @version 3.0
+ * @version 3.1
  * History:
  * <ul>
  * 	<li>1.0: Creation (January 2013)
  * 	<li>2.0: Refactoring. New properties: rankings, difSize, constraints properties. (July 2013)
  *  <li>2.1: Added methods: equals, isEquivalent, constraintViolation. (November 2013)
  *  <li>3.0: Removing ranking and specific metric properties. New class hierarchy. (December 2013)
+ *  <li>3.1: Copies share the genotype and the arrays of properties. (October 2026)
  * </ul>
  * */
 
@@ -102,6 +108,14 @@ public class Individual extends SyntaxTreeIndividual implements IConstrained{
 	/** The architecture has, at least, a pair of mutually dependent components */
 	private boolean hasPairMutuallyDep;
 
+	// Duplicate detection
+
+	/** Canonical hash of the classes distribution */
+	private transient long architectureHash;
+
+	/** The canonical hash has been computed */
+	private transient boolean hasArchitectureHash;
+
 	//////////////////////////////////////////////////////////////////
 	//--------------------------------------------------- Constructors
 	//////////////////////////////////////////////////////////////////
@@ -119,6 +133,49 @@ public class Individual extends SyntaxTreeIndividual implements IConstrained{
 		setInterfaceDependencies();		// Locate provided/required dependencies
 	}
 
+	/**
+	 * Constructor for subclasses that store the genotype
+	 * in other representation. The properties are not
+	 * computed, they should be set by the subclass.
+	 * */
+	protected Individual(){
+		super((SyntaxTree)null);
+		this.phenotype = null;
+	}
+
+	/**
+	 * Constructor for copies. The copy shares the genotype,
+	 * the phenotype and the arrays of properties of the other
+	 * individual. They are never modified in place, the setters
+	 * replace the arrays, so sharing them is safe. The fitness
+	 * is not copied.
+	 * @param other The individual to be copied
+	 * */
+	protected Individual(Individual other){
+		super(other.genotype);
+		this.phenotype = other.phenotype;
+		this.numberOfComponents = other.numberOfComponents;
+		this.numberOfConnectors = other.numberOfConnectors;
+		this.numberOfClasses = other.numberOfClasses;
+		this.numberOfGroups = other.numberOfGroups;
+		this.distribution = other.distribution;
+		this.classesToGroups = other.classesToGroups;
+		this.numberOfAssoc = other.numberOfAssoc;
+		this.numberOfCompos = other.numberOfCompos;
+		this.numberOfDepen = other.numberOfDepen;
+		this.numberOfAggreg = other.numberOfAggreg;
+		this.numberOfGener = other.numberOfGener;
+		this.numberOfExtConnections = other.numberOfExtConnections;
+		this.numberOfProvided = other.numberOfProvided;
+		this.numberOfRequired = other.numberOfRequired;
+		this.numberOfAbstractClasses = other.numberOfAbstractClasses;
+		this.numberOfDistinctTypes = other.numberOfDistinctTypes;
+		this.hasIsolated = other.hasIsolated;
+		this.hasPairMutuallyDep = other.hasPairMutuallyDep;
+		this.architectureHash = other.architectureHash;
+		this.hasArchitectureHash = other.hasArchitectureHash;
+	}
+
 	/**
 	 * Constructor that sets individual genotype and fitness
 	 * @param genotype: Individual genotype
@@ -151,7 +208,7 @@ public class Individual extends SyntaxTreeIndividual implements IConstrained{
 	public String toString(){
 
 		StringBuffer buffer = new StringBuffer();
-		buffer.append("\n\n"+this.phenotype);
+		buffer.append("\n\n"+getPhenotype());
 		buffer.append("\n#components: " + this.numberOfComponents);
 		buffer.append("\n#connectors: " + this.numberOfConnectors);
 
@@ -189,28 +246,41 @@ public class Individual extends SyntaxTreeIndividual implements IConstrained{
 	//////////////////////////////////////////////////////////////////
 
 	/**
-	 * Get phenotype.
+	 * Get phenotype. If it was released,
+	 * it is translated again from the genotype.
 	 * @return The individual phenotype.
 	 * */
 	public String getPhenotype(){
+		if(this.phenotype == null)
+			setPhenotypefromGenotype();
 		return this.phenotype;
 	}
 
+	/**
+	 * Release the phenotype, it will be translated
+	 * from the genotype when it is requested.
+	 * */
+	protected void releasePhenotype(){
+		this.phenotype = null;
+	}
+
 	/**
 	 * Translate the genotype into a phenotype.
 	 * */
 	public void setPhenotypefromGenotype(){
 		StringBuffer buffer = new StringBuffer();
-		int iSize = this.genotype.size();
+		SyntaxTree genotype = this.getGenotype();
+		int iSize = genotype.size();
 
 		buffer.append("\narchitecture: \n");
 		for(int i=1; i<iSize; i++){
-			SyntaxTreeNode oNode = this.genotype.getNode(i);
-			if(oNode.getSymbol().equalsIgnoreCase("components"))
+			SyntaxTreeNode oNode = genotype.getNode(i);
+			int code = GrammarSymbols.getCode(oNode);
+			if(code == GrammarSymbols.COMPONENTS)
 				buffer.append("\t");
-			else if(oNode.getSymbol().equalsIgnoreCase("component"))
+			else if(code == GrammarSymbols.COMPONENT)
 				buffer.append("\t\t");
-			else if(oNode.getSymbol().equalsIgnoreCase("classes"))
+			else if(code == GrammarSymbols.CLASSES)
 				buffer.append("\t\t\t");
 			else if(oNode.arity()==0){ 
 				if(!oNode.getSymbol().contains(":"))	// Terminal node (class or connector)
@@ -220,11 +290,11 @@ public class Individual extends SyntaxTreeIndividual implements IConstrained{
 			}
 			else if(oNode.arity()!=0 && oNode.getSymbol().contains("-interface"))
 				buffer.append("\t\t\t");
-			else if(oNode.getSymbol().equalsIgnoreCase("interface"))
+			else if(code == GrammarSymbols.INTERFACE)
 				buffer.append("\t\t\t\t");
-			else if(oNode.getSymbol().equalsIgnoreCase("connectors"))
+			else if(code == GrammarSymbols.CONNECTORS)
 				buffer.append("\t");
-			else if(oNode.getSymbol().equalsIgnoreCase("connector"))
+			else if(code == GrammarSymbols.CONNECTOR)
 				buffer.append("\t\t");
 
 			buffer.append(oNode.getSymbol() + "\n");
@@ -253,6 +323,11 @@ public class Individual extends SyntaxTreeIndividual implements IConstrained{
 	 * */
 	public boolean isEquivalent(Individual other){	
 
+		// Different canonical hashes imply different architectural models
+		if(getArchitectureHash() != other.getArchitectureHash()){
+			return false;
+		}
+
 		// Check general properties: type of solution and fitness
 		EqualsBuilder eb = new EqualsBuilder();
 		eb.append(this.numberOfComponents, other.numberOfComponents);
@@ -272,6 +347,33 @@ public class Individual extends SyntaxTreeIndividual implements IConstrained{
 		}
 	}
 
+	/**
+	 * Get the canonical hash of the architectural model. The
+	 * components are renamed in the order given by their first
+	 * class, so two individuals that only differ in the order of
+	 * their components have the same hash. Equivalent individuals
+	 * always have the same hash, so different hashes allow
+	 * discarding the equivalence without comparing the distributions.
+	 * @return The 64-bit hash of the classes distribution
+	 * */
+	public long getArchitectureHash(){
+		if(!this.hasArchitectureHash){
+			int [] labels = new int[this.distribution.length];
+			int next = 0, component;
+			long hash = this.distribution.length;
+			for(int i=0; i<this.distribution.length; i++){
+				component = this.distribution[i];
+				if(labels[component] == 0){
+					labels[component] = ++next;
+				}
+				hash = mix(hash*0x9E3779B97F4A7C15L + labels[component]);
+			}
+			this.architectureHash = hash;
+			this.hasArchitectureHash = true;
+		}
+		return this.architectureHash;
+	}
+
 	//////////////////////////////////////////////////////////////////
 	//-------------------------------- Public getters/setters methods
 	//////////////////////////////////////////////////////////////////
@@ -328,6 +430,8 @@ public class Individual extends SyntaxTreeIndividual implements IConstrained{
 	/**
 	 * Set number of groups (graph connected components)
 	 * in each component.
+	 * <p>The array is copied, so the array shared
+	 * with the copies of the individual is not modified.
 	 * @param numOfGroups: The array with the number of groups
 	 * */
 	public void setNumberOfGroups(int [] numOfGroups) {
@@ -356,6 +460,8 @@ public class Individual extends SyntaxTreeIndividual implements IConstrained{
 
 	/**
 	 * Set the number of classes in each component
+	 * <p>The array is copied, so the array shared
+	 * with the copies of the individual is not modified.
 	 * @param numOfClasses: Array with the number of classes in each component
 	 * */
 	public void setNumberOfClasses(int [] numOfClasses){
@@ -376,6 +482,8 @@ public class Individual extends SyntaxTreeIndividual implements IConstrained{
 
 	/**
 	 * Get the classes distribution
+	 * <p>The array is shared with the copies
+	 * of the individual, it must not be modified.
 	 * @return classesDistribution: The classes distribution
 	 * */
 	public int [] getClassesDistribution() {
@@ -384,6 +492,8 @@ public class Individual extends SyntaxTreeIndividual implements IConstrained{
 
 	/**
 	 * Set the classes distribution
+	 * <p>The array is copied, so the array shared
+	 * with the copies of the individual is not modified.
 	 * @param classesDistribution: The classes distribution
 	 * */
 	public void setClassesDistribution(int [] classesDistribution) {
@@ -391,6 +501,7 @@ public class Individual extends SyntaxTreeIndividual implements IConstrained{
 		this.distribution = new int[size];
 		for(int i=0; i<size; i++)
 			this.distribution[i] = classesDistribution[i];
+		this.hasArchitectureHash = false;
 	}
 
 	/**
@@ -412,6 +523,8 @@ public class Individual extends SyntaxTreeIndividual implements IConstrained{
 
 	/**
 	 * Set the groups of classes
+	 * <p>The array is copied, so the array shared
+	 * with the copies of the individual is not modified.
 	 * @param classesGroups: The groups of classes
 	 * */
 	public void setClassesToGroups(int [] classesGroups) {
@@ -433,6 +546,8 @@ public class Individual extends SyntaxTreeIndividual implements IConstrained{
 
 	/**
 	 * Set the number of associations in each component.
+	 * <p>The array is copied, so the array shared
+	 * with the copies of the individual is not modified.
 	 * @param numAssociations: The array with the number of associations
 	 * */
 	public void setAssociations(int [] numAssociations){
@@ -454,6 +569,8 @@ public class Individual extends SyntaxTreeIndividual implements IConstrained{
 
 	/**
 	 * Set number of dependences in each component.
+	 * <p>The array is copied, so the array shared
+	 * with the copies of the individual is not modified.
 	 * @param numDependences: The array with the number of dependences
 	 * */
 	public void setDependences(int [] numDependences){
@@ -475,6 +592,8 @@ public class Individual extends SyntaxTreeIndividual implements IConstrained{
 
 	/**
 	 * Set number of aggregations in each component.
+	 * <p>The array is copied, so the array shared
+	 * with the copies of the individual is not modified.
 	 * @param numAggregations: The array with the number of aggregations
 	 * */
 	public void setAggregations(int [] numAggregations){
@@ -496,6 +615,8 @@ public class Individual extends SyntaxTreeIndividual implements IConstrained{
 
 	/**
 	 * Set number of composition relations in each component.
+	 * <p>The array is copied, so the array shared
+	 * with the copies of the individual is not modified.
 	 * @param numCompositions: The array with the number of compositions
 	 * */
 	public void setCompositions(int [] numCompositions){
@@ -517,6 +638,8 @@ public class Individual extends SyntaxTreeIndividual implements IConstrained{
 
 	/**
 	 * Set number of generalizations in each component.
+	 * <p>The array is copied, so the array shared
+	 * with the copies of the individual is not modified.
 	 * @param numGeneralizations: The array with the number of generalizations
 	 * */
 	public void setGeneralizations(int [] numGeneralizations){
@@ -529,6 +652,8 @@ public class Individual extends SyntaxTreeIndividual implements IConstrained{
 	/**
 	 * Get the number of external relations in
 	 * each component
+	 * <p>The array is shared with the copies
+	 * of the individual, it must not be modified.
 	 * @return The array with the number of external connections
 	 * */
 	public int [] getExternalConnections(){
@@ -537,6 +662,8 @@ public class Individual extends SyntaxTreeIndividual implements IConstrained{
 
 	/**
 	 * Set number of external connections in each component.
+	 * <p>The array is copied, so the array shared
+	 * with the copies of the individual is not modified.
 	 * @param externalConnections: The array with the number of external connections
 	 * */
 	public void setExternalConnections(int [] externalConnections) {
@@ -568,6 +695,8 @@ public class Individual extends SyntaxTreeIndividual implements IConstrained{
 
 	/**
 	 * Set the number of provided interfaces
+	 * <p>The array is copied, so the array shared
+	 * with the copies of the individual is not modified.
 	 * @param numOfProvided: The number of provided interfaces
 	 * */
 	public void setNumberOfProvided(int [] numOfProvided) {
@@ -598,6 +727,8 @@ public class Individual extends SyntaxTreeIndividual implements IConstrained{
 
 	/**
 	 * Set the number of required interfaces
+	 * <p>The array is copied, so the array shared
+	 * with the copies of the individual is not modified.
 	 * @param numberOfRequired: The number of required interfaces
 	 * */
 	public void setNumberOfRequired(int [] numberOfRequired) {
@@ -609,6 +740,8 @@ public class Individual extends SyntaxTreeIndividual implements IConstrained{
 
 	/**
 	 * Set the number of abstract classes in each component
+	 * <p>The array is copied, so the array shared
+	 * with the copies of the individual is not modified.
 	 * @param numberOfAbstract Number of abstract classes
 	 * */
 	public void setNumberOfAbstractClasses(int [] numberOfAbstract) {
@@ -620,6 +753,8 @@ public class Individual extends SyntaxTreeIndividual implements IConstrained{
 
 	/**
 	 * Get the number of abstract classes
+	 * <p>The array is shared with the copies
+	 * of the individual, it must not be modified.
 	 * @return Number of abstract classes per component
 	 * */
 	public int [] getNumberOfAbstractClasses(){
@@ -628,6 +763,8 @@ public class Individual extends SyntaxTreeIndividual implements IConstrained{
 
 	/**
 	 * Set the number of distinct data types per component
+	 * <p>The array is copied, so the array shared
+	 * with the copies of the individual is not modified.
 	 * @param numberOfDataTypes Number of data types
 	 * */
 	public void setNumberOfDataTypes(int [] numberOfDataTypes) {
@@ -640,6 +777,8 @@ public class Individual extends SyntaxTreeIndividual implements IConstrained{
 	/**
 	 * Get the number of different data types
 	 * in each component
+	 * <p>The array is shared with the copies
+	 * of the individual, it must not be modified.
 	 * @return Number of data types per component
 	 * */
 	public int [] getNumberOfDataTypes(){
@@ -723,7 +862,7 @@ public class Individual extends SyntaxTreeIndividual implements IConstrained{
 		// Search for component symbols
 		int size = this.getGenotype().size();
 		for(int i=0; i<size; i++)
-			if(this.getGenotype().getNode(i).getSymbol().equalsIgnoreCase("component"))
+			if(GrammarSymbols.getCode(this.getGenotype().getNode(i)) == GrammarSymbols.COMPONENT)
 				this.numberOfComponents++;
 	}
 
@@ -735,7 +874,7 @@ public class Individual extends SyntaxTreeIndividual implements IConstrained{
 		// Search for connector symbols
 		int size = this.getGenotype().size();
 		for(int i=0; i<size; i++)
-			if(this.getGenotype().getNode(i).getSymbol().equalsIgnoreCase("connector"))
+			if(GrammarSymbols.getCode(this.getGenotype().getNode(i)) == GrammarSymbols.CONNECTOR)
 				this.numberOfConnectors++;
 	}
 
@@ -758,18 +897,20 @@ public class Individual extends SyntaxTreeIndividual implements IConstrained{
 
 			// Non terminal node
 			if(genotype.getNode(i).arity()!=0){
+				switch(GrammarSymbols.getCode(genotype.getNode(i))){
 				// The symbol classes indicates the beginning of a new component
-				if(symbol.equalsIgnoreCase("classes")){
+				case GrammarSymbols.CLASSES:
 					isInterface=false;
 					actualCmp++;
 					componentNumRequired[actualCmp] = 0;
 					componentNumProvided[actualCmp] = 0;
-				}
-				else if(symbol.equalsIgnoreCase("required-interfaces")){
+					break;
+				case GrammarSymbols.REQUIRED_INTERFACES:
 					isInterface=true;
-				}
-				else if(symbol.equalsIgnoreCase("connectors")){
+					break;
+				case GrammarSymbols.CONNECTORS:
 					isConnector=true;
+					break;
 				}
 			}
 			// Terminal node
@@ -818,18 +959,19 @@ public class Individual extends SyntaxTreeIndividual implements IConstrained{
 			symbol = genotype.getNode(i).getSymbol();
 			// Non terminal node
 			if(genotype.getNode(i).arity()!=0){
-
+				switch(GrammarSymbols.getCode(genotype.getNode(i))){
 				// The beginning of a new component
-				if(symbol.equalsIgnoreCase("component")){
+				case GrammarSymbols.COMPONENT:
 					isInterface=false;
 					actualCmp++;
-				}
+					break;
 				// The beginning of a new set of interfaces		
-				if(symbol.equalsIgnoreCase("required-interfaces")){
+				case GrammarSymbols.REQUIRED_INTERFACES:
 					isInterface=true;
-				}
-				else if(symbol.equalsIgnoreCase("connectors")){
+					break;
+				case GrammarSymbols.CONNECTORS:
 					isConnector=true;
+					break;
 				}
 			}
 			// Terrminal node
@@ -849,11 +991,11 @@ public class Individual extends SyntaxTreeIndividual implements IConstrained{
 						while(!found){
 
 							String otherSymbol = genotype.getNode(j).getSymbol();
-							if(otherSymbol.equalsIgnoreCase("component")){
+							if(GrammarSymbols.getCode(genotype.getNode(j)) == GrammarSymbols.COMPONENT){
 								otherCmp++;
 								isOtherInterface=false;
 							}
-							else if(genotype.getNode(j-1).getSymbol().equalsIgnoreCase("provided-interfaces"))
+							else if(GrammarSymbols.getCode(genotype.getNode(j-1)) == GrammarSymbols.PROVIDED_INTERFACES)
 								isOtherInterface=true;
 
 							if(otherCmp!=actualCmp && isOtherInterface){
@@ -910,6 +1052,18 @@ public class Individual extends SyntaxTreeIndividual implements IConstrained{
 		return equivalent;
 	}
 
+	/**
+	 * Mix the bits of a hash value (finalizer of SplitMix64)
+	 * @param value The value
+	 * @return The mixed value
+	 * */
+	public static long mix(long value){
+		long z = value;
+		z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+		z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+		return z ^ (z >>> 31);
+	}
+
 	// TODO Do nothing, the conditions are checked by the individual itself
 	@Override
 	public void setFeasible(boolean feasible) {
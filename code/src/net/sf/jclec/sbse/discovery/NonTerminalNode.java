@@ -9,12 +9,13 @@ import net.sf.jclec.syntaxtree.SyntaxTreeNode;
  * <ul>
  * 	<li>1.0: Creation (January 2013)
  * 	<li>2.0: Refactoring (July 2013)
+ * 	<li>2.1: Code of the symbol (October 2026)
  * </ul>
  * 
  * @author Aurora Ramirez Quesada
  * @author Jose Raul Romero
  * @author Sebastian Ventura
- * @version 2.0
+ * @version 2.1
  * */
 public class NonTerminalNode extends SyntaxTreeNode {
 
@@ -28,6 +29,9 @@ public class NonTerminalNode extends SyntaxTreeNode {
 	/** List of simplex elements in which the element can be decomposed */
 	private String [] elements;
 
+	/** Code of the symbol */
+	private int code;
+
 	//////////////////////////////////////////////////////////////////
 	//--------------------------------------------------- Constructors
 	//////////////////////////////////////////////////////////////////
@@ -40,6 +44,7 @@ public class NonTerminalNode extends SyntaxTreeNode {
 	public NonTerminalNode(String symbol, String [] elements){
 		super(symbol);
 		this.elements = elements;
+		this.code = GrammarSymbols.getNonTerminalCode(symbol);
 	}
 
 	//////////////////////////////////////////////////////////////////
@@ -76,4 +81,20 @@ public class NonTerminalNode extends SyntaxTreeNode {
 	public String [] getElements(){
 		return this.elements;
 	}
+
+	/**
+	 * Get the code of the symbol.
+	 * @return The code defined in <code>GrammarSymbols</code>.
+	 * */
+	public int getCode(){
+		return this.code;
+	}
+
+	/**
+	 * Set the code of the symbol.
+	 * @param code The code defined in <code>GrammarSymbols</code>.
+	 * */
+	public void setCode(int code){
+		this.code = code;
+	}
 }
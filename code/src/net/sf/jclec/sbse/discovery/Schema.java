@@ -15,12 +15,13 @@ import net.sf.jclec.util.random.IRandGen;
  * <ul>
  * 	<li>1.0: Creation (January 2013)
  * 	<li>2.0: Refactoring (July 2013)
+ * 	<li>2.1: Reentrant creation of trees (October 2026)
  * </ul>
  * 
  * @author Aurora Ramirez Quesada
  * @author Jose Raul Romero
  * @author Sebastian Ventura
- * @version 2.0
+ * @version 2.1
  * */
 public class Schema implements JCLEC {
 
@@ -49,9 +50,6 @@ public class Schema implements JCLEC {
 	/** Number of classes */
 	protected int numberOfClasses;
 
-	/** Components assigned to each class (e.g. distribution[class]=component) */
-	protected int [] distribution;
-
 	/** Terminal symbols map */
 	protected transient HashMap<String, TerminalNode> terminalsMap;
 
@@ -80,6 +78,13 @@ public class Schema implements JCLEC {
 	public void setTerminals(TerminalNode[] terminalNodes) {
 		// Set terminal symbols
 		this.terminals = terminalNodes;
+		// Set the index of the classes
+		int classIndex;
+		for(TerminalNode terminal: this.terminals){
+			classIndex = getClassIndex(terminal.getSymbol());
+			if(classIndex != -1)
+				terminal.setClassIndex(classIndex);
+		}
 		// Set terminal symbols map
 		setTerminalsMap();
 	}
@@ -92,6 +97,17 @@ public class Schema implements JCLEC {
 		return this.terminals;
 	}
 	
+	/**
+	 * Get the index of the class represented by a terminal
+	 * symbol. To be refined by the schemas that know the
+	 * relationships between classes.
+	 * @param symbol The terminal symbol.
+	 * @return The class index, -1 if it is unknown.
+	 * */
+	protected int getClassIndex(String symbol){
+		return -1;
+	}
+
 	/**
 	 * Set all the non terminal symbols.
 	 * @param nonTerminals Non terminal symbols.
@@ -99,6 +115,9 @@ public class Schema implements JCLEC {
 	public void setNonTerminals(NonTerminalNode[] nonTerminals) {
 		// Set non-terminal symbols
 		this.nonTerminals = nonTerminals;
+		// Set the code of each symbol
+		for(NonTerminalNode nonTerminal: this.nonTerminals)
+			nonTerminal.setCode(GrammarSymbols.getNonTerminalCode(nonTerminal.getSymbol()));
 		// Set non-terminal symbols map
 		setNonTerminalsMap();
 	}
@@ -194,34 +213,29 @@ public class Schema implements JCLEC {
 		return nonTerminalsMap.get(symbol);
 	}
 	
-	public int[] getClassesDistribution(){
-		return this.distribution;
-	}
-	
 	/**
-	 * Create new components model tree
+	 * Create new components model tree. The schema does not
+	 * store any information about the tree, so several trees
+	 * can be created at the same time by different threads.
 	 * @param numberOfComponents Number of components to be included in the tree
 	 * @param randgen The random object
-	 * @return A new SyntaxTree containing the components model
+	 * @return The new tree containing the components model
+	 * and the random distribution of classes it represents
 	 * */
-	public SyntaxTree createSyntaxTree(int numberOfComponents, IRandGen randgen){
-
-		SyntaxTree tree = new SyntaxTree();
+	public GeneratedTree createSyntaxTree(int numberOfComponents, IRandGen randgen){
 
 		// Generate the random distribution of classes
-		createClassesDistribution(numberOfComponents, randgen);
+		int [] distribution = createClassesDistribution(numberOfComponents, randgen);
 
 		// Start expanding the tree
-		fillSyntaxBranch(tree, this.rootSymbol, numberOfComponents);
+		SyntaxTree tree = createSyntaxTree(numberOfComponents, distribution);
 
-		return tree;
+		return new GeneratedTree(tree, distribution, numberOfComponents);
 	}
 	
 	/**
 	 * Create new components model tree
-	 * @param numberOfComp Number of components to be included in the tree
-	 * @param oDataset The dataset with class model information
-	 * @param randgen The random object
+	 * @param numberOfComponents Number of components to be included in the tree
 	 * @param distribution The classes distribution
 	 * @return A new SyntaxTree containing the components model
 	 * */
@@ -229,13 +243,8 @@ public class Schema implements JCLEC {
 
 		SyntaxTree tree = new SyntaxTree();
 		
-		// Set the class distribution
-		this.distribution = new int[distribution.length];
-		for(int i=0; i<distribution.length; i++)
-			this.distribution[i] = distribution[i];
-		
 		// Start expanding the tree
-		fillSyntaxBranch(tree, this.rootSymbol, numberOfComponents);
+		fillSyntaxBranch(tree, this.rootSymbol, numberOfComponents, distribution, numberOfComponents);
 
 		return tree;
 	}
@@ -245,8 +254,10 @@ public class Schema implements JCLEC {
 	 * @param tree The tree
 	 * @param symbol The actual symbol
 	 * @param numberOfComp The number of components to generate. For classes symbol, it represent the number of his component.
+	 * @param distribution The classes distribution
+	 * @param numberOfComponents The number of components of the tree
 	 * */
-	public void fillSyntaxBranch(SyntaxTree tree, String symbol, int numberOfComp) {
+	public void fillSyntaxBranch(SyntaxTree tree, String symbol, int numberOfComp, int [] distribution, int numberOfComponents) {
 		// Terminal, add node
 		if (isTerminal(symbol)) {
 			tree.addNode(getTerminal(symbol));
@@ -266,35 +277,37 @@ public class Schema implements JCLEC {
 				int numberOfElements = nonTerminal.arity();
 				if(numberOfElements>0){
 					for (int i=0; i<numberOfElements; i++)
-						fillSyntaxBranch(tree, nonTerminal.getElements()[i], numberOfComp);
+						fillSyntaxBranch(tree, nonTerminal.getElements()[i], numberOfComp, distribution, numberOfComponents);
 				}
 
 				// The non terminal requires a dynamically decomposition
 				else{
+					switch(nonTerminal.getCode()){
 					// If the symbol is "components", expand the number of components
-					if(nonTerminal.getSymbol().equalsIgnoreCase("components")){
+					case GrammarSymbols.COMPONENTS:
 						for(int i=0; i<numberOfComp; i++)
-							fillSyntaxBranch(tree, "component", i);
-					}
+							fillSyntaxBranch(tree, "component", i, distribution, numberOfComponents);
+						break;
 
 					// If the symbol is "classes", add the classes assigned to component "iNumOfComp"
-					else if(nonTerminal.getSymbol().equalsIgnoreCase("classes")){
-						setClassesInComponent(tree, numberOfComp);
-					}
+					case GrammarSymbols.CLASSES:
+						setClassesInComponent(tree, numberOfComp, distribution);
+						break;
 
 					// If the symbol is "required_interfaces", add the interfaces required by classes of the actual component
-					else if (nonTerminal.getSymbol().equalsIgnoreCase("required-interfaces")){
-						setRequiredInterfaces(tree, numberOfComp);
-					}
+					case GrammarSymbols.REQUIRED_INTERFACES:
+						setRequiredInterfaces(tree, numberOfComp, distribution);
+						break;
 
 					// If the symbol is "provided_interfaces", add the interfaces provided by classes of the actual component
-					else if (nonTerminal.getSymbol().equalsIgnoreCase("provided-interfaces")){
-						setProvidedInterfaces(tree, numberOfComp);
-					}
+					case GrammarSymbols.PROVIDED_INTERFACES:
+						setProvidedInterfaces(tree, numberOfComp, distribution);
+						break;
 
 					// If the symbol is "connectors", generate the required connectors using interfaces information
-					else if(nonTerminal.getSymbol().equalsIgnoreCase("connectors")){
+					case GrammarSymbols.CONNECTORS:
 						setConnectors(tree, numberOfComp);
+						break;
 					}
 				}
 			}
@@ -420,10 +433,11 @@ public class Schema implements JCLEC {
 
 	/**
 	 * Generate a random distribution of classes
-	 * @param iNumComp The number of components
+	 * @param numberOfComponents The number of components
 	 * @param rand The random object
+	 * @return The component assigned to each class
 	 * */
-	protected void createClassesDistribution(int numberOfComponents, IRandGen rand){
+	protected int [] createClassesDistribution(int numberOfComponents, IRandGen rand){
 
 		// Set classes
 		ArrayList<Integer> rgoClasses = new ArrayList<Integer>(this.numberOfClasses);
@@ -432,35 +446,37 @@ public class Schema implements JCLEC {
 		}
 
 		// Initialize components distribution
-		this.distribution = new int[this.numberOfClasses];
+		int [] distribution = new int[this.numberOfClasses];
 		int i, index;
 		for(i=0; i<this.numberOfClasses; i++)
-			this.distribution[i] = -1;
+			distribution[i] = -1;
 
 		// First, assign one class to each component, without repeating classes
 		for(i=0; i<numberOfComponents; i++){
 			index = rand.choose(0, rgoClasses.size());
-			this.distribution[rgoClasses.get(index)] = i;
+			distribution[rgoClasses.get(index)] = i;
 			rgoClasses.remove(index);
 		}
 
 		// Then, assign the rest of classes
 		for(i=0; i<this.numberOfClasses; i++){
-			if(this.distribution[i] == -1){
+			if(distribution[i] == -1){
 				index = rand.choose(0, numberOfComponents);
-				this.distribution[i] = index;
+				distribution[i] = index;
 			}
 		}
+		return distribution;
 	}
 
 	/**
 	 * Add the nodes that represent the classes belonging to a component
 	 * @param tree The model tree
 	 * @param component The actual component
+	 * @param distribution The classes distribution
 	 * */
-	private void setClassesInComponent(SyntaxTree tree, int component) {
+	private void setClassesInComponent(SyntaxTree tree, int component, int [] distribution) {
 		for(int i=0; i<this.numberOfClasses; i++){
-			if(this.distribution[i]==component){
+			if(distribution[i]==component){
 				tree.addNode(this.terminals[i]);
 			}
 		}
@@ -470,15 +486,16 @@ public class Schema implements JCLEC {
 	 * Add the nodes that represent the component required interfaces
 	 * @param tree The model tree
 	 * @param component The actual component
+	 * @param distribution The classes distribution
 	 * */
-	private void setRequiredInterfaces(SyntaxTree tree, int component) {
+	private void setRequiredInterfaces(SyntaxTree tree, int component, int [] distribution) {
 		int numberOffInterfaces = this.terminals.length-this.numberOfClasses;
 		for(int i=0; i<numberOffInterfaces; i++){
 			for(int j=0; j<this.numberOfClasses; j++){
 				for(int k=0; k<this.numberOfClasses; k++){
 					// Check relations between classes from different components
-					if(this.distribution[j]==component && 
-							this.distribution[j]!=this.distribution[k] &&
+					if(distribution[j]==component && 
+							distribution[j]!=distribution[k] &&
 							this.terminals[i+this.numberOfClasses].getSymbol().equalsIgnoreCase(this.terminals[j].getSymbol()+"_req_"+this.terminals[k])){
 						tree.addNode(this.terminals[i+this.numberOfClasses]);
 					}
@@ -491,15 +508,16 @@ public class Schema implements JCLEC {
 	 * Add the nodes that represent the component provided interfaces
 	 * @param tree The model tree
 	 * @param iComp The actual component
+	 * @param distribution The classes distribution
 	 * */
-	private void setProvidedInterfaces(SyntaxTree tree, int component) {
+	private void setProvidedInterfaces(SyntaxTree tree, int component, int [] distribution) {
 		int numberOfInterfaces = this.terminals.length-this.numberOfClasses;
 		for(int i=0; i<numberOfInterfaces; i++){
 			for(int j=0; j<this.numberOfClasses; j++){
 				for(int k=0; k<this.numberOfClasses; k++){
 					// Check relations between classes from different components
-					if(this.distribution[j]==component && 
-							this.distribution[j]!=this.distribution[k] &&
+					if(distribution[j]==component && 
+							distribution[j]!=distribution[k] &&
 							this.terminals[i+this.numberOfClasses].getSymbol().equalsIgnoreCase(this.terminals[j].getSymbol()+"_prov_"+this.terminals[k])){
 						tree.addNode(this.terminals[i+this.numberOfClasses]);
 					}
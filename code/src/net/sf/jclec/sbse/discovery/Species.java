@@ -65,6 +65,17 @@ public abstract class Species implements ISpecies{
 	 * */
 	public abstract SyntaxTreeIndividual createIndividual(SyntaxTree genotype);
 
+	/**
+	 * Create new individual whose distribution of
+	 * classes into components is already known.
+	 * @param genotype Individual genotype.
+	 * @param distribution The component of each class.
+	 * @return A new individual with the given genotype.
+	 * */
+	public SyntaxTreeIndividual createIndividual(SyntaxTree genotype, int [] distribution){
+		return createIndividual(genotype);
+	}
+
 	/**
 	 * Set the model constraints
 	 * @param minNumOfComp Minimum number of components.
@@ -133,7 +144,7 @@ public abstract class Species implements ISpecies{
 		// Set the class names as terminal nodes
 		for(int i=0; i<numCols; i++){
 			column = (MultiIntegerColumn) this.dataset.getColumn(i);
-			terminalsList.add(new TerminalNode(column.getName()));
+			terminalsList.add(new TerminalNode(column.getName(), GrammarSymbols.CLASS));
 		}
 
 		// Set the possible interfaces as terminal nodes
@@ -169,13 +180,13 @@ public abstract class Species implements ISpecies{
 
 						// Exist a unidirectional relation (class i -> class j), so class i needs class j
 						if(!isCandidateReq && navValue_ij == 0 && navValue_ji == 1){
-							terminalsList.add(new TerminalNode(column.getName() + "_req_" + this.dataset.getColumn(j).getName()));
+							terminalsList.add(new TerminalNode(column.getName() + "_req_" + this.dataset.getColumn(j).getName(), GrammarSymbols.OPERATION));
 							isCandidateReq=true;
 						}
 
 						// Exist a unidirectional relation (class i <- class j), so class i provides class j
 						if (!isCandidateProv && navValue_ij == 1 && navValue_ji == 0){
-							terminalsList.add(new TerminalNode(column.getName() + "_prov_" + this.dataset.getColumn(j).getName()));
+							terminalsList.add(new TerminalNode(column.getName() + "_prov_" + this.dataset.getColumn(j).getName(), GrammarSymbols.OPERATION));
 							isCandidateProv=true;
 						}
 					}
@@ -9,12 +9,13 @@ import net.sf.jclec.syntaxtree.SyntaxTreeNode;
  * <ul>
  * 	<li>1.0: Creation (January 2013)
  * 	<li>2.0: Refactoring (July 2013)
+ * 	<li>2.1: Code of the symbol and class index (October 2026)
  * </ul>
  * 
  * @author Aurora Ramirez Quesada
  * @author Jose Raul Romero
  * @author Sebastian Ventura
- * @version 2.0
+ * @version 2.1
  * */
 public class TerminalNode extends SyntaxTreeNode{
 
@@ -25,16 +26,45 @@ public class TerminalNode extends SyntaxTreeNode{
 	/** Generated by Eclipse */
 	private static final long serialVersionUID = -1773428801569234148L;
 
+	/** Code of the symbol */
+	private int code;
+
+	/** Index of the class, -1 if the node does not represent a class */
+	private int classIndex = -1;
+
 	//////////////////////////////////////////////////////////////////
 	//--------------------------------------------------- Constructors
 	//////////////////////////////////////////////////////////////////
 
 	/**
-	 * Parameterised constructor.
+	 * Parameterised constructor. The code of
+	 * the symbol is unknown.
 	 * @param symbol The node symbol.
 	 * */
 	public TerminalNode(String symbol){
+		this(symbol, GrammarSymbols.UNKNOWN, -1);
+	}
+
+	/**
+	 * Parameterised constructor.
+	 * @param symbol The node symbol.
+	 * @param code The code of the symbol.
+	 * */
+	public TerminalNode(String symbol, int code){
+		this(symbol, code, -1);
+	}
+
+	/**
+	 * Parameterised constructor.
+	 * @param symbol The node symbol.
+	 * @param code The code of the symbol.
+	 * @param classIndex The index of the class, -1 if the
+	 * node does not represent a class.
+	 * */
+	public TerminalNode(String symbol, int code, int classIndex){
 		super(symbol);
+		this.code = code;
+		this.classIndex = classIndex;
 	}
 
 	//////////////////////////////////////////////////////////////////
@@ -53,7 +83,7 @@ public class TerminalNode extends SyntaxTreeNode{
 
 	@Override
 	public SyntaxTreeNode copy() {
-		TerminalNode newElement = new TerminalNode(this.getSymbol());
+		TerminalNode newElement = new TerminalNode(this.getSymbol(), this.code, this.classIndex);
 		return newElement;
 	}
 	
@@ -61,4 +91,34 @@ public class TerminalNode extends SyntaxTreeNode{
 	public String toString(){
 		return this.symbol;
 	}
+
+	//////////////////////////////////////////////////////////////////
+	//------------------------------------------------- Public methods
+	//////////////////////////////////////////////////////////////////
+
+	/**
+	 * Get the code of the symbol.
+	 * @return The code defined in <code>GrammarSymbols</code>.
+	 * */
+	public int getCode(){
+		return this.code;
+	}
+
+	/**
+	 * Get the index of the class.
+	 * @return The class index, -1 if the node
+	 * does not represent a class.
+	 * */
+	public int getClassIndex(){
+		return this.classIndex;
+	}
+
+	/**
+	 * Set the index of the class represented by the node.
+	 * @param classIndex The class index.
+	 * */
+	public void setClassIndex(int classIndex){
+		this.classIndex = classIndex;
+		this.code = GrammarSymbols.CLASS;
+	}
 }
\ No newline at end of file
@@ -1,26 +1,54 @@
 package net.sf.jclec.sbse.discovery;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+
+import org.apache.commons.configuration.Configuration;
+
+import net.sf.jclec.IConfigure;
+import net.sf.jclec.IIndividual;
 import net.sf.jclec.ISpecies;
 import net.sf.jclec.base.AbstractCreator;
 //import net.sf.jclec.fitness.SimpleValueFitness;
-import net.sf.jclec.syntaxtree.SyntaxTree;
+import net.sf.jclec.util.random.IRandGen;
 
 /**
  * Tree creator for the discovery problem.
- * It creates the component-based architectural model
+ * It creates the component-based architectural model.
+ * 
+ * <p>The individuals can be created by several threads
+ * (parameter <code>number-of-threads</code>). In this case,
+ * each individual receives its own random generator, which
+ * is drawn from the context in the order of the individuals,
+ * so the initial population is the same for any number of
+ * threads greater than one. The sequential creation (one
+ * thread) draws all the individuals from the generator of
+ * the creator, so its population is a different one. The
+ * individuals are checked by <code>isAccepted</code> in the
+ * same order in both the sequential and the parallel creation,
+ * and the rejected ones are created again. If a thread fails,
+ * the failure is thrown by <code>provide</code>.
  * 
  * <p>HISTORY:
  * <ul>
  * 	<li>1.0: Creation (January 2013)
  * 	<li>2.0: Refactoring (July 2013)
+ * 	<li>2.1: Parallel creation (October 2026)
+ * 	<li>2.2: Propagate the failures of the threads and accept the individuals in order (October 2026)
  * </ul>
  * 
  * @author Aurora Ramirez
  * @author Jose Raul Romero
  * @author Sebastian Ventura
- * @version 2.0
+ * @version 2.2
  * */
-public class TreeCreator extends AbstractCreator {
+public class TreeCreator extends AbstractCreator implements IConfigure {
 
 	//////////////////////////////////////////////////////////////////
 	//----------------------------------------------------- Properties
@@ -34,6 +62,9 @@ public class TreeCreator extends AbstractCreator {
 
 	/** Individuals schema */
 	protected transient Schema schema;
+
+	/** Number of threads used to create the individuals */
+	protected int numberOfThreads = 1;
 	
 	/////////////////////////////////////////////////////////////////
 	//------------------------------------------------- Constructors
@@ -46,9 +77,62 @@ public class TreeCreator extends AbstractCreator {
 		super();
 	}
 
+	//////////////////////////////////////////////////////////////////
+	//------------------------------------------------ Get/set methods
+	//////////////////////////////////////////////////////////////////
+
+	/**
+	 * Get the number of threads
+	 * @return Number of threads used to create the individuals
+	 * */
+	public int getNumberOfThreads(){
+		return this.numberOfThreads;
+	}
+
+	/**
+	 * Set the number of threads
+	 * @param numberOfThreads Number of threads used to create the individuals
+	 * */
+	public void setNumberOfThreads(int numberOfThreads){
+		if(numberOfThreads < 1){
+			throw new IllegalArgumentException("The number of threads must be greater than 0");
+		}
+		this.numberOfThreads = numberOfThreads;
+	}
+
 	//////////////////////////////////////////////////////////////////
 	//----------------------------------------------- Override methods
 	//////////////////////////////////////////////////////////////////
+
+	/**
+	 * <p>Parameters for the creator are:
+	 * <ul>
+	 * 	<li>number-of-threads (<code>int</code>):
+	 * 	Number of threads used to create the initial population. Default value is 1.
+	 * </ul>
+	 * */
+	@Override
+	public void configure(Configuration settings) {
+		setNumberOfThreads(settings.getInt("[@number-of-threads]", 1));
+	}
+
+	@Override
+	public List<IIndividual> provide(int numberOfIndividuals) {
+		if(this.numberOfThreads < 2){
+			return super.provide(numberOfIndividuals);
+		}
+		// Set numberOfIndividuals
+		this.numberOfIndividuals = numberOfIndividuals;
+		// Result list
+		this.createdBuffer = new ArrayList<IIndividual>(numberOfIndividuals);
+		// Prepare process
+		prepareCreation();
+		// Provide individuals
+		this.createdCounter = 0;
+		createInParallel();
+		// Returns result
+		return this.createdBuffer;
+	}
 	
 	@Override
 	public boolean equals(Object oOther){
@@ -76,10 +160,95 @@ public class TreeCreator extends AbstractCreator {
 
 	@Override
 	protected void createNext() {
-		SyntaxTree genotype = new SyntaxTree();
+		this.createdBuffer.add(createIndividual(this.randgen));
+	}
+
+	//////////////////////////////////////////////////////////////////
+	//---------------------------------------------- Protected methods
+	//////////////////////////////////////////////////////////////////
+
+	/**
+	 * Create a new individual. This method does not modify
+	 * the state of the creator, so it can be invoked by
+	 * several threads, each one using its own random generator.
+	 * @param randgen The random generator
+	 * @return A new individual
+	 * */
+	protected IIndividual createIndividual(IRandGen randgen) {
 		// Generate the random number of components
-		int numberOfComponents = this.randgen.choose(this.schema.getMinNumOfComp(), this.schema.getMaxNumOfComp()+1);
-		genotype = this.schema.createSyntaxTree(numberOfComponents, this.randgen);
-		this.createdBuffer.add(this.species.createIndividual(genotype));
+		int numberOfComponents = randgen.choose(this.schema.getMinNumOfComp(), this.schema.getMaxNumOfComp()+1);
+		GeneratedTree genotype = this.schema.createSyntaxTree(numberOfComponents, randgen);
+		return this.species.createIndividual(genotype.getTree(), genotype.getClassesDistribution());
+	}
+
+	/**
+	 * Check whether a new individual can be added to the
+	 * buffer of created individuals. By default, every
+	 * individual is accepted.
+	 * @param individual The new individual, not yet in the buffer
+	 * @return True if the individual should be added to the buffer
+	 * */
+	protected boolean isAccepted(IIndividual individual) {
+		return true;
+	}
+
+	/**
+	 * Fill the buffer of created individuals using several threads.
+	 * The random generators are drawn before starting the threads,
+	 * one for each individual, and the accepted individuals are
+	 * added to the buffer in the same order. The rejected individuals
+	 * are created again until the buffer is full.
+	 * @throws IllegalStateException If the creation is interrupted
+	 * or an individual cannot be created
+	 * */
+	protected void createInParallel() {
+		int size;
+		List<Callable<IIndividual>> tasks;
+		IIndividual individual;
+
+		ExecutorService executor = Executors.newFixedThreadPool(this.numberOfThreads, new ThreadFactory(){
+			@Override
+			public Thread newThread(Runnable r) {
+				Thread thread = new Thread(r);
+				thread.setDaemon(true);
+				return thread;
+			}
+		});
+		try{
+			while(this.createdBuffer.size() < this.numberOfIndividuals){
+				size = this.numberOfIndividuals - this.createdBuffer.size();
+				tasks = new ArrayList<Callable<IIndividual>>(size);
+				for(int i=0; i<size; i++){
+					final IRandGen slotRandgen = this.context.createRandGen();
+					tasks.add(new Callable<IIndividual>(){
+						@Override
+						public IIndividual call() {
+							return createIndividual(slotRandgen);
+						}
+					});
+				}
+				for(Future<IIndividual> future: executor.invokeAll(tasks)){
+					individual = future.get();
+					if(isAccepted(individual)){
+						this.createdBuffer.add(individual);
+						this.createdCounter++;
+					}
+				}
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("The parallel creation was interrupted", e);
+		} catch (ExecutionException e) {
+			// Propagate the failure of the creation
+			if(e.getCause() instanceof RuntimeException){
+				throw (RuntimeException)e.getCause();
+			}
+			if(e.getCause() instanceof Error){
+				throw (Error)e.getCause();
+			}
+			throw new IllegalStateException("The creation of an individual failed", e.getCause());
+		} finally {
+			executor.shutdown();
+		}
 	}
 }
\ No newline at end of file
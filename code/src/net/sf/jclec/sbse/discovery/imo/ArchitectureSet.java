@@ -0,0 +1,149 @@
+package net.sf.jclec.sbse.discovery.imo;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+import net.sf.jclec.IIndividual;
+
+/**
+ * Index of a list of individuals that represent architectural
+ * models. Individuals are grouped by their canonical hash, so
+ * checking whether an equivalent individual belongs to the list
+ * only compares the individuals with the same hash. The index
+ * should be updated with the list, so the individuals with the
+ * same hash are kept in the order of the list and the search
+ * returns the same individual than a linear scan of the list.
+ *
+ * <p>HISTORY:
+ * <ul>
+ *  <li>1.0: Creation (October 2026)
+ *  <li>1.1: Equivalent individuals are indexed, as in the list (October 2026)
+ * </ul>
+ *
+ * @author Aurora Ramirez
+ * @author Jose Raul Romero
+ * @author Sebastian Ventura
+ * @version 1.1
+ * @see InteractiveMOIndividual
+ * */
+public class ArchitectureSet {
+
+	//////////////////////////////////////////////////////////////////
+	//----------------------------------------------------- Properties
+	//////////////////////////////////////////////////////////////////
+
+	/** Individuals grouped by their canonical hash */
+	private HashMap<Long, List<InteractiveMOIndividual>> buckets;
+
+	/** Number of individuals */
+	private int size;
+
+	//////////////////////////////////////////////////////////////////
+	//---------------------------------------------------- Constructor
+	//////////////////////////////////////////////////////////////////
+
+	/**
+	 * Empty constructor
+	 * */
+	public ArchitectureSet(){
+		this.buckets = new HashMap<Long, List<InteractiveMOIndividual>>();
+	}
+
+	/**
+	 * Parameterized constructor
+	 * @param individuals The initial individuals
+	 * */
+	public ArchitectureSet(List<IIndividual> individuals){
+		this();
+		for(IIndividual ind: individuals){
+			add((InteractiveMOIndividual)ind);
+		}
+	}
+
+	//////////////////////////////////////////////////////////////////
+	//------------------------------------------------- Public methods
+	//////////////////////////////////////////////////////////////////
+
+	/**
+	 * Get the number of individuals
+	 * @return The size of the set
+	 * */
+	public int size(){
+		return this.size;
+	}
+
+	/**
+	 * Find an individual equivalent to the given one
+	 * @param ind The individual
+	 * @return The first equivalent individual in the set, null if it does not exist
+	 * */
+	public InteractiveMOIndividual findEquivalent(InteractiveMOIndividual ind){
+		List<InteractiveMOIndividual> bucket = this.buckets.get(ind.getArchitectureHash());
+		if(bucket != null){
+			for(InteractiveMOIndividual member: bucket){
+				if(ind.isEquivalent(member)){
+					return member;
+				}
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Check if the set contains an individual equivalent to the given one
+	 * @param ind The individual
+	 * @return True if an equivalent individual belongs to the set
+	 * */
+	public boolean containsEquivalent(InteractiveMOIndividual ind){
+		return findEquivalent(ind) != null;
+	}
+
+	/**
+	 * Add an individual. It is added even if the
+	 * set contains an equivalent individual, as
+	 * the list that is indexed could contain both.
+	 * @param ind The individual
+	 * */
+	public void add(InteractiveMOIndividual ind){
+		Long hash = ind.getArchitectureHash();
+		List<InteractiveMOIndividual> bucket = this.buckets.get(hash);
+		if(bucket == null){
+			bucket = new ArrayList<InteractiveMOIndividual>(1);
+			this.buckets.put(hash, bucket);
+		}
+		bucket.add(ind);
+		this.size++;
+	}
+
+	/**
+	 * Remove an individual
+	 * @param ind The individual (the same instance that was added)
+	 * @return True if the individual was removed
+	 * */
+	public boolean remove(InteractiveMOIndividual ind){
+		Long hash = ind.getArchitectureHash();
+		List<InteractiveMOIndividual> bucket = this.buckets.get(hash);
+		if(bucket != null){
+			for(int i=0; i<bucket.size(); i++){
+				if(bucket.get(i) == ind){
+					bucket.remove(i);
+					if(bucket.isEmpty()){
+						this.buckets.remove(hash);
+					}
+					this.size--;
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Remove all the individuals
+	 * */
+	public void clear(){
+		this.buckets.clear();
+		this.size = 0;
+	}
+}
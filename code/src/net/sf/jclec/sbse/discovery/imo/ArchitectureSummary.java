@@ -0,0 +1,776 @@
+package net.sf.jclec.sbse.discovery.imo;
+
+import java.util.Arrays;
+import java.util.HashMap;
+
+import net.sf.jclec.sbse.discovery.GrammarSymbols;
+import net.sf.jclec.syntaxtree.SyntaxTree;
+import net.sf.jclec.syntaxtree.SyntaxTreeNode;
+
+/**
+ * Summary of the characteristics of an architecture
+ * required by the evaluation of the objectives. The
+ * genotype is decoded in a single route, so that the
+ * metrics can compute their values and their measures
+ * per component without traversing the tree again.
+ *
+ * <p>The summary contains the distribution of classes
+ * into components, the groups of related classes inside
+ * each component, the internal and external relationships,
+ * the classes exposed by the interfaces of each component
+ * and the dependencies between components established
+ * by the connectors.
+ *
+ * <p>When an individual differs from its parent in
+ * the component of only one class, the summary can be
+ * obtained from the summary of the parent. The measures
+ * that depend on the classes are updated considering
+ * the relationships of the moved class, whereas the
+ * interfaces, which are synthesized again by the schema,
+ * are extracted from the genotype of the individual.
+ *
+ * <p>HISTORY:
+ * <ul>
+ *  <li>1.0: Creation (October 2026)
+ *  <li>1.1: Release the parent summary after the evaluation (October 2026)
+ * </ul>
+ *
+ * @author Aurora Ramirez
+ * @author Jose Raul Romero
+ * @author Sebastian Ventura
+ * @version 1.1
+ * @see RelationshipModel
+ * */
+public class ArchitectureSummary {
+
+	//////////////////////////////////////////////////////////////////
+	//----------------------------------------------------- Properties
+	//////////////////////////////////////////////////////////////////
+
+	/** Sections of the genotype */
+	private static final int NONE = 0;
+	private static final int CLASSES = 1;
+	private static final int REQUIRED = 2;
+	private static final int PROVIDED = 3;
+	private static final int CONNECTOR_PROVIDED = 4;
+	private static final int CONNECTOR_REQUIRED = 5;
+
+	/** The relationship model */
+	private RelationshipModel relationships;
+
+	/** Number of components */
+	private int numberOfComponents;
+
+	/** Component of each class */
+	private int [] distribution;
+
+	/** Classes of the components, in the order of the genotype */
+	private int [] componentClasses;
+
+	/** Position of the first class of each component (size m+1) */
+	private int [] componentOffsets;
+
+	/** Number of classes in each component */
+	private int [] numberOfClasses;
+
+	/** Group of each class inside its component */
+	private int [] classesToGroups;
+
+	/** Number of groups in each component */
+	private int [] numberOfGroups;
+
+	/** Number of relationships between classes of the same component */
+	private int [] internalRelations;
+
+	/** Number of undirected relationships between classes of each component and other components */
+	private int [] externalConnections;
+
+	/** Number of abstract classes in each component */
+	private int [] numberOfAbstractClasses;
+
+	/** Whether each class participates in an interface of its component */
+	private boolean [] exposedClasses;
+
+	/** Number of classes that do not participate in any interface of each component */
+	private int [] numberOfInternalClasses;
+
+	/** Number of provided interfaces in each component */
+	private int [] numberOfProvided;
+
+	/** Number of required interfaces in each component */
+	private int [] numberOfRequired;
+
+	/** Number of components that require some interface of each component */
+	private int [] numberOfAfferent;
+
+	/** Number of components whose interfaces are required by each component */
+	private int [] numberOfEfferent;
+
+	/** Whether each class is abstract */
+	private boolean [] abstractClasses;
+
+	/** The move that differentiates the individual from its parent, null if it was fully decoded */
+	private ClassMove move;
+
+	/** Auxiliary data stored by the metrics */
+	private HashMap<String, Object> metricData;
+
+	//////////////////////////////////////////////////////////////////
+	//---------------------------------------------------- Constructor
+	//////////////////////////////////////////////////////////////////
+
+	/**
+	 * Parameterized constructor. The individual
+	 * is decoded using the relationship model.
+	 * @param ind The individual
+	 * @param relationships The relationship model
+	 * @param abstractClasses Whether each class is abstract
+	 * */
+	public ArchitectureSummary(InteractiveMOIndividual ind, RelationshipModel relationships, boolean [] abstractClasses){
+		this.relationships = relationships;
+		this.abstractClasses = abstractClasses;
+		this.metricData = new HashMap<String, Object>();
+		decode(ind, true);
+		computeGroups();
+		computeRelations();
+		computeAbstractClasses();
+		setInterfaces(ind);
+	}
+
+	/**
+	 * Parameterized constructor. The summary is obtained
+	 * from the summary of the parent, applying the move
+	 * of one class. The components of the individual
+	 * should keep the same order than in the parent.
+	 * @param ind The individual
+	 * @param move The move of a class from the parent
+	 * */
+	public ArchitectureSummary(InteractiveMOIndividual ind, ClassMove move){
+		ArchitectureSummary parent = move.getParentSummary();
+		this.relationships = parent.relationships;
+		this.abstractClasses = parent.abstractClasses;
+		this.metricData = new HashMap<String, Object>();
+		this.move = move;
+		this.numberOfComponents = parent.numberOfComponents;
+		applyMove(parent);
+		decode(ind, false);
+		setInterfaces(ind);
+	}
+
+	//////////////////////////////////////////////////////////////////
+	//------------------------------------------------ Get/set methods
+	//////////////////////////////////////////////////////////////////
+
+	/**
+	 * Get the relationship model
+	 * @return The relationship model
+	 * */
+	public RelationshipModel getRelationshipModel(){
+		return this.relationships;
+	}
+
+	/**
+	 * Get the move of a class that differentiates
+	 * the individual from its parent
+	 * @return The move, null if the summary
+	 * was not obtained from the parent
+	 * */
+	public ClassMove getMove(){
+		return this.move;
+	}
+
+	/**
+	 * Release the move of a class, and so the summary
+	 * of the parent. It should be called once the metrics
+	 * have computed their values, since the summaries of
+	 * all the ancestors would be kept otherwise.
+	 * */
+	public void releaseMove(){
+		this.move = null;
+	}
+
+	/**
+	 * Get the data stored by a metric
+	 * @param name The metric name
+	 * @return The data, null if it was not stored
+	 * */
+	public Object getMetricData(String name){
+		return this.metricData.get(name);
+	}
+
+	/**
+	 * Store the data of a metric, so it
+	 * can be used to evaluate the mutants
+	 * of the individual. The data should not
+	 * be modified once it is stored.
+	 * @param name The metric name
+	 * @param data The data
+	 * */
+	public void setMetricData(String name, Object data){
+		this.metricData.put(name, data);
+	}
+
+	/**
+	 * Get the number of components
+	 * @return The number of components
+	 * */
+	public int getNumberOfComponents(){
+		return this.numberOfComponents;
+	}
+
+	/**
+	 * Get the classes distribution
+	 * @return The component of each class
+	 * */
+	public int [] getClassesDistribution(){
+		return this.distribution;
+	}
+
+	/**
+	 * Get a class of a component
+	 * @param component The component index
+	 * @param position Position of the class, in [0, number of classes)
+	 * @return The class index
+	 * */
+	public int getComponentClass(int component, int position){
+		return this.componentClasses[this.componentOffsets[component]+position];
+	}
+
+	/**
+	 * Get the number of classes in a component
+	 * @param component The component index
+	 * @return The number of classes
+	 * */
+	public int getNumberOfClasses(int component){
+		return this.numberOfClasses[component];
+	}
+
+	/**
+	 * Get the number of classes in each component
+	 * @return The number of classes in each component
+	 * */
+	public int [] getNumberOfClasses(){
+		return this.numberOfClasses;
+	}
+
+	/**
+	 * Get the group of each class
+	 * @return The group of each class inside its component
+	 * */
+	public int [] getClassesToGroups(){
+		return this.classesToGroups;
+	}
+
+	/**
+	 * Get the number of groups in a component
+	 * @param component The component index
+	 * @return The number of groups
+	 * */
+	public int getNumberOfGroups(int component){
+		return this.numberOfGroups[component];
+	}
+
+	/**
+	 * Get the number of groups in each component
+	 * @return The number of groups in each component
+	 * */
+	public int [] getNumberOfGroups(){
+		return this.numberOfGroups;
+	}
+
+	/**
+	 * Get the number of relationships between
+	 * the classes of a component
+	 * @param component The component index
+	 * @return The number of internal relationships
+	 * */
+	public int getInternalRelations(int component){
+		return this.internalRelations[component];
+	}
+
+	/**
+	 * Get the number of external connections in each component
+	 * @return The number of external connections in each component
+	 * */
+	public int [] getExternalConnections(){
+		return this.externalConnections;
+	}
+
+	/**
+	 * Get the number of abstract classes in each component
+	 * @return The number of abstract classes in each component
+	 * */
+	public int [] getNumberOfAbstractClasses(){
+		return this.numberOfAbstractClasses;
+	}
+
+	/**
+	 * Check if a class participates in some
+	 * interface of the component that contains it
+	 * @param classIndex The class index
+	 * @return True if the class is exposed
+	 * */
+	public boolean isExposed(int classIndex){
+		return this.exposedClasses[classIndex];
+	}
+
+	/**
+	 * Get the number of classes that do not participate
+	 * in any interface of a component
+	 * @param component The component index
+	 * @return The number of internal classes
+	 * */
+	public int getNumberOfInternalClasses(int component){
+		return this.numberOfInternalClasses[component];
+	}
+
+	/**
+	 * Get the number of provided interfaces
+	 * @param component The component index
+	 * @return The number of provided interfaces
+	 * */
+	public int getNumberOfProvided(int component){
+		return this.numberOfProvided[component];
+	}
+
+	/**
+	 * Get the number of required interfaces
+	 * @param component The component index
+	 * @return The number of required interfaces
+	 * */
+	public int getNumberOfRequired(int component){
+		return this.numberOfRequired[component];
+	}
+
+	/**
+	 * Get the number of components that require
+	 * some interface of the given component
+	 * @param component The component index
+	 * @return The number of afferent components
+	 * */
+	public int getNumberOfAfferent(int component){
+		return this.numberOfAfferent[component];
+	}
+
+	/**
+	 * Get the number of components that provide
+	 * some interface required by the given component
+	 * @param component The component index
+	 * @return The number of efferent components
+	 * */
+	public int getNumberOfEfferent(int component){
+		return this.numberOfEfferent[component];
+	}
+
+	//////////////////////////////////////////////////////////////////
+	//------------------------------------------------ Private methods
+	//////////////////////////////////////////////////////////////////
+
+	/**
+	 * Route the genotype once, extracting the classes
+	 * of each component, the classes exposed by the
+	 * interfaces and the relations between components
+	 * @param ind The individual
+	 * @param decodeClasses Whether the classes should be extracted,
+	 * if false, the distribution of classes should be already set
+	 * */
+	private void decode(InteractiveMOIndividual ind, boolean decodeClasses){
+
+		// The syntax tree was released, use the compact genotype
+		if(ind.isCompact()){
+			decode(ind.getCompactGenotype(), decodeClasses);
+			return;
+		}
+
+		SyntaxTree genotype = ind.getGenotype();
+		int size = genotype.size();
+		int n = this.relationships.getNumberOfClasses();
+		int m = ind.getNumberOfComponents();
+		int section = NONE, actualCmp = -1, numberOfDecoded = 0;
+		boolean isConnector = false;
+		int classIndex, provComponent = -1, reqComponent;
+		SyntaxTreeNode node;
+		String symbol;
+		String [] aux;
+		boolean [][] afferentRelations = new boolean[m][m];
+
+		if(decodeClasses){
+			this.numberOfComponents = m;
+			this.distribution = new int[n];
+			Arrays.fill(this.distribution, -1);
+			this.componentClasses = new int[n];
+			this.componentOffsets = new int[m+1];
+			this.numberOfClasses = new int[m];
+		}
+		this.exposedClasses = new boolean[n];
+
+		for(int i=1; i<size; i++){
+
+			node = genotype.getNode(i);
+			symbol = node.getSymbol();
+
+			// Non terminal node, change the section
+			if(node.arity()!=0){
+				switch(GrammarSymbols.getCode(node)){
+				case GrammarSymbols.CLASSES:
+					section = decodeClasses ? CLASSES : NONE;
+					actualCmp++;
+					if(decodeClasses){
+						this.componentOffsets[actualCmp] = numberOfDecoded;
+					}
+					break;
+				case GrammarSymbols.REQUIRED_INTERFACES:
+					section = isConnector ? CONNECTOR_REQUIRED : REQUIRED;
+					break;
+				case GrammarSymbols.PROVIDED_INTERFACES:
+					section = PROVIDED;
+					break;
+				case GrammarSymbols.PROVIDED_INTERFACE:
+					section = CONNECTOR_PROVIDED;
+					break;
+				case GrammarSymbols.CONNECTORS:
+					isConnector = true;
+					section = NONE;
+					break;
+				case GrammarSymbols.CONNECTOR:
+					section = NONE;
+					break;
+				}
+			}
+
+			// Terminal node
+			else{
+				switch(section){
+
+				// Class of the current component
+				case CLASSES:
+					classIndex = this.relationships.getClassIndex(node);
+					this.distribution[classIndex] = actualCmp;
+					this.componentClasses[numberOfDecoded++] = classIndex;
+					this.numberOfClasses[actualCmp]++;
+					break;
+
+				// Required operation, elements 1,2 and length-1 are omitted: (provClass:operation) ([) (])
+				case REQUIRED:
+					aux = symbol.split(" ");
+					for(int l=2; l<aux.length-1; l++){
+						expose(aux[l], actualCmp);
+					}
+					break;
+
+				// Provided operation, the class specifies that operation
+				case PROVIDED:
+					aux = symbol.split(":");
+					expose(aux[0], actualCmp);
+					break;
+
+				// Component that provides the interface
+				case CONNECTOR_PROVIDED:
+					provComponent = ConnectorEnd.getComponent(node);
+					break;
+
+				// Component that requires the interface
+				case CONNECTOR_REQUIRED:
+					reqComponent = ConnectorEnd.getComponent(node);
+					afferentRelations[provComponent][reqComponent] = true;
+					break;
+				}
+			}
+		}
+		if(decodeClasses){
+			this.componentOffsets[m] = numberOfDecoded;
+		}
+		computeCouplings(afferentRelations);
+	}
+
+	/**
+	 * Extract the information of the compact genotype
+	 * @param genotype The compact genotype
+	 * @param decodeClasses Whether the classes should be extracted,
+	 * if false, the distribution of classes should be already set
+	 * */
+	private void decode(CompactGenotype genotype, boolean decodeClasses){
+		int n = this.relationships.getNumberOfClasses();
+		int m = genotype.getNumberOfComponents();
+		int [] connector;
+		String [] operations, aux;
+		boolean [][] afferentRelations = new boolean[m][m];
+
+		// Classes, sorted by their index as in the syntax tree
+		if(decodeClasses){
+			this.numberOfComponents = m;
+			this.distribution = genotype.getClassesDistribution().clone();
+			this.componentClasses = new int[n];
+			this.componentOffsets = new int[m+1];
+			this.numberOfClasses = new int[m];
+			for(int i=0; i<n; i++){
+				this.numberOfClasses[this.distribution[i]]++;
+			}
+			for(int c=0; c<m; c++){
+				this.componentOffsets[c+1] = this.componentOffsets[c] + this.numberOfClasses[c];
+			}
+			int [] next = this.componentOffsets.clone();
+			for(int i=0; i<n; i++){
+				this.componentClasses[next[this.distribution[i]]++] = i;
+			}
+		}
+		this.exposedClasses = new boolean[n];
+
+		// Classes that require or provide operations
+		for(int c=0; c<m; c++){
+			for(int i=0; i<genotype.getNumberOfRequired(c); i++){
+				operations = genotype.getRequiredInterface(c, i);
+				for(int j=0; j<operations.length; j++){
+					aux = operations[j].split(" ");
+					for(int l=2; l<aux.length-1; l++){
+						expose(aux[l], c);
+					}
+				}
+			}
+			for(int i=0; i<genotype.getNumberOfProvided(c); i++){
+				operations = genotype.getProvidedInterface(c, i);
+				for(int j=0; j<operations.length; j++){
+					expose(operations[j].split(":")[0], c);
+				}
+			}
+		}
+
+		// Connectors
+		for(int i=0; i<genotype.getNumberOfConnectors(); i++){
+			connector = genotype.getConnector(i);
+			for(int j=2; j<connector.length; j+=2){
+				afferentRelations[connector[0]][connector[j]] = true;
+			}
+		}
+		computeCouplings(afferentRelations);
+	}
+
+	/**
+	 * Compute the internal classes and the number of
+	 * afferent and efferent components of each component
+	 * @param afferentRelations Whether each component (row)
+	 * provides an interface required by other component (column)
+	 * */
+	private void computeCouplings(boolean [][] afferentRelations){
+		int m = this.numberOfComponents;
+		int classIndex;
+
+		// Internal classes
+		this.numberOfInternalClasses = new int[m];
+		for(int i=0; i<this.componentOffsets[m]; i++){
+			classIndex = this.componentClasses[i];
+			if(!this.exposedClasses[classIndex]){
+				this.numberOfInternalClasses[this.distribution[classIndex]]++;
+			}
+		}
+
+		// Afferent and efferent components
+		this.numberOfAfferent = new int[m];
+		this.numberOfEfferent = new int[m];
+		for(int i=0; i<m; i++){
+			for(int j=0; j<m; j++){
+				if(afferentRelations[i][j]){
+					this.numberOfAfferent[i]++;
+					this.numberOfEfferent[j]++;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Set the number of interfaces of each component
+	 * @param ind The individual
+	 * */
+	private void setInterfaces(InteractiveMOIndividual ind){
+		this.numberOfProvided = new int[this.numberOfComponents];
+		this.numberOfRequired = new int[this.numberOfComponents];
+		for(int i=0; i<this.numberOfComponents; i++){
+			this.numberOfProvided[i] = ind.getNumberOfProvided(i);
+			this.numberOfRequired[i] = ind.getNumberOfRequired(i);
+		}
+	}
+
+	/**
+	 * Mark a class as exposed if it belongs to the component
+	 * @param className The class name
+	 * @param component The component index
+	 * */
+	private void expose(String className, int component){
+		int classIndex = this.relationships.getClassIndex(className);
+		if(classIndex != -1 && this.distribution[classIndex] == component){
+			this.exposedClasses[classIndex] = true;
+		}
+	}
+
+	/**
+	 * Compute the groups (connected components of the graph of
+	 * relationships) inside each component. Groups are numbered
+	 * following the order of the classes in the genotype.
+	 * */
+	private void computeGroups(){
+		this.classesToGroups = new int[this.relationships.getNumberOfClasses()];
+		this.numberOfGroups = new int[this.numberOfComponents];
+		for(int c=0; c<this.numberOfComponents; c++){
+			this.numberOfGroups[c] = computeGroups(c);
+		}
+	}
+
+	/**
+	 * Compute the groups inside a component
+	 * @param component The component index
+	 * @return The number of groups in the component
+	 * */
+	private int computeGroups(int component){
+		ConnectedGroups engine = this.relationships.getGraph().getConnectedGroups();
+		return engine.computeGroups(this.componentClasses, this.componentOffsets[component],
+				this.componentOffsets[component+1], this.classesToGroups);
+	}
+
+	/**
+	 * Compute the number of internal relationships and
+	 * external connections of each component, considering
+	 * each pair of related classes once
+	 * */
+	private void computeRelations(){
+		RelationshipGraph graph = this.relationships.getGraph();
+		int n = graph.getNumberOfClasses();
+		int j, degree, nExternal;
+
+		this.internalRelations = new int[this.numberOfComponents];
+		this.externalConnections = new int[this.numberOfComponents];
+
+		for(int i=0; i<n; i++){
+
+			// Relationships with classes of the same component
+			degree = graph.getDegree(i);
+			for(int p=0; p<degree; p++){
+				j = graph.getNeighbour(i, p);
+				if(j>i && this.distribution[i]==this.distribution[j]){
+					this.internalRelations[this.distribution[i]] += this.relationships.getNumberOfRelationships(i, j);
+				}
+			}
+
+			// Relations between classes that are not candidate interfaces (bidirectional)
+			degree = graph.getUndirectedDegree(i);
+			for(int p=0; p<degree; p++){
+				j = graph.getUndirectedNeighbour(i, p);
+				if(j>i && this.distribution[i]!=this.distribution[j]){
+					nExternal = this.relationships.getNumberOfExternalRelations(i, j);
+					this.externalConnections[this.distribution[i]] += nExternal;
+					this.externalConnections[this.distribution[j]] += nExternal;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Count the abstract classes of each component
+	 * */
+	private void computeAbstractClasses(){
+		this.numberOfAbstractClasses = new int[this.numberOfComponents];
+		if(this.abstractClasses != null){
+			for(int i=0; i<this.abstractClasses.length; i++){
+				if(this.abstractClasses[i]){
+					this.numberOfAbstractClasses[this.distribution[i]]++;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Obtain the measures that depend on the classes from
+	 * the summary of the parent. Only the relationships
+	 * of the moved class and the groups of the origin and
+	 * destination components are computed again.
+	 * @param parent The summary of the parent
+	 * */
+	private void applyMove(ArchitectureSummary parent){
+		RelationshipGraph graph = this.relationships.getGraph();
+		int n = graph.getNumberOfClasses();
+		int m = this.numberOfComponents;
+		int moved = this.move.getClassIndex();
+		int source = this.move.getSource();
+		int target = this.move.getTarget();
+		int j, p, other, degree, nRelationships, nExternal;
+		boolean inserted;
+
+		// Distribution of classes
+		this.distribution = parent.distribution.clone();
+		this.distribution[moved] = target;
+		this.numberOfClasses = parent.numberOfClasses.clone();
+		this.numberOfClasses[source]--;
+		this.numberOfClasses[target]++;
+
+		// Classes of each component, sorted by their index as in the genotype
+		this.componentClasses = new int[n];
+		this.componentOffsets = new int[m+1];
+		p = 0;
+		for(int c=0; c<m; c++){
+			this.componentOffsets[c] = p;
+			inserted = (c != target);
+			for(int q=parent.componentOffsets[c]; q<parent.componentOffsets[c+1]; q++){
+				j = parent.componentClasses[q];
+				if(!inserted && moved < j){
+					this.componentClasses[p++] = moved;
+					inserted = true;
+				}
+				if(j != moved){
+					this.componentClasses[p++] = j;
+				}
+			}
+			if(!inserted){
+				this.componentClasses[p++] = moved;
+			}
+		}
+		this.componentOffsets[m] = p;
+
+		// Relationships with classes of the origin and destination components
+		this.internalRelations = parent.internalRelations.clone();
+		degree = graph.getDegree(moved);
+		for(int q=0; q<degree; q++){
+			j = graph.getNeighbour(moved, q);
+			if(j != moved){
+				nRelationships = this.relationships.getNumberOfRelationships(Math.min(moved, j), Math.max(moved, j));
+				other = this.distribution[j];
+				if(other == source){
+					this.internalRelations[source] -= nRelationships;
+				}
+				else if(other == target){
+					this.internalRelations[target] += nRelationships;
+				}
+			}
+		}
+
+		// Undirected relationships that become internal or external
+		this.externalConnections = parent.externalConnections.clone();
+		degree = graph.getUndirectedDegree(moved);
+		for(int q=0; q<degree; q++){
+			j = graph.getUndirectedNeighbour(moved, q);
+			if(j != moved){
+				nExternal = this.relationships.getNumberOfExternalRelations(Math.min(moved, j), Math.max(moved, j));
+				other = this.distribution[j];
+				if(other != source){
+					this.externalConnections[source] -= nExternal;
+					this.externalConnections[other] -= nExternal;
+				}
+				if(other != target){
+					this.externalConnections[target] += nExternal;
+					this.externalConnections[other] += nExternal;
+				}
+			}
+		}
+
+		// Abstract classes
+		this.numberOfAbstractClasses = parent.numberOfAbstractClasses.clone();
+		if(this.abstractClasses != null && this.abstractClasses[moved]){
+			this.numberOfAbstractClasses[source]--;
+			this.numberOfAbstractClasses[target]++;
+		}
+
+		// Groups of the origin and destination components
+		this.classesToGroups = parent.classesToGroups.clone();
+		this.numberOfGroups = parent.numberOfGroups.clone();
+		this.numberOfGroups[source] = computeGroups(source);
+		this.numberOfGroups[target] = computeGroups(target);
+	}
+}
@@ -0,0 +1,498 @@
+package net.sf.jclec.sbse.discovery.imo;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+import net.sf.jclec.IIndividual;
+import net.sf.jclec.mo.evaluation.fitness.MOFitness;
+
+/**
+ * Spatial index of the members of the archive in the objective
+ * space. It is a k-d tree over the objective values, which are
+ * read once for each member and stored in a packed array. The index
+ * keeps the members in the same order as the archive, so every
+ * change in the archive (add, set, remove or clear) should be also
+ * applied to the index.
+ *
+ * <p>The index answers the queries of the territory-based archive
+ * update: the nearest member using the rectilinear distance and the
+ * members whose territory contains a solution (the maximum difference
+ * in the objective values is smaller than their territory size). The
+ * results are the same as those of a linear scan of the archive; ties
+ * are resolved in favour of the first member.
+ *
+ * <p>Removed members are only marked, and the tree is rebuilt when
+ * half of its nodes have been removed.
+ *
+ * <p>The territory sizes are read from the fitness objects when the
+ * members are added. The strategy should change the territory of a
+ * member through the index, so the largest territory size, which
+ * bounds the territory queries, is kept without scanning the members.
+ * It is only computed again when the member with the largest size
+ * is removed or its size is reduced.
+ *
+ * <p>HISTORY:
+ * <ul>
+ *  <li>1.0: Creation (October 2026)
+ *  <li>1.1: The bound of the territory sizes is computed from the members (October 2026)
+ *  <li>1.2: Territory sizes stored in the index, the bound is kept incrementally (October 2026)
+ * </ul>
+ *
+ * @author Aurora Ramirez
+ * @author Jose Raul Romero
+ * @author Sebastian Ventura
+ * @version 1.2
+ * @see InteractiveMOTDStrategy
+ * */
+public class ArchiveIndex {
+
+	//////////////////////////////////////////////////////////////////
+	//----------------------------------------------------- Properties
+	//////////////////////////////////////////////////////////////////
+
+	/** Number of objectives */
+	private int numberOfObjectives;
+
+	/** Number of nodes */
+	private int numberOfNodes;
+
+	/** Number of removed nodes */
+	private int numberOfRemoved;
+
+	/** Objective values of each node */
+	private double [] values;
+
+	/** True if the objective values of the node could be read */
+	private boolean [] valid;
+
+	/** True if the node has been removed */
+	private boolean [] removed;
+
+	/** Left child of each node, -1 if it does not exist */
+	private int [] left;
+
+	/** Right child of each node, -1 if it does not exist */
+	private int [] right;
+
+	/** Territory size of each node */
+	private double [] territories;
+
+	/** Largest territory size of the members whose objective values could be read */
+	private double maxTerritory;
+
+	/** True if the largest territory size should be computed again */
+	private boolean dirtyMaxTerritory;
+
+	/** Individual of each node */
+	private IIndividual [] individuals;
+
+	/** Root of the tree */
+	private int root;
+
+	/** Nodes of the archive members, in the order of the archive */
+	private List<Integer> members;
+
+	/** Position of each node in the archive */
+	private int [] positions;
+
+	/** True if the positions should be computed again */
+	private boolean dirtyPositions;
+
+	/** Nodes whose objective values could not be read */
+	private List<Integer> invalidNodes;
+
+	//////////////////////////////////////////////////////////////////
+	//---------------------------------------------------- Constructor
+	//////////////////////////////////////////////////////////////////
+
+	/**
+	 * Parameterized constructor
+	 * @param numberOfObjectives Number of objectives
+	 * @param archive The initial members of the archive
+	 * */
+	public ArchiveIndex(int numberOfObjectives, List<IIndividual> archive){
+		this.numberOfObjectives = numberOfObjectives;
+		this.maxTerritory = Double.NEGATIVE_INFINITY;
+		this.members = new ArrayList<Integer>();
+		this.invalidNodes = new ArrayList<Integer>();
+		allocate(Math.max(16, 2*archive.size()));
+		for(IIndividual ind: archive){
+			add(ind);
+		}
+	}
+
+	//////////////////////////////////////////////////////////////////
+	//------------------------------------------------- Public methods
+	//////////////////////////////////////////////////////////////////
+
+	/**
+	 * Get the number of members
+	 * @return Number of members in the index
+	 * */
+	public int size(){
+		return this.members.size();
+	}
+
+	/**
+	 * Add a member at the end of the archive
+	 * @param ind The new member
+	 * */
+	public void add(IIndividual ind){
+		int node = createNode(ind);
+		this.members.add(node);
+		this.positions[node] = this.members.size()-1;
+	}
+
+	/**
+	 * Replace a member of the archive
+	 * @param position The position of the member
+	 * @param ind The new member
+	 * */
+	public void set(int position, IIndividual ind){
+		markRemoved(this.members.get(position));
+		int node = createNode(ind);
+		this.members.set(position, node);
+		this.positions[node] = position;
+		rebuildIfRequired();
+	}
+
+	/**
+	 * Remove a member of the archive
+	 * @param position The position of the member
+	 * */
+	public void remove(int position){
+		markRemoved(this.members.remove(position));
+		this.dirtyPositions = true;
+		rebuildIfRequired();
+	}
+
+	/**
+	 * Change the territory size of a member. The fitness
+	 * object of the member is also updated
+	 * @param position The position of the member
+	 * @param territory The new territory size
+	 * */
+	public void setTerritory(int position, double territory){
+		int node = this.members.get(position);
+		((InteractiveMOFitness)this.individuals[node].getFitness()).setTerritory(territory);
+		double previous = this.territories[node];
+		this.territories[node] = territory;
+		if(this.valid[node]){
+			if(territory >= this.maxTerritory){
+				this.maxTerritory = territory;
+			}
+			else if(previous == this.maxTerritory){
+				this.dirtyMaxTerritory = true;
+			}
+		}
+	}
+
+	/**
+	 * Remove all the members
+	 * */
+	public void clear(){
+		this.members.clear();
+		this.invalidNodes.clear();
+		this.numberOfNodes = 0;
+		this.numberOfRemoved = 0;
+		this.root = -1;
+		this.dirtyPositions = false;
+		this.maxTerritory = Double.NEGATIVE_INFINITY;
+		this.dirtyMaxTerritory = false;
+		Arrays.fill(this.individuals, null);
+	}
+
+	/**
+	 * Find the nearest member to a solution using the rectilinear
+	 * distance, as <code>InteractiveMOTDStrategy.calculateDistance</code>
+	 * @param ind The solution
+	 * @param excluded The positions of the members that should not be considered,
+	 * it can be null
+	 * @return The position of the nearest member (the first one if several
+	 * members are at the same distance), -1 if there is not any member
+	 * */
+	public int nearest(IIndividual ind, BitSet excluded){
+		double [] point = readValues(ind);
+		if(point == null || this.root == -1){
+			return -1;
+		}
+		updatePositions();
+		double [] best = new double[]{Double.POSITIVE_INFINITY, -1};
+		nearest(this.root, 0, point, excluded, best);
+		return (int)best[1];
+	}
+
+	/**
+	 * Count the members whose territory contains a solution, i.e.
+	 * the result of <code>InteractiveMOTDStrategy.calculateMaximumThreshold</code>
+	 * is smaller than the territory size of the member. The search
+	 * is bounded by the largest territory size of the members
+	 * @param ind The solution
+	 * @return The number of members
+	 * */
+	public int countTerritories(IIndividual ind){
+		double [] point = readValues(ind);
+		int count = 0;
+		if(point == null){
+			// the threshold is not defined, it is smaller than any territory
+			for(int node: this.members){
+				if(Double.NEGATIVE_INFINITY < this.territories[node]){
+					count++;
+				}
+			}
+			return count;
+		}
+
+		// members whose values could not be read
+		for(int node: this.invalidNodes){
+			if(!this.removed[node] && Double.NEGATIVE_INFINITY < this.territories[node]){
+				count++;
+			}
+		}
+
+		// the largest territory size bounds the distance to the members to be counted
+		updateMaxTerritory();
+		if(this.root != -1 && this.maxTerritory > 0){
+			count += countTerritories(this.root, 0, point, this.maxTerritory);
+		}
+		return count;
+	}
+
+	//////////////////////////////////////////////////////////////////
+	//------------------------------------------------ Private methods
+	//////////////////////////////////////////////////////////////////
+
+	/**
+	 * Allocate the arrays of the nodes
+	 * @param capacity The number of nodes
+	 * */
+	private void allocate(int capacity){
+		int nObjs = this.numberOfObjectives;
+		this.values = this.values == null ? new double[capacity*nObjs] : Arrays.copyOf(this.values, capacity*nObjs);
+		this.valid = this.valid == null ? new boolean[capacity] : Arrays.copyOf(this.valid, capacity);
+		this.removed = this.removed == null ? new boolean[capacity] : Arrays.copyOf(this.removed, capacity);
+		this.left = this.left == null ? new int[capacity] : Arrays.copyOf(this.left, capacity);
+		this.right = this.right == null ? new int[capacity] : Arrays.copyOf(this.right, capacity);
+		this.positions = this.positions == null ? new int[capacity] : Arrays.copyOf(this.positions, capacity);
+		this.territories = this.territories == null ? new double[capacity] : Arrays.copyOf(this.territories, capacity);
+		this.individuals = this.individuals == null ? new IIndividual[capacity] : Arrays.copyOf(this.individuals, capacity);
+		if(this.numberOfNodes == 0){
+			this.root = -1;
+		}
+	}
+
+	/**
+	 * Create a new node and insert it in the tree
+	 * @param ind The individual
+	 * @return The node
+	 * */
+	private int createNode(IIndividual ind){
+		if(this.numberOfNodes == this.valid.length){
+			allocate(2*this.numberOfNodes);
+		}
+		int node = this.numberOfNodes++;
+		double [] point = readValues(ind);
+		this.individuals[node] = ind;
+		this.removed[node] = false;
+		this.left[node] = -1;
+		this.right[node] = -1;
+		this.valid[node] = point != null;
+		this.territories[node] = ((InteractiveMOFitness)ind.getFitness()).getTerritory();
+		if(point != null){
+			System.arraycopy(point, 0, this.values, node*this.numberOfObjectives, this.numberOfObjectives);
+			insert(node);
+			if(this.territories[node] > this.maxTerritory){
+				this.maxTerritory = this.territories[node];
+			}
+		}
+		else{
+			this.invalidNodes.add(node);
+		}
+		return node;
+	}
+
+	/**
+	 * Insert a node in the tree
+	 * @param node The node
+	 * */
+	private void insert(int node){
+		if(this.root == -1){
+			this.root = node;
+			return;
+		}
+		int nObjs = this.numberOfObjectives;
+		int actual = this.root, depth = 0, dim;
+		while(true){
+			dim = depth % nObjs;
+			if(this.values[node*nObjs+dim] < this.values[actual*nObjs+dim]){
+				if(this.left[actual] == -1){
+					this.left[actual] = node;
+					return;
+				}
+				actual = this.left[actual];
+			}
+			else{
+				if(this.right[actual] == -1){
+					this.right[actual] = node;
+					return;
+				}
+				actual = this.right[actual];
+			}
+			depth++;
+		}
+	}
+
+	/**
+	 * Mark a node as removed
+	 * @param node The node
+	 * */
+	private void markRemoved(int node){
+		this.removed[node] = true;
+		this.individuals[node] = null;
+		this.numberOfRemoved++;
+		if(this.valid[node] && this.territories[node] == this.maxTerritory){
+			this.dirtyMaxTerritory = true;
+		}
+	}
+
+	/**
+	 * Build the tree again if half of the nodes have been removed
+	 * */
+	private void rebuildIfRequired(){
+		if(this.numberOfRemoved > 16 && 2*this.numberOfRemoved > this.numberOfNodes){
+			IIndividual [] archive = new IIndividual[this.members.size()];
+			for(int i=0; i<archive.length; i++){
+				archive[i] = this.individuals[this.members.get(i)];
+			}
+			clear();
+			for(IIndividual ind: archive){
+				add(ind);
+			}
+		}
+	}
+
+	/**
+	 * Compute the positions of the members in the archive
+	 * */
+	private void updatePositions(){
+		if(this.dirtyPositions){
+			for(int i=0; i<this.members.size(); i++){
+				this.positions[this.members.get(i)] = i;
+			}
+			this.dirtyPositions = false;
+		}
+	}
+
+	/**
+	 * Compute the largest territory size of the members
+	 * if the member that had it has been removed or reduced
+	 * */
+	private void updateMaxTerritory(){
+		if(this.dirtyMaxTerritory){
+			this.maxTerritory = Double.NEGATIVE_INFINITY;
+			for(int node: this.members){
+				if(this.valid[node] && this.territories[node] > this.maxTerritory){
+					this.maxTerritory = this.territories[node];
+				}
+			}
+			this.dirtyMaxTerritory = false;
+		}
+	}
+
+	/**
+	 * Read the objective values of an individual
+	 * @param ind The individual
+	 * @return The objective values, null if they could not be read
+	 * */
+	private double [] readValues(IIndividual ind){
+		MOFitness fitness = (MOFitness)ind.getFitness();
+		double [] point = new double[this.numberOfObjectives];
+		try{
+			for(int j=0; j<this.numberOfObjectives; j++){
+				point[j] = fitness.getObjectiveDoubleValue(j);
+			}
+		}
+		catch(Exception e){
+			return null;
+		}
+		return point;
+	}
+
+	/**
+	 * Search the nearest member in a subtree
+	 * @param node The root of the subtree
+	 * @param depth The depth of the root
+	 * @param point The objective values of the solution
+	 * @param excluded The positions that should not be considered
+	 * @param best The distance and position of the best member found so far
+	 * */
+	private void nearest(int node, int depth, double [] point, BitSet excluded, double [] best){
+		int nObjs = this.numberOfObjectives;
+		int offset = node*nObjs;
+
+		// Check the node
+		if(!this.removed[node] && (excluded == null || !excluded.get(this.positions[node]))){
+			double distance = 0.0;
+			for(int j=0; j<nObjs; j++){
+				distance += Math.abs(point[j]-this.values[offset+j]);
+			}
+			if(distance < best[0] || (distance == best[0] && this.positions[node] < best[1])){
+				best[0] = distance;
+				best[1] = this.positions[node];
+			}
+		}
+
+		// Search the children, the nearest side first
+		int dim = depth % nObjs;
+		double diff = point[dim] - this.values[offset+dim];
+		int first = diff < 0 ? this.left[node] : this.right[node];
+		int second = diff < 0 ? this.right[node] : this.left[node];
+		if(first != -1){
+			nearest(first, depth+1, point, excluded, best);
+		}
+		if(second != -1 && Math.abs(diff) <= best[0]){
+			nearest(second, depth+1, point, excluded, best);
+		}
+	}
+
+	/**
+	 * Count the members of a subtree whose territory contains a solution
+	 * @param node The root of the subtree
+	 * @param depth The depth of the root
+	 * @param point The objective values of the solution
+	 * @param maxTerritory An upper bound of the territory size of the members
+	 * @return The number of members
+	 * */
+	private int countTerritories(int node, int depth, double [] point, double maxTerritory){
+		int nObjs = this.numberOfObjectives;
+		int offset = node*nObjs;
+		int count = 0;
+
+		// Check the node
+		if(!this.removed[node]){
+			double threshold = Double.NEGATIVE_INFINITY, distance;
+			for(int j=0; j<nObjs; j++){
+				distance = Math.abs(point[j]-this.values[offset+j]);
+				if(distance > threshold){
+					threshold = distance;
+				}
+			}
+			if(threshold < this.territories[node]){
+				count++;
+			}
+		}
+
+		// Search the children that can contain members at a distance smaller than the bound
+		int dim = depth % nObjs;
+		double diff = point[dim] - this.values[offset+dim];
+		if(this.left[node] != -1 && diff < maxTerritory){
+			count += countTerritories(this.left[node], depth+1, point, maxTerritory);
+		}
+		if(this.right[node] != -1 && -diff < maxTerritory){
+			count += countTerritories(this.right[node], depth+1, point, maxTerritory);
+		}
+		return count;
+	}
+}
@@ -0,0 +1,91 @@
+package net.sf.jclec.sbse.discovery.imo;
+
+/**
+ * Description of a mutation that moves one class
+ * from one component to another. It allows the
+ * evaluator to obtain the summary of the mutant
+ * from the summary of its parent.
+ *
+ * <p>HISTORY:
+ * <ul>
+ *  <li>1.0: Creation (October 2026)
+ * </ul>
+ *
+ * @author Aurora Ramirez
+ * @author Jose Raul Romero
+ * @author Sebastian Ventura
+ * @version 1.0
+ * @see ArchitectureSummary
+ * */
+public class ClassMove {
+
+	//////////////////////////////////////////////////////////////////
+	//----------------------------------------------------- Properties
+	//////////////////////////////////////////////////////////////////
+
+	/** Summary of the parent */
+	private ArchitectureSummary parentSummary;
+
+	/** Index of the moved class */
+	private int classIndex;
+
+	/** Origin component */
+	private int source;
+
+	/** Destination component */
+	private int target;
+
+	//////////////////////////////////////////////////////////////////
+	//---------------------------------------------------- Constructor
+	//////////////////////////////////////////////////////////////////
+
+	/**
+	 * Parameterized constructor
+	 * @param parentSummary Summary of the parent
+	 * @param classIndex Index of the moved class
+	 * @param source Origin component
+	 * @param target Destination component
+	 * */
+	public ClassMove(ArchitectureSummary parentSummary, int classIndex, int source, int target){
+		this.parentSummary = parentSummary;
+		this.classIndex = classIndex;
+		this.source = source;
+		this.target = target;
+	}
+
+	//////////////////////////////////////////////////////////////////
+	//------------------------------------------------ Get/set methods
+	//////////////////////////////////////////////////////////////////
+
+	/**
+	 * Get the summary of the parent
+	 * @return The summary of the parent
+	 * */
+	public ArchitectureSummary getParentSummary(){
+		return this.parentSummary;
+	}
+
+	/**
+	 * Get the index of the moved class
+	 * @return The class index
+	 * */
+	public int getClassIndex(){
+		return this.classIndex;
+	}
+
+	/**
+	 * Get the origin component
+	 * @return The component index
+	 * */
+	public int getSource(){
+		return this.source;
+	}
+
+	/**
+	 * Get the destination component
+	 * @return The component index
+	 * */
+	public int getTarget(){
+		return this.target;
+	}
+}
@@ -0,0 +1,313 @@
+package net.sf.jclec.sbse.discovery.imo;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import net.sf.jclec.sbse.discovery.GrammarSymbols;
+import net.sf.jclec.syntaxtree.SyntaxTree;
+import net.sf.jclec.syntaxtree.SyntaxTreeNode;
+
+/**
+ * Compact representation of the genotype of an
+ * <code>InteractiveMOIndividual</code>. It stores the
+ * distribution of classes into components, the operations
+ * of the required and provided interfaces of each
+ * component and the connectors between components.
+ *
+ * <p>The interfaces and the connectors are synthesized by
+ * the schema from the distribution of classes, so the
+ * <code>SyntaxTree</code> can be built again from the
+ * number of components and the distribution when it is
+ * requested (GUI, reporters, operators that route the tree).
+ *
+ * <p>HISTORY:
+ * <ul>
+ *  <li>1.0: Creation (October 2026)
+ *  <li>1.1: Trees built without locking the schema (October 2026)
+ * </ul>
+ *
+ * @author Aurora Ramirez
+ * @author Jose Raul Romero
+ * @author Sebastian Ventura
+ * @version 1.1
+ * @see InteractiveMOIndividual
+ * */
+public class CompactGenotype implements Serializable {
+
+	//////////////////////////////////////////////////////////////////
+	//----------------------------------------------------- Properties
+	//////////////////////////////////////////////////////////////////
+
+	/** Serial ID */
+	private static final long serialVersionUID = -5263072914873602251L;
+
+	/** Number of components */
+	private int numberOfComponents;
+
+	/** Component of each class */
+	private int [] distribution;
+
+	/** Operations of each required interface of each component */
+	private String [][][] requiredInterfaces;
+
+	/** Operations of each provided interface of each component */
+	private String [][][] providedInterfaces;
+
+	/** Connectors: component and interface (0-based) that provides
+	 * the interface, followed by the pairs component-interface that require it */
+	private int [][] connectors;
+
+	/** The architecture has isolated components */
+	private boolean isolated;
+
+	/** The architecture has mutually dependent components */
+	private boolean mutuallyDependent;
+
+	/** Schema to build the syntax tree */
+	private transient InteractiveMOSchema schema;
+
+	//////////////////////////////////////////////////////////////////
+	//---------------------------------------------------- Constructor
+	//////////////////////////////////////////////////////////////////
+
+	/**
+	 * Parameterized constructor. The representation
+	 * is extracted from the syntax tree of the individual.
+	 * @param ind The individual
+	 * @param schema The schema used to build the syntax
+	 * tree again, null if the tree will not be released
+	 * */
+	public CompactGenotype(InteractiveMOIndividual ind, InteractiveMOSchema schema){
+		this.schema = schema;
+		this.numberOfComponents = ind.getNumberOfComponents();
+		this.distribution = ind.getClassesDistribution().clone();
+		this.isolated = ind.hasIsolatedComponents();
+		this.mutuallyDependent = ind.hasMutuallyDepComponents();
+		decode(ind.getGenotype());
+	}
+
+	//////////////////////////////////////////////////////////////////
+	//------------------------------------------------ Get/set methods
+	//////////////////////////////////////////////////////////////////
+
+	/**
+	 * Get the number of components
+	 * @return The number of components
+	 * */
+	public int getNumberOfComponents(){
+		return this.numberOfComponents;
+	}
+
+	/**
+	 * Get the distribution of classes
+	 * @return The component of each class
+	 * */
+	public int [] getClassesDistribution(){
+		return this.distribution;
+	}
+
+	/**
+	 * Get the number of required interfaces of a component
+	 * @param component The component index
+	 * @return The number of required interfaces
+	 * */
+	public int getNumberOfRequired(int component){
+		return this.requiredInterfaces[component].length;
+	}
+
+	/**
+	 * Get the number of provided interfaces of a component
+	 * @param component The component index
+	 * @return The number of provided interfaces
+	 * */
+	public int getNumberOfProvided(int component){
+		return this.providedInterfaces[component].length;
+	}
+
+	/**
+	 * Get the operations of a required interface
+	 * @param component The component index
+	 * @param index The interface index
+	 * @return The symbols of the operations
+	 * */
+	public String [] getRequiredInterface(int component, int index){
+		return this.requiredInterfaces[component][index];
+	}
+
+	/**
+	 * Get the operations of a provided interface
+	 * @param component The component index
+	 * @param index The interface index
+	 * @return The symbols of the operations
+	 * */
+	public String [] getProvidedInterface(int component, int index){
+		return this.providedInterfaces[component][index];
+	}
+
+	/**
+	 * Get the number of connectors
+	 * @return The number of connectors
+	 * */
+	public int getNumberOfConnectors(){
+		return this.connectors.length;
+	}
+
+	/**
+	 * Get a connector
+	 * @param index The connector index
+	 * @return The component and the interface that
+	 * provides the interface, followed by the pairs
+	 * component-interface that require it
+	 * */
+	public int [] getConnector(int index){
+		return this.connectors[index];
+	}
+
+	/**
+	 * Check if the architecture has isolated components
+	 * @return True if some component has no interfaces
+	 * */
+	public boolean hasIsolatedComponents(){
+		return this.isolated;
+	}
+
+	/**
+	 * Check if the architecture has mutually dependent components
+	 * @return True if some pair of components are mutually dependent
+	 * */
+	public boolean hasMutuallyDepComponents(){
+		return this.mutuallyDependent;
+	}
+
+	/**
+	 * Check if the syntax tree can be built again
+	 * @return True if the schema is available
+	 * */
+	public boolean canBuildSyntaxTree(){
+		return this.schema != null;
+	}
+
+	//////////////////////////////////////////////////////////////////
+	//------------------------------------------------- Public methods
+	//////////////////////////////////////////////////////////////////
+
+	/**
+	 * Build the syntax tree represented by this genotype
+	 * @return A new syntax tree
+	 * */
+	public SyntaxTree toSyntaxTree(){
+		if(this.schema == null){
+			throw new IllegalStateException("The schema is not available to build the syntax tree");
+		}
+		return this.schema.createSyntaxTree(this.numberOfComponents, this.distribution);
+	}
+
+	@Override
+	public boolean equals(Object other){
+		if(other instanceof CompactGenotype){
+			CompactGenotype genotype = (CompactGenotype)other;
+			return this.numberOfComponents == genotype.numberOfComponents
+					&& Arrays.equals(this.distribution, genotype.distribution);
+		}
+		return false;
+	}
+
+	@Override
+	public int hashCode(){
+		return 31*this.numberOfComponents + Arrays.hashCode(this.distribution);
+	}
+
+	//////////////////////////////////////////////////////////////////
+	//------------------------------------------------ Private methods
+	//////////////////////////////////////////////////////////////////
+
+	/**
+	 * Extract the interfaces and the connectors
+	 * @param genotype The syntax tree
+	 * */
+	private void decode(SyntaxTree genotype){
+		ArrayList<ArrayList<String []>> required = new ArrayList<ArrayList<String []>>();
+		ArrayList<ArrayList<String []>> provided = new ArrayList<ArrayList<String []>>();
+		ArrayList<int []> connectorsList = new ArrayList<int []>();
+		ArrayList<String> operations = new ArrayList<String>();
+		ArrayList<SyntaxTreeNode> ends = new ArrayList<SyntaxTreeNode>();
+		ArrayList<String []> actualInterfaces = null;
+		SyntaxTreeNode node;
+		boolean isInterface = false, isConnector = false;
+		int size = genotype.size();
+
+		for(int i=1; i<size; i++){
+			node = genotype.getNode(i);
+
+			// Non terminal node
+			if(node.arity()!=0){
+				// End of the previous interface
+				if(isInterface){
+					actualInterfaces.add(operations.toArray(new String[operations.size()]));
+					operations.clear();
+					isInterface = false;
+				}
+				switch(GrammarSymbols.getCode(node)){
+				case GrammarSymbols.INTERFACE:
+					isInterface = true;
+					break;
+				case GrammarSymbols.REQUIRED_INTERFACES:
+					if(!isConnector){
+						actualInterfaces = new ArrayList<String []>();
+						required.add(actualInterfaces);
+					}
+					break;
+				case GrammarSymbols.PROVIDED_INTERFACES:
+					actualInterfaces = new ArrayList<String []>();
+					provided.add(actualInterfaces);
+					break;
+				case GrammarSymbols.CONNECTORS:
+					isConnector = true;
+					break;
+				case GrammarSymbols.CONNECTOR:
+					addConnector(ends, connectorsList);
+					break;
+				}
+			}
+			// Terminal node
+			else if(isInterface){
+				operations.add(node.getSymbol());
+			}
+			else if(isConnector){
+				ends.add(node);
+			}
+		}
+		if(isInterface){
+			actualInterfaces.add(operations.toArray(new String[operations.size()]));
+		}
+		addConnector(ends, connectorsList);
+
+		// Store the arrays
+		this.requiredInterfaces = new String[this.numberOfComponents][][];
+		this.providedInterfaces = new String[this.numberOfComponents][][];
+		for(int c=0; c<this.numberOfComponents; c++){
+			this.requiredInterfaces[c] = required.get(c).toArray(new String[required.get(c).size()][]);
+			this.providedInterfaces[c] = provided.get(c).toArray(new String[provided.get(c).size()][]);
+		}
+		this.connectors = connectorsList.toArray(new int[connectorsList.size()][]);
+	}
+
+	/**
+	 * Add the connector described by its terminal nodes
+	 * @param ends The ends of the provided interface and
+	 * the required interfaces, cleared after adding the connector
+	 * @param connectorsList The list of connectors
+	 * */
+	private void addConnector(ArrayList<SyntaxTreeNode> ends, ArrayList<int []> connectorsList){
+		if(!ends.isEmpty()){
+			int [] connector = new int[2*ends.size()];
+			for(int i=0; i<ends.size(); i++){
+				connector[2*i] = ConnectorEnd.getComponent(ends.get(i));
+				connector[2*i+1] = ConnectorEnd.getInterface(ends.get(i));
+			}
+			connectorsList.add(connector);
+			ends.clear();
+		}
+	}
+}
@@ -0,0 +1,294 @@
+package net.sf.jclec.sbse.discovery.imo;
+
+import net.sf.jclec.sbse.discovery.GrammarSymbols;
+import net.sf.jclec.syntaxtree.SyntaxTree;
+import net.sf.jclec.syntaxtree.SyntaxTreeNode;
+
+/**
+ * Positions of the components in the genotype of
+ * an individual. For each component, it stores where
+ * the component begins and ends, and the ranges of
+ * its classes, its required interfaces and its provided
+ * interfaces, so any of them can be accessed without
+ * routing the syntax tree from the root.
+ *
+ * <p>All the positions refer to nodes of the syntax tree.
+ * Start positions are inclusive and end positions are
+ * exclusive. The ranges of the sections (classes, required
+ * and provided interfaces) exclude the non terminal node
+ * that opens the section. The index is read-only, so it
+ * can be shared by the copies of the individual.
+ *
+ * <p>HISTORY:
+ * <ul>
+ *  <li>1.0: Creation (October 2026)
+ * </ul>
+ *
+ * @author Aurora Ramirez
+ * @author Jose Raul Romero
+ * @author Sebastian Ventura
+ * @version 1.0
+ * @see InteractiveMOIndividual
+ * */
+public class ComponentIndex {
+
+	//////////////////////////////////////////////////////////////////
+	//----------------------------------------------------- Properties
+	//////////////////////////////////////////////////////////////////
+
+	/** Number of components */
+	private int numberOfComponents;
+
+	/** Position of each component node, the last
+	 * position is the beginning of the connectors */
+	private int [] componentStart;
+
+	/** First class of each component */
+	private int [] classesStart;
+
+	/** First node of the required interfaces of each component */
+	private int [] requiredStart;
+
+	/** First node of the provided interfaces of each component */
+	private int [] providedStart;
+
+	/** Position of each interface node, first the required
+	 * and then the provided interfaces of each component */
+	private int [] interfaces;
+
+	/** Offsets of the interfaces of each section in the
+	 * array of interfaces: required interfaces of the component
+	 * c are located in [2c, 2c+1) and provided ones in [2c+1, 2c+2) */
+	private int [] interfaceOffsets;
+
+	//////////////////////////////////////////////////////////////////
+	//---------------------------------------------------- Constructor
+	//////////////////////////////////////////////////////////////////
+
+	/**
+	 * Parameterized constructor. The genotype
+	 * is routed once to locate the components.
+	 * @param genotype The syntax tree
+	 * @param numberOfComponents The number of components
+	 * */
+	public ComponentIndex(SyntaxTree genotype, int numberOfComponents){
+		int size = genotype.size();
+		int actualCmp = -1, numberOfInterfaces = 0, slot = 0;
+		boolean isConnector = false;
+		SyntaxTreeNode node;
+
+		this.numberOfComponents = numberOfComponents;
+		this.componentStart = new int[numberOfComponents+1];
+		this.classesStart = new int[numberOfComponents];
+		this.requiredStart = new int[numberOfComponents];
+		this.providedStart = new int[numberOfComponents];
+		this.interfaceOffsets = new int[2*numberOfComponents+1];
+		int [] positions = new int[size];
+
+		for(int i=1; !isConnector && i<size; i++){
+			node = genotype.getNode(i);
+			if(node.arity()!=0){
+				switch(GrammarSymbols.getCode(node)){
+				case GrammarSymbols.COMPONENT:
+					actualCmp++;
+					this.componentStart[actualCmp] = i;
+					break;
+				case GrammarSymbols.CLASSES:
+					this.classesStart[actualCmp] = i+1;
+					break;
+				case GrammarSymbols.REQUIRED_INTERFACES:
+					this.requiredStart[actualCmp] = i+1;
+					slot = 2*actualCmp;
+					this.interfaceOffsets[slot] = numberOfInterfaces;
+					break;
+				case GrammarSymbols.PROVIDED_INTERFACES:
+					this.providedStart[actualCmp] = i+1;
+					slot = 2*actualCmp+1;
+					this.interfaceOffsets[slot] = numberOfInterfaces;
+					break;
+				case GrammarSymbols.INTERFACE:
+					positions[numberOfInterfaces++] = i;
+					break;
+				case GrammarSymbols.CONNECTORS:
+					this.componentStart[numberOfComponents] = i;
+					isConnector = true;
+					break;
+				}
+			}
+		}
+		if(!isConnector){
+			this.componentStart[numberOfComponents] = size;
+		}
+		this.interfaceOffsets[2*numberOfComponents] = numberOfInterfaces;
+		this.interfaces = new int[numberOfInterfaces];
+		System.arraycopy(positions, 0, this.interfaces, 0, numberOfInterfaces);
+	}
+
+	//////////////////////////////////////////////////////////////////
+	//------------------------------------------------ Get/set methods
+	//////////////////////////////////////////////////////////////////
+
+	/**
+	 * Get the number of components
+	 * @return The number of components
+	 * */
+	public int getNumberOfComponents(){
+		return this.numberOfComponents;
+	}
+
+	/**
+	 * Get the position of a component
+	 * @param component The component index
+	 * @return The position of the component node
+	 * */
+	public int getComponentStart(int component){
+		return this.componentStart[component];
+	}
+
+	/**
+	 * Get the end of a component
+	 * @param component The component index
+	 * @return The position of the next component
+	 * or the beginning of the connectors
+	 * */
+	public int getComponentEnd(int component){
+		return this.componentStart[component+1];
+	}
+
+	/**
+	 * Get the beginning of the connectors
+	 * @return The position of the connectors node
+	 * */
+	public int getConnectorsStart(){
+		return this.componentStart[this.numberOfComponents];
+	}
+
+	/**
+	 * Get the first class of a component
+	 * @param component The component index
+	 * @return The position of the first class
+	 * */
+	public int getClassesStart(int component){
+		return this.classesStart[component];
+	}
+
+	/**
+	 * Get the end of the classes of a component
+	 * @param component The component index
+	 * @return The position after the last class
+	 * */
+	public int getClassesEnd(int component){
+		return this.requiredStart[component]-1;
+	}
+
+	/**
+	 * Get the number of classes of a component
+	 * @param component The component index
+	 * @return The number of classes
+	 * */
+	public int getNumberOfClasses(int component){
+		return getClassesEnd(component) - this.classesStart[component];
+	}
+
+	/**
+	 * Get the beginning of the required interfaces
+	 * @param component The component index
+	 * @return The position after the required-interfaces node
+	 * */
+	public int getRequiredStart(int component){
+		return this.requiredStart[component];
+	}
+
+	/**
+	 * Get the end of the required interfaces
+	 * @param component The component index
+	 * @return The position of the provided-interfaces node
+	 * */
+	public int getRequiredEnd(int component){
+		return this.providedStart[component]-1;
+	}
+
+	/**
+	 * Get the beginning of the provided interfaces
+	 * @param component The component index
+	 * @return The position after the provided-interfaces node
+	 * */
+	public int getProvidedStart(int component){
+		return this.providedStart[component];
+	}
+
+	/**
+	 * Get the end of the provided interfaces
+	 * @param component The component index
+	 * @return The end of the component
+	 * */
+	public int getProvidedEnd(int component){
+		return getComponentEnd(component);
+	}
+
+	/**
+	 * Get the number of required interfaces
+	 * @param component The component index
+	 * @return The number of required interfaces
+	 * */
+	public int getNumberOfRequired(int component){
+		return this.interfaceOffsets[2*component+1] - this.interfaceOffsets[2*component];
+	}
+
+	/**
+	 * Get the number of provided interfaces
+	 * @param component The component index
+	 * @return The number of provided interfaces
+	 * */
+	public int getNumberOfProvided(int component){
+		return this.interfaceOffsets[2*component+2] - this.interfaceOffsets[2*component+1];
+	}
+
+	/**
+	 * Get the position of a required interface
+	 * @param component The component index
+	 * @param index The interface index
+	 * @return The position of the interface node
+	 * */
+	public int getRequiredInterfaceStart(int component, int index){
+		return this.interfaces[this.interfaceOffsets[2*component]+index];
+	}
+
+	/**
+	 * Get the end of a required interface
+	 * @param component The component index
+	 * @param index The interface index
+	 * @return The position of the next interface node
+	 * or the end of the required interfaces
+	 * */
+	public int getRequiredInterfaceEnd(int component, int index){
+		if(index+1 < getNumberOfRequired(component)){
+			return getRequiredInterfaceStart(component, index+1);
+		}
+		return getRequiredEnd(component);
+	}
+
+	/**
+	 * Get the position of a provided interface
+	 * @param component The component index
+	 * @param index The interface index
+	 * @return The position of the interface node
+	 * */
+	public int getProvidedInterfaceStart(int component, int index){
+		return this.interfaces[this.interfaceOffsets[2*component+1]+index];
+	}
+
+	/**
+	 * Get the end of a provided interface
+	 * @param component The component index
+	 * @param index The interface index
+	 * @return The position of the next interface node
+	 * or the end of the component
+	 * */
+	public int getProvidedInterfaceEnd(int component, int index){
+		if(index+1 < getNumberOfProvided(component)){
+			return getProvidedInterfaceStart(component, index+1);
+		}
+		return getProvidedEnd(component);
+	}
+}
@@ -0,0 +1,185 @@
+package net.sf.jclec.sbse.discovery.imo;
+
+import java.util.Arrays;
+
+/**
+ * Engine to compute the groups of classes (connected
+ * components of the graph of relationships) inside a
+ * set of classes, usually the classes of a component.
+ * It uses a union-find structure over the neighbours
+ * of each class, so it does not recurse and its
+ * auxiliary arrays are reused between calls.
+ *
+ * <p>Groups are numbered following the order in which
+ * their first class appears in the set, which is the
+ * same numbering than a depth search started from each
+ * class not visited yet.
+ *
+ * <p>An engine is not thread-safe, each thread should
+ * obtain its own engine using
+ * <code>RelationshipGraph.getConnectedGroups()</code>.
+ *
+ * <p>HISTORY:
+ * <ul>
+ *  <li>1.0: Creation (October 2026)
+ * </ul>
+ *
+ * @author Aurora Ramirez
+ * @author Jose Raul Romero
+ * @author Sebastian Ventura
+ * @version 1.0
+ * @see RelationshipGraph
+ * */
+public class ConnectedGroups {
+
+	//////////////////////////////////////////////////////////////////
+	//----------------------------------------------------- Properties
+	//////////////////////////////////////////////////////////////////
+
+	/** The graph of relationships */
+	private RelationshipGraph graph;
+
+	/** Parent of each class in the union-find structure */
+	private int [] parent;
+
+	/** Group of each root, -1 if not assigned */
+	private int [] label;
+
+	/** Whether each class belongs to the actual set */
+	private boolean [] member;
+
+	//////////////////////////////////////////////////////////////////
+	//---------------------------------------------------- Constructor
+	//////////////////////////////////////////////////////////////////
+
+	/**
+	 * Parameterized constructor
+	 * @param graph The graph of relationships
+	 * */
+	public ConnectedGroups(RelationshipGraph graph){
+		int n = graph.getNumberOfClasses();
+		this.graph = graph;
+		this.parent = new int[n];
+		this.label = new int[n];
+		this.member = new boolean[n];
+		Arrays.fill(this.label, -1);
+	}
+
+	//////////////////////////////////////////////////////////////////
+	//------------------------------------------------- Public methods
+	//////////////////////////////////////////////////////////////////
+
+	/**
+	 * Compute the groups of a set of classes
+	 * @param classes Array with the indexes of the classes
+	 * @param from First position of the set (inclusive)
+	 * @param to Last position of the set (exclusive)
+	 * @param classesToGroups Array (size equal to the number of classes)
+	 * to store the group of each class in the set
+	 * @return The number of groups
+	 * */
+	public int computeGroups(int [] classes, int from, int to, int [] classesToGroups){
+		return computeGroups(classes, from, to, classesToGroups, -1, -1);
+	}
+
+	/**
+	 * Compute the groups of a set of classes ignoring
+	 * the relationship between two given classes
+	 * @param classes Array with the indexes of the classes
+	 * @param from First position of the set (inclusive)
+	 * @param to Last position of the set (exclusive)
+	 * @param classesToGroups Array (size equal to the number of classes)
+	 * to store the group of each class in the set
+	 * @param origClass First class of the ignored relationship, -1 if none
+	 * @param destClass Second class of the ignored relationship, -1 if none
+	 * @return The number of groups
+	 * */
+	public int computeGroups(int [] classes, int from, int to, int [] classesToGroups, int origClass, int destClass){
+		int p, q, classIndex, neighbour, degree, root;
+		int numberOfGroups = 0;
+
+		// Each class is a group
+		for(p=from; p<to; p++){
+			classIndex = classes[p];
+			this.member[classIndex] = true;
+			this.parent[classIndex] = classIndex;
+		}
+
+		// Join the related classes in the set
+		for(p=from; p<to; p++){
+			classIndex = classes[p];
+			degree = this.graph.getDegree(classIndex);
+			for(q=0; q<degree; q++){
+				neighbour = this.graph.getNeighbour(classIndex, q);
+				if(this.member[neighbour] && !isIgnored(classIndex, neighbour, origClass, destClass)){
+					union(classIndex, neighbour);
+				}
+			}
+		}
+
+		// Number the groups in order of appearance
+		for(p=from; p<to; p++){
+			classIndex = classes[p];
+			root = find(classIndex);
+			if(this.label[root] == -1){
+				this.label[root] = numberOfGroups++;
+			}
+			classesToGroups[classIndex] = this.label[root];
+		}
+
+		// Restore the auxiliary arrays
+		for(p=from; p<to; p++){
+			classIndex = classes[p];
+			this.member[classIndex] = false;
+			this.label[classIndex] = -1;
+		}
+		return numberOfGroups;
+	}
+
+	//////////////////////////////////////////////////////////////////
+	//------------------------------------------------ Private methods
+	//////////////////////////////////////////////////////////////////
+
+	/**
+	 * Check if a relationship should be ignored
+	 * @param i First class
+	 * @param j Second class
+	 * @param origClass First class of the ignored relationship
+	 * @param destClass Second class of the ignored relationship
+	 * @return True if the pair (i,j) is the ignored relationship
+	 * */
+	private boolean isIgnored(int i, int j, int origClass, int destClass){
+		return (i==origClass && j==destClass) || (i==destClass && j==origClass);
+	}
+
+	/**
+	 * Find the root of the group of a class,
+	 * halving the path to the root
+	 * @param classIndex The class index
+	 * @return The root of its group
+	 * */
+	private int find(int classIndex){
+		int x = classIndex;
+		while(this.parent[x] != x){
+			this.parent[x] = this.parent[this.parent[x]];
+			x = this.parent[x];
+		}
+		return x;
+	}
+
+	/**
+	 * Join the groups of two classes
+	 * @param i First class
+	 * @param j Second class
+	 * */
+	private void union(int i, int j){
+		int ri = find(i);
+		int rj = find(j);
+		if(ri < rj){
+			this.parent[rj] = ri;
+		}
+		else if(rj < ri){
+			this.parent[ri] = rj;
+		}
+	}
+}
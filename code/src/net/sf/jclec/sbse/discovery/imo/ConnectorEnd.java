@@ -0,0 +1,113 @@
+package net.sf.jclec.sbse.discovery.imo;
+
+import net.sf.jclec.sbse.discovery.GrammarSymbols;
+import net.sf.jclec.sbse.discovery.TerminalNode;
+import net.sf.jclec.syntaxtree.SyntaxTreeNode;
+
+/**
+ * Terminal node that represents an end of a connector,
+ * i.e. an interface of a component. Its symbol has the
+ * format "componentN-interfaceM", but the node also keeps
+ * the indexes of the component and the interface, so the
+ * connectors can be decoded without parsing the symbol.
+ *
+ * <p>HISTORY:
+ * <ul>
+ *  <li>1.0: Creation (October 2026)
+ * </ul>
+ *
+ * @author Aurora Ramirez
+ * @author Jose Raul Romero
+ * @author Sebastian Ventura
+ * @version 1.0
+ * @see InteractiveMOSchema
+ * */
+public class ConnectorEnd extends TerminalNode {
+
+	//////////////////////////////////////////////////////////////////
+	//----------------------------------------------------- Properties
+	//////////////////////////////////////////////////////////////////
+
+	/** Serial ID */
+	private static final long serialVersionUID = 3927446108763617790L;
+
+	/** Component index (0-based) */
+	private int component;
+
+	/** Interface index inside its section of the component (0-based) */
+	private int interfaceIndex;
+
+	//////////////////////////////////////////////////////////////////
+	//---------------------------------------------------- Constructor
+	//////////////////////////////////////////////////////////////////
+
+	/**
+	 * Parameterized constructor
+	 * @param component The component index (0-based)
+	 * @param interfaceIndex The interface index (0-based)
+	 * */
+	public ConnectorEnd(int component, int interfaceIndex){
+		super("component"+(component+1)+"-interface"+(interfaceIndex+1), GrammarSymbols.CONNECTOR_END, -1);
+		this.component = component;
+		this.interfaceIndex = interfaceIndex;
+	}
+
+	//////////////////////////////////////////////////////////////////
+	//------------------------------------------------ Get/set methods
+	//////////////////////////////////////////////////////////////////
+
+	/**
+	 * Get the component
+	 * @return The component index (0-based)
+	 * */
+	public int getComponent(){
+		return this.component;
+	}
+
+	/**
+	 * Get the interface
+	 * @return The interface index (0-based)
+	 * */
+	public int getInterface(){
+		return this.interfaceIndex;
+	}
+
+	//////////////////////////////////////////////////////////////////
+	//----------------------------------------------- Override methods
+	//////////////////////////////////////////////////////////////////
+
+	@Override
+	public SyntaxTreeNode copy(){
+		return new ConnectorEnd(this.component, this.interfaceIndex);
+	}
+
+	//////////////////////////////////////////////////////////////////
+	//------------------------------------------------- Public methods
+	//////////////////////////////////////////////////////////////////
+
+	/**
+	 * Get the component of an end of a connector
+	 * @param node The terminal node
+	 * @return The component index (0-based)
+	 * */
+	public static int getComponent(SyntaxTreeNode node){
+		if(node instanceof ConnectorEnd){
+			return ((ConnectorEnd)node).component;
+		}
+		String symbol = node.getSymbol();
+		return Integer.parseInt(symbol.substring("component".length(), symbol.indexOf('-'))) - 1;
+	}
+
+	/**
+	 * Get the interface of an end of a connector
+	 * @param node The terminal node
+	 * @return The interface index (0-based)
+	 * */
+	public static int getInterface(SyntaxTreeNode node){
+		if(node instanceof ConnectorEnd){
+			return ((ConnectorEnd)node).interfaceIndex;
+		}
+		String symbol = node.getSymbol();
+		return Integer.parseInt(symbol.substring(symbol.lastIndexOf('e')+1)) - 1;
+	}
+}
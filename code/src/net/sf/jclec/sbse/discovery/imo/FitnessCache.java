@@ -0,0 +1,431 @@
+package net.sf.jclec.sbse.discovery.imo;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import net.sf.jclec.IFitness;
+import net.sf.jclec.sbse.discovery.GrammarSymbols;
+import net.sf.jclec.sbse.discovery.Individual;
+import net.sf.jclec.syntaxtree.SyntaxTree;
+import net.sf.jclec.syntaxtree.SyntaxTreeNode;
+
+/**
+ * Bounded cache of evaluations. Each architecture is
+ * identified by a canonical fingerprint, a 64-bit hash
+ * of the distribution of classes into components and the
+ * operations of the interfaces of each component. The
+ * components are renamed in the order given by their
+ * first class, so that two architectures that only
+ * differ in the order of their components share the
+ * same fingerprint. The canonical distribution is stored
+ * with each evaluation to confirm the matches.
+ *
+ * <p>When the cache is full, the least recently
+ * used evaluation is removed.
+ *
+ * <p>HISTORY:
+ * <ul>
+ *  <li>1.0: Creation (October 2026)
+ *  <li>1.1: Summaries only cached without the link to the parent (October 2026)
+ *  <li>1.2: Evaluations keyed on a 64-bit hash (October 2026)
+ * </ul>
+ *
+ * @author Aurora Ramirez
+ * @author Jose Raul Romero
+ * @author Sebastian Ventura
+ * @version 1.2
+ * @see InteractiveMOEvaluator
+ * */
+public class FitnessCache {
+
+	//////////////////////////////////////////////////////////////////
+	//----------------------------------------------------- Properties
+	//////////////////////////////////////////////////////////////////
+
+	/** Multiplier of the hash values */
+	private static final long HASH_MULTIPLIER = 0x9E3779B97F4A7C15L;
+
+	/** Maximum number of evaluations */
+	private int maxSize;
+
+	/** Evaluations, in access order */
+	private LinkedHashMap<Long, Entry> entries;
+
+	/** Number of hits */
+	private long hits;
+
+	/** Number of misses */
+	private long misses;
+
+	//////////////////////////////////////////////////////////////////
+	//---------------------------------------------------- Constructor
+	//////////////////////////////////////////////////////////////////
+
+	/**
+	 * Parameterized constructor
+	 * @param maxSize Maximum number of evaluations
+	 * */
+	public FitnessCache(int maxSize){
+		if(maxSize < 1){
+			throw new IllegalArgumentException("The size of the cache must be greater than 0");
+		}
+		this.maxSize = maxSize;
+		this.entries = new LinkedHashMap<Long, Entry>(16, 0.75f, true){
+			private static final long serialVersionUID = 6217405338191840917L;
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest){
+				return size() > FitnessCache.this.maxSize;
+			}
+		};
+	}
+
+	//////////////////////////////////////////////////////////////////
+	//------------------------------------------------ Get/set methods
+	//////////////////////////////////////////////////////////////////
+
+	/**
+	 * Get the maximum number of evaluations
+	 * @return The maximum size of the cache
+	 * */
+	public int getMaxSize(){
+		return this.maxSize;
+	}
+
+	/**
+	 * Get the number of stored evaluations
+	 * @return The current size of the cache
+	 * */
+	public synchronized int size(){
+		return this.entries.size();
+	}
+
+	/**
+	 * Get the number of hits
+	 * @return Number of evaluations restored from the cache
+	 * */
+	public synchronized long getHits(){
+		return this.hits;
+	}
+
+	/**
+	 * Get the number of misses
+	 * @return Number of evaluations not found in the cache
+	 * */
+	public synchronized long getMisses(){
+		return this.misses;
+	}
+
+	/**
+	 * Get the ratio of hits
+	 * @return Hits divided by the number of queries,
+	 * 0 if the cache has not been queried
+	 * */
+	public synchronized double getHitRate(){
+		long queries = this.hits + this.misses;
+		if(queries == 0){
+			return 0.0;
+		}
+		return (double)this.hits/(double)queries;
+	}
+
+	//////////////////////////////////////////////////////////////////
+	//------------------------------------------------- Public methods
+	//////////////////////////////////////////////////////////////////
+
+	/**
+	 * Remove all the evaluations and reset the counters
+	 * */
+	public synchronized void clear(){
+		this.entries.clear();
+		this.hits = 0;
+		this.misses = 0;
+	}
+
+	/**
+	 * Build the canonical fingerprint of an individual
+	 * @param ind The individual
+	 * @param canonical Array (size equal to the number of components)
+	 * to store the canonical position of each component
+	 * @return The fingerprint
+	 * */
+	public long fingerprint(InteractiveMOIndividual ind, int [] canonical){
+		int [] distribution = ind.getClassesDistribution();
+		int numberOfComponents = ind.getNumberOfComponents();
+		long [] interfaces = new long[numberOfComponents];
+		int next = 0;
+
+		// Rename the components in order of their first class
+		Arrays.fill(canonical, -1);
+		for(int i=0; i<distribution.length; i++){
+			if(canonical[distribution[i]] == -1){
+				canonical[distribution[i]] = next++;
+			}
+		}
+
+		// Operations of the interfaces of each component
+		if(ind.isCompact()){
+			fingerprint(ind.getCompactGenotype(), canonical, interfaces);
+		}
+		else{
+			fingerprint(ind.getGenotype(), canonical, interfaces);
+		}
+
+		// Combine the hash of the distribution with the interfaces in canonical order
+		long key = ind.getArchitectureHash();
+		for(int i=0; i<numberOfComponents; i++){
+			key = Individual.mix(key*HASH_MULTIPLIER + interfaces[i]);
+		}
+		return key;
+	}
+
+	/**
+	 * Hash the operations of the interfaces
+	 * of each component of a syntax tree
+	 * @param genotype The syntax tree
+	 * @param canonical The canonical position of each component
+	 * @param interfaces Array to store the hash of each component, in canonical order
+	 * */
+	private void fingerprint(SyntaxTree genotype, int [] canonical, long [] interfaces){
+		SyntaxTreeNode node;
+		int actualCmp = -1, code;
+		boolean isInterface = false, isConnector = false;
+		for(int i=1; !isConnector && i<genotype.size(); i++){
+			node = genotype.getNode(i);
+			if(node.arity()!=0){
+				code = GrammarSymbols.getCode(node);
+				switch(code){
+				case GrammarSymbols.COMPONENT:
+					actualCmp++;
+					break;
+				case GrammarSymbols.CLASSES:
+					isInterface = false;
+					break;
+				case GrammarSymbols.REQUIRED_INTERFACES:
+				case GrammarSymbols.PROVIDED_INTERFACES:
+				case GrammarSymbols.INTERFACE:
+					isInterface = true;
+					interfaces[canonical[actualCmp]] = append(interfaces[canonical[actualCmp]], code);
+					break;
+				case GrammarSymbols.CONNECTORS:
+					isConnector = true;
+					break;
+				}
+			}
+			else if(isInterface){
+				interfaces[canonical[actualCmp]] = append(interfaces[canonical[actualCmp]], node.getSymbol().hashCode());
+			}
+		}
+	}
+
+	/**
+	 * Hash the operations of the interfaces
+	 * of each component of a compact genotype,
+	 * in the same order than the syntax tree
+	 * @param genotype The compact genotype
+	 * @param canonical The canonical position of each component
+	 * @param interfaces Array to store the hash of each component, in canonical order
+	 * */
+	private void fingerprint(CompactGenotype genotype, int [] canonical, long [] interfaces){
+		int numberOfComponents = genotype.getNumberOfComponents();
+		long hash;
+		for(int c=0; c<numberOfComponents; c++){
+			hash = append(0L, GrammarSymbols.REQUIRED_INTERFACES);
+			for(int i=0; i<genotype.getNumberOfRequired(c); i++){
+				hash = append(hash, GrammarSymbols.INTERFACE);
+				for(String operation: genotype.getRequiredInterface(c, i)){
+					hash = append(hash, operation.hashCode());
+				}
+			}
+			hash = append(hash, GrammarSymbols.PROVIDED_INTERFACES);
+			for(int i=0; i<genotype.getNumberOfProvided(c); i++){
+				hash = append(hash, GrammarSymbols.INTERFACE);
+				for(String operation: genotype.getProvidedInterface(c, i)){
+					hash = append(hash, operation.hashCode());
+				}
+			}
+			interfaces[canonical[c]] = hash;
+		}
+	}
+
+	/**
+	 * Append a value to a hash
+	 * @param hash The hash
+	 * @param value The value
+	 * @return The new hash
+	 * */
+	private static long append(long hash, int value){
+		return Individual.mix(hash*HASH_MULTIPLIER + value);
+	}
+
+	/**
+	 * Restore the evaluation of an individual. The evaluation
+	 * is only restored if the individual has the same canonical
+	 * distribution of classes than the stored one.
+	 * @param key The fingerprint of the individual
+	 * @param canonical The canonical position of each component
+	 * @param ind The individual
+	 * @return True if the evaluation was found, false otherwise
+	 * */
+	public boolean restore(long key, int [] canonical, InteractiveMOIndividual ind){
+		Entry entry;
+		synchronized(this){
+			entry = this.entries.get(key);
+			if(entry == null || !sameDistribution(entry.distribution, ind.getClassesDistribution(), canonical)){
+				this.misses++;
+				return false;
+			}
+			this.hits++;
+		}
+
+		int numberOfComponents = canonical.length;
+		int nMeasures = entry.measures.length;
+		int [] numberOfClasses = new int[numberOfComponents];
+		int [] numberOfGroups = new int[numberOfComponents];
+		int [] externalConnections = new int[numberOfComponents];
+		int [] numberOfAbstractClasses = new int[numberOfComponents];
+		double [][] measures = new double[nMeasures][numberOfComponents];
+		int c;
+		for(int i=0; i<numberOfComponents; i++){
+			c = canonical[i];
+			numberOfClasses[i] = entry.numberOfClasses[c];
+			numberOfGroups[i] = entry.numberOfGroups[c];
+			externalConnections[i] = entry.externalConnections[c];
+			numberOfAbstractClasses[i] = entry.numberOfAbstractClasses[c];
+			for(int j=0; j<nMeasures; j++){
+				measures[j][i] = entry.measures[j][c];
+			}
+		}
+
+		ind.setFitness(entry.fitness.copy());
+		ind.setNumberOfClasses(numberOfClasses);
+		ind.setNumberOfGroups(numberOfGroups);
+		ind.setClassesToGroups(entry.classesToGroups);
+		ind.setExternalConnections(externalConnections);
+		ind.setNumberOfAbstractClasses(numberOfAbstractClasses);
+		ind.setComponentMeasures(measures);
+		ind.setMeasuresNames(entry.names);
+
+		// The summary is only valid if the components are in the same order
+		if(Arrays.equals(canonical, entry.canonical)){
+			ind.setSummary(entry.summary);
+		}
+		return true;
+	}
+
+	/**
+	 * Store the evaluation of an individual
+	 * @param key The fingerprint of the individual
+	 * @param canonical The canonical position of each component
+	 * @param ind The evaluated individual
+	 * */
+	public void store(long key, int [] canonical, InteractiveMOIndividual ind){
+		int numberOfComponents = canonical.length;
+		int [] distribution = ind.getClassesDistribution();
+		double [][] indMeasures = ind.getComponentMeasures();
+		int nMeasures = indMeasures.length;
+		Entry entry = new Entry();
+		entry.fitness = ind.getFitness().copy();
+		entry.names = ind.getMeasuresNames();
+		entry.classesToGroups = new int[distribution.length];
+		entry.distribution = new int[distribution.length];
+		entry.canonical = canonical.clone();
+		// A summary that still refers to the summary of its parent is
+		// not stored, since the entry would keep all its ancestors
+		ArchitectureSummary summary = ind.getSummary();
+		if(summary != null && summary.getMove() == null){
+			entry.summary = summary;
+		}
+		entry.numberOfClasses = new int[numberOfComponents];
+		entry.numberOfGroups = new int[numberOfComponents];
+		entry.externalConnections = new int[numberOfComponents];
+		entry.numberOfAbstractClasses = new int[numberOfComponents];
+		entry.measures = new double[nMeasures][numberOfComponents];
+		for(int i=0; i<entry.classesToGroups.length; i++){
+			entry.classesToGroups[i] = ind.getGroup(i);
+			entry.distribution[i] = canonical[distribution[i]];
+		}
+		int c;
+		for(int i=0; i<numberOfComponents; i++){
+			c = canonical[i];
+			entry.numberOfClasses[c] = ind.getNumberOfClasses(i);
+			entry.numberOfGroups[c] = ind.getNumberOfGroups(i);
+			entry.externalConnections[c] = ind.getExternalConnections()[i];
+			entry.numberOfAbstractClasses[c] = ind.getNumberOfAbstractClasses()[i];
+			for(int j=0; j<nMeasures; j++){
+				entry.measures[j][c] = indMeasures[j][i];
+			}
+		}
+		synchronized(this){
+			this.entries.put(key, entry);
+		}
+	}
+
+	//////////////////////////////////////////////////////////////////
+	//------------------------------------------------ Private methods
+	//////////////////////////////////////////////////////////////////
+
+	/**
+	 * Check if a distribution of classes is equal
+	 * to a distribution in canonical order
+	 * @param stored The canonical distribution
+	 * @param distribution The distribution of the individual
+	 * @param canonical The canonical position of each component of the individual
+	 * @return True if both distributions are equal, false otherwise
+	 * */
+	private boolean sameDistribution(int [] stored, int [] distribution, int [] canonical){
+		if(stored.length != distribution.length){
+			return false;
+		}
+		for(int i=0; i<distribution.length; i++){
+			if(stored[i] != canonical[distribution[i]]){
+				return false;
+			}
+		}
+		return true;
+	}
+
+	//////////////////////////////////////////////////////////////////
+	//--------------------------------------------------- Inner class
+	//////////////////////////////////////////////////////////////////
+
+	/**
+	 * Evaluation of an architecture. The measures
+	 * per component are stored in canonical order.
+	 * */
+	private static class Entry {
+
+		/** The fitness */
+		IFitness fitness;
+
+		/** Measures per component */
+		double [][] measures;
+
+		/** Names of the measures */
+		String [] names;
+
+		/** Number of classes in each component */
+		int [] numberOfClasses;
+
+		/** Number of groups in each component */
+		int [] numberOfGroups;
+
+		/** Group of each class */
+		int [] classesToGroups;
+
+		/** Number of external connections in each component */
+		int [] externalConnections;
+
+		/** Number of abstract classes in each component */
+		int [] numberOfAbstractClasses;
+
+		/** Canonical component of each class */
+		int [] distribution;
+
+		/** Canonical position of each component in the evaluated individual */
+		int [] canonical;
+
+		/** Summary of the evaluated individual, null if it was not available */
+		ArchitectureSummary summary;
+	}
+}
@@ -225,6 +225,27 @@ public class InteractiveMOEPAlgorithm extends MOEPAlgorithm {
 	 * 	<li>interaction-frequency (<code>int</code>):
 	 * <p>Frequency of interaction with the architect</p>
 	 * </li>
+	 * 
+	 * 	<li>compact-genotype (<code>boolean</code>):
+	 * <p>If true, the individuals only keep their compact genotype
+	 * and the syntax tree is built when it is requested. Default value is false</p>
+	 * </li>
+	 * 
+	 * 	<li>incremental-synthesis (<code>boolean</code>):
+	 * <p>If true, the mutated trees only rebuild the components affected
+	 * by the mutation. Default value is false</p>
+	 * </li>
+	 * 
+	 * 	<li>validate-synthesis (<code>boolean</code>):
+	 * <p>If true, the incremental trees are compared with the complete
+	 * rebuild, and the complete rebuild is used when they differ.
+	 * Default value is false</p>
+	 * </li>
+	 * 
+	 * 	<li>interface-cache-size (<code>int</code>):
+	 * <p>Maximum number of synthesized components stored in the cache.
+	 * Default value is 0 (the cache is disabled)</p>
+	 * </li>
 	 * </ul>
 	 * */
 	@Override
@@ -276,6 +297,15 @@ public class InteractiveMOEPAlgorithm extends MOEPAlgorithm {
 
 		// Configure problem parameters in species and evaluator
 		((InteractiveMOSpecies)this.getSpecies()).setConstraints(min, max);
+		((InteractiveMOSpecies)this.getSpecies()).setCompactGenotype(settings.getBoolean("compact-genotype", false));
+		InteractiveMOSchema schema = (InteractiveMOSchema)((InteractiveMOSpecies)this.getSpecies()).getGenotypeSchema();
+		schema.setIncrementalSynthesis(settings.getBoolean("incremental-synthesis", false));
+		schema.setValidateSynthesis(settings.getBoolean("validate-synthesis", false));
+		int interfaceCacheSize = settings.getInt("interface-cache-size", 0);
+		if(interfaceCacheSize < 0){
+			throw new IllegalArgumentException("The size of the cache cannot be negative");
+		}
+		schema.setInterfaceCacheSize(interfaceCacheSize);
 
 		// Configure problem instance dependencies
 		// If all navigable relationships is considered as candidate interface...
@@ -475,6 +505,10 @@ public class InteractiveMOEPAlgorithm extends MOEPAlgorithm {
 		if(state == FINISHED && interactionController!=null){
 			this.interactionController.printAlgorithmState(2, -1); // LOG Algorithm ends
 		}
+		if(state == FINISHED){
+			// Release the threads of the evaluator
+			((InteractiveMOEvaluator)this.getEvaluator()).shutdown();
+		}
 		//System.out.println("END DO CONTROL");
 	}
 
@@ -677,13 +711,18 @@ public class InteractiveMOEPAlgorithm extends MOEPAlgorithm {
 		ArrayList<UMLClass> classesList = builder.getClasses();
 
 		if(relationshipsDataset!=null){
+			// Decode the relationships only once, they will be shared by species and evaluator
+			RelationshipModel relationships = new RelationshipModel(relationshipsDataset);
+
 			// Set in Species
 			((InteractiveMOSpecies)this.getSpecies()).setDataset(relationshipsDataset);
 			((InteractiveMOSpecies)this.getSpecies()).setClassesList(classesList);
+			((InteractiveMOSpecies)this.getSpecies()).setRelationshipModel(relationships);
 
 			// Set in Evaluator
 			((InteractiveMOEvaluator)this.getEvaluator()).setRelationshipsDataset(relationshipsDataset);
 			((InteractiveMOEvaluator)this.getEvaluator()).setClassesList(classesList);
+			((InteractiveMOEvaluator)this.getEvaluator()).setRelationshipModel(relationships);
 
 			numberOfClasses = relationshipsDataset.getColumns().size();
 		}
@@ -1,23 +1,31 @@
 package net.sf.jclec.sbse.discovery.imo;
 
 import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
 
 import org.apache.commons.configuration.Configuration;
 
 import es.uco.kdis.datapro.dataset.Dataset;
-import es.uco.kdis.datapro.dataset.column.MultiIntegerColumn;
-import es.uco.kdis.datapro.datatypes.MultiIntegerValue;
-import es.uco.kdis.datapro.datatypes.InvalidValue;
 import es.uco.kdis.dss.databuilders.info.UMLClass;
 import net.sf.jclec.IFitness;
 import net.sf.jclec.IIndividual;
+import net.sf.jclec.fitness.SimpleValueFitness;
 import net.sf.jclec.mo.evaluation.MOEvaluator;
 //import net.sf.jclec.mo.evaluation.MOParallelEvaluator;
 import net.sf.jclec.mo.evaluation.fitness.MOFitness;
 import net.sf.jclec.mo.evaluation.Objective;
+import net.sf.jclec.sbse.discovery.GrammarSymbols;
 import net.sf.jclec.sbse.discovery.Individual;
+import net.sf.jclec.sbse.discovery.imo.objectives.IFusedMetric;
 import net.sf.jclec.sbse.discovery.imo.objectives.Metric;
 import net.sf.jclec.syntaxtree.SyntaxTree;
+import net.sf.jclec.syntaxtree.SyntaxTreeNode;
 
 /**
  * Evaluator for the interactive multiobjective
@@ -26,12 +34,14 @@ import net.sf.jclec.syntaxtree.SyntaxTree;
  * <p>HISTORY:
  * <ul>
  *  <li>1.0: Creation (February 2015)
+ *  <li>1.1: Cross-check of the fused evaluation (October 2026)
+ *  <li>1.2: Shutdown of the parallel evaluation (October 2026)
  * </ul>
  * 
  * @author Aurora Ramirez
  * @author Jose Raul Romero
  * @author Sebastian Ventura
- * @version 1.0
+ * @version 1.2
  * @see MOEvaluator
  * */
 public class InteractiveMOEvaluator extends MOEvaluator { //extends MOParallelEvaluator { 
@@ -46,21 +56,15 @@ public class InteractiveMOEvaluator extends MOEvaluator { //extends MOParallelEv
 	/** Dataset that stores the information about relations */
 	private Dataset relationshipsDataset;
 
+	/** Primitive representation of the relationships */
+	private RelationshipModel relationships;
+
 	/** List of classes */
 	private ArrayList<UMLClass> classesList;
 
 	/** Number of classes */
 	//private int numberOfClasses;
 
-	/** Array with the indexes of classes in a component  */
-	private transient ArrayList<Integer> indexes = new ArrayList<Integer>();
-
-	/** Array of nodes visited used the graph depth function  */
-	private transient boolean visited [];
-
-	/** Classes and its correspondent group inside the component */
-	private transient int classGroup [];
-
 	/** Maximum number of components */
 	private int maxComponents;
 
@@ -70,6 +74,27 @@ public class InteractiveMOEvaluator extends MOEvaluator { //extends MOParallelEv
 	/** Maximum number of interfaces */
 	private int maxInterfaces;
 
+	/** Whether the individuals are decoded once for all the objectives */
+	private boolean fusedEvaluation;
+
+	/** Whether the mutants that describe their changes are evaluated from their parents */
+	private boolean deltaEvaluation;
+
+	/** Whether the fused evaluation is compared with the evaluation that routes the genotype */
+	private boolean crossCheckEvaluation;
+
+	/** Whether each class is abstract, used by the fused evaluation */
+	private transient boolean abstractClasses [];
+
+	/** Number of threads used to evaluate a list of individuals */
+	private int numberOfThreads = 1;
+
+	/** Pool of threads for the parallel evaluation */
+	private transient ExecutorService executor;
+
+	/** Cache of evaluations, null if disabled */
+	private transient FitnessCache fitnessCache;
+
 	//////////////////////////////////////////////////////////////////
 	//--------------------------------------------------- Constructors
 	//////////////////////////////////////////////////////////////////
@@ -160,6 +185,7 @@ public class InteractiveMOEvaluator extends MOEvaluator { //extends MOParallelEv
 		// Configure in the objectives
 		for(Objective obj: this.objectives){
 			((Metric)obj).setDataset(relationshipsDataset);
+			((Metric)obj).setRelationshipModel(this.relationships);
 			((Metric)obj).setMaxComponents(maxComponents);
 			((Metric)obj).setMinComponents(minComponents);
 			((Metric)obj).setMaxInterfaces(maxInterfaces);
@@ -180,12 +206,140 @@ public class InteractiveMOEvaluator extends MOEvaluator { //extends MOParallelEv
 		}
 	}
 
+	/**
+	 * Get the relationship model
+	 * @return The relationship model
+	 * */
+	public RelationshipModel getRelationshipModel(){
+		return this.relationships;
+	}
+
+	/**
+	 * Set the relationship model, it should be
+	 * built from the relationships dataset
+	 * @param relationships The relationship model
+	 * */
+	public void setRelationshipModel(RelationshipModel relationships){
+		this.relationships = relationships;
+
+		// Set the model in the metrics
+		for(Objective obj: this.objectives){
+			((Metric)obj).setRelationshipModel(this.relationships);
+		}
+	}
+
 	/**
 	 * Set the list of classes
 	 * @param List of classes
 	 * */
 	public void setClassesList(ArrayList<UMLClass> classesList){
 		this.classesList = classesList;
+		this.abstractClasses = null;
+	}
+
+	/**
+	 * Check if the fused evaluation is enabled
+	 * @return True if the individuals are decoded
+	 * only once, false if each metric routes the genotype
+	 * */
+	public boolean isFusedEvaluation(){
+		return this.fusedEvaluation;
+	}
+
+	/**
+	 * Enable or disable the fused evaluation
+	 * @param fusedEvaluation The new value
+	 * */
+	public void setFusedEvaluation(boolean fusedEvaluation){
+		this.fusedEvaluation = fusedEvaluation;
+	}
+
+	/**
+	 * Check if the delta evaluation is enabled
+	 * @return True if the mutants created by moving
+	 * a class are evaluated from their parents
+	 * */
+	public boolean isDeltaEvaluation(){
+		return this.deltaEvaluation;
+	}
+
+	/**
+	 * Enable or disable the delta evaluation
+	 * @param deltaEvaluation The new value
+	 * */
+	public void setDeltaEvaluation(boolean deltaEvaluation){
+		this.deltaEvaluation = deltaEvaluation;
+	}
+
+	/**
+	 * Check if the cross-check of the fused evaluation is enabled
+	 * @return True if each fused evaluation is compared with
+	 * the evaluation that routes the genotype
+	 * */
+	public boolean isCrossCheckEvaluation(){
+		return this.crossCheckEvaluation;
+	}
+
+	/**
+	 * Enable or disable the cross-check of the fused evaluation
+	 * @param crossCheckEvaluation The new value
+	 * */
+	public void setCrossCheckEvaluation(boolean crossCheckEvaluation){
+		this.crossCheckEvaluation = crossCheckEvaluation;
+	}
+
+	/**
+	 * Get the number of threads
+	 * @return The number of threads used to
+	 * evaluate a list of individuals
+	 * */
+	public int getNumberOfThreads(){
+		return this.numberOfThreads;
+	}
+
+	/**
+	 * Set the number of threads
+	 * @param numberOfThreads The number of threads used
+	 * to evaluate a list of individuals
+	 * */
+	public synchronized void setNumberOfThreads(int numberOfThreads){
+		if(numberOfThreads < 1){
+			throw new IllegalArgumentException("The number of threads must be greater than 0");
+		}
+		this.numberOfThreads = numberOfThreads;
+		shutdown();
+	}
+
+	/**
+	 * Stop the pool of threads used by the parallel
+	 * evaluation. It should be invoked when the execution
+	 * ends, a new pool is created if the evaluator is used again.
+	 * */
+	public synchronized void shutdown(){
+		if(this.executor != null){
+			this.executor.shutdown();
+			this.executor = null;
+		}
+	}
+
+	/**
+	 * Get the cache of evaluations
+	 * @return The cache, null if it is disabled
+	 * */
+	public FitnessCache getFitnessCache(){
+		return this.fitnessCache;
+	}
+
+	/**
+	 * Set the size of the cache of evaluations
+	 * @param size Maximum number of evaluations stored,
+	 * 0 to disable the cache
+	 * */
+	public void setFitnessCacheSize(int size){
+		if(size < 0){
+			throw new IllegalArgumentException("The size of the cache cannot be negative");
+		}
+		this.fitnessCache = size > 0 ? new FitnessCache(size) : null;
 	}
 
 	/**
@@ -205,11 +359,80 @@ public class InteractiveMOEvaluator extends MOEvaluator { //extends MOParallelEv
 	//----------------------------------------------- Override methods
 	//////////////////////////////////////////////////////////////////
 
+	/**
+	 * {@inheritDoc}
+	 * <p>Specific parameters for the evaluator are:
+	 * <ul>
+	 * 	<li>fused-evaluation (<code>boolean</code>):
+	 * 	If true, the individual is decoded only once
+	 * 	and the metrics that implement <code>IFusedMetric</code>
+	 * 	are computed from its summary. Otherwise, each
+	 * 	metric routes the genotype. Default value is false.
+	 * 	<li>delta-evaluation (<code>boolean</code>):
+	 * 	If true, and the fused evaluation is enabled, the
+	 * 	mutants created by moving a class are evaluated
+	 * 	updating the summary of their parents. Default
+	 * 	value is false.
+	 * 	<li>cross-check-evaluation (<code>boolean</code>):
+	 * 	If true, and the fused evaluation is enabled, each
+	 * 	individual is also evaluated routing the genotype and
+	 * 	an <code>IllegalStateException</code> is thrown if the
+	 * 	objective values or the measures per component differ.
+	 * 	It is intended to validate the fused and the delta
+	 * 	evaluations on a new problem. Default value is false.
+	 * 	<li>number-of-threads (<code>int</code>):
+	 * 	Number of threads used to evaluate the individuals
+	 * 	of a list. The fitness does not depend on the number
+	 * 	of threads. Default value is 1 (sequential evaluation).
+	 * 	<li>fitness-cache-size (<code>int</code>):
+	 * 	Maximum number of evaluations stored in the cache.
+	 * 	Architectures that only differ in the order of their
+	 * 	components are not evaluated again. Default value is
+	 * 	0 (the cache is disabled).
+	 * </ul>
+	 * */
 	@Override
 	public void configure(Configuration settings) {
 
 		// Call super class configuration method
 		super.configure(settings);
+
+		// Evaluation engine
+		this.fusedEvaluation = settings.getBoolean("fused-evaluation", false);
+		this.deltaEvaluation = settings.getBoolean("delta-evaluation", false);
+		this.crossCheckEvaluation = settings.getBoolean("cross-check-evaluation", false);
+
+		// Parallel evaluation
+		int threads = settings.getInt("number-of-threads", 1);
+		if(threads < 1){
+			throw new IllegalArgumentException("The number of threads must be greater than 0");
+		}
+		setNumberOfThreads(threads);
+
+		// Cache of evaluations
+		int cacheSize = settings.getInt("fitness-cache-size", 0);
+		if(cacheSize < 0){
+			throw new IllegalArgumentException("The size of the cache cannot be negative");
+		}
+		setFitnessCacheSize(cacheSize);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>If more than one thread is configured, the
+	 * individuals are evaluated in parallel. Each
+	 * evaluation only uses its own auxiliary data,
+	 * so the result is the same than in the
+	 * sequential evaluation.
+	 * */
+	@Override
+	public void evaluate(List<IIndividual> inds) {
+		if(this.numberOfThreads <= 1 || inds.size() <= 1){
+			super.evaluate(inds);
+		}
+		else{
+			evaluateInParallel(inds);
+		}
 	}
 
 	@Override
@@ -221,22 +444,46 @@ public class InteractiveMOEvaluator extends MOEvaluator { //extends MOParallelEv
 		IFitness [] components = new IFitness[nObjs];
 
 		int nComps = emoInd.getNumberOfComponents();
-		double [][] measures = new double[nObjs][nComps];
+		double [][] measures = new double[nObjs][];
 		String [] names = new String[nObjs];
 		Metric obj;
+		FitnessCache cache = this.fitnessCache;
+		long key = 0;
+		int [] canonical = null;
 
 		// The individual has not been evaluated yet
 		if (emoInd.getFitness() == null){
 
+			// Restore the evaluation of an equivalent architecture
+			if(cache != null){
+				canonical = new int[nComps];
+				key = cache.fingerprint(emoInd, canonical);
+				if(cache.restore(key, canonical, emoInd)){
+					emoInd.setClassMove(null);
+					return;
+				}
+			}
+
 			try {
 				fitness = (MOFitness)fitnessPrototype.clone();
 
-				// Measures needed for objectives evaluation
-				computeMeasures(emoInd);	
-
-				// Evaluate the individual for each objective
-				for(int i=0; i<nObjs; i++){
-					components[i] = this.objectives.get(i).evaluate(ind);
+				// Decode the individual once for all the objectives
+				if(this.fusedEvaluation){
+					evaluateFused(emoInd, components, measures);
+					if(this.crossCheckEvaluation){
+						crossCheck(emoInd, components, measures);
+					}
+				}
+				else{
+					// Measures needed for objectives evaluation
+					computeMeasures(emoInd);	
+
+					// Evaluate the individual for each objective
+					for(int i=0; i<nObjs; i++){
+						obj = (Metric)this.objectives.get(i);
+						measures[i] = obj.prepare(emoInd);
+						components[i] = obj.compute(emoInd, measures[i]);
+					}
 				}
 
 				// Set components in the composite fitness
@@ -245,11 +492,9 @@ public class InteractiveMOEvaluator extends MOEvaluator { //extends MOParallelEv
 				// Set the fitness in the individual
 				ind.setFitness(fitness);
 
-				// Copy the measures per component
+				// Names of the measures per component
 				for(int i=0;i<nObjs;i++){
-					obj = ((Metric)getObjectives().get(i));
-					measures[i] = obj.getComponentsMeasure();
-					names[i] = obj.getName();
+					names[i] = ((Metric)getObjectives().get(i)).getName();
 				}
 
 				//////////////////////////////////////////////////////
@@ -271,6 +516,13 @@ public class InteractiveMOEvaluator extends MOEvaluator { //extends MOParallelEv
 				emoInd.setComponentMeasures(measures);
 				emoInd.setMeasuresNames(names);
 
+				if(cache != null){
+					cache.store(key, canonical, emoInd);
+				}
+
+				// The parent is no longer needed
+				emoInd.setClassMove(null);
+
 			} catch (CloneNotSupportedException e) {
 				e.printStackTrace();
 			}
@@ -283,6 +535,190 @@ public class InteractiveMOEvaluator extends MOEvaluator { //extends MOParallelEv
 
 	// --------------------------- Private evaluation methods
 
+	/**
+	 * Evaluate a list of individuals using
+	 * the pool of threads
+	 * @param inds The list of individuals
+	 * */
+	private void evaluateInParallel(List<IIndividual> inds){
+		List<Callable<Object>> tasks = new ArrayList<Callable<Object>>(inds.size());
+		int nEvaluations = 0;
+
+		// Prepare the shared information before starting the threads
+		getAbstractClasses();
+
+		for(final IIndividual ind: inds){
+			if(ind.getFitness() == null){
+				nEvaluations++;
+			}
+			tasks.add(new Callable<Object>(){
+				@Override
+				public Object call() {
+					evaluate(ind);
+					return null;
+				}
+			});
+		}
+
+		// Wait until all the individuals are evaluated
+		try {
+			for(Future<Object> future: getExecutor().invokeAll(tasks)){
+				future.get();
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("The parallel evaluation was interrupted", e);
+		} catch (ExecutionException e) {
+			// Propagate the failure of the evaluation
+			if(e.getCause() instanceof RuntimeException){
+				throw (RuntimeException)e.getCause();
+			}
+			if(e.getCause() instanceof Error){
+				throw (Error)e.getCause();
+			}
+			throw new IllegalStateException("The evaluation of an individual failed", e.getCause());
+		}
+		this.numberOfEvaluations += nEvaluations;
+	}
+
+	/**
+	 * Get the pool of threads, it is
+	 * created the first time it is used
+	 * @return The pool of threads
+	 * */
+	private synchronized ExecutorService getExecutor(){
+		if(this.executor == null){
+			this.executor = Executors.newFixedThreadPool(this.numberOfThreads, new ThreadFactory(){
+				@Override
+				public Thread newThread(Runnable runnable) {
+					// The threads do not prevent the end of the execution
+					Thread thread = new Thread(runnable, "evaluator");
+					thread.setDaemon(true);
+					return thread;
+				}
+			});
+		}
+		return this.executor;
+	}
+
+	/**
+	 * Evaluate the individual using its summary. The genotype
+	 * is decoded once, or the summary of the parent is updated
+	 * if the individual describes the move that created it.
+	 * Then, the general measures are set in the individual and
+	 * each metric is computed from the summary.
+	 * @param ind The individual
+	 * @param components Array to store the value of each objective
+	 * @param measures Array to store the measures per component of each objective
+	 * */
+	private void evaluateFused(InteractiveMOIndividual ind, IFitness [] components, double [][] measures){
+		ArchitectureSummary summary;
+		ClassMove move = ind.getClassMove();
+		if(this.deltaEvaluation && move != null && move.getParentSummary() != null){
+			summary = new ArchitectureSummary(ind, move);
+		}
+		else{
+			summary = new ArchitectureSummary(ind, this.relationships, getAbstractClasses());
+		}
+		ind.setSummary(summary);
+
+		// Set required information for evaluation objectives
+		ind.setNumberOfClasses(summary.getNumberOfClasses());
+		ind.setClassesToGroups(summary.getClassesToGroups());
+		ind.setNumberOfGroups(summary.getNumberOfGroups());
+		ind.setExternalConnections(summary.getExternalConnections());
+		ind.setNumberOfAbstractClasses(summary.getNumberOfAbstractClasses());
+
+		// Evaluate the individual for each objective
+		int nObjs = this.numberOfObjectives();
+		Metric metric;
+		for(int i=0; i<nObjs; i++){
+			metric = (Metric)this.objectives.get(i);
+			if(metric instanceof IFusedMetric){
+				measures[i] = ((IFusedMetric)metric).prepare(summary);
+			}
+			else{
+				measures[i] = metric.prepare(ind);
+			}
+			components[i] = metric.compute(ind, measures[i]);
+		}
+
+		// The summary of the parent is no longer needed
+		summary.releaseMove();
+	}
+
+	/**
+	 * Compare the fused evaluation of an individual with
+	 * the evaluation that routes its genotype.
+	 * @param ind The individual
+	 * @param components The value of each objective in the fused evaluation
+	 * @param fusedMeasures The measures per component of each objective in the fused evaluation
+	 * @throws IllegalStateException If an objective value or a
+	 * measure per component is different in both evaluations
+	 * */
+	private void crossCheck(InteractiveMOIndividual ind, IFitness [] components, double [][] fusedMeasures){
+		int nObjs = this.numberOfObjectives();
+		Metric metric;
+		double fusedValue, routedValue;
+		double [] routedMeasures;
+
+		// Route the genotype
+		computeMeasures(ind);
+		for(int i=0; i<nObjs; i++){
+			metric = (Metric)this.objectives.get(i);
+			fusedValue = ((SimpleValueFitness)components[i]).getValue();
+			routedMeasures = metric.prepare(ind);
+			routedValue = ((SimpleValueFitness)metric.compute(ind, routedMeasures)).getValue();
+			if(!sameValue(fusedValue, routedValue)){
+				throw new IllegalStateException("The fused evaluation of " + metric.getName() 
+						+ " is " + fusedValue + " but the routed evaluation is " + routedValue);
+			}
+			if(routedMeasures.length != fusedMeasures[i].length){
+				throw new IllegalStateException("The fused evaluation of " + metric.getName() 
+						+ " has " + fusedMeasures[i].length + " measures but the routed evaluation has " + routedMeasures.length);
+			}
+			for(int j=0; j<routedMeasures.length; j++){
+				if(!sameValue(fusedMeasures[i][j], routedMeasures[j])){
+					throw new IllegalStateException("The fused evaluation of " + metric.getName() + " in the component " + j 
+							+ " is " + fusedMeasures[i][j] + " but the routed evaluation is " + routedMeasures[j]);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Check if two values are equal, ignoring the
+	 * rounding errors of a different order of the sums
+	 * @param value1 The first value
+	 * @param value2 The second value
+	 * @return True if both values are equal
+	 * */
+	private boolean sameValue(double value1, double value2){
+		if(Double.isNaN(value1) || Double.isNaN(value2)){
+			return Double.isNaN(value1) && Double.isNaN(value2);
+		}
+		return value1 == value2 || Math.abs(value1 - value2) <= 1.0e-9 * Math.max(1.0, Math.abs(value1));
+	}
+
+	/**
+	 * Get whether each class is abstract, the
+	 * array is built from the list of classes
+	 * @return The abstract classes
+	 * */
+	private synchronized boolean [] getAbstractClasses(){
+		if(this.abstractClasses == null && this.classesList != null){
+			this.abstractClasses = new boolean[this.relationships.getNumberOfClasses()];
+			int index;
+			for(UMLClass analysisClass: this.classesList){
+				if(analysisClass.isAbstract()){
+					index = this.relationships.getClassIndex(analysisClass.getName());
+					this.abstractClasses[index] = true;
+				}
+			}
+		}
+		return this.abstractClasses;
+	}
+
 	/**
 	 * Compute general measures over an individual
 	 * @param ind: The individual
@@ -303,7 +739,7 @@ public class InteractiveMOEvaluator extends MOEvaluator { //extends MOParallelEv
 
 		int actualCmp=-1;//, index;
 		boolean isClass = false, isConnector = false;
-		String symbol;
+		SyntaxTreeNode node;
 		// Number of classes in each component
 		int componentNumClasses [] = new int[ind.getNumberOfComponents()];
 
@@ -313,20 +749,22 @@ public class InteractiveMOEvaluator extends MOEvaluator { //extends MOParallelEv
 
 		for(int i=1; !isConnector; i++){
 
-			symbol = genotype.getNode(i).getSymbol();
+			node = genotype.getNode(i);
 
 			// Non terminal node
-			if(genotype.getNode(i).arity()!=0){
+			if(node.arity()!=0){
+				switch(GrammarSymbols.getCode(node)){
 				// New set of classes
-				if(symbol.equalsIgnoreCase("classes")){
+				case GrammarSymbols.CLASSES:
 					isClass=true;
 					actualCmp++;
-				}
-				else if(symbol.equalsIgnoreCase("required-interfaces")){
+					break;
+				case GrammarSymbols.REQUIRED_INTERFACES:
 					isClass=false;
-				}
-				else if(symbol.equalsIgnoreCase("connectors")){
+					break;
+				case GrammarSymbols.CONNECTORS:
 					isConnector=true;
+					break;
 				}
 			}
 			// Terminal node
@@ -355,55 +793,56 @@ public class InteractiveMOEvaluator extends MOEvaluator { //extends MOParallelEv
 		SyntaxTree genotype = ind.getGenotype();
 
 		int numberOfComponents = ind.getNumberOfComponents();
-		int numberOfClasses = this.relationshipsDataset.getColumns().size();
+		int numberOfClasses = this.relationships.getNumberOfClasses();
 
-		int classIndex, actualCmp=-1;
+		int actualCmp=-1, first=0, last=0;
 		boolean isClass = false, isConnector = false;
-		MultiIntegerColumn column;
-		String symbol;
+		SyntaxTreeNode node;
 
-		// Initialize
-		this.classGroup = new int [numberOfClasses];
+		// Initialize, the arrays are created for each evaluation and
+		// each thread has its own engine, so several individuals can
+		// be evaluated at once
+		ConnectedGroups engine = this.relationships.getGraph().getConnectedGroups();
+		int [] classGroup = new int [numberOfClasses];
 		int componentNumGroups[] = new int[numberOfComponents];
+		int [] indexes = new int[numberOfClasses];
 
 		// Compute metrics for each component in the individual
 		for(int i=1; !isConnector; i++){
 
-			symbol = genotype.getNode(i).getSymbol();
+			node = genotype.getNode(i);
 
 			// Non terminal node
-			if(genotype.getNode(i).arity()!=0){
+			if(node.arity()!=0){
+				switch(GrammarSymbols.getCode(node)){
 				// The symbol classes indicates the beginning of a 
 				// group of classes in a component
-				if(symbol.equalsIgnoreCase("classes")){
+				case GrammarSymbols.CLASSES:
 					isClass=true;
 					actualCmp++;
 					// New set of classes
-					this.indexes.clear();
-				}
-				else if(symbol.equalsIgnoreCase("required-interfaces")){
+					first = last;
+					break;
+				case GrammarSymbols.REQUIRED_INTERFACES:
 					isClass=false;
 					// End of component classes, compute the number of groups
-					componentNumGroups[actualCmp] = this.numberOfGroups();
-				}
-				else if(symbol.equalsIgnoreCase("connectors")){
+					componentNumGroups[actualCmp] = engine.computeGroups(indexes, first, last, classGroup);
+					break;
+				case GrammarSymbols.CONNECTORS:
 					isConnector=true;
+					break;
 				}
 			}
 			// Terminal node
 			else if(isClass){
 
-				// Get the dataset information about the class
-				column = (MultiIntegerColumn) this.relationshipsDataset.getColumnByName(symbol);
-				classIndex = this.relationshipsDataset.getIndexOfColumn(column);
-
-				// Add the class index in the array of indexes
-				this.indexes.add(classIndex);
+				// Add the index of the class in the array of indexes
+				indexes[last++] = this.relationships.getClassIndex(node);
 			}
 		}// end of tree route
 
 		// Set on individual
-		ind.setClassesToGroups(this.classGroup);
+		ind.setClassesToGroups(classGroup);
 		ind.setNumberOfGroups(componentNumGroups);
 	}
 
@@ -412,105 +851,30 @@ public class InteractiveMOEvaluator extends MOEvaluator { //extends MOParallelEv
 	 * @param ind: The individual
 	 * */ 
 	private void setNumberExternalRelations(Individual ind) {
-		// Get genotype
-		SyntaxTree genotype = ind.getGenotype();
 		int numberOfComponents = ind.getNumberOfComponents();
-
-		int j, actualIndex, classIndex, actualCmp=-1, otherCmp=-1;
-		boolean isClass = false, isOtherClass = false, isConnector = false;
-		MultiIntegerColumn column;
-		int nav_ij, nav_ji;
-		String symbol;
-		Object oValue;
-		MultiIntegerValue relations_ij, relations_ji;
+		int [] distribution = ind.getClassesDistribution();
+		RelationshipGraph graph = this.relationships.getGraph();
+		int numberOfClasses = graph.getNumberOfClasses();
+		int j, degree, nExternal;
 
 		// Initialize
 		int componentNumberExternalConnections [] = new int[numberOfComponents];
 
-		for(int i=0; i<numberOfComponents; i++){
-			componentNumberExternalConnections[i] = 0;
-		}
-
-		//System.out.println(ind.getGenotype());
-
-		// Compute needed metrics for each component
-		for(int i=1; !isConnector; i++){
-
-			symbol = genotype.getNode(i).getSymbol();
-
-			// Non terminal node
-			if(genotype.getNode(i).arity()!=0){
-				// The symbol classes indicates the beginning of a new component
-				if(symbol.equalsIgnoreCase("classes")){
-					isClass=true;
-					actualCmp++;
-				}
-				else if(symbol.equalsIgnoreCase("required-interfaces")){
-					isClass=false;
-				}
-				else if(symbol.equalsIgnoreCase("connectors")){
-					isConnector=true;
-				}
-			}
-
-			// Terminal node
-			else{
-				// If the terminal is a class
-				if(isClass){
-
-					// Get the dataset information about the class
-					column = (MultiIntegerColumn) this.relationshipsDataset.getColumnByName(symbol);
-					actualIndex = this.relationshipsDataset.getIndexOfColumn(column);
-
-					// Check the relations with classes belonging to other components
-					otherCmp=actualCmp;			// Start in the actual component
-					j=i+1;
-
-					while(!(genotype.getNode(j).getSymbol().equalsIgnoreCase("connectors"))){
-
-						// Search a class in the other component
-						// TODO FALLA SI 'CLASSES' EST VACO!!!
-						if((genotype.getNode(j-1).getSymbol().equalsIgnoreCase("classes"))){
-							isOtherClass=true;
-							otherCmp++;
-						}
-
-						if(isOtherClass){
-							// Get relations between classes
-							classIndex = this.relationshipsDataset.getIndexOfColumn(this.relationshipsDataset.getColumnByName(genotype.getNode(j).getSymbol()));
-
-							//System.out.println(genotype.getNode(j).getSymbol());
-							oValue = column.getElement(classIndex);
-
-							// Not an invalid value
-							if(!(oValue instanceof InvalidValue)){
-
-								relations_ij = (MultiIntegerValue) oValue;
-								relations_ji = (MultiIntegerValue)((MultiIntegerColumn)this.relationshipsDataset.getColumn(classIndex)).getElement(actualIndex);
-
-								// Check type and navigation of each relation
-								for(int k=1; k<relations_ij.getSize(); k+=2){
-
-									nav_ij = relations_ij.getValue(k);
-									nav_ji = relations_ji.getValue(k);
-
-									// Not a candidate interface, because its a bidirectional relation
-									if(nav_ij==nav_ji){
-										componentNumberExternalConnections[actualCmp]++;
-										componentNumberExternalConnections[otherCmp]++;
-									}
-								}
-							}
-							// End of classes in the other component
-							if(genotype.getNode(j+1).arity()!=0){
-								isOtherClass=false;
-							}
-						}
-						j++;
-					}
+		// Only the undirected neighbours of each class are checked, each pair is considered once
+		for(int i=0; i<numberOfClasses; i++){
+			degree = graph.getUndirectedDegree(i);
+			for(int p=0; p<degree; p++){
+				j = graph.getUndirectedNeighbour(i, p);
+
+				// The classes belong to different components
+				if(j>i && distribution[i]!=distribution[j]){
+					// Relations between classes that are not candidate interfaces (bidirectional)
+					nExternal = this.relationships.getNumberOfExternalRelations(i, j);
+					componentNumberExternalConnections[distribution[i]]+=nExternal;
+					componentNumberExternalConnections[distribution[j]]+=nExternal;
 				}
 			}
-		}// end of tree route
+		}
 
 		ind.setExternalConnections(componentNumberExternalConnections);
 	}
@@ -541,7 +905,7 @@ public class InteractiveMOEvaluator extends MOEvaluator { //extends MOParallelEv
 
 			if(isAbstract){
 				// Get the index of the class
-				index = this.relationshipsDataset.getIndexOfColumn(this.relationshipsDataset.getColumnByName(className));
+				index = this.relationships.getClassIndex(className);
 
 				// Get the corresponding component
 				component = classDistribution[index];
@@ -552,49 +916,4 @@ public class InteractiveMOEvaluator extends MOEvaluator { //extends MOParallelEv
 		ind.setNumberOfAbstractClasses(numOfAbstractClasses);
 	}
 
-	/**
-	 * Compute the number of connected component
-	 * in the graph formed with the actual 
-	 * <code>indexes</code>.
-	 * @return Number of connected component
-	 * */
-	private int numberOfGroups() {
-		int i, numOfGroups = 0;
-		int size = this.indexes.size();
-		this.visited = new boolean[size];
-
-		for(i=0; i<size; i++)
-			this.visited[i]=false;
-
-		for(i=0; i<size; i++){
-			if(!this.visited[i]){
-				this.classGroup[this.indexes.get(i)]=numOfGroups; // Set group number
-				numOfGroups++;
-				graphDepthPath(i, this.indexes.get(i));
-			}
-		}
-		return numOfGroups;
-	}
-
-	/**
-	 * Make a graph depth search marking 
-	 * visited nodes.
-	 * @param actualNode The node origin.
-	 * @param classIndex The column index in the dataset for the origin node.
-	 * */
-	private void graphDepthPath(int actualNode, int classIndex){
-		int j, size = this.visited.length;
-		// Now, the node is visited
-		this.visited[actualNode]=true;
-		for(j=0; j<size; j++){
-			// The node origin is connected with the node j, not visited yet, continue recursive depth search with j
-			if( !(((MultiIntegerColumn)this.relationshipsDataset.getColumn(classIndex)).getElement(this.indexes.get(j)) instanceof InvalidValue)
-					&& !this.visited[j]){
-
-				this.classGroup[this.indexes.get(j)]=this.classGroup[classIndex];	// Set its group number
-				graphDepthPath(j, this.indexes.get(j));
-			}
-		}
-	}
-
-}
+}
\ No newline at end of file
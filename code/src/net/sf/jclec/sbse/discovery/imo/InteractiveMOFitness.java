@@ -14,6 +14,7 @@ import net.sf.jclec.mo.evaluation.fitness.MOFitness;
  * 
  * <p>HISTORY:
  * <ul>
+ *  <li>1.1: Version of the set of preferences that were scored (October 2026)
  *  <li>0.2: Add territory of iTDEA strategy (January 2016)
  *  <li>0.1: Creation (May 2015)
  * </ul>
@@ -21,7 +22,7 @@ import net.sf.jclec.mo.evaluation.fitness.MOFitness;
  * @author Aurora Ramirez
  * @author Jose Raul Romero
  * @author Sebastian Ventura
- * @version 1.0
+ * @version 1.1
  * @see MOFitness
  * */
 public class InteractiveMOFitness extends MOFitness{
@@ -54,6 +55,9 @@ public class InteractiveMOFitness extends MOFitness{
 	/** The value of each preference */
 	protected List<Double> preferenceValues;
 
+	/** Version of the set of preferences of the values, -1 if not scored */
+	protected long preferenceSetVersion = -1;
+
 	//////////////////////////////////////////////////////////////////
 	//--------------------------------------------------- Constructors
 	//////////////////////////////////////////////////////////////////
@@ -196,6 +200,31 @@ public class InteractiveMOFitness extends MOFitness{
 		this.preferenceValues.add(index, value);
 	}
 
+	/**
+	 * Remove the value of all the preferences
+	 * */
+	public void clearPreferenceValues(){
+		this.preferenceValues.clear();
+	}
+
+	/**
+	 * Get the version of the set of preferences
+	 * that produced the preference values
+	 * @return The version, -1 if not scored
+	 * */
+	public long getPreferenceSetVersion(){
+		return this.preferenceSetVersion;
+	}
+
+	/**
+	 * Set the version of the set of preferences
+	 * that produced the preference values
+	 * @param version The version
+	 * */
+	public void setPreferenceSetVersion(long version){
+		this.preferenceSetVersion = version;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 * */
@@ -219,6 +248,7 @@ public class InteractiveMOFitness extends MOFitness{
 		result.metricIndex = this.metricIndex;
 		result.territory = this.territory;
 		result.region = this.region;
+		result.preferenceSetVersion = this.preferenceSetVersion;
 
 		if(this.weights != null){
 			result.weights = new double[this.weights.length];
@@ -1,6 +1,5 @@
 package net.sf.jclec.sbse.discovery.imo;
 
-import java.util.ArrayList;
 //import java.util.Random;
 
 import org.apache.commons.lang.builder.EqualsBuilder;
@@ -9,8 +8,10 @@ import net.sf.jclec.IFitness;
 import net.sf.jclec.IIndividual;
 import net.sf.jclec.mo.evaluation.fitness.MOFitness;
 import net.sf.jclec.mo.IConstrained;
+import net.sf.jclec.sbse.discovery.GrammarSymbols;
 import net.sf.jclec.sbse.discovery.Individual;
 import net.sf.jclec.syntaxtree.SyntaxTree;
+import net.sf.jclec.syntaxtree.SyntaxTreeNode;
 
 /**
  * Individual for interactive discovery of
@@ -19,12 +20,21 @@ import net.sf.jclec.syntaxtree.SyntaxTree;
  * <p>HISTORY:
  * <ul>
  * 	<li>1.0: Creation (April 2015)
+ * 	<li>1.1: Summary and move for the incremental evaluation (October 2026)
+ * 	<li>1.2: Compact genotype (October 2026)
+ * 	<li>1.3: Index of the components (October 2026)
+ * 	<li>2.0: Copies share the genotype and the properties (October 2026)
+ * 	<li>2.1: Sets of classes of the components as bitsets (October 2026)
+ * 	<li>2.2: Catalog of interfaces (October 2026)
+ * 	<li>2.3: Shared measures and frozen flags are copied when they are requested (October 2026)
+ * 	<li>2.4: Shared measures are only copied before they are written (October 2026)
+ * 	<li>2.5: Table of operations of the schema (October 2026)
  * </ul>
  * 
  * @author Aurora Ramirez
  * @author Jose Raul Romero
  * @author Sebastian Ventura
- * @version 2.0
+ * @version 2.5
  * @see IConstrained
  * */
 public class InteractiveMOIndividual extends Individual implements IConstrained {
@@ -50,6 +60,33 @@ public class InteractiveMOIndividual extends Individual implements IConstrained
 	
 	/** The solution was marked to be removed */
 	protected boolean toBeRemoved;
+
+	/** Summary of the architecture obtained during the evaluation */
+	protected transient ArchitectureSummary summary;
+
+	/** Move that created the individual from its parent, if any */
+	protected transient ClassMove classMove;
+
+	/** Compact genotype, the syntax tree is built from it when it is released */
+	protected CompactGenotype compactGenotype;
+
+	/** Positions of the components in the genotype, built when it is requested */
+	protected transient ComponentIndex componentIndex;
+
+	/** Classes of each component as a bitset indexed by class, built when it is requested */
+	protected transient long [][] componentClasses;
+
+	/** Operations of the interfaces, built when they are requested */
+	protected transient InterfaceCatalog interfaceCatalog;
+
+	/** Identifiers of the operations, shared with the schema that created the individual */
+	protected transient OperationTable operationTable;
+
+	/** The matrix of measures is shared with a copy, it must be copied before writing */
+	private transient boolean sharedMeasures;
+
+	/** The frozen flags are shared with a copy, they must be copied before writing */
+	private transient boolean sharedFrozenComponents;
 	
 	//////////////////////////////////////////////////////////////////
 	//--------------------------------------------------- Constructors
@@ -78,6 +115,68 @@ public class InteractiveMOIndividual extends Individual implements IConstrained
 		this.toBeRemoved = false;
 	}
 
+	/**
+	 * Parameterized constructor. The syntax
+	 * tree is built when it is requested.
+	 * @param genotype Compact genotype
+	 * */
+	public InteractiveMOIndividual(CompactGenotype genotype) {
+		super();
+		this.compactGenotype = genotype;
+		int numOfComponents = genotype.getNumberOfComponents();
+		int componentNumProvided [] = new int [numOfComponents];
+		int componentNumRequired [] = new int [numOfComponents];
+		for(int i=0; i<numOfComponents; i++){
+			componentNumProvided[i] = genotype.getNumberOfProvided(i);
+			componentNumRequired[i] = genotype.getNumberOfRequired(i);
+		}
+		setNumberOfComponents(numOfComponents);
+		setNumberOfConnectors(genotype.getNumberOfConnectors());
+		setClassesDistribution(genotype.getClassesDistribution());
+		setNumberOfProvided(componentNumProvided);
+		setNumberOfRequired(componentNumRequired);
+		setHasIsolatedComponents(genotype.hasIsolatedComponents());
+		setHasMutuallyDepComponents(genotype.hasMutuallyDepComponents());
+		initializeFrozenComponents();
+		this.inArchive = false;
+		this.toBeRemoved = false;
+	}
+
+	/**
+	 * Constructor for copies. The genotype (the syntax tree or
+	 * the compact genotype) and the properties are shared with
+	 * the other individual. Mutators and crossovers create new
+	 * genotypes instead of modifying them, and the matrix of
+	 * measures and the frozen flags are copied before the first
+	 * write. The fitness is copied.
+	 * @param other The individual to be copied
+	 * */
+	protected InteractiveMOIndividual(InteractiveMOIndividual other){
+		super(other);
+		this.compactGenotype = other.compactGenotype;
+		this.componentIndex = other.componentIndex;
+		this.componentClasses = other.componentClasses;
+		this.interfaceCatalog = other.interfaceCatalog;
+		this.operationTable = other.operationTable;
+		this.frozenComponents = other.frozenComponents;
+		this.sharedFrozenComponents = true;
+		other.sharedFrozenComponents = true;
+		this.inArchive = other.inArchive;
+		this.toBeRemoved = other.toBeRemoved;
+
+		// Copy fitness and metrics
+		if(other.fitness != null){
+			this.fitness = other.fitness.copy();
+			this.measures = other.measures;
+			this.sharedMeasures = true;
+			other.sharedMeasures = true;
+			this.names = other.names;
+
+			// The summary is not modified after the evaluation
+			this.summary = other.summary;
+		}
+	}
+
 	//////////////////////////////////////////////////////////////////
 	//------------------------------------------------ Get/set methods
 	//////////////////////////////////////////////////////////////////
@@ -95,10 +194,13 @@ public class InteractiveMOIndividual extends Individual implements IConstrained
 				this.measures[i][j]=measures[i][j];
 			}
 		}
+		this.sharedMeasures = false;
 	}
 
 	/**
-	 * Get the component measures
+	 * Get the component measures. The matrix can
+	 * be shared with the copies of the individual,
+	 * so it should not be modified.
 	 * @return Matrix of component measures
 	 * */
 	protected double [][] getComponentMeasures(){
@@ -112,8 +214,21 @@ public class InteractiveMOIndividual extends Individual implements IConstrained
 	 * @param value The new value
 	 * */
 	public void setComponentMeasure(int indexC, int indexM, double value){
-		if(this.measures != null)
-			this.measures[indexC][indexM] = value;
+		double [][] measures = getWritableMeasures();
+		if(measures != null){
+			measures[indexC][indexM] = value;
+		}
+	}
+
+	/**
+	 * Get the component measures to be modified. If
+	 * the matrix is shared with a copy, it is copied before.
+	 * @return Matrix of component measures owned by this individual
+	 * */
+	private double [][] getWritableMeasures(){
+		if(this.sharedMeasures && this.measures != null)
+			setComponentMeasures(this.measures);
+		return this.measures;
 	}
 
 	/**
@@ -152,6 +267,7 @@ public class InteractiveMOIndividual extends Individual implements IConstrained
 	 * an empty tree otherwise
 	 * */
 	public SyntaxTree getSubtree(int init){
+		SyntaxTree genotype = getGenotype();
 		SyntaxTree subtree = new SyntaxTree();
 		int i = init;
 		if(genotype.getNode(i).arity()!=0){
@@ -165,53 +281,156 @@ public class InteractiveMOIndividual extends Individual implements IConstrained
 	
 	
 	public SyntaxTree getComponentTree(int index){
+		SyntaxTree genotype = getGenotype();
+		ComponentIndex componentIndex = getComponentIndex();
 		SyntaxTree subtree = new SyntaxTree();
-		int c=-1;
-		String symbol;
-		boolean isConnector = false;
-		for(int i=0; c<=index && !isConnector && i<genotype.size();i++){
-			symbol = genotype.getNode(i).getSymbol();
-			if(symbol.equalsIgnoreCase("component")){
-				c++;
-			}
-			if(symbol.equalsIgnoreCase("connectors")){
-				isConnector=true;
-			}
-			if(!isConnector && c==index){
-				subtree.addNode(genotype.getNode(i));
-			}
+		int end = componentIndex.getComponentEnd(index);
+		for(int i=componentIndex.getComponentStart(index); i<end; i++){
+			subtree.addNode(genotype.getNode(i));
 		}
 		return subtree;
 	}
 	
+	/**
+	 * Get the subtree of an interface. Interfaces are numbered
+	 * inside the component, first the required interfaces
+	 * and then the provided interfaces.
+	 * @param indexC The component index
+	 * @param indexI The interface index
+	 * @return The subtree, empty if the interface does not exist
+	 * */
 	public SyntaxTree getInterfaceTree(int indexC, int indexI){
+		SyntaxTree genotype = getGenotype();
+		ComponentIndex componentIndex = getComponentIndex();
 		SyntaxTree subtree = new SyntaxTree();
-		int c=-1;
-		int inter = -1;
-		String symbol;
-		boolean isConnector = false, isProvided = true;
-		//System.out.println("Extract interface -> component: " + indexC + " interface:" + indexI);
-		for(int i=0; c<=indexC && !isConnector && i<genotype.size();i++){
-			symbol = genotype.getNode(i).getSymbol();
-			if(symbol.equalsIgnoreCase("component")){
-				c++;
-				inter=-1;
-			}
-			if(symbol.equalsIgnoreCase("provided-interfaces")){
-				isProvided = true;
-			}
-			if(symbol.equalsIgnoreCase("interface")){
-				inter++;
-			}
-			if(symbol.equalsIgnoreCase("connectors")){
-				isConnector=true;
+		int nRequired = componentIndex.getNumberOfRequired(indexC);
+		int start, end;
+		if(indexI < nRequired){
+			start = componentIndex.getRequiredInterfaceStart(indexC, indexI);
+			end = componentIndex.getRequiredInterfaceEnd(indexC, indexI);
+		}
+		else if(indexI-nRequired < componentIndex.getNumberOfProvided(indexC)){
+			start = componentIndex.getProvidedInterfaceStart(indexC, indexI-nRequired);
+			end = componentIndex.getProvidedInterfaceEnd(indexC, indexI-nRequired);
+		}
+		else{
+			return subtree;
+		}
+		for(int i=start; i<end; i++){
+			subtree.addNode(genotype.getNode(i));
+		}
+		return subtree;
+	}
+
+	/**
+	 * Get the positions of the components in the genotype.
+	 * The index is built the first time it is requested.
+	 * @return The index of components
+	 * */
+	public synchronized ComponentIndex getComponentIndex(){
+		if(this.componentIndex == null){
+			this.componentIndex = new ComponentIndex(getGenotype(), getNumberOfComponents());
+		}
+		return this.componentIndex;
+	}
+
+	/**
+	 * Set the table of identifiers of the operations
+	 * @param operationTable The table of the schema
+	 * */
+	public void setOperationTable(OperationTable operationTable){
+		this.operationTable = operationTable;
+	}
+
+	/**
+	 * Get the table of identifiers of the operations
+	 * @return The table of the schema that created the individual
+	 * */
+	public OperationTable getOperationTable(){
+		return this.operationTable;
+	}
+
+	/**
+	 * Get the operations of the interfaces of the
+	 * components. The catalog is built the first time
+	 * it is requested.
+	 * @return The catalog of interfaces
+	 * @throws IllegalStateException If the individual
+	 * has not received the table of operations
+	 * */
+	public synchronized InterfaceCatalog getInterfaceCatalog(){
+		if(this.interfaceCatalog == null){
+			if(this.operationTable == null){
+				throw new IllegalStateException("The table of operations has not been set");
 			}
-			if(!isConnector && isProvided && c==indexC && inter==indexI){
-				subtree.addNode(genotype.getNode(i));
+			this.interfaceCatalog = new InterfaceCatalog(getGenotype(), getComponentIndex(), this.operationTable);
+		}
+		return this.interfaceCatalog;
+	}
+
+	/**
+	 * Get the classes of each component. The class <i>c</i> belongs
+	 * to the component <i>i</i> if the bit <i>c%64</i> of the word
+	 * <i>c/64</i> of the row <i>i</i> is set. The bitsets are built
+	 * from the distribution of classes the first time they are requested.
+	 * @return The bitset of each component, null if the distribution
+	 * of classes is not available
+	 * */
+	public synchronized long [][] getComponentClasses(){
+		int [] distribution = getClassesDistribution();
+		if(this.componentClasses == null && distribution != null){
+			long [][] classes = new long[getNumberOfComponents()][(distribution.length+63)>>>6];
+			for(int c=0; c<distribution.length; c++){
+				classes[distribution[c]][c>>>6] |= 1L << c;
 			}
-			//System.out.println("symbol: " + symbol + " c="+c + " i="+inter + " indexC="+indexC + " indexI="+indexI);
+			this.componentClasses = classes;
 		}
-		return subtree;
+		return this.componentClasses;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * */
+	@Override
+	public synchronized void setClassesDistribution(int [] classesDistribution) {
+		super.setClassesDistribution(classesDistribution);
+		this.componentClasses = null;
+	}
+
+	/**
+	 * Get the compact genotype. If the individual
+	 * still stores its syntax tree, the compact
+	 * genotype is extracted from it.
+	 * @return The compact genotype
+	 * */
+	public synchronized CompactGenotype getCompactGenotype(){
+		if(this.compactGenotype == null){
+			this.compactGenotype = new CompactGenotype(this, null);
+		}
+		return this.compactGenotype;
+	}
+
+	/**
+	 * Store the genotype in its compact form, releasing
+	 * the syntax tree and the phenotype. They will be
+	 * built again when they are requested.
+	 * @param schema The schema that created the syntax tree
+	 * */
+	public synchronized void compact(InteractiveMOSchema schema){
+		if(this.genotype != null){
+			this.compactGenotype = new CompactGenotype(this, schema);
+			this.genotype = null;
+			releasePhenotype();
+		}
+	}
+
+	/**
+	 * Check if the syntax tree has been released
+	 * @return True if the individual only stores
+	 * its compact genotype
+	 * */
+	public synchronized boolean isCompact(){
+		return this.genotype == null;
 	}
 
 	/**
@@ -228,15 +447,21 @@ public class InteractiveMOIndividual extends Individual implements IConstrained
 	 * @param value The value of the flag
 	 * */
 	public void setFrozenComponent(int index, boolean value){
+		if(this.sharedFrozenComponents)
+			setFrozenComponents(this.frozenComponents);
 		this.frozenComponents[index] = value;
 	}
 
 	/**
-	 * Get the array of frozen components
+	 * Get the array of frozen components. If the array
+	 * is shared with a copy, it is copied before,
+	 * so the caller can modify it.
 	 * @return Frozen components array
 	 * */
 	public boolean[] getFrozenComponents() {
-		return frozenComponents;
+		if(this.sharedFrozenComponents)
+			setFrozenComponents(this.frozenComponents);
+		return this.frozenComponents;
 	}
 
 	/**
@@ -248,6 +473,7 @@ public class InteractiveMOIndividual extends Individual implements IConstrained
 		for(int i=0; i<frozenComponents.length; i++){
 			this.frozenComponents[i] = frozenComponents[i];
 		}
+		this.sharedFrozenComponents = false;
 	}
 
 	/**
@@ -278,47 +504,67 @@ public class InteractiveMOIndividual extends Individual implements IConstrained
 		return this.toBeRemoved;
 	}
 
+	/**
+	 * Get the summary of the architecture
+	 * @return The summary, null if the individual
+	 * was not evaluated by the fused engine
+	 * */
+	public ArchitectureSummary getSummary(){
+		return this.summary;
+	}
+
+	/**
+	 * Set the summary of the architecture
+	 * @param summary The summary
+	 * */
+	public void setSummary(ArchitectureSummary summary){
+		this.summary = summary;
+	}
+
+	/**
+	 * Get the move of a class that created
+	 * the individual from its parent
+	 * @return The move, null if the individual
+	 * was not created by moving a class
+	 * */
+	public ClassMove getClassMove(){
+		return this.classMove;
+	}
+
+	/**
+	 * Set the move of a class that created
+	 * the individual from its parent
+	 * @param classMove The move
+	 * */
+	public void setClassMove(ClassMove classMove){
+		this.classMove = classMove;
+	}
+
 	//////////////////////////////////////////////////////////////////
 	//----------------------------------------------- Override methods
 	//////////////////////////////////////////////////////////////////
 
+	/**
+	 * {@inheritDoc}
+	 * <p>If the syntax tree was released, it
+	 * is built again from the compact genotype.
+	 * */
+	@Override
+	public synchronized SyntaxTree getGenotype(){
+		if(this.genotype == null && this.compactGenotype != null){
+			this.genotype = this.compactGenotype.toSyntaxTree();
+		}
+		return this.genotype;
+	}
+
 	/** 
 	 * Copy the individual
 	 * @return A copy of the individual
 	 * */
 	@Override
 	public IIndividual copy() {
-		// Create new individual
-		InteractiveMOIndividual ind = new InteractiveMOIndividual(this.genotype.copy());
-
-		// Set phenotype
-		ind.setPhenotypefromGenotype();
-
-		// Copy properties
-		ind.setNumberOfComponents(this.getNumberOfComponents());
-		ind.setNumberOfConnectors(this.getNumberOfConnectors());
-		ind.setHasIsolatedComponents(this.hasIsolatedComponents());
-		ind.setHasMutuallyDepComponents(this.hasMutuallyDepComponents());
-		ind.setFrozenComponents(this.getFrozenComponents());
-		ind.setClassesDistribution(this.getClassesDistribution());
-		ind.setToBeRemoved(this.toBeRemoved);
-		ind.setSolutionInArchive(this.inArchive);
-		
-		// Copy fitness and metrics
-		if(this.fitness != null){
-			ind.setFitness(this.getFitness().copy());
-			ind.setNumberOfClasses(this.getNumberOfClasses());
-			ind.setNumberOfGroups(this.getNumberOfGroups());
-			ind.setClassesToGroups(this.getClassesToGroups());
-			ind.setExternalConnections(this.getExternalConnections());
-			
-			ind.setNumberOfProvided(this.getNumberOfProvided());
-			ind.setNumberOfRequired(this.getNumberOfRequired());
-
-			ind.setComponentMeasures(this.getComponentMeasures());
-			ind.setMeasuresNames(this.getMeasuresNames());
-		}
-		return ind;
+		// The genotype and the properties are shared until they are written
+		return new InteractiveMOIndividual(this);
 	}
 
 	@Override
@@ -353,7 +599,7 @@ public class InteractiveMOIndividual extends Individual implements IConstrained
 
 			// Measures per component
 			nComponents = getNumberOfComponents();
-			nMeasures = getComponentMeasures().length;
+			nMeasures = this.measures.length;
 
 			buffer.append("\nMeasures per component: ");
 			for(int i=0; i<nMeasures; i++){
@@ -385,7 +631,11 @@ public class InteractiveMOIndividual extends Individual implements IConstrained
 			InteractiveMOIndividual ind = (InteractiveMOIndividual) other;
 			// Check general properties: type of solution and fitness
 			EqualsBuilder eb = new EqualsBuilder();
-			eb.append(genotype, ind.genotype);
+			// The syntax tree is a function of the compact genotype
+			if(isCompact() && ind.isCompact())
+				eb.append(this.compactGenotype, ind.compactGenotype);
+			else
+				eb.append(getGenotype(), ind.getGenotype());
 			eb.append(fitness, ind.fitness);		
 			return eb.isEquals();
 		}
@@ -397,7 +647,7 @@ public class InteractiveMOIndividual extends Individual implements IConstrained
 	protected void setInterfacesDistribution(){
 		int actualCmp=-1;
 		boolean isReqInterface = false, isConnector = false, isProvInterface = false;
-		String symbol;
+		SyntaxTreeNode node;
 
 		// Initialize
 		int numOfComponents = getNumberOfComponents();
@@ -407,37 +657,41 @@ public class InteractiveMOIndividual extends Individual implements IConstrained
 		// Search interfaces in the components
 		for(int i=1; !isConnector; i++){
 
-			symbol = genotype.getNode(i).getSymbol();
+			node = genotype.getNode(i);
 
 			// Non terminal node
-			if(genotype.getNode(i).arity()!=0){
+			if(node.arity()!=0){
+
+				switch(GrammarSymbols.getCode(node)){
 
 				// The symbol classes indicates the beginning of a new component
-				if(symbol.equalsIgnoreCase("classes")){
+				case GrammarSymbols.CLASSES:
 					isReqInterface = false;
 					isProvInterface = false;
 					actualCmp++;
 					componentNumRequired[actualCmp] = 0;
 					componentNumProvided[actualCmp] = 0;
-				}
-				else if(symbol.equalsIgnoreCase("required-interfaces")){
+					break;
+				case GrammarSymbols.REQUIRED_INTERFACES:
 					isReqInterface = true;
 					isProvInterface = false;
-				}
-				else if(symbol.equalsIgnoreCase("provided-interfaces")){
+					break;
+				case GrammarSymbols.PROVIDED_INTERFACES:
 					isProvInterface = true;
 					isReqInterface = false;
-				}
-				else if(symbol.equalsIgnoreCase("connectors")){
+					break;
+				case GrammarSymbols.CONNECTORS:
 					isConnector=true;
+					break;
+
+				// A required or a provided interface
+				case GrammarSymbols.INTERFACE:
+					if(isReqInterface)
+						componentNumRequired[actualCmp]++;
+					else if(isProvInterface)
+						componentNumProvided[actualCmp]++;
+					break;
 				}
-
-				// A required interface
-				if (isReqInterface && symbol.equalsIgnoreCase("interface"))
-					componentNumRequired[actualCmp]++;
-				// A provided interface
-				else if(isProvInterface && symbol.equalsIgnoreCase("interface"))
-					componentNumProvided[actualCmp]++;
 			}
 		}// end of tree route
 
@@ -462,111 +716,51 @@ public class InteractiveMOIndividual extends Individual implements IConstrained
 	@Override
 	protected void setInterfaceDependencies(){
 
-		// Get genotype
-		int i, j, k;
-		boolean isConnector = false;
-		String symbol, previous;
+		int i, k;
+		boolean isConnector = false, isProvided = false;
 		int numOfComponents = getNumberOfComponents();
-		ArrayList<Integer> reqComponents = new ArrayList<Integer>();
-		ArrayList<Integer> provComponent = new ArrayList<Integer>();
-		String aux[];
+		int size = genotype.size();
+		int indexProv = -1;
+		SyntaxTreeNode node;
 
 		// Initialize
 		boolean componentIntefaceConnections [][] = new boolean [numOfComponents][numOfComponents];
 
-		for(i=0; i<numOfComponents; i++)
-			for(j=0; j<numOfComponents; j++)
-				componentIntefaceConnections[i][j] = false;
-
-		// Compute metrics for each component in the individual
-		int size = genotype.size();
-		int indexReq, indexProv;
-
-		i=1;
-		while(i<size){
-
-			symbol = genotype.getNode(i).getSymbol();
-			previous = genotype.getNode(i-1).getSymbol();
-
-			//System.out.println("Symbol: " + symbol + " Previous: " + previous);
+		// Route the connectors, each one links the component that provides
+		// the interface with the components that require it
+		for(i=1; i<size; i++){
+			node = genotype.getNode(i);
 
 			// Non terminal node
-			if(genotype.getNode(i).arity()!=0){
-
-				if(previous.equalsIgnoreCase("connector")){
-					// New connector
-					isConnector=true;
-
-					// Save the information of the previous connector
-					for(j=0; j<provComponent.size(); j++){
-						indexProv = provComponent.get(j);
-						for(k=0; k<reqComponents.size(); k++){
-							indexReq = reqComponents.get(k);
-							componentIntefaceConnections[indexProv][indexReq] = true;
-						}
-					}
-
-					// Clean the indexes
-					reqComponents.clear();
-					provComponent.clear();
+			if(node.arity()!=0){
+				switch(GrammarSymbols.getCode(node)){
+				case GrammarSymbols.CONNECTORS:
+					isConnector = true;
+					break;
+				case GrammarSymbols.PROVIDED_INTERFACE:
+					isProvided = true;
+					break;
+				case GrammarSymbols.REQUIRED_INTERFACES:
+					isProvided = false;
+					break;
 				}
+			}
 
-				if(isConnector){
-					// get the index of the component that provides the interface
-					i++; // skip the non-terminal nodes "connector" and "provided-interfaces"
-					aux = genotype.getNode(i).getSymbol().split("-");
-					indexProv = Integer.parseInt(aux[0].substring(aux[0].length()-1, aux[0].length()));
-					provComponent.add(indexProv-1);
-					//System.out.println("Prov: " + genotype.getNode(i).getSymbol() + " index: " + (indexProv-1));
-
-					// get the indexes of the components that require the interface
-					i+=2; // skip the non-terminal node "required-interfaces"
-					while(i<size && genotype.getNode(i).arity()==0){
-						symbol = genotype.getNode(i).getSymbol();
-						aux = symbol.split("-");
-						indexReq = Integer.parseInt(aux[0].substring(aux[0].length()-1, aux[0].length()));
-						reqComponents.add(indexReq-1);
-						//System.out.println("Req: " + genotype.getNode(i).getSymbol() + " index: " + (indexReq-1));
-						i++;
-					}
-					isConnector = false;
-				}
+			// Terminal node, an end of the connector
+			else if(isConnector){
+				if(isProvided)
+					indexProv = ConnectorEnd.getComponent(node);
 				else
-					i++;
+					componentIntefaceConnections[indexProv][ConnectorEnd.getComponent(node)] = true;
 			}
-			else
-				i++;
-
 		}// end of tree route
 
-		// Save the last connector
-		// Save the information of the previous connector
-		for(j=0; j<provComponent.size(); j++){
-			indexProv = provComponent.get(j);
-			for(k=0; k<reqComponents.size(); k++){
-				indexReq = reqComponents.get(k);
-				componentIntefaceConnections[indexProv][indexReq] = true;
-			}
-		}
-
-		//////
-		/*System.out.println("INTERFACE CONNECTIONS (PROV)");
-		for(i=0; i<componentIntefaceConnections.length; i++){
-			System.out.print("\ni="+i + " -> ");
-			for(j=0; j<componentIntefaceConnections[i].length; j++){
-				System.out.print(componentIntefaceConnections[i][j] + " ");
-			}
-		}
-		System.out.println();*/
-
 		boolean hasPairMutuallyDep = false;
 		for(i=0; !hasPairMutuallyDep && i<numOfComponents; i++)
 			for(k=i+1; !hasPairMutuallyDep && k<numOfComponents; k++)
 				if(componentIntefaceConnections[i][k] && componentIntefaceConnections[k][i])
 					hasPairMutuallyDep = true;
-		//System.out.println("hasPairMutuallyDep: " + hasPairMutuallyDep);
 		setHasMutuallyDepComponents(hasPairMutuallyDep);
-		//System.out.println(toString());
 	}
 
 	//////////////////////////////////////////////////////////////////
@@ -582,6 +776,7 @@ public class InteractiveMOIndividual extends Individual implements IConstrained
 		for(int i=0; i<n; i++){
 			this.frozenComponents[i] = false;
 		}
+		this.sharedFrozenComponents = false;
 		
 		// TESTING one frozen at random
 		/*Random rndObject = new Random();
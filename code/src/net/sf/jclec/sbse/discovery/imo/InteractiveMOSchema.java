@@ -1,17 +1,16 @@
 package net.sf.jclec.sbse.discovery.imo;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 
 import es.uco.kdis.datapro.dataset.Dataset;
-import es.uco.kdis.datapro.dataset.column.MultiIntegerColumn;
-import es.uco.kdis.datapro.datatypes.MultiIntegerValue;
-import es.uco.kdis.datapro.datatypes.InvalidValue;
 import es.uco.kdis.dss.databuilders.info.UMLClass;
-import es.uco.kdis.dss.databuilders.info.UMLOperation;
+import net.sf.jclec.sbse.discovery.GrammarSymbols;
 import net.sf.jclec.sbse.discovery.NonTerminalNode;
 import net.sf.jclec.sbse.discovery.Schema;
 import net.sf.jclec.sbse.discovery.TerminalNode;
 import net.sf.jclec.syntaxtree.SyntaxTree;
+import net.sf.jclec.syntaxtree.SyntaxTreeNode;
 
 /**
  * Tree schema for the discovery problem
@@ -39,11 +38,29 @@ public class InteractiveMOSchema extends Schema {
 	/** Dataset that stores the relationships between the classes */
 	protected Dataset relationshipsDataset;
 
+	/** Primitive representation of the relationships between the classes */
+	protected RelationshipModel relationships;
+
 	/** List that stores de information of the classes within the analysis model */
 	protected ArrayList<UMLClass> classesList;
 
-	/** Number of components to be created in a tree */
-	protected int numberOfComponents;
+	/** Index of the candidate services, built the first time that an interface is created */
+	protected transient OperationIndex operationIndex;
+
+	/** Identifiers of the operations in the interfaces, built with the index of the candidate services */
+	protected transient OperationTable operationTable;
+
+	/** Whether the trees of the mutated individuals only rebuild the affected components */
+	protected boolean incrementalSynthesis = false;
+
+	/** Whether the incremental trees are checked against a complete rebuild */
+	protected boolean validateSynthesis = false;
+
+	/** Number of incremental trees that did not match the complete rebuild */
+	protected long validationFailures;
+
+	/** Cache of synthesized components, null if disabled */
+	protected transient InterfaceCache interfaceCache;
 
 	/////////////////////////////////////////////////////////////////
 	// ------------------------------------------------- Constructors
@@ -55,23 +72,161 @@ public class InteractiveMOSchema extends Schema {
 	 * @param classesList The list of classes
 	 * */
 	public InteractiveMOSchema(Dataset relationshipsDataset, ArrayList<UMLClass> classesList){
+		this(relationshipsDataset, classesList, new RelationshipModel(relationshipsDataset));
+	}
+
+	/**
+	 * Parameterized constructor
+	 * @param relationshipsDataset The dataset
+	 * @param classesList The list of classes
+	 * @param relationships The relationship model built from the dataset
+	 * */
+	public InteractiveMOSchema(Dataset relationshipsDataset, ArrayList<UMLClass> classesList, RelationshipModel relationships){
 		super();
 		this.relationshipsDataset = relationshipsDataset;
 		this.classesList = classesList;
+		this.relationships = relationships;
+	}
+
+	/////////////////////////////////////////////////////////////////
+	// ---------------------------------------------- Get/set methods
+	/////////////////////////////////////////////////////////////////
+
+	/**
+	 * Get the relationship model
+	 * @return The relationship model
+	 * */
+	public RelationshipModel getRelationshipModel(){
+		return this.relationships;
+	}
+
+	/**
+	 * Get the index of the candidate services. It is
+	 * built the first time that it is requested.
+	 * @return The index of the candidate services
+	 * */
+	public synchronized OperationIndex getOperationIndex(){
+		if(this.operationIndex == null){
+			this.operationIndex = new OperationIndex(this.terminals, this.numberOfClasses, this.relationships, this.classesList);
+		}
+		return this.operationIndex;
+	}
+
+	/**
+	 * Get the table of identifiers of the operations. It is
+	 * built the first time that it is requested, and it is
+	 * shared by the individuals of the species.
+	 * @return The identifiers of the operations
+	 * */
+	public synchronized OperationTable getOperationTable(){
+		if(this.operationTable == null){
+			this.operationTable = new OperationTable(getOperationIndex());
+		}
+		return this.operationTable;
+	}
+
+	/**
+	 * Check if the incremental synthesis of interfaces is enabled
+	 * @return True if only the affected components are rebuilt
+	 * */
+	public boolean isIncrementalSynthesis(){
+		return this.incrementalSynthesis;
+	}
+
+	/**
+	 * Enable or disable the incremental synthesis of interfaces
+	 * @param incrementalSynthesis The new value
+	 * */
+	public void setIncrementalSynthesis(boolean incrementalSynthesis){
+		this.incrementalSynthesis = incrementalSynthesis;
+	}
+
+	/**
+	 * Check if the incremental trees are validated
+	 * @return True if each incremental tree is compared
+	 * with the tree built from scratch
+	 * */
+	public boolean isValidateSynthesis(){
+		return this.validateSynthesis;
+	}
+
+	/**
+	 * Enable or disable the validation of the incremental trees
+	 * @param validateSynthesis The new value
+	 * */
+	public void setValidateSynthesis(boolean validateSynthesis){
+		this.validateSynthesis = validateSynthesis;
+	}
+
+	/**
+	 * Get the number of incremental trees that
+	 * did not match the complete rebuild
+	 * @return The number of failed validations
+	 * */
+	public synchronized long getValidationFailures(){
+		return this.validationFailures;
+	}
+
+	/**
+	 * Get the cache of synthesized components
+	 * @return The cache, null if it is disabled
+	 * */
+	public InterfaceCache getInterfaceCache(){
+		return this.interfaceCache;
+	}
+
+	/**
+	 * Set the size of the cache of synthesized components
+	 * @param size Maximum number of components in the cache,
+	 * 0 to disable the cache
+	 * */
+	public void setInterfaceCacheSize(int size){
+		if(size < 0){
+			throw new IllegalArgumentException("The size of the cache cannot be negative");
+		}
+		this.interfaceCache = size > 0 ? new InterfaceCache(size, this.relationships.getGraph()) : null;
 	}
 
 	/////////////////////////////////////////////////////////////////
 	// --------------------------------------------- Override methods
 	/////////////////////////////////////////////////////////////////
 
+	@Override
+	public synchronized void setTerminals(TerminalNode[] terminalNodes) {
+		super.setTerminals(terminalNodes);
+		this.operationIndex = null;
+		this.operationTable = null;
+	}
+
+	@Override
+	public synchronized void setNumOfClasses(int numberOfClasses){
+		super.setNumOfClasses(numberOfClasses);
+		this.operationIndex = null;
+		this.operationTable = null;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>The index is the position of the class in the dataset.
+	 * */
+	@Override
+	protected int getClassIndex(String symbol){
+		if(this.relationships == null){
+			return -1;
+		}
+		return this.relationships.getClassIndex(symbol);
+	}
+
 	/**
 	 * Recursive generation of tree branches
 	 * @param tree The tree
 	 * @param symbol The actual symbol
 	 * @param n The number of components to generate. For classes symbol, it represent the number of his component.
+	 * @param distribution The distribution of classes into components
+	 * @param numberOfComponents The number of components of the tree
 	 * */
 	@Override
-	public void fillSyntaxBranch(SyntaxTree tree, String symbol, int n) {
+	public void fillSyntaxBranch(SyntaxTree tree, String symbol, int n, int [] distribution, int numberOfComponents) {
 
 		// Terminal, add node
 		if (isTerminal(symbol)) {
@@ -93,40 +248,42 @@ public class InteractiveMOSchema extends Schema {
 				int numberOfElements = nonTerminal.arity();
 				if(numberOfElements>0){
 					for (int i=0; i<numberOfElements; i++)
-						fillSyntaxBranch(tree, nonTerminal.getElements()[i], n);
+						fillSyntaxBranch(tree, nonTerminal.getElements()[i], n, distribution, numberOfComponents);
 				}
 
 				// The non terminal requires a dynamically decomposition
 				else{
 
+					switch(nonTerminal.getCode()){
+
 					// If the symbol is "components", expand the number of components
-					if(nonTerminal.getSymbol().equalsIgnoreCase("components")){
-						this.numberOfComponents = n;
+					case GrammarSymbols.COMPONENTS:
 						for(int i=0; i<n; i++)
-							fillSyntaxBranch(tree, "component", i);
-					}
+							addComponent(tree, i, distribution, numberOfComponents);
+						break;
 
 					// If the symbol is "classes", add the classes assigned to component n
-					else if(nonTerminal.getSymbol().equalsIgnoreCase("classes")){
-						setClassesInComponent(tree, n, this.distribution);
-					}
+					case GrammarSymbols.CLASSES:
+						setClassesInComponent(tree, n, distribution);
+						break;
 
 					// If the symbol is "required-interfaces", add the services required 
 					// by classes of the current component and specify the required interfaces
-					else if (nonTerminal.getSymbol().equalsIgnoreCase("required-interfaces")){
-						setRequiredInterfaces(tree, n, this.distribution, this.numberOfComponents);
-					}
+					case GrammarSymbols.REQUIRED_INTERFACES:
+						setRequiredInterfaces(tree, n, distribution, numberOfComponents);
+						break;
 
 					// If the symbol is "provided-interfaces", add the services provided 
 					// by classes of the current component and specify the provided interfaces
-					else if (nonTerminal.getSymbol().equalsIgnoreCase("provided-interfaces")){
-						setProvidedInterfaces(tree, n, this.distribution, this.numberOfComponents);
-					}
+					case GrammarSymbols.PROVIDED_INTERFACES:
+						setProvidedInterfaces(tree, n, distribution, numberOfComponents);
+						break;
 
 					// If the symbol is "connectors", generate the required connectors 
 					// using the information of the created interfaces
-					else if(nonTerminal.getSymbol().equalsIgnoreCase("connectors")){
-						setConnectors(tree, this.numberOfComponents);
+					case GrammarSymbols.CONNECTORS:
+						setConnectors(tree, numberOfComponents);
+						break;
 					}
 				}
 			}
@@ -156,117 +313,56 @@ public class InteractiveMOSchema extends Schema {
 	 * */
 	public void setRequiredInterfaces(SyntaxTree tree, int component, int [] distribution, int numberOfComponents) {
 
+		OperationIndex index = getOperationIndex();
+
 		// Number of candidate services
-		int numOfServices = this.terminals.length-this.numberOfClasses;
-		String class1name;
-		MultiIntegerColumn column;
-		Object value;
-		MultiIntegerValue multi_class1, multi_class2;
-		int size, index_class1;
-		ArrayList<TerminalNode> candidateServices = new ArrayList<TerminalNode>();
+		int numOfServices = index.getNumberOfServices();
+		int owner, size;
+		int [] consumers, links;
+		ArrayList<Integer> candidateServices = new ArrayList<Integer>();
 		ArrayList<Integer> provComponent = new ArrayList<Integer>();
-		//ArrayList<ArrayList<Integer>> providerComponent = new ArrayList<ArrayList<Integer>>();
-		ArrayList<ArrayList<Integer>> reqComponents = new ArrayList<ArrayList<Integer>>();
-		ArrayList<ArrayList<String>> classesReqComponents = new ArrayList<ArrayList<String>>();
+		ArrayList<BitSet> reqComponents = new ArrayList<BitSet>();
+		ArrayList<ArrayList<Integer>> classesReqComponents = new ArrayList<ArrayList<Integer>>();
 
 		// For each service, check if it should be part of a required interface of this component
 		for(int i=0; i<numOfServices; i++){
 
-			// get the information of the class that specify the operation
-			class1name = this.terminals[this.numberOfClasses+i].getSymbol().split(":")[0];
-			column = (MultiIntegerColumn) this.relationshipsDataset.getColumnByName(class1name);
-			index_class1 = this.relationshipsDataset.getIndexOfColumn(column);
-
-			// for all the other classes, check if there exists a navigable relationships between them
-			for(int j=0; j<this.numberOfClasses; j++){
-
-				value = column.getElement(j);
+			// get the class that specify the operation, it should be allocated in other component
+			owner = index.getOwner(i);
+			if(distribution[owner] != component){
 
-				if(!(value instanceof InvalidValue)){
-					multi_class1 = (MultiIntegerValue)value;
-					multi_class2 = (MultiIntegerValue)this.relationshipsDataset.getColumn(j).getElement(index_class1);
-					size = multi_class1.getSize();
+				// for the classes that invoke it, check the navigable relationships between them
+				consumers = index.getConsumers(owner);
+				links = index.getConsumerLinks(owner);
+				for(int p=0; p<consumers.length; p++){
 
-					for(int k=0; k<size; k+=2){
-						if(distribution[j] == component // the class belongs to the current component
-								&& distribution[index_class1] != distribution[j] // class1 and class2 are allocated in different components
-										&& multi_class1.getValue(k+1)==1 && multi_class2.getValue(k+1)==0){ // and class1 is invoked by class2
+					// the class belongs to the current component
+					if(distribution[consumers[p]] == component){
+						for(int k=0; k<links[p]; k++){
 
 							// add the candidate service and the providers
-							candidateServices.add(this.terminals[this.numberOfClasses+i]);
-							provComponent.add(distribution[index_class1]);
-							ArrayList<String> aux = new ArrayList<String>();
-							aux.add(this.relationshipsDataset.getColumn(j).getName());
+							candidateServices.add(i);
+							provComponent.add(distribution[owner]);
+							ArrayList<Integer> aux = new ArrayList<Integer>();
+							aux.add(consumers[p]);
 
 							// search other components (and its classes) that require the same service
-							reqComponents.add(searchReqComponents(index_class1, distribution, aux));
+							reqComponents.add(searchReqComponents(index, owner, distribution, aux, numberOfComponents));
 							classesReqComponents.add(aux);
-
-							/*candidateServices.add(this.terminals[this.numberOfClasses+i]);
-							targetComponent.add(new Integer(distribution[index_class1]));
-							 */
-
-							/*System.out.println("Class1: " + class1name + " Component: " + distribution[index_class1]);
-							System.out.println("Class2: " + this.relationshipsDataset.getColumn(j).getName() + " Component: " + distribution[j]);
-							System.out.println("Relation1: type=" + multi_class1.getValue(k) + " nav=" + multi_class1.getValue(k+1));
-							System.out.println("Relation2: type=" + multi_class2.getValue(k) + " nav=" + multi_class2.getValue(k+1));*/
 						}
 					}
 				}
 			}
 		}
 
-
-
 		// Add related operations
-		addRelatedOperations(candidateServices, reqComponents, provComponent, distribution, classesReqComponents, false);
-		addRelatedOperationsByClass(candidateServices, reqComponents, provComponent, distribution, component, classesReqComponents, false);
-
-		////////////////////////////////////////////////////////////////////
-		/*System.out.println("REQUIRED -- BEFORE REMOVAL...");
-		for(int i=0; i<candidateServices.size(); i++){
-			System.out.print("Service: " + candidateServices.get(i).getSymbol() + " provider components: ");
-			for(int j=0; j<reqComponents.get(i).size(); j++){
-				System.out.print(reqComponents.get(i).get(j) + " ");
-			}
-			System.out.print("\nClasses: ");
-			for(int j=0; j<classesReqComponents.get(i).size(); j++){
-				System.out.print(classesReqComponents.get(i).get(j) + " ");
-			}
-			System.out.println();
-		}*/
-		///////////////////////////////////////////////////////////////////
+		addRelatedOperations(index, candidateServices, reqComponents, provComponent, distribution, classesReqComponents, false);
+		addRelatedOperationsByClass(index, candidateServices, reqComponents, provComponent, distribution, component, classesReqComponents, false);
 
 		// Remove duplicated operations
-		removeDuplicatedOperations(candidateServices, reqComponents, provComponent, classesReqComponents, false);
-
-		////////////////////////////////////////////////////////////////////
-		/*System.out.println("REQUIRED -- AFTER REMOVAL...");
-		for(int i=0; i<candidateServices.size(); i++){
-			//if((candidateServices.get(i).getSymbol().startsWith("Dataset:") ||
-			//		candidateServices.get(i).getSymbol().startsWith("NumericalColumn:")) && provComponent.get(i)==2){
-			System.out.print("Service: " + candidateServices.get(i).getSymbol() + "provider: " + provComponent.get(i) + " req components: ");
-			for(int j=0; j<reqComponents.get(i).size(); j++){
-				System.out.print(reqComponents.get(i).get(j) + " ");
-			}
-			System.out.print("\nClasses: ");
-			for(int j=0; j<classesReqComponents.get(i).size(); j++){
-				System.out.print(classesReqComponents.get(i).get(j) + " ");
-			}
-			System.out.println("\n\n");
-			//}
-		}*/
-		///////////////////////////////////////////////////////////////////
-
-		/*System.out.println("Component: " + component + " Candidate services: ");
-		for(int i=0; i<candidateServices.size(); i++){
-			System.out.println("\t"+ candidateServices.get(i).getSymbol() + " target: " + targetComponent.get(i));
-		}*/
+		removeDuplicatedOperations(index, candidateServices, reqComponents, provComponent, classesReqComponents, false);
 
 		// Create one interface for each set of operations that are required by the same component
-		size = candidateServices.size();
-		//boolean createInterface;
-
 		int s1, s2;
 		s1 = 0;
 		String reqClasses;
@@ -274,48 +370,29 @@ public class InteractiveMOSchema extends Schema {
 		// For each candidate service, create a new interface considering all the services
 		// that have the same target components
 		while(s1<reqComponents.size()){
-			//if(reqComponents.get(s1).contains(component)){
-			//System.out.println("REQ INTERFACE");
 			tree.addNode(this.nonTerminalsMap.get("interface")[0]);
-			//tree.addNode(candidateServices.get(s1));
 			reqClasses = searchRequiredClasses(classesReqComponents.get(s1), component, distribution);
-			tree.addNode(new TerminalNode(candidateServices.get(s1).getSymbol() + reqClasses));
-			//System.out.println("\t"+candidateServices.get(s1).getSymbol() + reqClasses);
+			tree.addNode(new TerminalNode(getService(candidateServices.get(s1)).getSymbol() + reqClasses, GrammarSymbols.OPERATION, -1));
 			s2 = s1+1;
-			while(s2<reqComponents.size()){
-				// Both services share the provider component and the set of required components, 
+			size = reqComponents.size();
+			while(s2<size){
+				// Both services share the provider component and the set of required components,
 				// remove the candidate service to avoid considering it later
-				if(provComponent.get(s1) == provComponent.get(s2) 
-						&& equalsSets(reqComponents.get(s1), reqComponents.get(s2))){
+				if(provComponent.get(s1).intValue() == provComponent.get(s2).intValue()
+						&& reqComponents.get(s1).equals(reqComponents.get(s2))){
 
 					reqClasses = searchRequiredClasses(classesReqComponents.get(s2), component, distribution);
-					//tree.addNode(candidateServices.get(s2));
-					tree.addNode(new TerminalNode(candidateServices.get(s2).getSymbol() + reqClasses));
-					//System.out.println("\t"+candidateServices.get(s2).getSymbol() + reqClasses);
+					tree.addNode(new TerminalNode(getService(candidateServices.get(s2)).getSymbol() + reqClasses, GrammarSymbols.OPERATION, -1));
 					candidateServices.remove(s2);
 					reqComponents.remove(s2);
 					provComponent.remove(s2);
+					size--;
 				}
 				else
 					s2++;
 			}
-			//}
 			s1++;
 		}
-
-		/*for(int i=0; i<numberOfComponents; i++){
-			createInterface = true;
-			for(int j=0; j<size; j++){
-				//if(targetComponent.get(j) == i){
-				if(targetComponent.get(j).contains(i)){
-					if(createInterface){
-						tree.addNode(this.nonTerminalsMap.get("interface")[0]);
-						createInterface = false;
-					}
-					tree.addNode(candidateServices.get(j));
-				}
-			}
-		}*/
 	}
 
 	/**
@@ -327,146 +404,69 @@ public class InteractiveMOSchema extends Schema {
 	 * */
 	public void setProvidedInterfaces(SyntaxTree tree, int component, int [] distribution, int numberOfComponents) {
 
+		OperationIndex index = getOperationIndex();
+
 		// Number of candidate services
-		int numOfServices = this.terminals.length-this.numberOfClasses;
-		String class1name;
-		MultiIntegerColumn column;
-		Object value;
-		MultiIntegerValue multi_class1, multi_class2;
-		int size, index_class1;
-		ArrayList<TerminalNode> candidateServices = new ArrayList<TerminalNode>();
-		ArrayList<ArrayList<Integer>> targetComponent = new ArrayList<ArrayList<Integer>>();
+		int numOfServices = index.getNumberOfServices();
+		int owner, size;
+		int [] consumers;
+		BitSet targets;
+		ArrayList<Integer> candidateServices = new ArrayList<Integer>();
+		ArrayList<BitSet> targetComponent = new ArrayList<BitSet>();
 
 		// For each service, check if it should be part of a provided interface of this component
 		for(int i=0; i<numOfServices; i++){
 
-			// get the information of the class that specify the operation
-			class1name = this.terminals[this.numberOfClasses+i].getSymbol().split(":")[0];
-			column = (MultiIntegerColumn) this.relationshipsDataset.getColumnByName(class1name);
-			index_class1 = this.relationshipsDataset.getIndexOfColumn(column);
-
-			// The class belongs to the component
-			if(distribution[index_class1]==component){
-
-				// for all the other classes, check if there exists a navigable relationship between them
-				for(int j=0; j<this.numberOfClasses; j++){
-
-					value = column.getElement(j);
-
-					if(!(value instanceof InvalidValue)){
-						multi_class1 = (MultiIntegerValue)value;
-						multi_class2 = (MultiIntegerValue)this.relationshipsDataset.getColumn(j).getElement(index_class1);
-						size = multi_class1.getSize();
-
-						for(int k=0; k<size; k+=2){
-							if(distribution[index_class1] != distribution[j] // class1 and class2 are allocated in different components
-									&& multi_class1.getValue(k+1)==1 && multi_class2.getValue(k+1)==0){ // and class1 is invoked by class2
-
-								/*System.out.println("Class1: " + class1name + " Component: " + distribution[index_class1]);
-								System.out.println("Class2: " + this.relationshipsDataset.getColumn(j).getName() + " Component: " + distribution[j]);
-								System.out.println("Relation1: type=" + multi_class1.getValue(k) + " nav=" + multi_class1.getValue(k+1));
-								System.out.println("Relation2: type=" + multi_class2.getValue(k) + " nav=" + multi_class2.getValue(k+1));
-								 */
-
-								// Save the service and the index of the component that require it
-								int index = candidateServices.indexOf(this.terminals[this.numberOfClasses+i]);
-								if(index!=-1){
-									if(!targetComponent.get(index).contains(distribution[j]))
-											targetComponent.get(index).add(distribution[j]);
-								}
-								else{
-									candidateServices.add(this.terminals[this.numberOfClasses+i]);
-									targetComponent.add(new ArrayList<Integer>());
-									targetComponent.get(candidateServices.size()-1).add(distribution[j]);
-								}
-
-								/*
-								 * candidateServices.add(this.terminals[this.numberOfClasses+i]);
-									targetComponent.add(new Integer(distribution[j]));
-								 * */
-							}
+			// The class that specify the operation belongs to the component
+			owner = index.getOwner(i);
+			if(distribution[owner]==component){
+
+				// for the classes that invoke it, save the components that require the service
+				consumers = index.getConsumers(owner);
+				targets = null;
+				for(int p=0; p<consumers.length; p++){
+					if(distribution[consumers[p]] != component){
+						if(targets == null){
+							targets = new BitSet(numberOfComponents);
+							candidateServices.add(i);
+							targetComponent.add(targets);
 						}
+						targets.set(distribution[consumers[p]]);
 					}
 				}
 			}
 		}
 
-		////////////////////////////////////////////////////////////////////
-		/*for(int i=0; i<candidateServices.size(); i++){
-			System.out.print("Service: " + candidateServices.get(i).getSymbol() + " target components: ");
-			for(int j=0; j<targetComponent.get(i).size(); j++){
-				System.out.print(targetComponent.get(i).get(j) + " ");
-			}
-			System.out.println();
-		}*/
-		///////////////////////////////////////////////////////////////////
-
 		// Add related operations
-		addRelatedOperations(candidateServices, targetComponent, null, distribution, null, true);
-
-		//System.out.println(tree);
-		addRelatedOperationsByClass(candidateServices, targetComponent, null, distribution, component, null, true);
+		addRelatedOperations(index, candidateServices, targetComponent, null, distribution, null, true);
+		addRelatedOperationsByClass(index, candidateServices, targetComponent, null, distribution, component, null, true);
 
 		// Remove duplicated operations
-		removeDuplicatedOperations(candidateServices, targetComponent, null, null, true);
-
-		////////////////////////////////////////////////////////////////////
-		/*System.out.println("PROVIDED -- AFTER REMOVAL...");
-		for(int i=0; i<candidateServices.size(); i++){
-			//if(candidateServices.get(i).getSymbol().contains("Missing")){
-				System.out.print("Service: " + candidateServices.get(i).getSymbol() + " target components: ");
-
-				for(int j=0; j<targetComponent.get(i).size(); j++){
-					System.out.print(targetComponent.get(i).get(j) + " ");
-				}
-				System.out.println();
-			//}
-		}*/
-		///////////////////////////////////////////////////////////////////
-
-		/*	System.out.println("Component: " + component + " Candidate services: ");
-		for(int i=0; i<candidateServices.size(); i++){
-			System.out.println("\t"+ candidateServices.get(i).getSymbol() + " target: " + targetComponent.get(i));
-		}*/
+		removeDuplicatedOperations(index, candidateServices, targetComponent, null, null, true);
 
 		// Create one interface for each set of operations that are required by the same set of components
-		size = candidateServices.size();
-		//boolean createInterface;
-
 		int s1, s2;
 		s1 = 0;
 		// For each candidate service, create a new interface considering all the services
 		// that have the same target components
 		while(s1<targetComponent.size()){
 			tree.addNode(this.nonTerminalsMap.get("interface")[0]);
-			tree.addNode(candidateServices.get(s1));
+			tree.addNode(getService(candidateServices.get(s1)));
 			s2 = s1+1;
-			while(s2<targetComponent.size()){
+			size = targetComponent.size();
+			while(s2<size){
 				// Same target components, remove the candidate service to avoid visiting it again
-				if(equalsSets(targetComponent.get(s1), targetComponent.get(s2))){
-					tree.addNode(candidateServices.get(s2));
+				if(targetComponent.get(s1).equals(targetComponent.get(s2))){
+					tree.addNode(getService(candidateServices.get(s2)));
 					candidateServices.remove(s2);
 					targetComponent.remove(s2);
+					size--;
 				}
 				else
 					s2++;
 			}
 			s1++;
 		}
-
-		/*for(int i=0; i<numberOfComponents; i++){
-			createInterface = true;
-			for(int j=0; j<size; j++){
-				//if(targetComponent.get(j) == i){
-				if(targetComponent.get(j).contains(i)){
-					if(createInterface){
-						tree.addNode(this.nonTerminalsMap.get("interface")[0]);
-						createInterface = false;
-					}
-					tree.addNode(candidateServices.get(j));
-				}
-			}
-		}*/
 	}
 
 	/**
@@ -476,14 +476,13 @@ public class InteractiveMOSchema extends Schema {
 	 * */
 	public void setConnectors(SyntaxTree tree, int numberOfComponents) {
 
-		String actualSymbol;
 		int [] compPos = new int[numberOfComponents];
 		int [] reqPos = new int[numberOfComponents];
 		int [] provPos = new int[numberOfComponents];
 		int j, nProvInterface, k;
 		boolean finish;
 		ArrayList<String> provServices;
-		ArrayList<String> reqInterfaces;
+		ArrayList<ConnectorEnd> reqInterfaces;
 
 		// Get the positions of component and interface symbols
 		locateComponentInterfaces(tree, compPos, reqPos, provPos);
@@ -497,9 +496,7 @@ public class InteractiveMOSchema extends Schema {
 			nProvInterface = 0;
 			finish = false;
 			while(!finish){
-				actualSymbol = tree.getNode(j).getSymbol();
-
-				if(actualSymbol.equalsIgnoreCase("interface")){
+				if(GrammarSymbols.getCode(tree.getNode(j)) == GrammarSymbols.INTERFACE){
 					nProvInterface++;
 
 					// Extract the services
@@ -523,10 +520,10 @@ public class InteractiveMOSchema extends Schema {
 					if(reqInterfaces.size() > 0){
 						tree.addNode(this.nonTerminalsMap.get("connector")[0]);	// new connector		
 						tree.addNode(this.nonTerminalsMap.get("provided-interface")[0]); // new provided interface
-						tree.addNode(new TerminalNode("component"+(i+1)+"-interface"+nProvInterface));
+						tree.addNode(new ConnectorEnd(i, nProvInterface-1));
 						tree.addNode(this.nonTerminalsMap.get("required-interfaces")[0]);
-						for(String s: reqInterfaces){
-							tree.addNode(new TerminalNode(s));
+						for(ConnectorEnd end: reqInterfaces){
+							tree.addNode(end);
 						}
 						reqInterfaces.clear();
 					}					
@@ -535,7 +532,7 @@ public class InteractiveMOSchema extends Schema {
 					j++;
 				}
 
-				if(tree.getNode(j).getSymbol().equalsIgnoreCase("connectors")
+				if(GrammarSymbols.getCode(tree.getNode(j)) == GrammarSymbols.CONNECTORS
 						|| ((i+1)<numberOfComponents && j>=compPos[i+1])){
 					finish = true;
 				}
@@ -543,10 +540,204 @@ public class InteractiveMOSchema extends Schema {
 		}
 	}
 
+	/////////////////////////////////////////////////////////////////
+	// ----------------------------------------------- Public methods
+	/////////////////////////////////////////////////////////////////
+
+	/**
+	 * Create the tree of an individual obtained by changing the
+	 * distribution of classes of another one. The interfaces of a
+	 * component only depend on the classes located at distance 2
+	 * or less of its own classes, so the components that do not
+	 * have any of these classes moved are copied from the parent
+	 * tree. The rest of components and the connectors are built
+	 * again. A class whose component index changes counts as moved,
+	 * so the components renumbered by the operator (after removing,
+	 * merging or recombining components) are built again too, and
+	 * the method can be used with any parent with the same classes.
+	 * <p>If the validation is enabled, the tree is compared with the
+	 * complete rebuild, which is returned when they differ. The
+	 * number of differences is given by <code>getValidationFailures()</code>.
+	 * @param numberOfComponents Number of components to be included in the tree
+	 * @param distribution The classes distribution
+	 * @param parent The individual whose distribution has been changed
+	 * @return A new SyntaxTree containing the components model
+	 * */
+	public SyntaxTree createSyntaxTree(int numberOfComponents, int [] distribution, InteractiveMOIndividual parent){
+		int [] parentDistribution = parent == null ? null : parent.getClassesDistribution();
+		if(!this.incrementalSynthesis || parentDistribution == null
+				|| parentDistribution.length != distribution.length){
+			return createSyntaxTree(numberOfComponents, distribution);
+		}
+
+		// Only the components in both trees can be copied
+		int sharedComponents = Math.min(parent.getNumberOfComponents(), numberOfComponents);
+		boolean [] affected = getAffectedComponents(parentDistribution, distribution,
+				Math.max(parent.getNumberOfComponents(), numberOfComponents));
+		boolean reuse = false;
+		for(int i=0; !reuse && i<sharedComponents; i++){
+			reuse = !affected[i];
+		}
+		if(!reuse){
+			return createSyntaxTree(numberOfComponents, distribution);
+		}
+
+		// Copy the unaffected components and build the rest of them
+		SyntaxTree parentTree = parent.getGenotype();
+		ComponentIndex componentIndex = parent.getComponentIndex();
+		SyntaxTree tree = new SyntaxTree();
+		tree.addNode(this.nonTerminalsMap.get(this.rootSymbol)[0]);
+		tree.addNode(this.nonTerminalsMap.get("components")[0]);
+		for(int i=0; i<numberOfComponents; i++){
+			if(i >= sharedComponents || affected[i]){
+				addComponent(tree, i, distribution, numberOfComponents);
+			}
+			else{
+				for(int j=componentIndex.getComponentStart(i); j<componentIndex.getComponentEnd(i); j++){
+					tree.addNode(parentTree.getNode(j));
+				}
+			}
+		}
+		fillSyntaxBranch(tree, "connectors", numberOfComponents, distribution, numberOfComponents);
+
+		if(this.validateSynthesis){
+			SyntaxTree completeTree = createSyntaxTree(numberOfComponents, distribution);
+			if(!equalTrees(tree, completeTree)){
+				synchronized(this){
+					this.validationFailures++;
+				}
+				tree = completeTree;
+			}
+		}
+		return tree;
+	}
+
 	/////////////////////////////////////////////////////////////////
 	// ---------------------------------------------- Private methods
 	/////////////////////////////////////////////////////////////////
 
+	/**
+	 * Add the nodes of a component. If the cache is enabled,
+	 * the nodes are restored from the cache when an equivalent
+	 * component has already been synthesized.
+	 * @param tree The tree
+	 * @param component The component
+	 * @param distribution The distribution of classes into components
+	 * @param numberOfComponents The number of components of the tree
+	 * */
+	private void addComponent(SyntaxTree tree, int component, int [] distribution, int numberOfComponents){
+		InterfaceCache cache = this.interfaceCache;
+		if(cache == null){
+			fillSyntaxBranch(tree, "component", component, distribution, numberOfComponents);
+			return;
+		}
+
+		String key = cache.key(component, distribution, numberOfComponents);
+		SyntaxTreeNode [] nodes = cache.get(key);
+		if(nodes == null){
+			int first = tree.size();
+			fillSyntaxBranch(tree, "component", component, distribution, numberOfComponents);
+			nodes = new SyntaxTreeNode[tree.size()-first];
+			for(int i=0; i<nodes.length; i++){
+				nodes[i] = tree.getNode(first+i);
+			}
+			cache.put(key, nodes);
+		}
+		else{
+			for(SyntaxTreeNode node: nodes){
+				tree.addNode(node);
+			}
+		}
+	}
+
+	/**
+	 * Get the components whose interfaces could change after
+	 * a change in the distribution of classes. A component is
+	 * affected if it contains, before or after the change, a
+	 * class at distance 2 or less of a moved class.
+	 * @param parentDistribution The previous distribution
+	 * @param distribution The new distribution
+	 * @param numberOfComponents The number of components of the largest distribution
+	 * @return A flag for each component, true if the component should be built again
+	 * */
+	private boolean [] getAffectedComponents(int [] parentDistribution, int [] distribution, int numberOfComponents){
+		RelationshipGraph graph = this.relationships.getGraph();
+		int numberOfClasses = distribution.length;
+		boolean [] affected = new boolean[numberOfComponents];
+		int [] depth = new int[numberOfClasses];
+		int [] queue = new int[numberOfClasses];
+		int head = 0, tail = 0, actual, neighbour;
+
+		// The moved classes
+		for(int i=0; i<numberOfClasses; i++){
+			if(parentDistribution[i] != distribution[i]){
+				depth[i] = 1;
+				queue[tail++] = i;
+			}
+			else{
+				depth[i] = 0;
+			}
+		}
+
+		// The classes at distance 2 or less
+		while(head < tail){
+			actual = queue[head++];
+			affected[parentDistribution[actual]] = true;
+			affected[distribution[actual]] = true;
+			if(depth[actual] < 3){
+				for(int p=0; p<graph.getDegree(actual); p++){
+					neighbour = graph.getNeighbour(actual, p);
+					if(depth[neighbour] == 0){
+						depth[neighbour] = depth[actual]+1;
+						queue[tail++] = neighbour;
+					}
+				}
+				for(int p=0; p<graph.getNumberOfInvokers(actual); p++){
+					neighbour = graph.getInvoker(actual, p);
+					if(depth[neighbour] == 0){
+						depth[neighbour] = depth[actual]+1;
+						queue[tail++] = neighbour;
+					}
+				}
+				for(int p=0; p<graph.getNumberOfInvoked(actual); p++){
+					neighbour = graph.getInvoked(actual, p);
+					if(depth[neighbour] == 0){
+						depth[neighbour] = depth[actual]+1;
+						queue[tail++] = neighbour;
+					}
+				}
+			}
+		}
+		return affected;
+	}
+
+	/**
+	 * Compare the symbols of two trees
+	 * @param tree1 The first tree
+	 * @param tree2 The second tree
+	 * @return True if both trees have the same sequence of symbols
+	 * */
+	private boolean equalTrees(SyntaxTree tree1, SyntaxTree tree2){
+		if(tree1.size() != tree2.size()){
+			return false;
+		}
+		for(int i=0; i<tree1.size(); i++){
+			if(!tree1.getNode(i).getSymbol().equals(tree2.getNode(i).getSymbol())){
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Get the terminal node of a candidate service
+	 * @param service The index of the service
+	 * @return The terminal node
+	 * */
+	private TerminalNode getService(int service){
+		return this.terminals[this.numberOfClasses+service];
+	}
+
 	/**
 	 * Search for component and interfaces symbols and 
 	 * save the positions in the respective array.
@@ -558,68 +749,55 @@ public class InteractiveMOSchema extends Schema {
 	private void locateComponentInterfaces(SyntaxTree tree, int [] compPos, int [] reqPos, int [] provPos){
 		int size = tree.size();
 		int actualComp=-1;
-		String symbol;
 		for(int i=0; i<size; i++){
-			symbol = tree.getNode(i).getSymbol();
-			if(symbol.equalsIgnoreCase("component")){
+			switch(GrammarSymbols.getCode(tree.getNode(i))){
+			case GrammarSymbols.COMPONENT:
 				actualComp++;
 				compPos[actualComp] = i;
-			}
-			else if(symbol.equalsIgnoreCase("required-interfaces"))
+				break;
+			case GrammarSymbols.REQUIRED_INTERFACES:
 				reqPos[actualComp] = i;
-			else if(symbol.equalsIgnoreCase("provided-interfaces"))
+				break;
+			case GrammarSymbols.PROVIDED_INTERFACES:
 				provPos[actualComp] = i;
+				break;
+			}
 		}
 	}
 
 	/**
 	 * Remove duplicated candidate operations.
+	 * @param index The index of the candidate services
 	 * @param candidateOperations Set of candidate services
 	 * @param targetComponent Set of target components
+	 * @param provComponent The provider component of each operation (only for required services)
+	 * @param classesReqComponent The classes that require each operation (only for required services)
+	 * @param isProvided A flag indicating whether the operations are provided or required services
 	 * */
-	//private void removeDuplicatedOperations(ArrayList<TerminalNode> candidateOperations, ArrayList<Integer> targetComponent){
-	private void removeDuplicatedOperations(ArrayList<TerminalNode> candidateOperations, 
-			ArrayList<ArrayList<Integer>> targetComponent, ArrayList<Integer> provComponent, 
-			ArrayList<ArrayList<String>> classesReqComponent, boolean isProvided){
+	private void removeDuplicatedOperations(OperationIndex index, ArrayList<Integer> candidateOperations,
+			ArrayList<BitSet> targetComponent, ArrayList<Integer> provComponent,
+			ArrayList<ArrayList<Integer>> classesReqComponent, boolean isProvided){
 		// Remove duplicated operations
 		int c1 = 0, c2;
-		String oper1, oper2;
+		int oper1;
 		boolean duplicated;
-		String classname;
+		Integer classIndex;
 
 		while(c1<candidateOperations.size()){
 			c2 = c1+1;
-			oper1 = candidateOperations.get(c1).getSymbol();
+			oper1 = index.getSymbolId(candidateOperations.get(c1));
 			duplicated = false;
 			while(c2<candidateOperations.size()){
-				oper2 = candidateOperations.get(c2).getSymbol();
-				//if(oper1.equalsIgnoreCase(oper2)){
-
-				///////////////////////////////////////////////
-				/*if(targetComponent.get(c1).size() == targetComponent.get(c2).size() && targetComponent.get(c1).size()>1){
-					System.out.println("EQUAL SETS result="+equalsSets(targetComponent.get(c1), targetComponent.get(c2)));
-					System.out.print("\t");
-					for(int i=0; i<targetComponent.get(c1).size(); i++){
-						System.out.print(targetComponent.get(c1).get(i) + " ");
-					}
-					System.out.print("\n\t");
-					for(int i=0; i<targetComponent.get(c2).size(); i++){
-						System.out.print(targetComponent.get(c2).get(i) + " ");
-					}
-					System.out.println();
-				}*/
-				///////////////////////////////////////////////
-
-				if(oper1.equalsIgnoreCase(oper2)){// && equalsSets(targetComponent.get(c1), targetComponent.get(c2))){	
+				if(oper1 == index.getSymbolId(candidateOperations.get(c2))){
 					candidateOperations.remove(c2);
 					targetComponent.remove(c2);
 					if(!isProvided){
 						provComponent.remove(c2);
 						// Copy the classes in the list of the second operation into the list of the first operation
 						for(int i=0; i<classesReqComponent.get(c2).size(); i++){
-							classname = classesReqComponent.get(c2).get(i);
-							if(!classesReqComponent.get(c1).contains(classname))
-								classesReqComponent.get(c1).add(classname);
+							classIndex = classesReqComponent.get(c2).get(i);
+							if(!classesReqComponent.get(c1).contains(classIndex))
+								classesReqComponent.get(c1).add(classIndex);
 						}
 
 						classesReqComponent.remove(c2);
@@ -640,69 +818,37 @@ public class InteractiveMOSchema extends Schema {
 	 * Add operations to the set of candidate operations considering
 	 * those classes that are related by composition and generalization
 	 * and provide public methods.
+	 * @param index The index of the candidate services
 	 * @param candidateOperations Current set of candidate operations
 	 * @param targetComponents Set of target component of each operation
+	 * @param provComponent The provider component of each operation (only for required services)
 	 * @param distribution The current distribution of classes into components
+	 * @param classesReqComponent The classes that require each operation (only for required services)
+	 * @param isProvided A flag indicating whether the operations are provided or required services
 	 * */
-	private void addRelatedOperations(ArrayList<TerminalNode> candidateOperations, 
-			ArrayList<ArrayList<Integer>> targetComponents, ArrayList<Integer> provComponent, int [] distribution, 
-			ArrayList<ArrayList<String>> classesReqComponent, boolean isProvided){
-		//private void addRelatedOperations(ArrayList<TerminalNode> candidateOperations, ArrayList<Integer> targetComponent, int [] distribution){
-		int numberOfClasses = this.classesList.size();
-		String className, relatedClassName, operation2;
-		String [] aux;
-		int indexClass1, indexClass2;
+	private void addRelatedOperations(OperationIndex index, ArrayList<Integer> candidateOperations,
+			ArrayList<BitSet> targetComponents, ArrayList<Integer> provComponent, int [] distribution,
+			ArrayList<ArrayList<Integer>> classesReqComponent, boolean isProvided){
+		int indexClass1;
+		int [] related;
 		int numberOfServices = candidateOperations.size();
-		MultiIntegerColumn column1, column2;
-		int type;
-		MultiIntegerValue values1;
 
 		// For each candidate operation
 		for(int i=0; i<numberOfServices; i++){
 
 			// Get the class that implement the operation
-			aux = candidateOperations.get(i).getSymbol().split(":");
-			className = aux[0];
-			column1 = (MultiIntegerColumn)this.relationshipsDataset.getColumnByName(className);
-			indexClass1 = this.relationshipsDataset.getIndexOfColumn(column1);
-
-			// For every operation extracted from the analysis model, check if it should be added to the interface
-			for(int j=numberOfClasses; j<this.terminals.length; j++){
-
-				aux = this.terminals[j].getSymbol().split(":");
-				relatedClassName = aux[0];
-				operation2 = aux[1];
-				column2 = (MultiIntegerColumn)this.relationshipsDataset.getColumnByName(relatedClassName);
-				indexClass2 = this.relationshipsDataset.getIndexOfColumn(column2);
-
-				// Check if class1 and class2 have a relationship and they also belong to the same component
-				if(distribution[indexClass1] == distribution[indexClass2] &&
-						!(column1.getElement(indexClass2) instanceof InvalidValue)){
-
-					// Get the set of relationships between them
-					values1 = (MultiIntegerValue)column1.getElement(indexClass2);
-
-					for(int k=0; k<values1.getSize(); k+=2){
-						// Get the type of relationship
-						type = values1.getValue(k);
-
-						// For compositions and generalizations, add the public operation 
-						// defined by class1 in the set of candidate operations
-						if(type==4 || (type==5 && !isOperationDefinedByClass(indexClass1, operation2))){
-
-							//	System.out.println("type: " + type + " class1: " + className + 
-							//			" op1: " + operation1 + "class2: " + relatedClassName + " op2: " + operation2);
-							candidateOperations.add(this.terminals[j]);
-							targetComponents.add(targetComponents.get(i));
-							if(!isProvided){
-								provComponent.add(provComponent.get(i));
-								ArrayList<String> auxList = new ArrayList<String>();
-								for(int c=0; c<classesReqComponent.get(i).size(); c++){
-									auxList.add(classesReqComponent.get(i).get(c));
-								}
-								classesReqComponent.add(auxList);
-							}
-						}
+			indexClass1 = index.getOwner(candidateOperations.get(i));
+
+			// For compositions and generalizations, add the public operations of
+			// the related classes that belong to the same component
+			related = index.getRelatedServices(indexClass1);
+			for(int j=0; j<related.length; j++){
+				if(distribution[indexClass1] == distribution[index.getOwner(related[j])]){
+					candidateOperations.add(related[j]);
+					targetComponents.add(targetComponents.get(i));
+					if(!isProvided){
+						provComponent.add(provComponent.get(i));
+						classesReqComponent.add(new ArrayList<Integer>(classesReqComponent.get(i)));
 					}
 				}
 			}
@@ -713,131 +859,85 @@ public class InteractiveMOSchema extends Schema {
 	 * Add operations to the candidate set considering those operations
 	 * that are provided by subclasses when the superclass has not public methods
 	 * but it has external relationships.
+	 * @param index The index of the candidate services
 	 * @param candidateOperations Set of candidate operations
 	 * @param targetComponent Set of target components for the operations
+	 * @param provComponent The provider component of each operation (only for required services)
 	 * @param distribution The current distribution of classes into components
 	 * @param component The current component for which this method should search new operations
+	 * @param classesReqComponent The classes that require each operation (only for required services)
 	 * @param isProvided A flag indicating whether we are looking for provided or required services of the component
 	 * */
-	/*private void addRelatedOperationsByClass(ArrayList<TerminalNode> candidateOperations, 
-			ArrayList<Integer> targetComponent, int [] distribution, int component, boolean isProvided){*/
-	private void addRelatedOperationsByClass(ArrayList<TerminalNode> candidateOperations, 
-			ArrayList<ArrayList<Integer>> targetComponent, ArrayList<Integer> provComponent, int [] distribution, 
-			int component, ArrayList<ArrayList<String>> classesReqComponent, boolean isProvided){	
-		UMLClass umlclass;
-		ArrayList<String> subclasses;
-		String classname1, aux;
-		int classIndex;
+	private void addRelatedOperationsByClass(OperationIndex index, ArrayList<Integer> candidateOperations,
+			ArrayList<BitSet> targetComponent, ArrayList<Integer> provComponent, int [] distribution,
+			int component, ArrayList<ArrayList<Integer>> classesReqComponent, boolean isProvided){
+		int [] subclasses, services, consumers, links;
+		int classIndex, c, position;
 		int nClasses = distribution.length;
-		MultiIntegerValue values_ij, values_ji;
-		Object oValue;
 
-		// Check if a class that have external invocations does not provide any operation 
+		// Check if a class that have external invocations does not provide any operation
 		// but it has subclasses that define public methods
 		for(int i=0; i<nClasses; i++){
 			if((isProvided && distribution[i] == component) || (!isProvided && distribution[i]!=component)){
-				umlclass = this.classesList.get(i);
-				classIndex = this.relationshipsDataset.getIndexOfColumn(this.relationshipsDataset.getColumnByName(umlclass.getName()));
-
-				//System.out.println("Class: " + umlclass.getName() + " hasOper: " + umlclass.hasOperations()+
-				//		" hasExternalRel: " + hasExternalRelationships(i, distribution, isProvided));
+				classIndex = index.getModelIndex(i);
 
-				if(!umlclass.hasOperations() && hasExternalRelationships(i, distribution, isProvided)){
+				if(!index.hasOperations(i) && hasExternalRelationships(index, i, distribution)){
 					subclasses = findSubclassesInComponent(i, distribution);
+					consumers = index.getConsumers(classIndex);
+					links = index.getConsumerLinks(classIndex);
 
-					for(int j=0; j<subclasses.size(); j++){
-						//System.out.println("\t Subclase: " + subclasses.get(j));
-						classname1 = subclasses.get(j);
+					for(int j=0; j<subclasses.length; j++){
+						services = index.getServices(subclasses[j]);
 
-						for(int k=nClasses; k<this.terminals.length; k++){
-							aux = this.terminals[k].getSymbol().split(":")[0];
+						// An operation of the subclass has been found
+						for(int k=0; k<services.length; k++){
 
-							//System.out.println("\t\t Method: " + this.terminals[k].getSymbol());
+							// Provided operation, add the operation and the index of all the components that require it
+							if(isProvided){
 
-							// An operation of the subclass has been found
-							if(classname1.equalsIgnoreCase(aux)){
-
-								// Provided operation, add the operation and the index of all the components that require it
-								if(isProvided){
-
-									// search all the classes that could require this operation
-									for(int c=0; c<nClasses; c++){
-
-										oValue = this.relationshipsDataset.getColumn(classIndex).getElement(c);
-										if(!(oValue instanceof InvalidValue)){
-
-											values_ij = (MultiIntegerValue)oValue;
-											values_ji = (MultiIntegerValue)this.relationshipsDataset.getColumn(c).getElement(classIndex);
-
-											for(int l=1; l<values_ij.getSize(); l+=2){
-												//System.out.println("value_ji: " + values_ji.getValue(l) + " value_ij: " + values_ij.getValue(l));
-												if(values_ij.getValue(l)==1 && values_ji.getValue(l)==0){
+								// search the classes that invoke it, they could require this operation
+								for(int p=0; p<consumers.length; p++){
+									c = consumers[p];
+									position = indexOfService(index, candidateOperations, services[k]);
+									if(position!=-1){
+										targetComponent.get(position).set(distribution[c]);
+									}
+									else{
+										candidateOperations.add(services[k]);
+										targetComponent.add(new BitSet(distribution.length));
+										targetComponent.get(candidateOperations.size()-1).set(distribution[c]);
+									}
+								}
+							}
 
-													int index = candidateOperations.indexOf(this.terminals[k]);
-													if(index!=-1){
-														targetComponent.get(index).add(distribution[c]);
-													}
-													else{
-														candidateOperations.add(this.terminals[k]);
-														targetComponent.add(new ArrayList<Integer>());
-														targetComponent.get(candidateOperations.size()-1).add(distribution[c]);
-													}
+							// Required operation, add the index of the component that requires it
+							else{
 
-													/*candidateOperations.add(this.terminals[k]);
-													targetComponent.add(distribution[c]);
-													 */
-													//System.out.println("class1: " + classname1 + " dist: " + distribution[subclassIndex] + " class2: " + this.relationshipsDataset.getColumn(c).getName() 
-													//		+ " dist: "+ distribution[c] + " isProv: " + isProvided + " target: " + targetComponent.get(targetComponent.size()-1));
-													break;
+								// search the classes that invoke it, they could require this operation
+								for(int p=0; p<consumers.length; p++){
+									c = consumers[p];
 
-												}
-											}
+									// if the class c provides an operation of the other class and the latter belongs to the
+									// current component, add the required service
+									for(int l=0; distribution[c] == component && l<links[p]; l++){
+										position = indexOfService(index, candidateOperations, services[k]);
+										if(position!=-1){
+											targetComponent.get(position).set(distribution[classIndex]);
+											classesReqComponent.get(position).add(c);
 										}
-									}
-								}
-
-								// Required operation, add the index of the component that requires it
-								else{
-
-									// search all the classes that could require this operation
-									for(int c=0; c<nClasses; c++){
-
-										oValue = this.relationshipsDataset.getColumn(classIndex).getElement(c);
-										if(!(oValue instanceof InvalidValue)){
-
-											values_ij = (MultiIntegerValue)oValue;
-											values_ji = (MultiIntegerValue)this.relationshipsDataset.getColumn(c).getElement(classIndex);
-
-											for(int l=1; l<values_ij.getSize(); l+=2){
-												//System.out.println("value_ji: " + values_ji.getValue(l) + " value_ij: " + values_ij.getValue(l));
-												// if the class c provides an operation of the other class and the latter belongs to the
-												// current component, add the required service
-												if(values_ij.getValue(l)==1 && values_ji.getValue(l)==0 && distribution[c] == component){
-
-													int index = candidateOperations.indexOf(this.terminals[k]);
-													if(index!=-1){
-														targetComponent.get(index).add(distribution[classIndex]);
-														classesReqComponent.get(index).add(this.relationshipsDataset.getColumn(c).getName());
-													}
-													else{
-														// If it is the first time that the service appears, add the candidate service,
-														// the required component and the provider
-														candidateOperations.add(this.terminals[k]);
-														targetComponent.add(new ArrayList<Integer>());
-														targetComponent.get(candidateOperations.size()-1).add(distribution[classIndex]);
-														provComponent.add(component);
-														ArrayList<String> auxList = new ArrayList<String>();
-														auxList.add(this.relationshipsDataset.getColumn(c).getName());
-														classesReqComponent.add(auxList);
-													}
-												}
-											}
+										else{
+											// If it is the first time that the service appears, add the candidate service,
+											// the required component and the provider
+											candidateOperations.add(services[k]);
+											targetComponent.add(new BitSet(distribution.length));
+											targetComponent.get(candidateOperations.size()-1).set(distribution[classIndex]);
+											provComponent.add(component);
+											ArrayList<Integer> auxList = new ArrayList<Integer>();
+											auxList.add(c);
+											classesReqComponent.add(auxList);
 										}
 									}
-									/*candidateOperations.add(this.terminals[k]);
-										targetComponent.add(distribution[classIndex]);*/
 								}
-
 							}
 						}
 					}
@@ -848,54 +948,63 @@ public class InteractiveMOSchema extends Schema {
 
 	/**
 	 * For a given class, check if it has external relationships that can be candidate services
+	 * @param index The index of the candidate services
 	 * @param classIndex The index of the class in the dataset
 	 * @param distribution The current distribution of classes into components
-	 * @param isProvided A flag indicating whether we are looking for provided or required services of the component
 	 * */
-	private boolean hasExternalRelationships(int classIndex, int[] distribution, boolean isProvided){
-		boolean result = false;
-
-		MultiIntegerColumn column = (MultiIntegerColumn)this.relationshipsDataset.getColumn(classIndex);
-		MultiIntegerValue value, value2;
-		for(int i=0; i<column.getSize(); i++){
-			if(distribution[classIndex] != distribution[i] && !(column.getElement(i) instanceof InvalidValue)){
-
-				value = (MultiIntegerValue)column.getElement(i);
-				value2 = (MultiIntegerValue)this.relationshipsDataset.getColumn(i).getElement(classIndex);
-
-				for(int j=1; j<value.getSize(); j+=2){
-					if((isProvided && value.getValue(j)==1 && value2.getValue(j)==0) ||
-							(!isProvided && value.getValue(j)==1 && value2.getValue(j)==0)
-							){ // not unidirectional
-						result = true;
-					}
-				}
+	private boolean hasExternalRelationships(OperationIndex index, int classIndex, int[] distribution){
+		int [] consumers = index.getConsumers(classIndex);
+		for(int p=0; p<consumers.length; p++){
+			if(distribution[classIndex] != distribution[consumers[p]]){
+				return true;
 			}
 		}
-		return result;
+		return false;
 	}
 
 	/**
 	 * For a given class, check if it has subclasses allocated in the same component
 	 * @param classIndex The index of the class in the dataset
 	 * @param distribution The current distribution of classes into components
-	 * @return An array with the names of the subclasses
+	 * @return An array with the indexes of the subclasses
 	 * */
-	private ArrayList<String> findSubclassesInComponent(int classIndex, int[] distribution) {
-		ArrayList<String> subclasses = new ArrayList<String>();
-		MultiIntegerColumn column = (MultiIntegerColumn)this.relationshipsDataset.getColumn(classIndex);
-
-		for(int i=0; i<column.getSize(); i++){
-			if(!(column.getElement(i) instanceof InvalidValue)){
-				if( ((MultiIntegerValue)column.getElement(i)).contains(5)
-						&& distribution[classIndex] == distribution[i] ){
-					subclasses.add(this.relationshipsDataset.getColumn(i).getName());
-				}
+	private int [] findSubclassesInComponent(int classIndex, int[] distribution) {
+		RelationshipGraph graph = this.relationships.getGraph();
+		int i, size = graph.getDegree(classIndex, RelationshipModel.GENERALIZATION);
+		int [] subclasses = new int[size];
+		int numberOfSubclasses = 0;
+
+		for(int p=0; p<size; p++){
+			i = graph.getNeighbour(classIndex, RelationshipModel.GENERALIZATION, p);
+			if(distribution[classIndex] == distribution[i]){
+				subclasses[numberOfSubclasses++] = i;
 			}
 		}
+		if(numberOfSubclasses < size){
+			int [] aux = new int[numberOfSubclasses];
+			System.arraycopy(subclasses, 0, aux, 0, numberOfSubclasses);
+			subclasses = aux;
+		}
 		return subclasses;
 	}
 
+	/**
+	 * Search the position of a service in the set of candidate services
+	 * @param index The index of the candidate services
+	 * @param candidateOperations Set of candidate services
+	 * @param service The service
+	 * @return The position of the first service with the same symbol, -1 if it does not exist
+	 * */
+	private int indexOfService(OperationIndex index, ArrayList<Integer> candidateOperations, int service){
+		int symbol = index.getSymbolId(service);
+		for(int i=0; i<candidateOperations.size(); i++){
+			if(index.getSymbolId(candidateOperations.get(i)) == symbol){
+				return i;
+			}
+		}
+		return -1;
+	}
+
 	/**
 	 * Search required interfaces that match with the provided interface
 	 * specified by a set of operations
@@ -905,11 +1014,11 @@ public class InteractiveMOSchema extends Schema {
 	 * @param compPos The positions of component symbols in the tree
 	 * @param reqPos The positions of required interface symbols in the tree
 	 * @param provPos The positions of provided interface symbols in the tree
+	 * @return The ends of the connector that require the interface
 	 * */
-	private ArrayList<String> searchRequiredInterfaces(SyntaxTree tree, int index, ArrayList<String> provOperations, int [] compPos, int [] reqPos, int [] provPos){
-		ArrayList<String> requiredInterfaces = new ArrayList<String>();
+	private ArrayList<ConnectorEnd> searchRequiredInterfaces(SyntaxTree tree, int index, ArrayList<String> provOperations, int [] compPos, int [] reqPos, int [] provPos){
+		ArrayList<ConnectorEnd> requiredInterfaces = new ArrayList<ConnectorEnd>();
 		int l,m;
-		String comparedSymbol;
 		int nReqInterface;
 		ArrayList<String> reqOperations;
 		int numberOfComponents = compPos.length;
@@ -921,9 +1030,7 @@ public class InteractiveMOSchema extends Schema {
 				l=reqPos[c]+1;
 				nReqInterface = 0;
 				while(l<provPos[c]){
-					comparedSymbol = tree.getNode(l).getSymbol();
-
-					if(comparedSymbol.equalsIgnoreCase("interface")){
+					if(GrammarSymbols.getCode(tree.getNode(l)) == GrammarSymbols.INTERFACE){
 						nReqInterface++;
 						reqOperations = new ArrayList<String>();
 						for(m=l+1; tree.getNode(m).arity() == 0; m++){
@@ -935,7 +1042,7 @@ public class InteractiveMOSchema extends Schema {
 						l = m;
 
 						if(isSubset(reqOperations,provOperations) || isSubset(provOperations,reqOperations)){
-							requiredInterfaces.add("component"+(c+1)+"-interface"+nReqInterface);
+							requiredInterfaces.add(new ConnectorEnd(c, nReqInterface-1));
 						}
 					}
 					else{
@@ -973,101 +1080,47 @@ public class InteractiveMOSchema extends Schema {
 	}
 
 	/**
-	 * Check if an operation is defined by a class
-	 * @param indexClass The index of the class
-	 * @param operationName The name of the operation
-	 * @return True if the class specifies this operation, false otherwise.
+	 * Search the components that require the services of a class
+	 * @param index The index of the candidate services
+	 * @param provClass The index of the class that provides the services
+	 * @param distribution The current distribution of classes into components
+	 * @param classesReqOperation The list to store the first class of each
+	 * component that requires the services
+	 * @param numberOfComponents The number of components
+	 * @return The set of components that require the services
 	 * */
-	private boolean isOperationDefinedByClass(int indexClass, String operationName){
-		boolean exists = false;
-
-		ArrayList<UMLOperation> operations = this.classesList.get(indexClass).getOperations();
-		for(int i=0; !exists && i<operations.size(); i++){
-			if(operations.get(i).getName().equalsIgnoreCase(operationName)){
-				exists = true;
+	private BitSet searchReqComponents(OperationIndex index, int provClass, int [] distribution,
+			ArrayList<Integer> classesReqOperation, int numberOfComponents){
+		BitSet components = new BitSet(numberOfComponents);
+		int [] consumers = index.getConsumers(provClass);
+		int i;
+
+		for(int p=0; p<consumers.length; p++){
+			i = consumers[p];
+			if(distribution[provClass] != distribution[i] // class1 and class2 are allocated in different components
+					&& !components.get(distribution[i])){
+				components.set(distribution[i]);
+				if(!classesReqOperation.contains(i))
+					classesReqOperation.add(i);
 			}
 		}
-		return exists;
+		return components;
 	}
 
 	/**
-	 * 
+	 * Build the list of classes of a component that require a service
+	 * @param classesReqOperation The classes that require the service
+	 * @param currentComponent The component
+	 * @param distribution The current distribution of classes into components
+	 * @return The list, with the format " [ Class1 Class2 ]"
 	 * */
-	private boolean equalsSets(ArrayList<Integer> set1, ArrayList<Integer> set2){
-		boolean equals = true;
-		int size1 = set1.size();
-		int size2 = set2.size();
-		int i,j, pos;
-		ArrayList<Integer> aux = new ArrayList<Integer>();
-		for(j=0; j<set2.size(); j++){
-			aux.add(set2.get(j));
-		}
-		if(size1 != size2){
-			equals = false;
-		}
-		else{
-			i=0;
-			while(equals && i<size1){
-				pos = aux.indexOf(set1.get(i));
-				if(pos==-1){
-					equals = false;
-				}
-				else{
-					aux.remove(pos);
-					i++;
-				}
-			}
-			/*for(int i=0; equals && i<size1; i++){
-				if(!set2.contains(set1.get(i)))
-					equals = false;
-			}*/
-		}
-		//System.out.println("Set1: " + set1 + " Set2: " + set2 + " Equals: " + equals);
-		return equals;
-	}
-
-	private ArrayList<Integer> searchReqComponents(int provClass, int [] distribution, ArrayList<String> classesReqOperation){
-		ArrayList<Integer> components = new ArrayList<Integer>();
-		int nClasses = distribution.length;
-		MultiIntegerColumn column;
-		MultiIntegerValue multi_class1, multi_class2;
-		Object value;
-		int size;
-		String classname;
-
-		column = (MultiIntegerColumn)this.relationshipsDataset.getColumn(provClass);
-		for(int i=0; i<nClasses; i++){
-			value = column.getElement(i);
-			if(!(value instanceof InvalidValue)){
-				multi_class1 = (MultiIntegerValue)value;
-				multi_class2 = (MultiIntegerValue)this.relationshipsDataset.getColumn(i).getElement(provClass);
-				size = multi_class1.getSize();
-
-				for(int k=0; k<size; k+=2){
-					if(distribution[provClass] != distribution[i] // class1 and class2 are allocated in different components
-							&& multi_class1.getValue(k+1)==1 && multi_class2.getValue(k+1)==0){ // and class1 is invoked by class2
-						if(!components.contains(distribution[i])){
-							components.add(distribution[i]);
-							classname = this.relationshipsDataset.getColumn(i).getName();
-							if(!classesReqOperation.contains(classname))
-								classesReqOperation.add(classname);
-						}
-					}
-				}
-			}
-		}
-		return components;
-	}
-
-	private String searchRequiredClasses(ArrayList<String> classesReqOperation, int currentComponent, int [] distribution){
+	private String searchRequiredClasses(ArrayList<Integer> classesReqOperation, int currentComponent, int [] distribution){
 		StringBuffer sb = new StringBuffer(" [ ");
 		int index;
-		String classname;
 		for(int i=0; i<classesReqOperation.size(); i++){
-			classname = classesReqOperation.get(i);
-			index = this.relationshipsDataset.getIndexOfColumn(this.relationshipsDataset.getColumnByName(classname));
+			index = classesReqOperation.get(i);
 			if(distribution[index] == currentComponent){
-				sb.append(classname + " ");
+				sb.append(this.relationships.getClassName(index) + " ");
 			}
 		}
 		sb.append("]");
@@ -5,11 +5,13 @@ import java.util.ArrayList;
 import es.uco.kdis.dss.databuilders.info.UMLClass;
 import es.uco.kdis.dss.databuilders.info.UMLOperation;
 import es.uco.kdis.dss.databuilders.info.Visibility;
+import net.sf.jclec.sbse.discovery.GrammarSymbols;
 import net.sf.jclec.sbse.discovery.NonTerminalNode;
 import net.sf.jclec.sbse.discovery.Species;
 import net.sf.jclec.sbse.discovery.TerminalNode;
 import net.sf.jclec.syntaxtree.SyntaxTree;
 import net.sf.jclec.syntaxtree.SyntaxTreeIndividual;
+import net.sf.jclec.syntaxtree.SyntaxTreeNode;
 
 /**
  * Species for discovery problem
@@ -37,6 +39,12 @@ public class InteractiveMOSpecies extends Species {
 	/** Classes and methods information */
 	protected ArrayList<UMLClass> classesList;
 
+	/** Primitive representation of the relationships between classes */
+	protected RelationshipModel relationships;
+
+	/** Whether the individuals only keep their compact genotype */
+	protected boolean compactGenotype;
+
 	//////////////////////////////////////////////////////////////////
 	//---------------------------------------------------- Constructor
 	//////////////////////////////////////////////////////////////////
@@ -68,6 +76,40 @@ public class InteractiveMOSpecies extends Species {
 		this.classesList = classesList;
 	}
 
+	/**
+	 * Get the relationship model
+	 * @return The relationship model
+	 * */
+	public RelationshipModel getRelationshipModel(){
+		return this.relationships;
+	}
+
+	/**
+	 * Set the relationship model
+	 * @param relationships The relationship model
+	 * built from the relationships dataset
+	 * */
+	public void setRelationshipModel(RelationshipModel relationships){
+		this.relationships = relationships;
+	}
+
+	/**
+	 * Check if the individuals only keep their compact genotype
+	 * @return True if the syntax trees are released after creating
+	 * the individuals, false otherwise
+	 * */
+	public boolean isCompactGenotype(){
+		return this.compactGenotype;
+	}
+
+	/**
+	 * Set whether the individuals only keep their compact genotype
+	 * @param compactGenotype The new value
+	 * */
+	public void setCompactGenotype(boolean compactGenotype){
+		this.compactGenotype = compactGenotype;
+	}
+
 	//////////////////////////////////////////////////////////////////
 	//----------------------------------------------- Override methods
 	//////////////////////////////////////////////////////////////////
@@ -76,7 +118,10 @@ public class InteractiveMOSpecies extends Species {
 	public void setConstraints(int minNumOfComp, int maxNumOfComp){
 
 		// Create and configure the genotype schema
-		this.schema = new InteractiveMOSchema(this.dataset, this.classesList);
+		if(this.relationships == null){
+			this.relationships = new RelationshipModel(this.dataset);
+		}
+		this.schema = new InteractiveMOSchema(this.dataset, this.classesList, this.relationships);
 		this.schema.setRootSymbol("architecture");
 		this.schema.setTerminals(this.generateTerminalSymbols());
 		this.schema.setNonTerminals(this.generateNonTerminalSymbols());
@@ -85,10 +130,23 @@ public class InteractiveMOSpecies extends Species {
 		this.schema.setNumOfClasses(this.dataset.getColumns().size());
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * <p>The distribution of classes is decoded from the genotype.
+	 * */
 	@Override
 	public SyntaxTreeIndividual createIndividual(SyntaxTree genotype) {
+		return createIndividual(genotype, decodeDistribution(genotype));
+	}
+
+	@Override
+	public SyntaxTreeIndividual createIndividual(SyntaxTree genotype, int [] distribution) {
 		InteractiveMOIndividual ind = new InteractiveMOIndividual(genotype);
-		ind.setClassesDistribution(this.schema.getClassesDistribution());
+		ind.setClassesDistribution(distribution);
+		ind.setOperationTable(((InteractiveMOSchema)this.schema).getOperationTable());
+		if(this.compactGenotype){
+			ind.compact((InteractiveMOSchema)this.schema);
+		}
 		return ind;
 	}
 
@@ -105,7 +163,7 @@ public class InteractiveMOSpecies extends Species {
 		// Set the class names as terminal nodes
 		for(int i=0; i<numClasses; i++){
 			umlClass = this.classesList.get(i);
-			terminalsList.add(new TerminalNode(umlClass.getName()));
+			terminalsList.add(new TerminalNode(umlClass.getName(), GrammarSymbols.CLASS));
 		}
 
 		// Set candidate services as terminal nodes
@@ -117,7 +175,7 @@ public class InteractiveMOSpecies extends Species {
 				umlOperation = operations.get(j);
 
 				if(addOperationAsTerminal(umlOperation, umlClass)){
-					terminalsList.add(new TerminalNode(umlClass.getName() + ":" + umlOperation.getName()));
+					terminalsList.add(new TerminalNode(umlClass.getName() + ":" + umlOperation.getName(), GrammarSymbols.OPERATION));
 				}
 			}
 		}
@@ -175,6 +233,41 @@ public class InteractiveMOSpecies extends Species {
 		return nonTerminals;
 	}
 
+	/**
+	 * Extract the distribution of classes into components from a genotype
+	 * @param genotype The syntax tree
+	 * @return The component of each class
+	 * */
+	private int [] decodeDistribution(SyntaxTree genotype){
+		int [] distribution = new int[this.schema.getNumOfClasses()];
+		int actualCmp = -1;
+		boolean isClass = false, isConnector = false;
+		SyntaxTreeNode node;
+		for(int i=1; !isConnector && i<genotype.size(); i++){
+			node = genotype.getNode(i);
+			switch(GrammarSymbols.getCode(node)){
+			case GrammarSymbols.COMPONENT:
+				actualCmp++;
+				break;
+			case GrammarSymbols.CLASSES:
+				isClass = true;
+				break;
+			case GrammarSymbols.CLASS:
+				if(isClass){
+					distribution[this.relationships.getClassIndex(node)] = actualCmp;
+				}
+				break;
+			case GrammarSymbols.CONNECTORS:
+				isConnector = true;
+				break;
+			default:
+				isClass = false;
+				break;
+			}
+		}
+		return distribution;
+	}
+
 	/**
 	 * Decide if a given operation of a class can be a candidate service
 	 * of an interface
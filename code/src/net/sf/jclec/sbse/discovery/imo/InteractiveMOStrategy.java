@@ -3,6 +3,7 @@ package net.sf.jclec.sbse.discovery.imo;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
 
 import org.apache.commons.configuration.Configuration;
@@ -17,6 +18,7 @@ import net.sf.jclec.mo.comparator.fcomparator.ParetoComparator;
 import net.sf.jclec.mo.strategy.MOStrategy;
 import net.sf.jclec.sbse.discovery.imo.comparators.IndividualPreferenceComparator;
 import net.sf.jclec.sbse.discovery.imo.preferences.ArchitecturalPreference;
+import net.sf.jclec.sbse.discovery.imo.preferences.PreferencePlan;
 //import net.sf.jclec.sbse.discovery.imo.selectors.ClusteringMaximinSelector;
 import net.sf.jclec.sbse.discovery.imo.selectors.ClusteringSelector;
 import net.sf.jclec.util.random.IRandGen;
@@ -28,11 +30,17 @@ import net.sf.jclec.util.random.IRandGen;
  * <p>HISTORY:
  * <ul>
  * 	<li>1.0: Creation (February 2015)
+ * 	<li>1.1: Non-dominated sorting of objective values (October 2026)
+ * 	<li>1.2: Maximin values computed in bulk (October 2026)
+ * 	<li>1.3: Cache of preference values (October 2026)
+ * 	<li>1.4: Preferences evaluated by a compiled plan (October 2026)
+ * 	<li>1.5: Archive members indexed by their canonical hash (October 2026)
+ * 	<li>1.6: Version of the confidences of the preferences (October 2026)
  * </ul>
  * @author Aurora Ramirez
  * @author Jose Raul Romero
  * @author Sebastian Ventura
- * @version 1.0
+ * @version 1.6
  * */
 public class InteractiveMOStrategy extends MOStrategy {
 
@@ -58,6 +66,33 @@ public class InteractiveMOStrategy extends MOStrategy {
 	/** Number of archive updates */
 	protected int nUpdates;
 
+	/** Non-dominated sorting of the last set of individuals */
+	protected transient NonDominatedSorting sorting;
+
+	/** Maximin values of the last set of individuals */
+	protected transient MaximinCalculator maximin;
+
+	/** Version of the set of preferences, it changes when a new set does not extend the previous one */
+	protected long preferenceSetVersion;
+
+	/** Version of the confidences of the preferences, it changes after each interaction */
+	protected long confidenceVersion;
+
+	/** Copy of the last set of preferences */
+	protected transient List<ArchitecturalPreference> lastPreferences;
+
+	/** Number of evaluated preferences */
+	protected long numberOfPreferenceEvaluations;
+
+	/** Plans for the ranges of preferences, by the position of their first preference */
+	protected transient HashMap<Integer, PreferencePlan> plans;
+
+	/** Version of the set of preferences of the plans */
+	protected transient long plansVersion;
+
+	/** Number of preferences of the plans */
+	protected transient int plansSize;
+
 	/////////////////////////////////////////////////////////////////
 	// ------------------------------------------------- Constructors
 	/////////////////////////////////////////////////////////////////
@@ -74,11 +109,18 @@ public class InteractiveMOStrategy extends MOStrategy {
 	/////////////////////////////////////////////////////////////////
 
 	/**
-	 * Set the architectural preferences to evaluate individuals
+	 * Set the architectural preferences to evaluate individuals.
+	 * The values of the preferences kept by the individuals remain
+	 * valid if the new set only appends preferences to the previous
+	 * one, otherwise the version of the set is changed.
 	 * @param preferences The new set of Preferences
 	 * */
 	public void setPreferences(List<ArchitecturalPreference> preferences){
+		if(!extendsLastPreferences(preferences)){
+			this.preferenceSetVersion++;
+		}
 		this.preferences = preferences;
+		this.lastPreferences = new ArrayList<ArchitecturalPreference>(preferences);
 	}
 
 	/**
@@ -126,6 +168,65 @@ public class InteractiveMOStrategy extends MOStrategy {
 	public int getNumberArchiveUpdates(){
 		return this.nUpdates;
 	}
+
+	/**
+	 * Get the version of the set of preferences
+	 * @return The current version
+	 * */
+	public long getPreferenceSetVersion(){
+		return this.preferenceSetVersion;
+	}
+
+	/**
+	 * Get the version of the confidences of the preferences
+	 * @return The current version
+	 * */
+	public long getConfidenceVersion(){
+		return this.confidenceVersion;
+	}
+
+	/**
+	 * Notify a change in the confidences or the priorities of
+	 * the preferences. The values of the preferences kept by
+	 * the individuals remain valid, but their weights change.
+	 * */
+	public void confidencesChanged(){
+		this.confidenceVersion++;
+	}
+
+	/**
+	 * Get the number of preference evaluations
+	 * @return Number of times that a preference has been evaluated
+	 * */
+	public long getNumberOfPreferenceEvaluations(){
+		return this.numberOfPreferenceEvaluations;
+	}
+
+	/**
+	 * Get the non-dominated sorting engine. It uses the
+	 * constrained dominance, like the solution comparator.
+	 * The ranks and fronts of the last sorted set of
+	 * individuals can be consulted from it.
+	 * @return The non-dominated sorting
+	 * */
+	public NonDominatedSorting getNonDominatedSorting(){
+		if(this.sorting == null){
+			this.sorting = new NonDominatedSorting(true);
+		}
+		return this.sorting;
+	}
+
+	/**
+	 * Get the calculator of the maximin values. It
+	 * keeps the values of the last set of individuals.
+	 * @return The maximin calculator
+	 * */
+	public MaximinCalculator getMaximinCalculator(){
+		if(this.maximin == null){
+			this.maximin = new MaximinCalculator();
+		}
+		return this.maximin;
+	}
 	
 
 	/////////////////////////////////////////////////////////////////
@@ -172,7 +273,7 @@ public class InteractiveMOStrategy extends MOStrategy {
 	public List<IIndividual> initialize(List<IIndividual> population) {
 
 		// Empty preferences
-		this.preferences = new ArrayList<ArchitecturalPreference>();
+		setPreferences(new ArrayList<ArchitecturalPreference>());
 
 		// Initialize archive with the set of non-dominated solutions
 		List<IIndividual> archive = new ArrayList<IIndividual>();
@@ -210,6 +311,9 @@ public class InteractiveMOStrategy extends MOStrategy {
 		//double [] maximinValue = new double[2];
 		boolean equals;
 
+		// Archive members grouped by their canonical hash
+		ArchitectureSet archiveSet = new ArchitectureSet();
+
 		fitnessAssignment(population, null);
 
 		for(int i=0; i<size; i++){
@@ -231,15 +335,11 @@ public class InteractiveMOStrategy extends MOStrategy {
 				if(((InteractiveMOFitness)ind.getFitness()).getDominanceValue()<0){
 
 					// check if there exists an equivalent solution in the current archive
-					equals = false;
-					for(int j=0; !equals && j<archive.size(); j++){
-						if(((InteractiveMOIndividual)ind).isEquivalent((InteractiveMOIndividual)archive.get(j))){
-							equals=true;
-						}
-					}
+					equals = archiveSet.containsEquivalent((InteractiveMOIndividual)ind);
 					// non equal solution, add to the archive
 					if(!equals){
 						archive.add(ind);
+						archiveSet.add((InteractiveMOIndividual)ind);
 					}
 				}
 			}
@@ -636,7 +736,7 @@ public class InteractiveMOStrategy extends MOStrategy {
 		
 		InteractiveMOIndividual individual;
 		double fitnessP;
-		double [] fitnessA = new double[2];
+		double [][] fitnessA;
 		ArchitecturalPreference preference;
 		
 		// Get the set of non dominated solutions
@@ -650,6 +750,9 @@ public class InteractiveMOStrategy extends MOStrategy {
 
 		//System.out.println("Strategy (parent): allInds.size()="+allIndividuals.size() + " gen=" + getContext().getGeneration());
 
+		// Compute the maximin values of the population
+		fitnessA = getMaximinCalculator().compute(allIndividuals.subList(0, populationSize), nonDominated);
+
 		// empty the count of solution in the list of preferences
 		for(int i=0; i<numOfPrefs; i++){
 			preference = this.preferences.get(i);
@@ -659,23 +762,18 @@ public class InteractiveMOStrategy extends MOStrategy {
 		for(int i=0; i<populationSize; i++){
 			individual = (InteractiveMOIndividual)allIndividuals.get(i);
 			fitnessP = 0.0;
-			fitnessA[0] = 0.0;
-			fitnessA[1] = -1.0;
 
 			// Compute the preference value
 			fitnessP = preferenceValue(individual);
 
-			// Compute the maximin fitness value
-			fitnessA = maximinValue(individual, nonDominated);
-
 			// Set the fitness components
 			((InteractiveMOFitness)individual.getFitness()).setPreferenceValue(fitnessP);
-			((InteractiveMOFitness)individual.getFitness()).setDominanceValue(fitnessA[0]);
-			((InteractiveMOFitness)individual.getFitness()).setMetricIndex((int)fitnessA[1]);
+			((InteractiveMOFitness)individual.getFitness()).setDominanceValue(fitnessA[0][i]);
+			((InteractiveMOFitness)individual.getFitness()).setMetricIndex((int)fitnessA[1][i]);
 
 			// Set the fitness value, the first term (preferences) is inverted 
 			// and the second term (maximin) is scaled to [0,1]
-			double fitness = 0.5*(1.0-fitnessP) + 0.5*((1.0+(fitnessA[0]))/2.0);
+			double fitness = 0.5*(1.0-fitnessP) + 0.5*((1.0+(fitnessA[0][i]))/2.0);
 
 			//System.out.println("Pref. value="+fitnessP + " Maximim value="+fitnessA + " Fitness: " + fitness);
 			if(individual.isFeasible())
@@ -721,11 +819,12 @@ public class InteractiveMOStrategy extends MOStrategy {
 			}*/
 						
 			// Compute the preference value
+			List<Double> values = scorePreferences(individual);
 			for(int j=0; j<size; j++){
 
-				// compute preference value
+				// get the preference value
 				preference = this.preferences.get(j);
-				preferenceValue = preference.evaluatePreference(individual);
+				preferenceValue = values.get(j);
 				weight = preference.getPriority()*preference.getScaledConfidence();
 				// update the number of solutions if required
 				if(preferenceValue > preference.getThreshold()){
@@ -741,6 +840,79 @@ public class InteractiveMOStrategy extends MOStrategy {
 		return avg;
 	}
 
+	/**
+	 * Get the value of each preference for an individual. The values
+	 * are kept in the fitness of the individual, together with the
+	 * version of the set of preferences, so only the preferences added
+	 * since the last call are evaluated. All the preferences are
+	 * evaluated again if the version of the set has changed. The
+	 * preferences are evaluated together by a plan.
+	 * @param individual The individual
+	 * @return The value of each preference
+	 * */
+	protected List<Double> scorePreferences(InteractiveMOIndividual individual){
+		InteractiveMOFitness fitness = (InteractiveMOFitness)individual.getFitness();
+		List<Double> values = fitness.getPreferenceValues();
+		int size = this.preferences.size();
+		if(fitness.getPreferenceSetVersion() != this.preferenceSetVersion || values.size() > size){
+			fitness.clearPreferenceValues();
+			fitness.setPreferenceSetVersion(this.preferenceSetVersion);
+		}
+		if(values.size() < size){
+			double [] newValues = getPreferencePlan(values.size()).evaluate(individual);
+			for(int i=0; i<newValues.length; i++){
+				fitness.addPreferenceValue(newValues[i]);
+			}
+			this.numberOfPreferenceEvaluations += newValues.length;
+		}
+		return values;
+	}
+
+	/**
+	 * Get the plan to evaluate the preferences from a given position
+	 * to the end of the list. The plans are compiled the first time
+	 * they are requested, and they are discarded when the set of
+	 * preferences changes. Like the cache of the preference values,
+	 * the plans are not shared between threads.
+	 * @param start The position of the first preference
+	 * @return The plan
+	 * */
+	protected PreferencePlan getPreferencePlan(int start){
+		int size = this.preferences.size();
+		if(this.plans == null || this.plansVersion != this.preferenceSetVersion || this.plansSize != size){
+			this.plans = new HashMap<Integer, PreferencePlan>();
+			this.plansVersion = this.preferenceSetVersion;
+			this.plansSize = size;
+		}
+		PreferencePlan plan = this.plans.get(start);
+		if(plan == null){
+			plan = new PreferencePlan(this.preferences, start, size);
+			this.plans.put(start, plan);
+		}
+		return plan;
+	}
+
+	/**
+	 * Check if a set of preferences extends the last set,
+	 * i.e. it starts with the same preferences in the same order
+	 * @param preferences The new set of preferences
+	 * @return True if the previous preferences have not changed
+	 * */
+	protected boolean extendsLastPreferences(List<ArchitecturalPreference> preferences){
+		if(this.lastPreferences == null){
+			return true;
+		}
+		if(preferences.size() < this.lastPreferences.size()){
+			return false;
+		}
+		for(int i=0; i<this.lastPreferences.size(); i++){
+			if(preferences.get(i) != this.lastPreferences.get(i)){
+				return false;
+			}
+		}
+		return true;
+	}
+
 	/**
 	 * Compute the maximin function. This function is defined in the range [-1,1]
 	 * and quantifies the maximum value of the minimum distances between the individual
@@ -844,51 +1016,45 @@ public class InteractiveMOStrategy extends MOStrategy {
 
 
 	/**
-	 * Extract the set of non-dominated individuals. It uses the
-	 * the individual comparator, so it should provide a kind of dominance
-	 * comparison.
+	 * Extract the set of non-dominated individuals. It sorts the objective
+	 * values of the individuals using the constrained dominance, which is
+	 * the same relation provided by the solution comparator.
 	 * @param population The population of individuals
 	 * @param archive The archive of solutions
 	 * */
 	protected List<IIndividual> extractNonDominatedIndividuals(List<IIndividual> population, List<IIndividual> archive){
-		List<IIndividual> nonDominated = new ArrayList<IIndividual>();
 
 		// Unite current population and the archive
 		List<IIndividual> allInds = new ArrayList<IIndividual>();
 		allInds.addAll(population);
 		if(archive!=null){
+			// Equal individuals have the same architecture, so only
+			// the individuals with the same hash are compared
+			HashMap<Long, List<IIndividual>> buckets = new HashMap<Long, List<IIndividual>>();
+			List<IIndividual> bucket;
+			for(IIndividual ind: allInds){
+				bucket = buckets.get(((InteractiveMOIndividual)ind).getArchitectureHash());
+				if(bucket == null){
+					bucket = new ArrayList<IIndividual>(1);
+					buckets.put(((InteractiveMOIndividual)ind).getArchitectureHash(), bucket);
+				}
+				bucket.add(ind);
+			}
 			for(IIndividual ind: archive){
-				if(!allInds.contains(ind)){
+				bucket = buckets.get(((InteractiveMOIndividual)ind).getArchitectureHash());
+				if(bucket == null){
+					bucket = new ArrayList<IIndividual>(1);
+					buckets.put(((InteractiveMOIndividual)ind).getArchitectureHash(), bucket);
+				}
+				if(!bucket.contains(ind)){
+					bucket.add(ind);
 					allInds.add(ind);
 				}
 			}
 		}
 
-		// Compare the individuals
-		int size = allInds.size();
-		boolean dominated;
-		IIndividual ind;
-		for(int i=0; i<size; i++) {
-			dominated = false;
-			ind = allInds.get(i);
-			for(int j=0; !dominated && j<size; j++)	{
-				// Check pareto dominance
-				switch(getSolutionComparator().compare(ind, allInds.get(j))){
-				case 1: // i dominates j
-					break;
-				case -1: //j dominates i
-					dominated = true;
-					break;
-
-				case 0: //non dominated solutions
-					break;
-				}
-			}
-			if(!dominated){
-				nonDominated.add(ind);
-			}
-		}
-		return nonDominated;
+		// Sort the individuals and return the first front
+		return getNonDominatedSorting().nonDominated(allInds);
 	}
 
 	/*private void printObjectivesAndFitness(IMOIndividual ind){
@@ -1,6 +1,7 @@
 package net.sf.jclec.sbse.discovery.imo;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
@@ -22,14 +23,26 @@ import net.sf.jclec.mo.evaluation.fitness.MOFitness;
  * Multi-objective strategy for the discovery of software architectures
  * formulated as a multi-objective interactive problem. Based on iTDEA.
  * 
+ * <p>The fitness assignment performed before the mating selection
+ * is skipped when neither the members of the population and the
+ * archive nor the preferences and their confidences have changed
+ * since the last assignment (parameter <code>skip-redundant-assignments</code>).
+ * 
  * <p>HISTORY:
  * <ul>
  * 	<li>1.0: Creation (January 2016)
+ * 	<li>1.1: Skip redundant fitness assignments (October 2026)
+ * 	<li>1.2: Maximin values computed in bulk (October 2026)
+ * 	<li>1.3: Spatial index of the archive (October 2026)
+ * 	<li>1.4: Cache of preference values (October 2026)
+ * 	<li>1.5: Archive members indexed by their canonical hash (October 2026)
+ * 	<li>1.6: Changes of the preferences read from the versions of the base strategy (October 2026)
+ * 	<li>1.7: Redundant assignments checked apart from the mating selection (October 2026)
  * </ul>
  * @author Aurora Ramirez
  * @author Jose Raul Romero
  * @author Sebastian Ventura
- * @version 1.0
+ * @version 1.7
  * */
 public class InteractiveMOTDStrategy extends InteractiveMOStrategy {
 
@@ -82,6 +95,30 @@ public class InteractiveMOTDStrategy extends InteractiveMOStrategy {
 
 	protected boolean useConfidence;
 
+	/** Skip the fitness assignments that would not change any fitness value */
+	protected boolean skipRedundantAssignments = true;
+
+	/** Population of the last fitness assignment */
+	protected transient List<IIndividual> assignedPopulation;
+
+	/** Archive of the last fitness assignment */
+	protected transient List<IIndividual> assignedArchive;
+
+	/** Version of the set of preferences in the last fitness assignment */
+	protected long assignedPreferenceSetVersion = -1;
+
+	/** Number of preferences in the last fitness assignment */
+	protected int assignedNumberOfPreferences = -1;
+
+	/** Version of the confidences in the last fitness assignment */
+	protected long assignedConfidenceVersion = -1;
+
+	/** Number of fitness assignments */
+	protected int numberOfAssignments;
+
+	/** Number of skipped fitness assignments */
+	protected int numberOfSkippedAssignments;
+
 	/////////////////////////////////////////////////////////////////
 	// ---------------------------------------------- Get/set methods
 	/////////////////////////////////////////////////////////////////
@@ -112,6 +149,23 @@ public class InteractiveMOTDStrategy extends InteractiveMOStrategy {
 
 	public void incrementInteractionCounter(){
 		this.interactionCounter++;
+		confidencesChanged();
+	}
+
+	/**
+	 * Get the number of fitness assignments
+	 * @return Number of times that the fitness values have been assigned
+	 * */
+	public int getNumberOfAssignments(){
+		return this.numberOfAssignments;
+	}
+
+	/**
+	 * Get the number of skipped fitness assignments
+	 * @return Number of assignments avoided in the mating selection
+	 * */
+	public int getNumberOfSkippedAssignments(){
+		return this.numberOfSkippedAssignments;
 	}
 
 	/////////////////////////////////////////////////////////////////
@@ -140,6 +194,7 @@ public class InteractiveMOTDStrategy extends InteractiveMOStrategy {
 
 		this.usePriority = settings.getBoolean("preference-priority",false);
 		this.useConfidence = settings.getBoolean("use-confidence", true);
+		this.skipRedundantAssignments = settings.getBoolean("skip-redundant-assignments", true);
 
 		////////////////////////////////////////////
 		//System.out.println("CONFIGURE STRATEGY");
@@ -152,7 +207,7 @@ public class InteractiveMOTDStrategy extends InteractiveMOStrategy {
 	public List<IIndividual> initialize(List<IIndividual> population) {
 
 		// Empty preferences
-		this.preferences = new ArrayList<ArchitecturalPreference>();
+		setPreferences(new ArrayList<ArchitecturalPreference>());
 
 		// Initialize iTDEA parameters
 		this.interactionCounter = 0;												// Number of current interaction
@@ -193,6 +248,10 @@ public class InteractiveMOTDStrategy extends InteractiveMOStrategy {
 
 		// Assign the first fitness value for all the solutions only considering the maximin function
 		boolean equals;
+		IIndividual member;
+
+		// Archive members grouped by their canonical hash
+		ArchitectureSet archiveSet = new ArchitectureSet();
 
 		fitnessAssignment(population, null);
 
@@ -205,19 +264,17 @@ public class InteractiveMOTDStrategy extends InteractiveMOStrategy {
 				if(((InteractiveMOFitness)ind.getFitness()).getDominanceValue()<0){
 
 					// check if there exists an equivalent solution in the current archive
-					equals = false;
-					for(int j=0; !equals && j<archive.size(); j++){
-						if(((InteractiveMOIndividual)ind).isEquivalent((InteractiveMOIndividual)archive.get(j))){
-							equals=true;
-						}
-					}
+					equals = archiveSet.containsEquivalent((InteractiveMOIndividual)ind);
+
 					// non equal solution, add to the archive if it does not belong to other territory
 					if(!equals){
 
 						if(archive.size()==0){
 							((InteractiveMOFitness)ind.getFitness()).setTerritory(this.initialTerritory);
 							((InteractiveMOFitness)ind.getFitness()).setRegion(0);
-							archive.add(ind.copy());
+							member = ind.copy();
+							archive.add(member);
+							archiveSet.add((InteractiveMOIndividual)member);
 						}
 						else{
 							for(int j=0; j<archive.size(); j++){
@@ -225,7 +282,9 @@ public class InteractiveMOTDStrategy extends InteractiveMOStrategy {
 									double threshold = calculateMaximumThreshold(ind, archive.get(j));
 									if(threshold>=this.initialTerritory){
 										((InteractiveMOFitness)ind.getFitness()).setTerritory(this.initialTerritory);
-										archive.add(ind.copy());
+										member = ind.copy();
+										archive.add(member);
+										archiveSet.add((InteractiveMOIndividual)member);
 									}
 								}
 							}
@@ -303,12 +362,15 @@ public class InteractiveMOTDStrategy extends InteractiveMOStrategy {
 
 		// Interactive iteration, update preference confidence
 		int generation = getContext().getGeneration();
-		if(generation == nextInteraction && this.useConfidence){
-			updatePreferenceConfidences();
+		if(generation == nextInteraction){
+			confidencesChanged();
+			if(this.useConfidence){
+				updatePreferenceConfidences();
+			}
 		}
 
-		// Update fitness values
-		fitnessAssignment(population, archive);
+		// Update fitness values, if they could have changed
+		updateFitness(population, archive);
 
 		// Binary tournament between two individuals in the archive
 		if(archive.size() > 0){
@@ -498,6 +560,9 @@ public class InteractiveMOTDStrategy extends InteractiveMOStrategy {
 		int generation = getContext().getGeneration();
 		//System.out.println("STRATEGY -- FITNESS ASSIGMENT: gen=" + generation);
 
+		// Save the members, their fitness objects are updated below
+		saveAssignment(population, archive);
+
 		// Join the populations
 		int populationSize = population.size();
 		List<IIndividual> allIndividuals = new ArrayList<IIndividual>();
@@ -531,16 +596,12 @@ public class InteractiveMOTDStrategy extends InteractiveMOStrategy {
 		if(update){
 			List<IIndividual> nonDominated = extractNonDominatedIndividuals(population, archive);
 
-			// Evaluate all the solutions
+			// Compute the maximin fitness value of all the solutions
+			double [][] maximin = getMaximinCalculator().compute(allIndividuals, nonDominated);
 			for(int i=0; i<size; i++){
 				individual = (InteractiveMOIndividual)allIndividuals.get(i);
-				fitnessD[0] = 0.0;
-				fitnessD[1] = -1.0;
-
-				// Compute the maximin fitness value
-				fitnessD = maximinValue(individual, nonDominated);
-				((InteractiveMOFitness)individual.getFitness()).setDominanceValue(fitnessD[0]);
-				((InteractiveMOFitness)individual.getFitness()).setMetricIndex((int)fitnessD[1]);
+				((InteractiveMOFitness)individual.getFitness()).setDominanceValue(maximin[0][i]);
+				((InteractiveMOFitness)individual.getFitness()).setMetricIndex((int)maximin[1][i]);
 			}
 		}
 
@@ -671,6 +732,56 @@ public class InteractiveMOTDStrategy extends InteractiveMOStrategy {
 		}*/
 	}
 
+	/**
+	 * Assign the fitness values before the mating selection,
+	 * unless the assignment would not change any of them
+	 * @param population The population of individuals
+	 * @param archive The archive of solutions
+	 * */
+	protected void updateFitness(List<IIndividual> population, List<IIndividual> archive){
+		if(this.skipRedundantAssignments && !isAssignmentRequired(population, archive)){
+			this.numberOfSkippedAssignments++;
+		}
+		else{
+			fitnessAssignment(population, archive);
+		}
+	}
+
+	/**
+	 * Save the members and the versions of the preferences
+	 * of a fitness assignment
+	 * @param population The population of individuals
+	 * @param archive The archive of solutions
+	 * */
+	protected void saveAssignment(List<IIndividual> population, List<IIndividual> archive){
+		this.numberOfAssignments++;
+		this.assignedPopulation = new ArrayList<IIndividual>(population);
+		this.assignedArchive = archive == null ? null : new ArrayList<IIndividual>(archive);
+		this.assignedPreferenceSetVersion = this.preferenceSetVersion;
+		this.assignedNumberOfPreferences = this.preferences == null ? 0 : this.preferences.size();
+		this.assignedConfidenceVersion = this.confidenceVersion;
+	}
+
+	/**
+	 * Check if the fitness assignment could change any fitness
+	 * value. It is not required when the set of preferences has not
+	 * been replaced or extended, their confidences have not changed,
+	 * and each member of the population and the archive is the member
+	 * of the last assignment, or a copy of it with the same genotype
+	 * and fitness.
+	 * @param population The population of individuals
+	 * @param archive The archive of solutions
+	 * @return True if the fitness values should be assigned
+	 * */
+	protected boolean isAssignmentRequired(List<IIndividual> population, List<IIndividual> archive){
+		int numberOfPreferences = this.preferences == null ? 0 : this.preferences.size();
+		return this.assignedPreferenceSetVersion != this.preferenceSetVersion
+				|| this.assignedNumberOfPreferences != numberOfPreferences
+				|| this.assignedConfidenceVersion != this.confidenceVersion
+				|| !sameMembers(population, this.assignedPopulation)
+				|| !sameMembers(archive, this.assignedArchive);
+	}
+
 	/**
 	 * Set the scaled confidence values for 
 	 * the preferences added in the last interaction.
@@ -718,37 +829,13 @@ public class InteractiveMOTDStrategy extends InteractiveMOStrategy {
 		}
 	}
 
+	/**
+	 * Evaluate the preferences that have not been
+	 * evaluated for the individual yet
+	 * @param individual The individual
+	 * */
 	protected void evaluateNewPreferences(InteractiveMOIndividual individual){
-		int size = this.preferences.size();
-		int numberPrefsInd;
-		double value;
-
-		if(size>0){
-
-			numberPrefsInd = ((InteractiveMOFitness)individual.getFitness()).getPreferenceValues().size();
-
-			// a new individual, evaluate all preferences
-			if(numberPrefsInd == 0){
-				for(int i=0; i<size; i++){
-					value = this.preferences.get(i).evaluatePreference(individual);
-					((InteractiveMOFitness)individual.getFitness()).addPreferenceValue(value);
-				}
-			}
-
-			// an existing individual, only the last preferences should be evaluated
-			else if(numberPrefsInd < size){
-				List<Double> values = new ArrayList<Double>();
-				int k=size-1;
-				while(k>=0 && preferences.get(k).wasAddedInLastInteraction()){
-					values.add(this.preferences.get(k).evaluatePreference(individual));
-					k--;
-				}
-				// save in the opposite order
-				for(int i=values.size()-1; i>=0; i--){
-					((InteractiveMOFitness)individual.getFitness()).addPreferenceValue(values.get(i));
-				}
-			}
-		}
+		scorePreferences(individual);
 	}
 
 	protected double preferenceValue(InteractiveMOIndividual individual){
@@ -930,6 +1017,30 @@ public class InteractiveMOTDStrategy extends InteractiveMOStrategy {
 		return max;
 	}
 
+	/**
+	 * Get the preferred region of a solution
+	 * @param weights The favorable weights of the solution
+	 * @return The index of the last region whose bounds contain
+	 * the weights, 0 if there is not any region
+	 * */
+	protected int findPreferredRegion(double [] weights){
+		double [][] weightsR;
+		boolean inside;
+		for(int j=this.regions.size()-1; j>0; j--){
+			weightsR = this.regions.get(j).getWeights();
+			inside = true;
+			for(int k=0; inside && k<weightsR.length; k++){
+				if(!(weights[k] >= weightsR[k][0] && weights[k] <= weightsR[k][1])){
+					inside = false;
+				}
+			}
+			if(inside){ // the weight is inside the bounds of region 'j' for all the objectives
+				return j;
+			}
+		}
+		return 0;
+	}
+
 	/**
 	 * 
 	 * */
@@ -1011,22 +1122,9 @@ public class InteractiveMOTDStrategy extends InteractiveMOStrategy {
 						// get the favorable weights for the offspring (already computed)
 						double [] weights = ((InteractiveMOFitness)individual.getFitness()).getWeights();
 						//System.out.println("offspring weights = [" + weights[0] + "," + weights[1] + "]");
-						int index = 0;
-						double [][] weightsR;
 
 						// get the preferred region for this individual
-						for(j=0; j<this.regions.size(); j++){
-							weightsR = this.regions.get(j).getWeights();
-							boolean inside = true;
-							for(int k=0; inside && k<nObjs; k++){
-								if(!(weights[k] >= weightsR[k][0] && weights[k] <= weightsR[k][1])){
-									inside = false;
-								}
-							}
-							if(inside){ // the weight is inside the bounds of region 'j' for all the objectives
-								index = j;
-							}
-						}
+						int index = findPreferredRegion(weights);
 
 						// get the territory size of the preferred region
 						double t = this.regions.get(index).getTerritorySize();
@@ -1132,22 +1230,9 @@ public class InteractiveMOTDStrategy extends InteractiveMOStrategy {
 						// get the favorable weights for the offspring (already computed)
 						double [] weights = ((InteractiveMOFitness)individual.getFitness()).getWeights();
 						//System.out.println("offspring weights = [" + weights[0] + "," + weights[1] + "]");
-						int index = 0;
-						double [][] weightsR;
 
 						// get the preferred region for this individual
-						for(j=0; j<this.regions.size(); j++){
-							weightsR = this.regions.get(j).getWeights();
-							boolean inside = true;
-							for(int k=0; inside && k<nObjs; k++){
-								if(!(weights[k] >= weightsR[k][0] && weights[k] <= weightsR[k][1])){
-									inside = false;
-								}
-							}
-							if(inside){ // the weight is inside the bounds of region 'j' for all the objectives
-								index = j;
-							}
-						}
+						int index = findPreferredRegion(weights);
 						// get the territory size of the preferred region
 						double t = this.regions.get(index).getTerritorySize();
 
@@ -1273,22 +1358,9 @@ public class InteractiveMOTDStrategy extends InteractiveMOStrategy {
 					else if(isDominated == false){ // the offspring has opportunities to enter in the archive
 						// get the favorable weights for the offspring (already computed)
 						double [] weights = ((InteractiveMOFitness)individual.getFitness()).getWeights();
-						int index = 0;
-						double [][] weightsR;
 
 						// get the preferred region for this individual
-						for(j=0; j<this.regions.size(); j++){
-							weightsR = this.regions.get(j).getWeights();
-							boolean inside = true;
-							for(int k=0; inside && k<nObjs; k++){
-								if(!(weights[k] >= weightsR[k][0] && weights[k] <= weightsR[k][1])){
-									inside = false;
-								}
-							}
-							if(inside){ // the weight is inside the bounds of region 'j' for all the objectives
-								index = j;
-							}
-						}
+						int index = findPreferredRegion(weights);
 
 						// get the territory size of the preferred region
 						double t = this.regions.get(index).getTerritorySize();
@@ -1453,26 +1525,9 @@ public class InteractiveMOTDStrategy extends InteractiveMOStrategy {
 						// get the favorable weights for the offspring (already computed)
 						double [] weights = ((InteractiveMOFitness)individual.getFitness()).getWeights();
 						//System.out.println("offspring weights = [" + weights[0] + "," + weights[1] + "]");
-						int index = 0;
-						double [][] weightsR;
 
 						// get the preferred region for this individual
-						for(j=0; j<this.regions.size(); j++){
-							weightsR = this.regions.get(j).getWeights();
-							/*System.out.println("Weights in Region h="+j);
-										for(int k=0; k<weightsR.length; k++){
-											System.out.println("\t obj " + k + " -> [" + weightsR[k][0] + "," + weightsR[k][1] + "]");
-										}*/
-							boolean inside = true;
-							for(int k=0; inside && k<nObjs; k++){
-								if(!(weights[k] >= weightsR[k][0] && weights[k] <= weightsR[k][1])){
-									inside = false;
-								}
-							}
-							if(inside){ // the weight is inside the bounds of region 'j' for all the objectives
-								index = j;
-							}
-						}
+						int index = findPreferredRegion(weights);
 						//System.out.println("Selected region: " + index);
 
 
@@ -1617,12 +1672,18 @@ public class InteractiveMOTDStrategy extends InteractiveMOStrategy {
 			newArchive.add(archive.get(i).copy());
 		}
 		List<Integer> dominatedInds = new ArrayList<Integer>();
+		BitSet dominatedPositions = new BitSet();
 		int nObjs = ((IMOEvaluator)getContext().getEvaluator()).numberOfObjectives();
-		boolean isEquivalent, inside;
-		double distance, minDistance, territory, threshold;
-		int region, index, nTerritories;
+		boolean isEquivalent;
+		double territory, threshold;
+		int region, index, nearest, nTerritories;
 		double [] weights;
-		double [][] weightsR;
+
+		// Spatial index of the archive members, it is updated with the archive
+		ArchiveIndex archiveIndex = new ArchiveIndex(nObjs, newArchive);
+
+		// Archive members grouped by their canonical hash, it is updated with the archive
+		ArchitectureSet archiveSet = new ArchitectureSet(newArchive);
 		
 		for(int i=0; i<population.size(); i++){
 			individual = population.get(i);
@@ -1634,13 +1695,10 @@ public class InteractiveMOTDStrategy extends InteractiveMOStrategy {
 				if(((InteractiveMOIndividual)individual).getSolutionInArchive()){
 
 					// First, check that an equivalent solution doesn't exist in the archive
-					isEquivalent = false;
-					for(j=0; !isEquivalent && j<newArchive.size(); j++){
-						archiveMember = newArchive.get(j);
-						if(((InteractiveMOIndividual)individual).isEquivalent((InteractiveMOIndividual)archiveMember)){
-							isEquivalent = true;
-							((InteractiveMOIndividual)archiveMember).setSolutionInArchive(true);
-						}
+					archiveMember = archiveSet.findEquivalent((InteractiveMOIndividual)individual);
+					isEquivalent = archiveMember != null;
+					if(isEquivalent){
+						((InteractiveMOIndividual)archiveMember).setSolutionInArchive(true);
 					}
 					if(!isEquivalent){
 						// Remove the archive members that are dominated by the individual
@@ -1649,8 +1707,11 @@ public class InteractiveMOTDStrategy extends InteractiveMOStrategy {
 							archiveMember = newArchive.get(j);
 							switch(getSolutionComparator().compare(individual, archiveMember)){
 							case 1:
-								if(!((InteractiveMOIndividual)archiveMember).getSolutionInArchive()) // archive members added by the user cannot be removed
+								if(!((InteractiveMOIndividual)archiveMember).getSolutionInArchive()){ // archive members added by the user cannot be removed
 									newArchive.remove(j);
+									archiveIndex.remove(j);
+									archiveSet.remove((InteractiveMOIndividual)archiveMember);
+								}
 								else
 									j++;
 								break;
@@ -1662,21 +1723,9 @@ public class InteractiveMOTDStrategy extends InteractiveMOStrategy {
 						// Check if the solution belongs to a territory
 						// get the favorable weights for the offspring (already computed)
 						weights = ((InteractiveMOFitness)individual.getFitness()).getWeights();
-						index = 0;
 
 						// get the preferred region for this individual
-						for(j=0; j<this.regions.size(); j++){
-							weightsR = this.regions.get(j).getWeights();
-							inside = true;
-							for(int k=0; inside && k<nObjs; k++){
-								if(!(weights[k] >= weightsR[k][0] && weights[k] <= weightsR[k][1])){
-									inside = false;
-								}
-							}
-							if(inside){ // the weight is inside the bounds of region 'j' for all the objectives
-								index = j;
-							}
-						}
+						index = findPreferredRegion(weights);
 						
 						// get the territory size of the preferred region
 						territory = this.regions.get(index).getTerritorySize();
@@ -1684,13 +1733,9 @@ public class InteractiveMOTDStrategy extends InteractiveMOStrategy {
 						
 						// calculate rectilinear distance between the individual and archive members
 						// and find the archive member that is closer to the individual
-						minDistance = Double.POSITIVE_INFINITY;
-						for(j=0; j<newArchive.size(); j++){
-							distance = calculateDistance(individual, newArchive.get(j));
-							if(distance < minDistance){
-								minDistance = distance;
-								index = j;
-							}
+						nearest = archiveIndex.nearest(individual, null);
+						if(nearest != -1){
+							index = nearest;
 						}
 
 						// compute the threshold
@@ -1703,6 +1748,8 @@ public class InteractiveMOTDStrategy extends InteractiveMOStrategy {
 							((InteractiveMOFitness)individual.getFitness()).setTerritory(territory);
 							((InteractiveMOFitness)individual.getFitness()).setRegion(region);
 							newArchive.add(individual);
+							archiveIndex.add(individual);
+							archiveSet.add((InteractiveMOIndividual)individual);
 							nUpdates++;
 						}
 						else{ // decrement the territory size in this region
@@ -1713,6 +1760,8 @@ public class InteractiveMOTDStrategy extends InteractiveMOStrategy {
 							((InteractiveMOFitness)individual.getFitness()).setTerritory(-1.0*territory);
 							((InteractiveMOFitness)individual.getFitness()).setRegion(region);
 							newArchive.add(individual);
+							archiveIndex.add(individual);
+							archiveSet.add((InteractiveMOIndividual)individual);
 							nUpdates++;
 
 							// decrement the territory size in the region
@@ -1720,7 +1769,7 @@ public class InteractiveMOTDStrategy extends InteractiveMOStrategy {
 							// update in all the archive members belonging to the same region
 							for(int k=0; k<newArchive.size(); k++){
 								if(((InteractiveMOFitness)newArchive.get(k).getFitness()).getRegion()==region){
-									((InteractiveMOFitness)newArchive.get(k).getFitness()).setTerritory(-1.0*territory);
+									archiveIndex.setTerritory(k, -1.0*territory);
 								}
 							}
 						}
@@ -1730,27 +1779,24 @@ public class InteractiveMOTDStrategy extends InteractiveMOStrategy {
 				// Second case: survivors can replace solutions in the archive
 				else{ 
 					// First, check that an equivalent solution doesn't exist in the archive
-					isEquivalent = false;
-					for(j=0; !isEquivalent && j<newArchive.size(); j++){
-						archiveMember = newArchive.get(j);
-						if(((InteractiveMOIndividual)individual).isEquivalent((InteractiveMOIndividual)archiveMember)){
-							isEquivalent = true;
-						}
-					}
+					isEquivalent = archiveSet.containsEquivalent((InteractiveMOIndividual)individual);
 
 					// Next, check dominance
 					if(!isEquivalent){
 						isDominated = false;
 						j=0;
 						dominatedInds.clear();
+						dominatedPositions.clear();
 
 						// store the index of the archive members that are dominated by the individual
 						for(j=0; !isDominated && j<newArchive.size(); j++){
 							archiveMember = newArchive.get(j);
 							switch(getSolutionComparator().compare(individual, archiveMember)){
 							case 1:
-								if(!((InteractiveMOIndividual)archiveMember).getSolutionInArchive()) // archive members added by the user cannot be removed
-									dominatedInds.add(j); 
+								if(!((InteractiveMOIndividual)archiveMember).getSolutionInArchive()){ // archive members added by the user cannot be removed
+									dominatedInds.add(j);
+									dominatedPositions.set(j);
+								}
 								break;
 							case -1: isDominated = true; break;
 							}
@@ -1759,9 +1805,13 @@ public class InteractiveMOTDStrategy extends InteractiveMOStrategy {
 						// if the offspring dominates all the archive, remove it and add the offspring
 						if(dominatedInds.size()==newArchive.size()){
 							newArchive.clear();
+							archiveIndex.clear();
+							archiveSet.clear();
 							((InteractiveMOFitness)individual.getFitness()).setTerritory(this.initialTerritory);
 							((InteractiveMOFitness)individual.getFitness()).setRegion(0);
 							newArchive.add(individual.copy());
+							archiveIndex.add(newArchive.get(0));
+							archiveSet.add((InteractiveMOIndividual)newArchive.get(0));
 							nUpdates++;
 						}
 
@@ -1769,21 +1819,9 @@ public class InteractiveMOTDStrategy extends InteractiveMOStrategy {
 
 							// get the favorable weights for the offspring (already computed)
 							weights = ((InteractiveMOFitness)individual.getFitness()).getWeights();
-							index = 0;
 
 							// get the preferred region for this individual
-							for(j=0; j<this.regions.size(); j++){
-								weightsR = this.regions.get(j).getWeights();
-								inside = true;
-								for(int k=0; inside && k<nObjs; k++){
-									if(!(weights[k] >= weightsR[k][0] && weights[k] <= weightsR[k][1])){
-										inside = false;
-									}
-								}
-								if(inside){ // the weight is inside the bounds of region 'j' for all the objectives
-									index = j;
-								}
-							}
+							index = findPreferredRegion(weights);
 
 
 							// get the territory size of the preferred region
@@ -1792,15 +1830,9 @@ public class InteractiveMOTDStrategy extends InteractiveMOStrategy {
 
 							// calculate rectilinear distance between the individual and the non-dominated members of the archive
 							// and find the archive member that is closer to the offspring
-							minDistance = Double.POSITIVE_INFINITY;
-							for(j=0; j<newArchive.size(); j++){
-								if(!dominatedInds.contains(j)){
-									distance = calculateDistance(individual, newArchive.get(j));
-									if(distance < minDistance){
-										minDistance = distance;
-										index = j;
-									}
-								}
+							nearest = archiveIndex.nearest(individual, dominatedPositions);
+							if(nearest != -1){
+								index = nearest;
 							}
 
 							// compute the threshold
@@ -1810,7 +1842,9 @@ public class InteractiveMOTDStrategy extends InteractiveMOStrategy {
 							if(threshold >= territory){
 								// remove solutions that are dominated by the individual
 								for(j=0; j<dominatedInds.size(); j++){
-									newArchive.remove(dominatedInds.get(j).intValue());
+									archiveMember = newArchive.remove(dominatedInds.get(j).intValue());
+									archiveIndex.remove(dominatedInds.get(j).intValue());
+									archiveSet.remove((InteractiveMOIndividual)archiveMember);
 									if(j+1<dominatedInds.size())
 										dominatedInds.set(j+1, dominatedInds.get(j+1)-(j+1)); // decrement the original index
 								}
@@ -1819,6 +1853,8 @@ public class InteractiveMOTDStrategy extends InteractiveMOStrategy {
 								((InteractiveMOFitness)individual.getFitness()).setTerritory(territory);
 								((InteractiveMOFitness)individual.getFitness()).setRegion(region);
 								newArchive.add(individual);
+								archiveIndex.add(individual);
+								archiveSet.add((InteractiveMOIndividual)individual);
 								nUpdates++;
 							}
 
@@ -1828,13 +1864,7 @@ public class InteractiveMOTDStrategy extends InteractiveMOStrategy {
 							else{
 
 								// Check the distance to other solutions
-								nTerritories = 0;
-								for(j=0; j<newArchive.size(); j++){
-									threshold = calculateMaximumThreshold(individual, newArchive.get(j));
-									if(threshold < ((InteractiveMOFitness)newArchive.get(j).getFitness()).getTerritory()){
-										nTerritories++;
-									}
-								}
+								nTerritories = archiveIndex.countTerritories(individual);
 
 								// If the solution does not belong to other territory and the closer individual is not a permanent solution, check the preference value
 								if(nTerritories==1 && !((InteractiveMOIndividual)newArchive.get(index)).getSolutionInArchive()){ 
@@ -1846,7 +1876,9 @@ public class InteractiveMOTDStrategy extends InteractiveMOStrategy {
 										territory = Math.abs(((InteractiveMOFitness)newArchive.get(index).getFitness()).getTerritory());
 										((InteractiveMOFitness)individual.getFitness()).setTerritory(-1.0*territory);
 										((InteractiveMOFitness)individual.getFitness()).setRegion(((InteractiveMOFitness)newArchive.get(index).getFitness()).getRegion());
-										newArchive.set(index, individual);
+										archiveSet.remove((InteractiveMOIndividual)newArchive.set(index, individual));
+										archiveIndex.set(index, individual);
+										archiveSet.add((InteractiveMOIndividual)individual);
 										nUpdates++;
 
 										// Replace any dominated solution
@@ -1854,8 +1886,11 @@ public class InteractiveMOTDStrategy extends InteractiveMOStrategy {
 										while(j<newArchive.size()){
 											archiveMember = newArchive.get(j);
 											if(getSolutionComparator().compare(individual, archiveMember) == 1){
-												if(!((InteractiveMOIndividual)archiveMember).getSolutionInArchive()) // archive members added by the user cannot be removed
+												if(!((InteractiveMOIndividual)archiveMember).getSolutionInArchive()){ // archive members added by the user cannot be removed
 													newArchive.remove(j);
+													archiveIndex.remove(j);
+													archiveSet.remove((InteractiveMOIndividual)archiveMember);
+												}
 											}
 											else
 												j++;
@@ -1870,4 +1905,29 @@ public class InteractiveMOTDStrategy extends InteractiveMOStrategy {
 		}
 		return newArchive;
 	}
+
+	/**
+	 * Compare the members of two sets of individuals
+	 * @param current The current set
+	 * @param assigned The set of the last fitness assignment
+	 * @return True if both sets contain the same individuals, in the same order
+	 * */
+	private boolean sameMembers(List<IIndividual> current, List<IIndividual> assigned){
+		if(current == null || assigned == null){
+			return current == assigned;
+		}
+		int size = current.size();
+		if(size != assigned.size()){
+			return false;
+		}
+		IIndividual ind;
+		for(int i=0; i<size; i++){
+			ind = current.get(i);
+			// Copies share the genotype, so the comparison only checks the fitness
+			if(ind != assigned.get(i) && !ind.equals(assigned.get(i))){
+				return false;
+			}
+		}
+		return true;
+	}
 }
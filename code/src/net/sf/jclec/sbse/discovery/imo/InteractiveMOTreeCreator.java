@@ -15,12 +15,14 @@ import net.sf.jclec.sbse.discovery.TreeCreator;
  * <p>HISTORY:
  * <ul>
  * 	<li>1.0: Creation (June 2015)
+ * 	<li>1.1: Parallel creation (October 2026)
+ * 	<li>1.2: The equivalence check is shared by the sequential and the parallel creation (October 2026)
  * </ul>
  * 
  * @author Aurora Ramirez
  * @author Jose Raul Romero
  * @author Sebastian Ventura
- * @version 1.0
+ * @version 1.2
  * @see TreeCreator
  * */
 public class InteractiveMOTreeCreator extends TreeCreator {
@@ -57,12 +59,15 @@ public class InteractiveMOTreeCreator extends TreeCreator {
 		prepareCreation();
 		// Provide individuals
 		createdCounter = 0;
-		/*IMOIndividual newInd, ind;
-		boolean equivalent;*/
+		if(this.numberOfThreads > 1){
+			createInParallel();
+			return createdBuffer;
+		}
+		IIndividual newInd;
 
 		while (createdCounter<numberOfIndividuals) {
-			// add a new individual to the buffer
-			createNext();
+			// create a new individual
+			newInd = createIndividual(this.randgen);
 			
 			//////////////////// testing
 			/*System.out.println("\nCurrent buffer: size="+createdBuffer.size() + " counter=" + createdCounter);
@@ -70,27 +75,36 @@ public class InteractiveMOTreeCreator extends TreeCreator {
 				System.out.println(i.toString());
 			}*/
 			
-			// check if the added individual is equivalent to other individual within the buffer
-			/*
-			newInd = (IMOIndividual)createdBuffer.get(createdBuffer.size()-1);
-			equivalent = false;
-			for(int i=0; !equivalent && i<createdBuffer.size()-1; i++){
-				ind = (IMOIndividual)createdBuffer.get(i);
-				// an equivalent individual exists, remove the new individual from the buffer
-				if(newInd.isEquivalent(ind)){
-					createdBuffer.remove(createdBuffer.size()-1);
-					equivalent = true;
-				}
+			// a different individual, it is added and the counter is incremented
+			if(isAccepted(newInd)){
+				createdBuffer.add(newInd);
+				createdCounter++;
 			}
-			// a different individual, the counter is incremented
-			if(!equivalent)
-			*/
-			createdCounter++;
 			
-			//System.out.println("--------------------------------\nNew individual: equivalent="+equivalent);
+			//System.out.println("--------------------------------\nNew individual");
 			//System.out.println(newInd.toString());
 		}
 		// Returns result
 		return createdBuffer;
 	}
+
+	/**
+	 * Check if the new individual is equivalent to other individual
+	 * within the buffer. This check is shared by the sequential and
+	 * the parallel creation. It is currently disabled, so every
+	 * individual is accepted.
+	 * @param individual The new individual
+	 * @return True if the individual should be added to the buffer
+	 * */
+	@Override
+	protected boolean isAccepted(IIndividual individual) {
+		/*InteractiveMOIndividual newInd = (InteractiveMOIndividual)individual;
+		for(int i=0; i<createdBuffer.size(); i++){
+			// an equivalent individual exists, the new individual is rejected
+			if(newInd.isEquivalent((InteractiveMOIndividual)createdBuffer.get(i))){
+				return false;
+			}
+		}*/
+		return true;
+	}
 }
\ No newline at end of file
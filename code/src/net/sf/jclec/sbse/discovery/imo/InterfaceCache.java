@@ -0,0 +1,242 @@
+package net.sf.jclec.sbse.discovery.imo;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import net.sf.jclec.syntaxtree.SyntaxTreeNode;
+
+/**
+ * Bounded cache of synthesized components. The interfaces
+ * of a component only depend on its classes and on the
+ * allocation of the classes located at distance 2 or less
+ * of them. Each component is identified by a key that
+ * contains these classes and the partition of them into
+ * components, where the components are renamed in order
+ * of appearance (the component itself is always the
+ * first one). Therefore, the same component can be reused
+ * by different individuals, even if the position of the
+ * component in their trees is not the same.
+ *
+ * <p>The cache stores the nodes of the component (classes,
+ * required interfaces and provided interfaces). When the
+ * cache is full, the least recently used component is removed.
+ *
+ * <p>HISTORY:
+ * <ul>
+ *  <li>1.0: Creation (October 2026)
+ * </ul>
+ *
+ * @author Aurora Ramirez
+ * @author Jose Raul Romero
+ * @author Sebastian Ventura
+ * @version 1.0
+ * @see InteractiveMOSchema
+ * */
+public class InterfaceCache {
+
+	//////////////////////////////////////////////////////////////////
+	//----------------------------------------------------- Properties
+	//////////////////////////////////////////////////////////////////
+
+	/** Maximum number of components */
+	private int maxSize;
+
+	/** Graph of relationships between the classes */
+	private RelationshipGraph graph;
+
+	/** Nodes of each component, in access order */
+	private LinkedHashMap<String, SyntaxTreeNode []> entries;
+
+	/** Number of hits */
+	private long hits;
+
+	/** Number of misses */
+	private long misses;
+
+	//////////////////////////////////////////////////////////////////
+	//---------------------------------------------------- Constructor
+	//////////////////////////////////////////////////////////////////
+
+	/**
+	 * Parameterized constructor
+	 * @param maxSize Maximum number of components
+	 * @param graph The graph of relationships between the classes
+	 * */
+	public InterfaceCache(int maxSize, RelationshipGraph graph){
+		if(maxSize < 1){
+			throw new IllegalArgumentException("The size of the cache must be greater than 0");
+		}
+		this.maxSize = maxSize;
+		this.graph = graph;
+		this.entries = new LinkedHashMap<String, SyntaxTreeNode []>(16, 0.75f, true){
+			private static final long serialVersionUID = -2708911462795150344L;
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, SyntaxTreeNode []> eldest){
+				return size() > InterfaceCache.this.maxSize;
+			}
+		};
+	}
+
+	//////////////////////////////////////////////////////////////////
+	//------------------------------------------------ Get/set methods
+	//////////////////////////////////////////////////////////////////
+
+	/**
+	 * Get the maximum number of components
+	 * @return The maximum size of the cache
+	 * */
+	public int getMaxSize(){
+		return this.maxSize;
+	}
+
+	/**
+	 * Get the number of stored components
+	 * @return The current size of the cache
+	 * */
+	public synchronized int size(){
+		return this.entries.size();
+	}
+
+	/**
+	 * Get the number of hits
+	 * @return Number of components restored from the cache
+	 * */
+	public synchronized long getHits(){
+		return this.hits;
+	}
+
+	/**
+	 * Get the number of misses
+	 * @return Number of components not found in the cache
+	 * */
+	public synchronized long getMisses(){
+		return this.misses;
+	}
+
+	/**
+	 * Get the ratio of hits
+	 * @return Hits divided by the number of queries,
+	 * 0 if the cache has not been queried
+	 * */
+	public synchronized double getHitRate(){
+		long queries = this.hits + this.misses;
+		if(queries == 0){
+			return 0.0;
+		}
+		return (double)this.hits/(double)queries;
+	}
+
+	//////////////////////////////////////////////////////////////////
+	//------------------------------------------------- Public methods
+	//////////////////////////////////////////////////////////////////
+
+	/**
+	 * Remove all the components and reset the counters
+	 * */
+	public synchronized void clear(){
+		this.entries.clear();
+		this.hits = 0;
+		this.misses = 0;
+	}
+
+	/**
+	 * Build the key of a component
+	 * @param component The component
+	 * @param distribution The distribution of classes into components
+	 * @param numberOfComponents The number of components
+	 * @return The key
+	 * */
+	public String key(int component, int [] distribution, int numberOfComponents){
+		int numberOfClasses = distribution.length;
+		int [] depth = new int[numberOfClasses];
+		int [] queue = new int[numberOfClasses];
+		int head = 0, tail = 0, actual;
+
+		// The classes of the component
+		for(int i=0; i<numberOfClasses; i++){
+			if(distribution[i] == component){
+				depth[i] = 1;
+				queue[tail++] = i;
+			}
+		}
+
+		// The classes at distance 2 or less
+		while(head < tail){
+			actual = queue[head++];
+			if(depth[actual] < 3){
+				for(int p=0; p<this.graph.getDegree(actual); p++){
+					tail = visit(this.graph.getNeighbour(actual, p), depth[actual]+1, depth, queue, tail);
+				}
+				for(int p=0; p<this.graph.getNumberOfInvokers(actual); p++){
+					tail = visit(this.graph.getInvoker(actual, p), depth[actual]+1, depth, queue, tail);
+				}
+				for(int p=0; p<this.graph.getNumberOfInvoked(actual); p++){
+					tail = visit(this.graph.getInvoked(actual, p), depth[actual]+1, depth, queue, tail);
+				}
+			}
+		}
+
+		// Rename the components in order of appearance
+		int [] labels = new int[numberOfComponents];
+		Arrays.fill(labels, -1);
+		labels[component] = 0;
+		int next = 1;
+		StringBuilder key = new StringBuilder();
+		for(int i=0; i<numberOfClasses; i++){
+			if(depth[i] != 0){
+				if(labels[distribution[i]] == -1){
+					labels[distribution[i]] = next++;
+				}
+				key.append(i).append(':').append(labels[distribution[i]]).append(',');
+			}
+		}
+		return key.toString();
+	}
+
+	/**
+	 * Get the nodes of a component
+	 * @param key The key of the component
+	 * @return The nodes, null if the component was not found
+	 * */
+	public synchronized SyntaxTreeNode [] get(String key){
+		SyntaxTreeNode [] nodes = this.entries.get(key);
+		if(nodes == null){
+			this.misses++;
+		}
+		else{
+			this.hits++;
+		}
+		return nodes;
+	}
+
+	/**
+	 * Store the nodes of a component
+	 * @param key The key of the component
+	 * @param nodes The nodes
+	 * */
+	public synchronized void put(String key, SyntaxTreeNode [] nodes){
+		this.entries.put(key, nodes);
+	}
+
+	//////////////////////////////////////////////////////////////////
+	//------------------------------------------------ Private methods
+	//////////////////////////////////////////////////////////////////
+
+	/**
+	 * Add a class to the queue of visited classes
+	 * @param classIndex The class
+	 * @param classDepth The depth of the class
+	 * @param depth The depth of each class, 0 if not visited
+	 * @param queue The queue
+	 * @param tail The end of the queue
+	 * @return The new end of the queue
+	 * */
+	private int visit(int classIndex, int classDepth, int [] depth, int [] queue, int tail){
+		if(depth[classIndex] == 0){
+			depth[classIndex] = classDepth;
+			queue[tail++] = classIndex;
+		}
+		return tail;
+	}
+}
@@ -0,0 +1,186 @@
+package net.sf.jclec.sbse.discovery.imo;
+
+import java.util.Arrays;
+
+import net.sf.jclec.syntaxtree.SyntaxTree;
+
+/**
+ * Catalog of the interfaces of an architecture. The
+ * operations of each interface are stored as a sorted
+ * array of identifiers, so two interfaces can be compared
+ * by merging their arrays instead of comparing the
+ * symbols of their terminals.
+ *
+ * <p>The identifiers are given by the table of operations of
+ * the schema, which is shared by all the catalogs and the
+ * interface preferences. Repeated operations are kept.
+ *
+ * <p>HISTORY:
+ * <ul>
+ *  <li>1.0: Creation (October 2026)
+ *  <li>1.1: Identifiers given by the table of the schema (October 2026)
+ * </ul>
+ *
+ * @author Aurora Ramirez
+ * @author Jose Raul Romero
+ * @author Sebastian Ventura
+ * @version 1.1
+ * @see ComponentIndex
+ * @see OperationTable
+ * */
+public class InterfaceCatalog {
+
+	//////////////////////////////////////////////////////////////////
+	//----------------------------------------------------- Properties
+	//////////////////////////////////////////////////////////////////
+
+	/** Identifiers of the operations */
+	private OperationTable operationTable;
+
+	/** Operations of the required interfaces of each component */
+	private int [][][] required;
+
+	/** Operations of the provided interfaces of each component */
+	private int [][][] provided;
+
+	//////////////////////////////////////////////////////////////////
+	//---------------------------------------------------- Constructor
+	//////////////////////////////////////////////////////////////////
+
+	/**
+	 * Parameterized constructor. The interfaces
+	 * are located using the index of components.
+	 * @param genotype The syntax tree
+	 * @param componentIndex The positions of the components in the genotype
+	 * @param operationTable The identifiers of the operations
+	 * */
+	public InterfaceCatalog(SyntaxTree genotype, ComponentIndex componentIndex, OperationTable operationTable){
+		this.operationTable = operationTable;
+		int numberOfComponents = componentIndex.getNumberOfComponents();
+		this.required = new int[numberOfComponents][][];
+		this.provided = new int[numberOfComponents][][];
+		for(int c=0; c<numberOfComponents; c++){
+			this.required[c] = new int[componentIndex.getNumberOfRequired(c)][];
+			for(int i=0; i<this.required[c].length; i++){
+				this.required[c][i] = extractOperations(genotype, componentIndex.getRequiredInterfaceStart(c, i),
+						componentIndex.getRequiredInterfaceEnd(c, i));
+			}
+			this.provided[c] = new int[componentIndex.getNumberOfProvided(c)][];
+			for(int i=0; i<this.provided[c].length; i++){
+				this.provided[c][i] = extractOperations(genotype, componentIndex.getProvidedInterfaceStart(c, i),
+						componentIndex.getProvidedInterfaceEnd(c, i));
+			}
+		}
+	}
+
+	//////////////////////////////////////////////////////////////////
+	//------------------------------------------------ Get/set methods
+	//////////////////////////////////////////////////////////////////
+
+	/**
+	 * Get the table of identifiers of the operations
+	 * @return The table used by the catalog
+	 * */
+	public OperationTable getOperationTable(){
+		return this.operationTable;
+	}
+
+	/**
+	 * Get the number of components
+	 * @return The number of components
+	 * */
+	public int getNumberOfComponents(){
+		return this.provided.length;
+	}
+
+	/**
+	 * Get the number of required interfaces
+	 * @param component The component index
+	 * @return The number of required interfaces
+	 * */
+	public int getNumberOfRequired(int component){
+		return this.required[component].length;
+	}
+
+	/**
+	 * Get the number of provided interfaces
+	 * @param component The component index
+	 * @return The number of provided interfaces
+	 * */
+	public int getNumberOfProvided(int component){
+		return this.provided[component].length;
+	}
+
+	/**
+	 * Get the operations of a required interface
+	 * @param component The component index
+	 * @param index The interface index
+	 * @return The sorted identifiers of the operations
+	 * */
+	public int [] getRequired(int component, int index){
+		return this.required[component][index];
+	}
+
+	/**
+	 * Get the operations of a provided interface
+	 * @param component The component index
+	 * @param index The interface index
+	 * @return The sorted identifiers of the operations
+	 * */
+	public int [] getProvided(int component, int index){
+		return this.provided[component][index];
+	}
+
+	//////////////////////////////////////////////////////////////////
+	//------------------------------------------------- Public methods
+	//////////////////////////////////////////////////////////////////
+
+	/**
+	 * Count the operations of a sorted array that
+	 * appear in, at least, one of two sorted arrays
+	 * @param operations The sorted operations to be checked
+	 * @param other1 The first sorted array
+	 * @param other2 The second sorted array
+	 * @return The number of operations found, repeated
+	 * operations are counted once for each occurrence
+	 * */
+	public static int countContained(int [] operations, int [] other1, int [] other2){
+		int count = 0, p1 = 0, p2 = 0;
+		for(int op: operations){
+			while(p1 < other1.length && other1[p1] < op){
+				p1++;
+			}
+			while(p2 < other2.length && other2[p2] < op){
+				p2++;
+			}
+			if((p1 < other1.length && other1[p1] == op) || (p2 < other2.length && other2[p2] == op)){
+				count++;
+			}
+		}
+		return count;
+	}
+
+	//////////////////////////////////////////////////////////////////
+	//------------------------------------------------ Private methods
+	//////////////////////////////////////////////////////////////////
+
+	/**
+	 * Extract the operations of an interface
+	 * @param genotype The syntax tree
+	 * @param start The position of the interface node
+	 * @param end The position after the last operation
+	 * @return The sorted identifiers of the operations
+	 * */
+	private int [] extractOperations(SyntaxTree genotype, int start, int end){
+		int [] operations = new int[end-start];
+		int size = 0;
+		for(int i=start+1; i<end; i++){
+			if(genotype.getNode(i).arity()==0){
+				operations[size++] = this.operationTable.getOperationId(genotype.getNode(i).getSymbol());
+			}
+		}
+		operations = Arrays.copyOf(operations, size);
+		Arrays.sort(operations);
+		return operations;
+	}
+}
@@ -0,0 +1,405 @@
+package net.sf.jclec.sbse.discovery.imo;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+
+import net.sf.jclec.IIndividual;
+import net.sf.jclec.mo.evaluation.fitness.MOFitness;
+
+/**
+ * Computation of the maximin function for a set of individuals.
+ * For an individual, the function is the maximum, among the
+ * non-dominated individuals, of the minimum difference between
+ * their objective values. The result is the same as the one
+ * returned by <code>InteractiveMOStrategy.maximinValue</code>
+ * for each individual, including the index of the metric.
+ *
+ * <p>The objective values are read only once per individual and
+ * stored in a packed matrix (one row per individual), so the
+ * inner loops only access arrays of doubles. The result of the
+ * last computation is kept: when the same individuals are evaluated
+ * again and the non-dominated set has only gained or lost a few
+ * members (e.g. two offspring in the EP strategy), each individual
+ * only compares with the new members, unless the member that
+ * determined its value has been removed or several members
+ * could determine it.
+ *
+ * <p>HISTORY:
+ * <ul>
+ *  <li>1.0: Creation (October 2026)
+ * </ul>
+ *
+ * @author Aurora Ramirez
+ * @author Jose Raul Romero
+ * @author Sebastian Ventura
+ * @version 1.0
+ * @see InteractiveMOStrategy
+ * */
+public class MaximinCalculator {
+
+	//////////////////////////////////////////////////////////////////
+	//----------------------------------------------------- Properties
+	//////////////////////////////////////////////////////////////////
+
+	/** Number of objectives */
+	private int numberOfObjectives;
+
+	/** Objective values of the individuals, one row for each individual */
+	private double [] objectives;
+
+	/** Valid rows of the matrix, false if an objective value could not be read */
+	private boolean [] validRows;
+
+	/** Number of rows of the matrix */
+	private int numberOfRows;
+
+	/** Row of each individual in the matrix */
+	private IdentityHashMap<IIndividual, Integer> rows;
+
+	/** Results of the last computation for each individual */
+	private IdentityHashMap<IIndividual, Result> results;
+
+	/** Non-dominated individuals of the last computation */
+	private IdentityHashMap<IIndividual, Integer> lastFront;
+
+	/** Number of maximin values computed from scratch */
+	private long fullComputations;
+
+	/** Number of maximin values updated from the last computation */
+	private long incrementalComputations;
+
+	//////////////////////////////////////////////////////////////////
+	//---------------------------------------------------- Constructor
+	//////////////////////////////////////////////////////////////////
+
+	/**
+	 * Empty constructor
+	 * */
+	public MaximinCalculator(){
+		this.numberOfObjectives = -1;
+		this.rows = new IdentityHashMap<IIndividual, Integer>();
+		this.results = new IdentityHashMap<IIndividual, Result>();
+		this.lastFront = new IdentityHashMap<IIndividual, Integer>();
+	}
+
+	//////////////////////////////////////////////////////////////////
+	//------------------------------------------------ Get/set methods
+	//////////////////////////////////////////////////////////////////
+
+	/**
+	 * Get the number of values computed from scratch
+	 * @return Number of full computations
+	 * */
+	public long getFullComputations(){
+		return this.fullComputations;
+	}
+
+	/**
+	 * Get the number of values updated from the last computation
+	 * @return Number of incremental computations
+	 * */
+	public long getIncrementalComputations(){
+		return this.incrementalComputations;
+	}
+
+	//////////////////////////////////////////////////////////////////
+	//------------------------------------------------- Public methods
+	//////////////////////////////////////////////////////////////////
+
+	/**
+	 * Compute the maximin value of a set of individuals
+	 * @param individuals The individuals
+	 * @param nonDominated The set of non-dominated individuals to compare with
+	 * @return An array with two rows: the maximin value of each individual
+	 * and the index of the metric used to compute it
+	 * */
+	public double [][] compute(List<IIndividual> individuals, List<IIndividual> nonDominated){
+		int size = individuals.size();
+		int frontSize = nonDominated.size();
+		double [][] values = new double[2][size];
+
+		if(size == 0){
+			return values;
+		}
+
+		// Build the matrix, only the rows of new individuals are read
+		int nObjs = ((MOFitness)individuals.get(0).getFitness()).getNumberOfObjectives();
+		if(nObjs != this.numberOfObjectives){
+			clear();
+			this.numberOfObjectives = nObjs;
+		}
+		IdentityHashMap<IIndividual, Integer> currentRows = new IdentityHashMap<IIndividual, Integer>();
+		double [] matrix = new double[(size+frontSize)*nObjs];
+		boolean [] valid = new boolean[size+frontSize];
+		int [] individualRows = new int[size];
+		int [] frontRows = new int[frontSize];
+		int numberOfRows = 0;
+		for(int i=0; i<size; i++){
+			individualRows[i] = addRow(individuals.get(i), currentRows, matrix, valid, numberOfRows);
+			if(individualRows[i] == numberOfRows){
+				numberOfRows++;
+			}
+		}
+		boolean validFront = true;
+		for(int p=0; p<frontSize; p++){
+			frontRows[p] = addRow(nonDominated.get(p), currentRows, matrix, valid, numberOfRows);
+			if(frontRows[p] == numberOfRows){
+				numberOfRows++;
+			}
+			validFront &= valid[frontRows[p]];
+		}
+		this.objectives = matrix;
+		this.validRows = valid;
+		this.numberOfRows = numberOfRows;
+		this.rows = currentRows;
+
+		// Position of each member in the current front, and members
+		// that were not in the last front
+		IdentityHashMap<IIndividual, Integer> front = new IdentityHashMap<IIndividual, Integer>(2*frontSize);
+		int [] added = new int[frontSize];
+		int numberOfAdded = 0;
+		for(int p=0; p<frontSize; p++){
+			front.put(nonDominated.get(p), p);
+			if(!this.lastFront.containsKey(nonDominated.get(p))){
+				added[numberOfAdded++] = p;
+			}
+		}
+		// The incremental update is only worthwhile for small changes
+		boolean incremental = numberOfAdded < frontSize/2;
+
+		// Compute the values
+		IdentityHashMap<IIndividual, Result> currentResults = new IdentityHashMap<IIndividual, Result>(2*size);
+		IIndividual ind;
+		Result result, last;
+		for(int i=0; i<size; i++){
+			ind = individuals.get(i);
+			if(!validFront || !valid[individualRows[i]]){
+				result = new Result(Double.NaN, -1, null, true);
+			}
+			else{
+				last = incremental ? this.results.get(ind) : null;
+				if(last != null && !last.ambiguous
+						&& (last.member == null || front.containsKey(last.member))){
+					result = update(ind, individualRows[i], last, nonDominated, frontRows, front, added, numberOfAdded);
+					this.incrementalComputations++;
+				}
+				else{
+					result = full(ind, individualRows[i], nonDominated, frontRows);
+					this.fullComputations++;
+				}
+			}
+			currentResults.put(ind, result);
+			values[0][i] = result.value;
+			values[1][i] = result.metric;
+		}
+		this.results = currentResults;
+		this.lastFront = front;
+		return values;
+	}
+
+	/**
+	 * Remove the stored values
+	 * */
+	public void clear(){
+		this.objectives = null;
+		this.validRows = null;
+		this.numberOfRows = 0;
+		this.rows = new IdentityHashMap<IIndividual, Integer>();
+		this.results = new IdentityHashMap<IIndividual, Result>();
+		this.lastFront = new IdentityHashMap<IIndividual, Integer>();
+	}
+
+	//////////////////////////////////////////////////////////////////
+	//------------------------------------------------ Private methods
+	//////////////////////////////////////////////////////////////////
+
+	/**
+	 * Add the objective values of an individual to the matrix
+	 * @param ind The individual
+	 * @param currentRows The rows of the matrix that is being built
+	 * @param matrix The matrix that is being built
+	 * @param valid The valid rows of the matrix that is being built
+	 * @param numberOfRows The current number of rows
+	 * @return The row of the individual
+	 * */
+	private int addRow(IIndividual ind, IdentityHashMap<IIndividual, Integer> currentRows,
+			double [] matrix, boolean [] valid, int numberOfRows){
+		Integer row = currentRows.get(ind);
+		if(row != null){
+			return row;
+		}
+		int nObjs = this.numberOfObjectives;
+		int offset = numberOfRows*nObjs;
+		row = this.rows.get(ind);
+		// Copy the values of the last matrix
+		if(row != null){
+			System.arraycopy(this.objectives, row*nObjs, matrix, offset, nObjs);
+			valid[numberOfRows] = this.validRows[row];
+		}
+		// Read the values from the fitness
+		else{
+			MOFitness fitness = (MOFitness)ind.getFitness();
+			valid[numberOfRows] = true;
+			try{
+				for(int j=0; j<nObjs; j++){
+					matrix[offset+j] = fitness.getObjectiveDoubleValue(j);
+				}
+			}
+			catch(Exception e){
+				valid[numberOfRows] = false;
+			}
+		}
+		currentRows.put(ind, numberOfRows);
+		return numberOfRows;
+	}
+
+	/**
+	 * Compute the maximin value of an individual against the whole front
+	 * @param ind The individual
+	 * @param row The row of the individual
+	 * @param nonDominated The non-dominated individuals
+	 * @param frontRows The row of each non-dominated individual
+	 * @return The result
+	 * */
+	private Result full(IIndividual ind, int row, List<IIndividual> nonDominated, int [] frontRows){
+		double [] matrix = this.objectives;
+		int nObjs = this.numberOfObjectives;
+		int offset = row*nObjs, otherOffset;
+		double min, max = -1.0, dif;
+		int indexMin = -1, indexMax = -1, member = -1;
+		boolean ambiguous = false;
+
+		for(int p=0; p<frontRows.length; p++){
+			if(!isSame(ind, row, nonDominated.get(p), frontRows[p])){
+				// minimum distance for all the objectives
+				otherOffset = frontRows[p]*nObjs;
+				min = 1.0;
+				for(int j=0; j<nObjs; j++){
+					dif = matrix[offset+j] - matrix[otherOffset+j];
+					if(dif < min){
+						min = dif;
+						indexMin = j;
+					}
+				}
+				if(min >= 1.0 || (min == max && member != -1)){
+					// the metric depends on the order of the members
+					ambiguous = true;
+				}
+				// update max distance among all the other individuals
+				if(min > max){
+					max = min;
+					indexMax = indexMin;
+					member = p;
+				}
+			}
+		}
+		return new Result(max, indexMax, member == -1 ? null : nonDominated.get(member), ambiguous);
+	}
+
+	/**
+	 * Update the maximin value of an individual considering
+	 * the new members of the front
+	 * @param ind The individual
+	 * @param row The row of the individual
+	 * @param last The result of the last computation
+	 * @param nonDominated The non-dominated individuals
+	 * @param frontRows The row of each non-dominated individual
+	 * @param front The position of each member in the front
+	 * @param added The positions of the new members
+	 * @param numberOfAdded The number of new members
+	 * @return The result
+	 * */
+	private Result update(IIndividual ind, int row, Result last, List<IIndividual> nonDominated,
+			int [] frontRows, IdentityHashMap<IIndividual, Integer> front, int [] added, int numberOfAdded){
+		double [] matrix = this.objectives;
+		int nObjs = this.numberOfObjectives;
+		int offset = row*nObjs, otherOffset, p;
+		double min, max = last.value, dif;
+		int indexMin, indexMax = last.metric, position = last.member == null ? -1 : front.get(last.member);
+		IIndividual member = last.member;
+		boolean ambiguous = false;
+
+		for(int a=0; a<numberOfAdded; a++){
+			p = added[a];
+			if(!isSame(ind, row, nonDominated.get(p), frontRows[p])){
+				otherOffset = frontRows[p]*nObjs;
+				min = 1.0;
+				indexMin = -1;
+				for(int j=0; j<nObjs; j++){
+					dif = matrix[offset+j] - matrix[otherOffset+j];
+					if(dif < min){
+						min = dif;
+						indexMin = j;
+					}
+				}
+				if(min >= 1.0){
+					// the metric depends on the previous members
+					return full(ind, row, nonDominated, frontRows);
+				}
+				// the first member with the maximum value is kept
+				if(min == max && member != null){
+					ambiguous = true;
+				}
+				if(min > max || (min == max && member != null && p < position)){
+					max = min;
+					indexMax = indexMin;
+					member = nonDominated.get(p);
+					position = p;
+				}
+			}
+		}
+		return new Result(max, indexMax, member, ambiguous);
+	}
+
+	/**
+	 * Check if the individual is equal to a member of the front.
+	 * Equal individuals have the same objective values, so the
+	 * individuals are only compared in that case.
+	 * @param ind The individual
+	 * @param row The row of the individual
+	 * @param other The member of the front
+	 * @param otherRow The row of the member
+	 * @return True if both individuals are equal
+	 * */
+	private boolean isSame(IIndividual ind, int row, IIndividual other, int otherRow){
+		if(row == otherRow){
+			return true;
+		}
+		int nObjs = this.numberOfObjectives;
+		for(int j=0; j<nObjs; j++){
+			if(this.objectives[row*nObjs+j] != this.objectives[otherRow*nObjs+j]){
+				return false;
+			}
+		}
+		return ind.equals(other);
+	}
+
+	//////////////////////////////////////////////////////////////////
+	//---------------------------------------------------- Inner class
+	//////////////////////////////////////////////////////////////////
+
+	/**
+	 * Maximin value of an individual
+	 * */
+	private static class Result {
+
+		/** The maximin value */
+		double value;
+
+		/** The index of the metric */
+		int metric;
+
+		/** The member of the front that determines the value, null if none */
+		IIndividual member;
+
+		/** True if the value cannot be updated, because it depends on the order of the members */
+		boolean ambiguous;
+
+		Result(double value, int metric, IIndividual member, boolean ambiguous){
+			this.value = value;
+			this.metric = metric;
+			this.member = member;
+			this.ambiguous = ambiguous;
+		}
+	}
+}
@@ -0,0 +1,303 @@
+package net.sf.jclec.sbse.discovery.imo;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import net.sf.jclec.IIndividual;
+import net.sf.jclec.mo.IConstrained;
+import net.sf.jclec.mo.evaluation.fitness.MOFitness;
+
+/**
+ * Non-dominated sorting of a set of solutions. It works on the
+ * matrix of objective values instead of the individuals, and it
+ * follows the efficient non-dominated sort with binary search
+ * (ENS-BS). Solutions are sorted by their objective values in
+ * lexicographic order, so a solution can only be dominated by
+ * the solutions that precede it. Then, each solution is assigned
+ * to the first front that does not contain a solution that
+ * dominates it, which is located by binary search.
+ *
+ * <p>All the objectives are minimized. In the constrained mode,
+ * the dominance relation is the one used by
+ * <code>NSGA2ConstrainedComparator</code>: a feasible solution
+ * dominates an unfeasible solution and, between two unfeasible
+ * solutions, the one with the lower degree of infeasibility
+ * dominates the other one. Therefore, the fronts of the feasible
+ * solutions are followed by one front for each degree of infeasibility.
+ *
+ * <p>HISTORY:
+ * <ul>
+ *  <li>1.0: Creation (October 2026)
+ * </ul>
+ *
+ * @author Aurora Ramirez
+ * @author Jose Raul Romero
+ * @author Sebastian Ventura
+ * @version 1.0
+ * @see InteractiveMOStrategy
+ * */
+public class NonDominatedSorting {
+
+	//////////////////////////////////////////////////////////////////
+	//----------------------------------------------------- Properties
+	//////////////////////////////////////////////////////////////////
+
+	/** Use the constrained dominance */
+	private boolean constrained;
+
+	/** Rank of each solution, 0 for the first front */
+	private int [] ranks;
+
+	/** Solutions in each front */
+	private List<int []> fronts;
+
+	//////////////////////////////////////////////////////////////////
+	//---------------------------------------------------- Constructor
+	//////////////////////////////////////////////////////////////////
+
+	/**
+	 * Parameterized constructor
+	 * @param constrained True if the feasibility of the
+	 * solutions should be considered
+	 * */
+	public NonDominatedSorting(boolean constrained){
+		this.constrained = constrained;
+		this.ranks = new int[0];
+		this.fronts = new ArrayList<int []>();
+	}
+
+	//////////////////////////////////////////////////////////////////
+	//------------------------------------------------ Get/set methods
+	//////////////////////////////////////////////////////////////////
+
+	/**
+	 * Check the dominance relation
+	 * @return True if the constrained dominance is used
+	 * */
+	public boolean isConstrained(){
+		return this.constrained;
+	}
+
+	/**
+	 * Get the ranks of the last sorted set
+	 * @return The rank of each solution, 0 for the first front
+	 * */
+	public int [] getRanks(){
+		return this.ranks;
+	}
+
+	/**
+	 * Get the rank of a solution of the last sorted set
+	 * @param solution The index of the solution
+	 * @return The rank of the solution
+	 * */
+	public int getRank(int solution){
+		return this.ranks[solution];
+	}
+
+	/**
+	 * Get the number of fronts of the last sorted set
+	 * @return Number of fronts
+	 * */
+	public int getNumberOfFronts(){
+		return this.fronts.size();
+	}
+
+	/**
+	 * Get a front of the last sorted set
+	 * @param rank The rank of the front
+	 * @return The indexes of the solutions in the front, in ascending order
+	 * */
+	public int [] getFront(int rank){
+		return this.fronts.get(rank);
+	}
+
+	//////////////////////////////////////////////////////////////////
+	//------------------------------------------------- Public methods
+	//////////////////////////////////////////////////////////////////
+
+	/**
+	 * Sort a list of individuals. The objective values are taken
+	 * from the fitness of the individuals, and the degree of
+	 * infeasibility is only considered in the constrained mode.
+	 * @param individuals The individuals
+	 * @return The rank of each individual
+	 * */
+	public int [] sort(List<IIndividual> individuals){
+		int size = individuals.size();
+		double [][] objectives = new double[size][];
+		double [] infeasibility = this.constrained ? new double[size] : null;
+		MOFitness fitness;
+		IIndividual ind;
+
+		for(int i=0; i<size; i++){
+			ind = individuals.get(i);
+			fitness = (MOFitness)ind.getFitness();
+			objectives[i] = new double[fitness.getNumberOfObjectives()];
+			for(int j=0; j<objectives[i].length; j++){
+				try {
+					objectives[i][j] = fitness.getObjectiveDoubleValue(j);
+				} catch (Exception e) {
+					e.printStackTrace();
+					objectives[i][j] = Double.NaN;
+				}
+			}
+			if(this.constrained && ind instanceof IConstrained && !((IConstrained)ind).isFeasible()){
+				infeasibility[i] = Math.max(((IConstrained)ind).degreeOfInfeasibility(), Double.MIN_VALUE);
+			}
+		}
+		return sort(objectives, infeasibility);
+	}
+
+	/**
+	 * Sort a set of solutions
+	 * @param objectives The objective values of each solution
+	 * @param infeasibility The degree of infeasibility of each solution,
+	 * 0 for feasible solutions. It is ignored if the constrained mode
+	 * is not active, and it can be null if all the solutions are feasible
+	 * @return The rank of each solution
+	 * */
+	public int [] sort(final double [][] objectives, final double [] infeasibility){
+		int size = objectives.length;
+		this.ranks = new int[size];
+		this.fronts = new ArrayList<int []>();
+		if(size == 0){
+			return this.ranks;
+		}
+
+		// Order the solutions by degree of infeasibility and objective values
+		final boolean useInfeasibility = this.constrained && infeasibility != null;
+		Integer [] order = new Integer[size];
+		for(int i=0; i<size; i++){
+			order[i] = i;
+		}
+		Arrays.sort(order, new Comparator<Integer>(){
+			@Override
+			public int compare(Integer s1, Integer s2) {
+				int result = 0;
+				if(useInfeasibility){
+					result = Double.compare(infeasibility[s1], infeasibility[s2]);
+				}
+				for(int j=0; result == 0 && j<objectives[s1].length; j++){
+					result = Double.compare(objectives[s1][j], objectives[s2][j]);
+				}
+				return result == 0 ? Integer.compare(s1, s2) : result;
+			}
+		});
+
+		// Feasible solutions
+		List<int []> members = new ArrayList<int []>();
+		int [] sizes = new int[size];
+		int numberOfFronts = 0, first = 0, low, high, middle, solution;
+		while(first < size && (!useInfeasibility || infeasibility[order[first]] <= 0.0)){
+			solution = order[first];
+			// Search the first front where the solution is not dominated
+			low = 0;
+			high = numberOfFronts;
+			while(low < high){
+				middle = (low + high) >>> 1;
+				if(isDominatedInFront(objectives, solution, members.get(middle), sizes[middle])){
+					low = middle + 1;
+				}
+				else{
+					high = middle;
+				}
+			}
+			if(low == numberOfFronts){
+				members.add(new int[4]);
+				numberOfFronts++;
+			}
+			if(sizes[low] == members.get(low).length){
+				members.set(low, Arrays.copyOf(members.get(low), 2*sizes[low]));
+			}
+			members.get(low)[sizes[low]++] = solution;
+			this.ranks[solution] = low;
+			first++;
+		}
+
+		// Unfeasible solutions, one front for each degree of infeasibility
+		while(first < size){
+			int last = first;
+			while(last < size && infeasibility[order[last]] == infeasibility[order[first]]){
+				last++;
+			}
+			members.add(new int[last-first]);
+			for(int i=first; i<last; i++){
+				members.get(numberOfFronts)[i-first] = order[i];
+				this.ranks[order[i]] = numberOfFronts;
+			}
+			sizes[numberOfFronts] = last-first;
+			numberOfFronts++;
+			first = last;
+		}
+
+		// Store the fronts
+		int [] front;
+		for(int f=0; f<numberOfFronts; f++){
+			front = Arrays.copyOf(members.get(f), sizes[f]);
+			Arrays.sort(front);
+			this.fronts.add(front);
+		}
+		return this.ranks;
+	}
+
+	/**
+	 * Extract the first front of a list of individuals
+	 * @param individuals The individuals
+	 * @return The non-dominated individuals, in the same order
+	 * */
+	public List<IIndividual> nonDominated(List<IIndividual> individuals){
+		sort(individuals);
+		List<IIndividual> nonDominated = new ArrayList<IIndividual>();
+		if(this.fronts.size() > 0){
+			for(int i: this.fronts.get(0)){
+				nonDominated.add(individuals.get(i));
+			}
+		}
+		return nonDominated;
+	}
+
+	//////////////////////////////////////////////////////////////////
+	//------------------------------------------------ Private methods
+	//////////////////////////////////////////////////////////////////
+
+	/**
+	 * Check if a solution is dominated by a member of a front. The last
+	 * members are checked first, since they are closer to the solution
+	 * in the lexicographic order.
+	 * @param objectives The objective values
+	 * @param solution The solution
+	 * @param front The members of the front
+	 * @param size The number of members of the front
+	 * @return True if a member dominates the solution
+	 * */
+	private boolean isDominatedInFront(double [][] objectives, int solution, int [] front, int size){
+		for(int i=size-1; i>=0; i--){
+			if(dominates(objectives[front[i]], objectives[solution])){
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Check the Pareto dominance between two solutions
+	 * @param objectives1 The objective values of the first solution
+	 * @param objectives2 The objective values of the second solution
+	 * @return True if the first solution dominates the second one
+	 * */
+	private boolean dominates(double [] objectives1, double [] objectives2){
+		boolean better = false;
+		for(int j=0; j<objectives1.length; j++){
+			if(objectives1[j] > objectives2[j]){
+				return false;
+			}
+			if(objectives1[j] < objectives2[j]){
+				better = true;
+			}
+		}
+		return better;
+	}
+}
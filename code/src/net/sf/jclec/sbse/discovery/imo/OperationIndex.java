@@ -0,0 +1,308 @@
+package net.sf.jclec.sbse.discovery.imo;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
+
+import es.uco.kdis.dss.databuilders.info.UMLClass;
+import es.uco.kdis.dss.databuilders.info.UMLOperation;
+import net.sf.jclec.sbse.discovery.TerminalNode;
+
+/**
+ * Read-only index of the candidate services of the
+ * analysis model. The terminals that represent the
+ * operations ("Class:operation") and the relationships
+ * between their classes are decoded once, so the
+ * interfaces of the components can be synthesized
+ * without splitting symbols or searching classes
+ * by their name.
+ *
+ * <p>Services are numbered in the same order than
+ * their terminals in the schema. For each class, the
+ * index stores the services it owns, the classes that
+ * invoke it (navigable relationships in the direction
+ * of the class) and the services that should be added
+ * to an interface together with the services of the
+ * class, because of compositions and generalizations.
+ * All the lists preserve the order in which the schema
+ * used to visit the terminals and the relationships.
+ *
+ * <p>HISTORY:
+ * <ul>
+ *  <li>1.0: Creation (October 2026)
+ *  <li>1.1: Identifiers of the symbols by their name (October 2026)
+ * </ul>
+ *
+ * @author Aurora Ramirez
+ * @author Jose Raul Romero
+ * @author Sebastian Ventura
+ * @version 1.1
+ * @see InteractiveMOSchema
+ * */
+public class OperationIndex implements Serializable {
+
+	//////////////////////////////////////////////////////////////////
+	//----------------------------------------------------- Properties
+	//////////////////////////////////////////////////////////////////
+
+	/** Serial ID */
+	private static final long serialVersionUID = -4418035216650192147L;
+
+	/** Class that owns each service */
+	private int [] owner;
+
+	/** Identifier of the symbol of each service, services with
+	 * the same symbol (overloaded operations) share the identifier */
+	private int [] symbolId;
+
+	/** Identifier of each symbol, in lower case */
+	private HashMap<String, Integer> symbols;
+
+	/** Services owned by each class */
+	private int [][] services;
+
+	/** Classes that invoke each class */
+	private int [][] consumers;
+
+	/** Number of navigable relationships between each class and its consumers */
+	private int [][] consumerLinks;
+
+	/** Services related to each class by composition or generalization,
+	 * repeated once for each relationship that relates them */
+	private int [][] relatedServices;
+
+	/** Index in the relationship model of each class in the list of classes */
+	private int [] modelIndex;
+
+	/** Whether each class in the list of classes defines operations */
+	private boolean [] hasOperations;
+
+	//////////////////////////////////////////////////////////////////
+	//---------------------------------------------------- Constructor
+	//////////////////////////////////////////////////////////////////
+
+	/**
+	 * Parameterized constructor
+	 * @param terminals The terminals of the schema, first
+	 * the classes and then the candidate services
+	 * @param numberOfClasses The number of classes
+	 * @param relationships The relationship model
+	 * @param classesList The list of classes
+	 * */
+	public OperationIndex(TerminalNode [] terminals, int numberOfClasses,
+			RelationshipModel relationships, ArrayList<UMLClass> classesList){
+		int numberOfServices = terminals.length - numberOfClasses;
+		int modelClasses = relationships.getNumberOfClasses();
+		String [] aux, operationName = new String[numberOfServices];
+		Integer id;
+
+		// Owner and symbol of each service
+		this.owner = new int[numberOfServices];
+		this.symbolId = new int[numberOfServices];
+		this.symbols = new HashMap<String, Integer>();
+		int [] ownedServices = new int[modelClasses];
+		for(int s=0; s<numberOfServices; s++){
+			aux = terminals[numberOfClasses+s].getSymbol().split(":");
+			this.owner[s] = relationships.getClassIndex(aux[0]);
+			operationName[s] = aux[1];
+			ownedServices[this.owner[s]]++;
+			id = this.symbols.get(terminals[numberOfClasses+s].getSymbol().toLowerCase());
+			if(id == null){
+				id = s;
+				this.symbols.put(terminals[numberOfClasses+s].getSymbol().toLowerCase(), id);
+			}
+			this.symbolId[s] = id;
+		}
+
+		// Services owned by each class
+		this.services = new int[modelClasses][];
+		for(int c=0; c<modelClasses; c++){
+			this.services[c] = new int[ownedServices[c]];
+			ownedServices[c] = 0;
+		}
+		for(int s=0; s<numberOfServices; s++){
+			this.services[this.owner[s]][ownedServices[this.owner[s]]++] = s;
+		}
+
+		// Classes that invoke each class
+		RelationshipGraph graph = relationships.getGraph();
+		int invoker, links, size;
+		this.consumers = new int[modelClasses][];
+		this.consumerLinks = new int[modelClasses][];
+		for(int c=0; c<modelClasses; c++){
+			size = 0;
+			int [] invokers = new int[graph.getNumberOfInvokers(c)];
+			int [] invokerLinks = new int[invokers.length];
+			for(int p=0; p<invokers.length; p++){
+				invoker = graph.getInvoker(c, p);
+				links = 0;
+				for(int k=0; k<relationships.getNumberOfRelationships(c, invoker); k++){
+					if(relationships.isInvokedBy(c, invoker, k)){
+						links++;
+					}
+				}
+				if(links > 0){
+					invokers[size] = invoker;
+					invokerLinks[size] = links;
+					size++;
+				}
+			}
+			this.consumers[c] = new int[size];
+			this.consumerLinks[c] = new int[size];
+			System.arraycopy(invokers, 0, this.consumers[c], 0, size);
+			System.arraycopy(invokerLinks, 0, this.consumerLinks[c], 0, size);
+		}
+
+		// Services related by composition or generalization
+		ArrayList<Integer> related = new ArrayList<Integer>();
+		int type;
+		this.relatedServices = new int[modelClasses][];
+		for(int c=0; c<modelClasses; c++){
+			related.clear();
+			for(int s=0; s<numberOfServices; s++){
+				if(relationships.areRelated(c, this.owner[s])){
+					for(int k=0; k<relationships.getNumberOfRelationships(c, this.owner[s]); k++){
+						type = relationships.getType(c, this.owner[s], k);
+						if(type == RelationshipModel.COMPOSITION || (type == RelationshipModel.GENERALIZATION
+								&& !isOperationDefinedByClass(classesList.get(c), operationName[s]))){
+							related.add(s);
+						}
+					}
+				}
+			}
+			this.relatedServices[c] = new int[related.size()];
+			for(int i=0; i<related.size(); i++){
+				this.relatedServices[c][i] = related.get(i);
+			}
+		}
+
+		// Information of the list of classes
+		this.modelIndex = new int[classesList.size()];
+		this.hasOperations = new boolean[classesList.size()];
+		for(int i=0; i<classesList.size(); i++){
+			this.modelIndex[i] = relationships.getClassIndex(classesList.get(i).getName());
+			this.hasOperations[i] = classesList.get(i).hasOperations();
+		}
+	}
+
+	//////////////////////////////////////////////////////////////////
+	//------------------------------------------------ Get/set methods
+	//////////////////////////////////////////////////////////////////
+
+	/**
+	 * Get the number of services
+	 * @return The number of candidate services
+	 * */
+	public int getNumberOfServices(){
+		return this.owner.length;
+	}
+
+	/**
+	 * Get the class that owns a service
+	 * @param service The service index
+	 * @return The index of the class
+	 * */
+	public int getOwner(int service){
+		return this.owner[service];
+	}
+
+	/**
+	 * Get the identifier of the symbol of a service
+	 * @param service The service index
+	 * @return The identifier, equal for the services
+	 * whose symbols are equal (ignoring case)
+	 * */
+	public int getSymbolId(int service){
+		return this.symbolId[service];
+	}
+
+	/**
+	 * Get the identifier of a symbol
+	 * @param symbol The symbol of a service
+	 * @return The identifier, equal for the services
+	 * whose symbols are equal (ignoring case), -1 if
+	 * the symbol does not belong to any service
+	 * */
+	public int getSymbolId(String symbol){
+		Integer id = this.symbols.get(symbol.toLowerCase());
+		return id == null ? -1 : id;
+	}
+
+	/**
+	 * Get the services owned by a class
+	 * @param classIndex The index of the class
+	 * @return The services, in ascending order
+	 * */
+	public int [] getServices(int classIndex){
+		return this.services[classIndex];
+	}
+
+	/**
+	 * Get the classes that invoke a class
+	 * @param classIndex The index of the class
+	 * @return The index of the invoker classes
+	 * */
+	public int [] getConsumers(int classIndex){
+		return this.consumers[classIndex];
+	}
+
+	/**
+	 * Get the number of navigable relationships
+	 * between a class and each of its consumers
+	 * @param classIndex The index of the class
+	 * @return The number of relationships, in the
+	 * same order than the consumers
+	 * */
+	public int [] getConsumerLinks(int classIndex){
+		return this.consumerLinks[classIndex];
+	}
+
+	/**
+	 * Get the services that are related to a class
+	 * by composition or generalization
+	 * @param classIndex The index of the class
+	 * @return The services, in ascending order
+	 * */
+	public int [] getRelatedServices(int classIndex){
+		return this.relatedServices[classIndex];
+	}
+
+	/**
+	 * Get the index in the relationship model
+	 * of a class in the list of classes
+	 * @param position The position in the list of classes
+	 * @return The index of the class
+	 * */
+	public int getModelIndex(int position){
+		return this.modelIndex[position];
+	}
+
+	/**
+	 * Check if a class in the list of classes defines operations
+	 * @param position The position in the list of classes
+	 * @return True if the class has operations
+	 * */
+	public boolean hasOperations(int position){
+		return this.hasOperations[position];
+	}
+
+	//////////////////////////////////////////////////////////////////
+	//------------------------------------------------ Private methods
+	//////////////////////////////////////////////////////////////////
+
+	/**
+	 * Check if an operation is defined by a class
+	 * @param umlClass The class
+	 * @param operationName The name of the operation
+	 * @return True if the class specifies this operation, false otherwise.
+	 * */
+	private boolean isOperationDefinedByClass(UMLClass umlClass, String operationName){
+		ArrayList<UMLOperation> operations = umlClass.getOperations();
+		for(int i=0; i<operations.size(); i++){
+			if(operations.get(i).getName().equalsIgnoreCase(operationName)){
+				return true;
+			}
+		}
+		return false;
+	}
+}
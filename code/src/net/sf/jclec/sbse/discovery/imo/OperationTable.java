@@ -0,0 +1,122 @@
+package net.sf.jclec.sbse.discovery.imo;
+
+import java.util.HashMap;
+
+/**
+ * Identifiers of the operations that appear in the interfaces
+ * synthesized by a schema. The identifiers are derived from the
+ * index of the candidate services, so two operations have the
+ * same identifier if their symbols are equal:
+ * <ul>
+ * 	<li>The operation of a provided interface ("Class:operation")
+ * 	has the identifier of the symbol of its service.
+ * 	<li>The operation of a required interface ("Class:operation [ ... ]")
+ * 	is identified by its service and the list of required classes.
+ * 	Only the lists of required classes are numbered by the table.
+ * 	<li>Other symbols receive a negative identifier.
+ * </ul>
+ *
+ * <p>The table is held by the schema and shared by the individuals
+ * that it creates. The lists of required classes and the unknown
+ * symbols are numbered the first time they are found, so the
+ * numbering is synchronized. The provided operations do not
+ * require any lock.
+ *
+ * <p>HISTORY:
+ * <ul>
+ *  <li>1.0: Creation (October 2026)
+ * </ul>
+ *
+ * @author Aurora Ramirez
+ * @author Jose Raul Romero
+ * @author Sebastian Ventura
+ * @version 1.0
+ * @see OperationIndex
+ * @see InterfaceCatalog
+ * */
+public class OperationTable {
+
+	//////////////////////////////////////////////////////////////////
+	//----------------------------------------------------- Properties
+	//////////////////////////////////////////////////////////////////
+
+	/** Separator between the service and the required classes */
+	private static final String REQUIRED_CLASSES = " [ ";
+
+	/** The index of the candidate services */
+	private OperationIndex index;
+
+	/** Number of each list of required classes */
+	private HashMap<String, Integer> requiredClasses;
+
+	/** Number of each symbol that is not an operation of the schema */
+	private HashMap<String, Integer> unknownSymbols;
+
+	//////////////////////////////////////////////////////////////////
+	//---------------------------------------------------- Constructor
+	//////////////////////////////////////////////////////////////////
+
+	/**
+	 * Parameterized constructor
+	 * @param index The index of the candidate services
+	 * */
+	public OperationTable(OperationIndex index){
+		this.index = index;
+		this.requiredClasses = new HashMap<String, Integer>();
+		this.unknownSymbols = new HashMap<String, Integer>();
+	}
+
+	//////////////////////////////////////////////////////////////////
+	//------------------------------------------------- Public methods
+	//////////////////////////////////////////////////////////////////
+
+	/**
+	 * Get the identifier of an operation
+	 * @param symbol The symbol of the terminal node
+	 * @return The identifier, equal for the operations
+	 * whose symbols are equal
+	 * */
+	public int getOperationId(String symbol){
+		int numberOfServices = this.index.getNumberOfServices();
+		int separator = symbol.indexOf(REQUIRED_CLASSES);
+		int symbolId;
+
+		// Provided operation
+		if(separator == -1){
+			symbolId = this.index.getSymbolId(symbol);
+			if(symbolId != -1){
+				return symbolId;
+			}
+		}
+
+		// Required operation
+		else{
+			symbolId = this.index.getSymbolId(symbol.substring(0, separator));
+			if(symbolId != -1){
+				int classes = number(this.requiredClasses, symbol.substring(separator));
+				return (classes+1)*numberOfServices + symbolId;
+			}
+		}
+		return -1-number(this.unknownSymbols, symbol);
+	}
+
+	//////////////////////////////////////////////////////////////////
+	//------------------------------------------------ Private methods
+	//////////////////////////////////////////////////////////////////
+
+	/**
+	 * Get the number of a key, a new one if
+	 * the key has not been found before
+	 * @param numbers The numbers of the keys
+	 * @param key The key
+	 * @return The number of the key
+	 * */
+	private synchronized int number(HashMap<String, Integer> numbers, String key){
+		Integer number = numbers.get(key);
+		if(number == null){
+			number = numbers.size();
+			numbers.put(key, number);
+		}
+		return number;
+	}
+}
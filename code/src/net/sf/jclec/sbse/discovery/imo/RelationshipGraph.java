@@ -0,0 +1,326 @@
+package net.sf.jclec.sbse.discovery.imo;
+
+import java.io.Serializable;
+
+/**
+ * Sparse view of the graph of relationships between
+ * classes, stored in compressed sparse row (CSR) format.
+ * Most pairs of classes are not related, so iterating only
+ * over the neighbours of a class avoids scanning all the
+ * classes of the analysis model.
+ *
+ * <p>Neighbours of a class are stored in ascending order
+ * of their index. Besides the whole adjacency, the graph
+ * provides one adjacency per type of UML relationship,
+ * the adjacency of undirected relationships and the
+ * navigable relationships in both directions.
+ *
+ * <p>HISTORY:
+ * <ul>
+ *  <li>1.0: Creation (October 2026)
+ * </ul>
+ *
+ * @author Aurora Ramirez
+ * @author Jose Raul Romero
+ * @author Sebastian Ventura
+ * @version 1.0
+ * @see RelationshipModel
+ * */
+public class RelationshipGraph implements Serializable {
+
+	//////////////////////////////////////////////////////////////////
+	//----------------------------------------------------- Properties
+	//////////////////////////////////////////////////////////////////
+
+	/** Serial ID */
+	private static final long serialVersionUID = -3190512869004176124L;
+
+	/** Types of UML relationships with their own adjacency */
+	private static final int [] TYPES = new int []{
+		RelationshipModel.ASSOCIATION, RelationshipModel.AGGREGATION,
+		RelationshipModel.COMPOSITION, RelationshipModel.GENERALIZATION};
+
+	/** Number of classes */
+	private int numberOfClasses;
+
+	/** Related classes */
+	private int [] offsets;
+	private int [] neighbours;
+
+	/** Related classes by each type of relationship */
+	private int [][] typeOffsets;
+	private int [][] typeNeighbours;
+
+	/** Classes related by relationships that do not specify navigability */
+	private int [] undirectedOffsets;
+	private int [] undirectedNeighbours;
+
+	/** Classes that invoke each class (incoming navigable relationships) */
+	private int [] invokerOffsets;
+	private int [] invokers;
+
+	/** Classes invoked by each class (outgoing navigable relationships) */
+	private int [] invokedOffsets;
+	private int [] invoked;
+
+	/** Engine to compute the groups of classes, one per thread */
+	private transient ThreadLocal<ConnectedGroups> connectedGroups;
+
+	//////////////////////////////////////////////////////////////////
+	//---------------------------------------------------- Constructor
+	//////////////////////////////////////////////////////////////////
+
+	/**
+	 * Parameterized constructor
+	 * @param model The relationship model
+	 * */
+	public RelationshipGraph(RelationshipModel model){
+		build(model);
+	}
+
+	//////////////////////////////////////////////////////////////////
+	//------------------------------------------------- Public methods
+	//////////////////////////////////////////////////////////////////
+
+	/**
+	 * Get the number of classes
+	 * @return Number of classes
+	 * */
+	public int getNumberOfClasses(){
+		return this.numberOfClasses;
+	}
+
+	/**
+	 * Get the engine to compute the groups of classes.
+	 * Each thread obtains its own engine.
+	 * @return The engine of the calling thread
+	 * */
+	public ConnectedGroups getConnectedGroups(){
+		ThreadLocal<ConnectedGroups> engines;
+		synchronized(this){
+			if(this.connectedGroups == null){
+				this.connectedGroups = new ThreadLocal<ConnectedGroups>();
+			}
+			engines = this.connectedGroups;
+		}
+		ConnectedGroups engine = engines.get();
+		if(engine == null){
+			engine = new ConnectedGroups(this);
+			engines.set(engine);
+		}
+		return engine;
+	}
+
+	/**
+	 * Get the number of classes related to a given class
+	 * @param classIndex The class index
+	 * @return Number of neighbours
+	 * */
+	public int getDegree(int classIndex){
+		return this.offsets[classIndex+1]-this.offsets[classIndex];
+	}
+
+	/**
+	 * Get a neighbour of a class
+	 * @param classIndex The class index
+	 * @param position Position of the neighbour, in [0, degree)
+	 * @return The index of the neighbour class
+	 * */
+	public int getNeighbour(int classIndex, int position){
+		return this.neighbours[this.offsets[classIndex]+position];
+	}
+
+	/**
+	 * Get the number of classes related to a given
+	 * class by a type of UML relationship
+	 * @param classIndex The class index
+	 * @param type The type of relationship
+	 * @return Number of neighbours, 0 if the type is not considered
+	 * */
+	public int getDegree(int classIndex, int type){
+		int t = indexOfType(type);
+		if(t == -1){
+			return 0;
+		}
+		return this.typeOffsets[t][classIndex+1]-this.typeOffsets[t][classIndex];
+	}
+
+	/**
+	 * Get a neighbour of a class by a type of UML relationship
+	 * @param classIndex The class index
+	 * @param type The type of relationship
+	 * @param position Position of the neighbour, in [0, degree)
+	 * @return The index of the neighbour class
+	 * */
+	public int getNeighbour(int classIndex, int type, int position){
+		int t = indexOfType(type);
+		return this.typeNeighbours[t][this.typeOffsets[t][classIndex]+position];
+	}
+
+	/**
+	 * Get the number of classes related to a given class
+	 * by relationships without explicit navigability
+	 * @param classIndex The class index
+	 * @return Number of neighbours
+	 * */
+	public int getUndirectedDegree(int classIndex){
+		return this.undirectedOffsets[classIndex+1]-this.undirectedOffsets[classIndex];
+	}
+
+	/**
+	 * Get a neighbour of a class related by
+	 * relationships without explicit navigability
+	 * @param classIndex The class index
+	 * @param position Position of the neighbour, in [0, degree)
+	 * @return The index of the neighbour class
+	 * */
+	public int getUndirectedNeighbour(int classIndex, int position){
+		return this.undirectedNeighbours[this.undirectedOffsets[classIndex]+position];
+	}
+
+	/**
+	 * Get the number of classes that invoke a given class
+	 * @param classIndex The class index
+	 * @return Number of invoker classes
+	 * */
+	public int getNumberOfInvokers(int classIndex){
+		return this.invokerOffsets[classIndex+1]-this.invokerOffsets[classIndex];
+	}
+
+	/**
+	 * Get a class that invokes a given class
+	 * @param classIndex The class index
+	 * @param position Position of the invoker, in [0, number of invokers)
+	 * @return The index of the invoker class
+	 * */
+	public int getInvoker(int classIndex, int position){
+		return this.invokers[this.invokerOffsets[classIndex]+position];
+	}
+
+	/**
+	 * Get the number of classes invoked by a given class
+	 * @param classIndex The class index
+	 * @return Number of invoked classes
+	 * */
+	public int getNumberOfInvoked(int classIndex){
+		return this.invokedOffsets[classIndex+1]-this.invokedOffsets[classIndex];
+	}
+
+	/**
+	 * Get a class invoked by a given class
+	 * @param classIndex The class index
+	 * @param position Position of the invoked class, in [0, number of invoked)
+	 * @return The index of the invoked class
+	 * */
+	public int getInvoked(int classIndex, int position){
+		return this.invoked[this.invokedOffsets[classIndex]+position];
+	}
+
+	//////////////////////////////////////////////////////////////////
+	//------------------------------------------------ Private methods
+	//////////////////////////////////////////////////////////////////
+
+	/**
+	 * Get the position of the type of relationship
+	 * @param type The type of relationship
+	 * @return The position in the typed adjacencies, -1
+	 * if the type has not its own adjacency
+	 * */
+	private int indexOfType(int type){
+		for(int t=0; t<TYPES.length; t++){
+			if(TYPES[t] == type){
+				return t;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Build the adjacencies
+	 * @param model The relationship model
+	 * */
+	private void build(RelationshipModel model){
+		int n = model.getNumberOfClasses();
+		this.numberOfClasses = n;
+
+		// Mark the pairs of each adjacency
+		boolean [][] related = new boolean[n][n];
+		boolean [][][] typed = new boolean[TYPES.length][n][n];
+		boolean [][] undirected = new boolean[n][n];
+		boolean [][] invokedBy = new boolean[n][n];
+		int nRelationships, t;
+
+		for(int i=0; i<n; i++){
+			for(int j=0; j<n; j++){
+				if(model.areRelated(i, j)){
+					related[i][j] = true;
+					nRelationships = model.getNumberOfRelationships(i, j);
+					for(int k=0; k<nRelationships; k++){
+						t = indexOfType(model.getType(i, j, k));
+						if(t != -1){
+							typed[t][i][j] = true;
+						}
+						if(model.isUndirected(i, j, k)){
+							undirected[i][j] = true;
+						}
+						// j invokes i
+						if(model.isInvokedBy(i, j, k)){
+							invokedBy[i][j] = true;
+						}
+					}
+				}
+			}
+		}
+
+		// Compress the rows
+		this.offsets = new int[n+1];
+		this.neighbours = compress(related, this.offsets, false);
+
+		this.typeOffsets = new int[TYPES.length][n+1];
+		this.typeNeighbours = new int[TYPES.length][];
+		for(t=0; t<TYPES.length; t++){
+			this.typeNeighbours[t] = compress(typed[t], this.typeOffsets[t], false);
+		}
+
+		this.undirectedOffsets = new int[n+1];
+		this.undirectedNeighbours = compress(undirected, this.undirectedOffsets, false);
+
+		this.invokerOffsets = new int[n+1];
+		this.invokers = compress(invokedBy, this.invokerOffsets, false);
+
+		this.invokedOffsets = new int[n+1];
+		this.invoked = compress(invokedBy, this.invokedOffsets, true);
+	}
+
+	/**
+	 * Compress a boolean adjacency matrix
+	 * @param matrix The adjacency matrix
+	 * @param rowOffsets Array (size n+1) to store the offset of each row
+	 * @param transpose Whether the matrix should be transposed
+	 * @return The array of column indexes
+	 * */
+	private int [] compress(boolean [][] matrix, int [] rowOffsets, boolean transpose){
+		int n = matrix.length;
+		int total = 0;
+		for(int i=0; i<n; i++){
+			rowOffsets[i] = total;
+			for(int j=0; j<n; j++){
+				if(transpose ? matrix[j][i] : matrix[i][j]){
+					total++;
+				}
+			}
+		}
+		rowOffsets[n] = total;
+
+		int [] columns = new int[total];
+		int p = 0;
+		for(int i=0; i<n; i++){
+			for(int j=0; j<n; j++){
+				if(transpose ? matrix[j][i] : matrix[i][j]){
+					columns[p++] = j;
+				}
+			}
+		}
+		return columns;
+	}
+}
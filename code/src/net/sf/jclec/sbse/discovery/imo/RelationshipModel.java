@@ -0,0 +1,377 @@
+package net.sf.jclec.sbse.discovery.imo;
+
+import java.io.Serializable;
+import java.util.HashMap;
+
+import es.uco.kdis.datapro.dataset.Dataset;
+import es.uco.kdis.datapro.dataset.column.MultiIntegerColumn;
+import es.uco.kdis.datapro.datatypes.InvalidValue;
+import es.uco.kdis.datapro.datatypes.MultiIntegerValue;
+import net.sf.jclec.sbse.discovery.TerminalNode;
+import net.sf.jclec.syntaxtree.SyntaxTreeNode;
+
+/**
+ * Read-only representation of the relationships
+ * between the classes of the analysis model. The
+ * information in the relationships dataset is decoded
+ * once into primitive arrays, so the evaluation of the
+ * objectives and the construction of the genotypes
+ * do not need to access the dataset values.
+ *
+ * <p>For each ordered pair of classes <i>(i,j)</i>, the
+ * model stores the type and the navigability (in the
+ * direction i->j) of each relationship, using the same
+ * order than the <code>MultiIntegerValue</code> in the
+ * column <i>i</i>, row <i>j</i> of the dataset. Therefore,
+ * the relationship <i>k</i> of the pair <i>(i,j)</i> and
+ * the relationship <i>k</i> of the pair <i>(j,i)</i> are
+ * the same UML relationship.
+ *
+ * <p>HISTORY:
+ * <ul>
+ *  <li>1.0: Creation (October 2026)
+ * </ul>
+ *
+ * @author Aurora Ramirez
+ * @author Jose Raul Romero
+ * @author Sebastian Ventura
+ * @version 1.0
+ * */
+public class RelationshipModel implements Serializable {
+
+	//////////////////////////////////////////////////////////////////
+	//----------------------------------------------------- Properties
+	//////////////////////////////////////////////////////////////////
+
+	/** Serial ID */
+	private static final long serialVersionUID = 2816498335204918273L;
+
+	/** Association relationship code */
+	public static final int ASSOCIATION = 1;
+
+	/** Aggregation relationship code */
+	public static final int AGGREGATION = 3;
+
+	/** Composition relationship code */
+	public static final int COMPOSITION = 4;
+
+	/** Generalization relationship code */
+	public static final int GENERALIZATION = 5;
+
+	/** Number of classes */
+	private int numberOfClasses;
+
+	/** Class names, in the same order than the dataset columns */
+	private String [] classNames;
+
+	/** Index of each class in the dataset */
+	private HashMap<String, Integer> classIndexes;
+
+	/** Whether the dataset stores a valid value for each ordered pair */
+	private boolean [] related;
+
+	/** Position of the first relationship of each ordered pair (size n*n+1) */
+	private int [] pairOffsets;
+
+	/** Type of each relationship */
+	private byte [] types;
+
+	/** Navigability of each relationship (direction i->j) */
+	private byte [] navigabilities;
+
+	/** Number of relationships without explicit navigability for each ordered pair */
+	private int [] externalRelations;
+
+	/** Sparse view of the relationships */
+	private RelationshipGraph graph;
+
+	//////////////////////////////////////////////////////////////////
+	//---------------------------------------------------- Constructor
+	//////////////////////////////////////////////////////////////////
+
+	/**
+	 * Parameterized constructor. The model is
+	 * built from the relationships dataset.
+	 * @param dataset The relationships dataset
+	 * */
+	public RelationshipModel(Dataset dataset){
+		build(dataset);
+		this.graph = new RelationshipGraph(this);
+	}
+
+	//////////////////////////////////////////////////////////////////
+	//------------------------------------------------- Public methods
+	//////////////////////////////////////////////////////////////////
+
+	/**
+	 * Get the number of classes
+	 * @return Number of classes in the model
+	 * */
+	public int getNumberOfClasses(){
+		return this.numberOfClasses;
+	}
+
+	/**
+	 * Get the sparse view of the relationships,
+	 * that allows iterating over the neighbours
+	 * of each class
+	 * @return The relationship graph
+	 * */
+	public RelationshipGraph getGraph(){
+		return this.graph;
+	}
+
+	/**
+	 * Get the name of a class
+	 * @param classIndex The class index
+	 * @return The class name
+	 * */
+	public String getClassName(int classIndex){
+		return this.classNames[classIndex];
+	}
+
+	/**
+	 * Get the index of a class
+	 * @param className The class name
+	 * @return The index of the class in the
+	 * dataset, -1 if the class does not exist
+	 * */
+	public int getClassIndex(String className){
+		Integer index = this.classIndexes.get(className);
+		if(index == null){
+			return -1;
+		}
+		return index;
+	}
+
+	/**
+	 * Get the index of the class represented by a
+	 * terminal node of the genotype
+	 * @param node The terminal node
+	 * @return The index stored by the node when the schema
+	 * created it, otherwise the index of its symbol
+	 * */
+	public int getClassIndex(SyntaxTreeNode node){
+		if(node instanceof TerminalNode){
+			int index = ((TerminalNode)node).getClassIndex();
+			if(index != -1){
+				return index;
+			}
+		}
+		return getClassIndex(node.getSymbol());
+	}
+
+	/**
+	 * Check if two classes are related
+	 * @param i First class index
+	 * @param j Second class index
+	 * @return True if the dataset stores some
+	 * relationship between class i and class j
+	 * */
+	public boolean areRelated(int i, int j){
+		return this.related[i*this.numberOfClasses+j];
+	}
+
+	/**
+	 * Get the number of relationships between two classes
+	 * @param i First class index
+	 * @param j Second class index
+	 * @return Number of relationships
+	 * */
+	public int getNumberOfRelationships(int i, int j){
+		int pair = i*this.numberOfClasses+j;
+		return this.pairOffsets[pair+1]-this.pairOffsets[pair];
+	}
+
+	/**
+	 * Get the type of a relationship
+	 * @param i First class index
+	 * @param j Second class index
+	 * @param k Relationship index
+	 * @return The UML relationship type
+	 * */
+	public int getType(int i, int j, int k){
+		return this.types[this.pairOffsets[i*this.numberOfClasses+j]+k];
+	}
+
+	/**
+	 * Get the navigability of a relationship
+	 * in the direction i->j
+	 * @param i First class index
+	 * @param j Second class index
+	 * @param k Relationship index
+	 * @return The navigability value
+	 * */
+	public int getNavigability(int i, int j, int k){
+		return this.navigabilities[this.pairOffsets[i*this.numberOfClasses+j]+k];
+	}
+
+	/**
+	 * Check if a relationship does not specify
+	 * its navigability, i.e. it has the same value
+	 * in both directions
+	 * @param i First class index
+	 * @param j Second class index
+	 * @param k Relationship index
+	 * @return True if the relationship is undirected
+	 * */
+	public boolean isUndirected(int i, int j, int k){
+		return getNavigability(i, j, k) == getNavigability(j, i, k);
+	}
+
+	/**
+	 * Check if the class i is invoked by the class j
+	 * using the relationship k, i.e. the class j needs
+	 * the class i
+	 * @param i First class index
+	 * @param j Second class index
+	 * @param k Relationship index
+	 * @return True if class j invokes class i
+	 * */
+	public boolean isInvokedBy(int i, int j, int k){
+		return getNavigability(i, j, k) == 1 && getNavigability(j, i, k) == 0;
+	}
+
+	/**
+	 * Check if there exists a relationship
+	 * of a given type between two classes
+	 * @param i First class index
+	 * @param j Second class index
+	 * @param type The type of relationship
+	 * @return True if it exists
+	 * */
+	public boolean containsType(int i, int j, int type){
+		int pair = i*this.numberOfClasses+j;
+		for(int p=this.pairOffsets[pair]; p<this.pairOffsets[pair+1]; p++){
+			if(this.types[p] == type){
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Get the number of relationships between two classes
+	 * that do not explicitly specify their navigability
+	 * @param i First class index
+	 * @param j Second class index
+	 * @return Number of undirected relationships
+	 * */
+	public int getNumberOfExternalRelations(int i, int j){
+		return this.externalRelations[i*this.numberOfClasses+j];
+	}
+
+	/**
+	 * Compute the weighted sum of the undirected relationships
+	 * of each ordered pair of classes.
+	 * @param umlWeights Weights for associations, aggregations,
+	 * compositions and generalizations
+	 * @return An array of size n*n, where the position i*n+j stores
+	 * the sum of weights of undirected relationships between i and j
+	 * */
+	public double [] computeWeightedExternalRelations(double [] umlWeights){
+		int n = this.numberOfClasses;
+		double [] weightedRelations = new double[n*n];
+		int pair, reversePair;
+		for(int i=0; i<n; i++){
+			for(int j=0; j<n; j++){
+				pair = i*n+j;
+				reversePair = j*n+i;
+				for(int k=0; k<this.pairOffsets[pair+1]-this.pairOffsets[pair]; k++){
+					if(this.navigabilities[this.pairOffsets[pair]+k] == this.navigabilities[this.pairOffsets[reversePair]+k]){
+						weightedRelations[pair] += getWeight(this.types[this.pairOffsets[pair]+k], umlWeights);
+					}
+				}
+			}
+		}
+		return weightedRelations;
+	}
+
+	/**
+	 * Get the weight of a relationship type
+	 * @param type The type of relationship
+	 * @param umlWeights Weights for associations, aggregations,
+	 * compositions and generalizations
+	 * @return The weight, 0 if the type is not considered
+	 * */
+	public static double getWeight(int type, double [] umlWeights){
+		switch(type){
+		case ASSOCIATION: return umlWeights[0];
+		case AGGREGATION: return umlWeights[1];
+		case COMPOSITION: return umlWeights[2];
+		case GENERALIZATION: return umlWeights[3];
+		}
+		return 0.0;
+	}
+
+	//////////////////////////////////////////////////////////////////
+	//------------------------------------------------ Private methods
+	//////////////////////////////////////////////////////////////////
+
+	/**
+	 * Decode the dataset
+	 * @param dataset The relationships dataset
+	 * */
+	private void build(Dataset dataset){
+		int n = dataset.getColumns().size();
+		MultiIntegerColumn column;
+		Object oValue;
+		MultiIntegerValue relations;
+		int total = 0, pair, size;
+
+		this.numberOfClasses = n;
+		this.classNames = new String[n];
+		this.classIndexes = new HashMap<String, Integer>();
+		this.related = new boolean[n*n];
+		this.pairOffsets = new int[n*n+1];
+		this.externalRelations = new int[n*n];
+
+		// First pass, count the relationships
+		for(int i=0; i<n; i++){
+			column = (MultiIntegerColumn)dataset.getColumn(i);
+			this.classNames[i] = column.getName();
+			this.classIndexes.put(column.getName(), i);
+			for(int j=0; j<n; j++){
+				pair = i*n+j;
+				this.pairOffsets[pair] = total;
+				oValue = column.getElement(j);
+				if(!(oValue instanceof InvalidValue)){
+					this.related[pair] = true;
+					total += ((MultiIntegerValue)oValue).getSize()/2;
+				}
+			}
+		}
+		this.pairOffsets[n*n] = total;
+
+		// Second pass, store types and navigabilities
+		this.types = new byte[total];
+		this.navigabilities = new byte[total];
+		for(int i=0; i<n; i++){
+			column = (MultiIntegerColumn)dataset.getColumn(i);
+			for(int j=0; j<n; j++){
+				pair = i*n+j;
+				if(this.related[pair]){
+					relations = (MultiIntegerValue)column.getElement(j);
+					size = relations.getSize();
+					for(int k=0; k<size; k+=2){
+						this.types[this.pairOffsets[pair]+k/2] = (byte)relations.getValue(k);
+						this.navigabilities[this.pairOffsets[pair]+k/2] = (byte)relations.getValue(k+1);
+					}
+				}
+			}
+		}
+
+		// Count undirected relationships
+		for(int i=0; i<n; i++){
+			for(int j=0; j<n; j++){
+				pair = i*n+j;
+				size = this.pairOffsets[pair+1]-this.pairOffsets[pair];
+				for(int k=0; k<size; k++){
+					if(isUndirected(i, j, k)){
+						this.externalRelations[pair]++;
+					}
+				}
+			}
+		}
+	}
+}
@@ -7,6 +7,7 @@ import net.sf.jclec.JCLEC;
 import net.sf.jclec.sbse.discovery.imo.InteractiveMOIndividual;
 import net.sf.jclec.sbse.discovery.imo.InteractiveMOSchema;
 import net.sf.jclec.sbse.discovery.imo.InteractiveMOSpecies;
+import net.sf.jclec.sbse.discovery.imo.RelationshipModel;
 import net.sf.jclec.util.random.IRandGen;
 
 /**
@@ -39,6 +40,9 @@ public abstract class AbstractComponentMutator implements JCLEC{
 	/** Individuals schema */
 	protected transient InteractiveMOSchema schema;
 
+	/** Relationships between classes */
+	protected transient RelationshipModel relationships;
+
 	/** Mutator weight */
 	private double weight;
 
@@ -80,6 +84,8 @@ public abstract class AbstractComponentMutator implements JCLEC{
 			this.species = (InteractiveMOSpecies) species;
 			// Sets genotype schema
 			this.schema = (InteractiveMOSchema)((InteractiveMOSpecies) species).getGenotypeSchema();
+			// Sets the relationships between classes
+			this.relationships = this.schema.getRelationshipModel();
 		}
 		else {
 			throw new IllegalStateException("Invalid species in context");
@@ -3,6 +3,7 @@ package net.sf.jclec.sbse.discovery.imo.mut;
 import java.util.ArrayList;
 
 import net.sf.jclec.IIndividual;
+import net.sf.jclec.sbse.discovery.imo.ComponentIndex;
 import net.sf.jclec.sbse.discovery.imo.InteractiveMOIndividual;
 import net.sf.jclec.syntaxtree.SyntaxTree;
 import net.sf.jclec.util.random.IRandGen;
@@ -61,7 +62,7 @@ public class AddComponentMutator extends AbstractComponentMutator {
 		}
 
 		SyntaxTree mutTree = mutateSyntaxTree();
-		IIndividual mutant = this.species.createIndividual(mutTree);
+		IIndividual mutant = this.species.createIndividual(mutTree, this.distribution);
 		/*if(ind.getNumberOfComponents()==7){
 			System.out.println("PARENT: " + ind.getGenotype());
 			System.out.println("SON: " + ((IMOIndividual)mutant).getGenotype()+"\n");
@@ -255,8 +256,8 @@ public class AddComponentMutator extends AbstractComponentMutator {
 		// Create the new distribution
 		setNewDistribution();
 
-		// Create the mutated tree
-		SyntaxTree mutTree = this.schema.createSyntaxTree(this.numberOfComponents, this.distribution);
+		// Create the mutated tree, only the components affected by the change are built again
+		SyntaxTree mutTree = this.schema.createSyntaxTree(this.numberOfComponents, this.distribution, this.ind);
 
 		return mutTree;
 	}
@@ -267,38 +268,23 @@ public class AddComponentMutator extends AbstractComponentMutator {
 	private void setNewDistribution() {
 
 		SyntaxTree tree = this.ind.getGenotype();
+		ComponentIndex componentIndex = this.ind.getComponentIndex();
 		int newComponent = this.numberOfComponents;
-		String symbol;
-		boolean isClass = false, isConnector=false;
-		int index, numOfComp = -1;
-		int actualClass = -1;
+		int index, first, last;
+		int actualClass;
 
 		int numOfClasses = this.species.getDataset().getColumns().size();
 		this.distribution = new int [numOfClasses];
 
 		// First, locate the classes to be moved. Also, save the new class distribution
-		for(int i=0; !isConnector; i++){
-			symbol = tree.getNode(i).getSymbol();
-
-			// Non terminal
-			if(tree.getNode(i).arity()!=0){
-				if(symbol.equalsIgnoreCase("component")){
-					numOfComp++; // Increment component's count
-				}
-				else if(symbol.equalsIgnoreCase("classes")){
-					isClass=true;	// The beginning of a set of classes
-				}
-				else if(symbol.equalsIgnoreCase("required-interfaces")){
-					isClass=false;	// The end of a set of classes
-					actualClass=-1;
-				}
-				else if(symbol.equalsIgnoreCase("connectors"))
-					isConnector=true;	// The end of classes and interfaces information
-			}
-			// Terminal, class
-			else if(isClass){
-				actualClass++;
-				index = this.species.getDataset().getIndexOfColumn(this.species.getDataset().getColumnByName(symbol));
+		for(int numOfComp=0; numOfComp<this.ind.getNumberOfComponents(); numOfComp++){
+			first = componentIndex.getClassesStart(numOfComp);
+			last = componentIndex.getClassesEnd(numOfComp);
+
+			// Classes of the component
+			for(int i=first; i<last; i++){
+				actualClass = i-first;
+				index = this.relationships.getClassIndex(tree.getNode(i));
 				this.distribution[index]=numOfComp;
 
 				// The classes to be moved
@@ -2,12 +2,13 @@ package net.sf.jclec.sbse.discovery.imo.mut;
 
 import java.util.ArrayList;
 
-import es.uco.kdis.datapro.dataset.column.MultiIntegerColumn;
-import es.uco.kdis.datapro.datatypes.MultiIntegerValue;
-import es.uco.kdis.datapro.datatypes.InvalidValue;
 import net.sf.jclec.IIndividual;
+import net.sf.jclec.sbse.discovery.GrammarSymbols;
+import net.sf.jclec.sbse.discovery.TerminalNode;
+import net.sf.jclec.sbse.discovery.imo.ComponentIndex;
 import net.sf.jclec.sbse.discovery.imo.InteractiveMOIndividual;
 import net.sf.jclec.syntaxtree.SyntaxTree;
+import net.sf.jclec.syntaxtree.SyntaxTreeNode;
 import net.sf.jclec.util.random.IRandGen;
 
 /**
@@ -55,9 +56,6 @@ public class AddInterfaceMutator extends AbstractComponentMutator {
 	/** Internal classes indexes (in the dataset) */
 	protected ArrayList<Integer> classIndexes;
 
-	/** Visited classes for the heuristic class distribution */
-	protected boolean visited [];
-
 	/** Group distribution inside the selected component */
 	protected int classGroup [];
 
@@ -102,7 +100,7 @@ public class AddInterfaceMutator extends AbstractComponentMutator {
 		//System.out.println("IND: " + ind.toString());
 		//System.out.println("MUT: " + mutTree);
 
-		IIndividual mutant = this.species.createIndividual(mutTree);
+		IIndividual mutant = this.species.createIndividual(mutTree, this.distribution);
 		//printDistribution();
 		//System.out.println(mutant.toString());
 
@@ -181,61 +179,45 @@ public class AddInterfaceMutator extends AbstractComponentMutator {
 	protected boolean hasNavigableRelations(int index) {
 		boolean hasNavigableRelations = false;
 		boolean isClass = false, exit=false;
-		String symbol;
 		SyntaxTree genotype = ind.getGenotype();
+		SyntaxTreeNode node;
 		int actualCmp = -1, classIndex, otherClassIndex;
-		MultiIntegerColumn classCol, otherClassCol;
-		MultiIntegerValue relations_ij, relations_ji;
-		Object oValue;
 		int j;
-		String otherClass;
-		int nav_ij, nav_ji;
 
 		// Search the component in the genotype
 		for(int i=1; !hasNavigableRelations && !exit; i++){
 
-			symbol = genotype.getNode(i).getSymbol();
+			node = genotype.getNode(i);
 
 			// Non terminal node
-			if(genotype.getNode(i).arity()!=0){
+			if(node.arity()!=0){
+				switch(GrammarSymbols.getCode(node)){
 				// New set of classes
-				if(symbol.equalsIgnoreCase("classes")){
+				case GrammarSymbols.CLASSES:
 					isClass=true;
 					actualCmp++;
-				}
-				else if(symbol.equalsIgnoreCase("required-interfaces")){
+					break;
+				case GrammarSymbols.REQUIRED_INTERFACES:
 					isClass=false;
 					if(index==actualCmp)	// End of specified component classes
 						exit=true;
+					break;
 				}
 			}
 			// Terminal node
 			// Check class relations inside the component
 			else if(index==actualCmp && isClass){
-				// Get the dataset information about the class
-				classCol = (MultiIntegerColumn) this.species.getDataset().getColumnByName(symbol);
-				classIndex = this.species.getDataset().getIndexOfColumn(classCol);
+				// Get the index of the class
+				classIndex = ((TerminalNode)node).getClassIndex();
 				// Rest of classes in the component
 				j=i+1;
 				while(genotype.getNode(j).arity()==0){
-					otherClass = genotype.getNode(j).getSymbol();
-					otherClassCol = (MultiIntegerColumn) this.species.getDataset().getColumnByName(otherClass);
-					otherClassIndex = this.species.getDataset().getIndexOfColumn(otherClassCol);
+					otherClassIndex = ((TerminalNode)genotype.getNode(j)).getClassIndex();
 
-					oValue = classCol.getElement(otherClassIndex);
-
-					// Check relations between both classes
-					if(!(oValue instanceof InvalidValue)){// Not invalid
-
-						relations_ij = (MultiIntegerValue)oValue;
-						relations_ji = (MultiIntegerValue)otherClassCol.getElement(classIndex);
-
-						for(int k=1; k<relations_ij.getSize(); k+=2){ // relation type (k=0,2...) are not important
-							nav_ij = relations_ij.getValue(k);
-							nav_ji = relations_ji.getValue(k);
-							if(nav_ij != nav_ji)
-								hasNavigableRelations = true;
-						}
+					// Check relations between both classes (relation types are not important)
+					for(int k=0; k<this.relationships.getNumberOfRelationships(classIndex, otherClassIndex); k++){
+						if(!this.relationships.isUndirected(classIndex, otherClassIndex, k))
+							hasNavigableRelations = true;
 					}
 					j++;
 				}
@@ -269,15 +251,10 @@ public class AddInterfaceMutator extends AbstractComponentMutator {
 	protected void selectRelation(IRandGen randgen){
 		boolean hasNavigableAssoc = false;
 		boolean isClass = false, exit=false;
-		String symbol;
 		SyntaxTree genotype = ind.getGenotype();
+		SyntaxTreeNode node;
 		int actualCmp = -1, classIndex, otherClassIndex;
-		MultiIntegerColumn classCol, otherClassCol;
-		Object oValue;
-		MultiIntegerValue relations_ij, relations_ji;
 		int j;
-		String otherClass;
-		int nav_ij, nav_ji;
 
 		this.candRelations.clear();
 		this.classIndexes.clear();
@@ -285,54 +262,42 @@ public class AddInterfaceMutator extends AbstractComponentMutator {
 		// Search the candidate relations
 		for(int i=1; !hasNavigableAssoc && !exit; i++){
 
-			symbol = genotype.getNode(i).getSymbol();
+			node = genotype.getNode(i);
 
 			// Non terminal node
-			if(genotype.getNode(i).arity()!=0){
+			if(node.arity()!=0){
+				switch(GrammarSymbols.getCode(node)){
 				// New set of classes
-				if(symbol.equalsIgnoreCase("classes")){
+				case GrammarSymbols.CLASSES:
 					isClass=true;
 					actualCmp++;
-				}
-				else if(symbol.equalsIgnoreCase("required-interfaces")){
+					break;
+				case GrammarSymbols.REQUIRED_INTERFACES:
 					isClass=false;
 					if(this.componentSplit==actualCmp)	// End of component classes
 						exit=true;
+					break;
 				}
 			}
 			// Terminal node
 			// Check class relations inside the component
 			else if(this.componentSplit==actualCmp && isClass){
-				// Get the dataset information about the class
-				classCol = (MultiIntegerColumn) this.species.getDataset().getColumnByName(symbol);
-				classIndex = this.species.getDataset().getIndexOfColumn(classCol);
+				// Get the index of the class
+				classIndex = ((TerminalNode)node).getClassIndex();
 				// Save the index
 				this.classIndexes.add(classIndex);
 
 				// Rest of classes in the component
 				j=i+1;
 				while(genotype.getNode(j).arity()==0){
-					otherClass = genotype.getNode(j).getSymbol();
-					otherClassCol = (MultiIntegerColumn) this.species.getDataset().getColumnByName(otherClass);
-					otherClassIndex = this.species.getDataset().getIndexOfColumn(otherClassCol);
-
-					oValue = classCol.getElement(otherClassIndex);
+					otherClassIndex = ((TerminalNode)genotype.getNode(j)).getClassIndex();
 
 					// Check relations between both classes
-					if(!(oValue instanceof InvalidValue)){// Not invalid
-
-						relations_ij = (MultiIntegerValue)oValue;
-						relations_ji = (MultiIntegerValue)otherClassCol.getElement(classIndex);
-
-						for(int k=1; k<relations_ij.getSize(); k+=2){
-							nav_ij = relations_ij.getValue(k);
-							nav_ji = relations_ji.getValue(k);
-
-							// Navigable relation, add origin an destination class
-							if(nav_ij != nav_ji){
-								this.candRelations.add(classIndex);
-								this.candRelations.add(otherClassIndex);
-							}
+					for(int k=0; k<this.relationships.getNumberOfRelationships(classIndex, otherClassIndex); k++){
+						// Navigable relation, add origin an destination class
+						if(!this.relationships.isUndirected(classIndex, otherClassIndex, k)){
+							this.candRelations.add(classIndex);
+							this.candRelations.add(otherClassIndex);
 						}
 					}
 					j++;
@@ -359,21 +324,19 @@ public class AddInterfaceMutator extends AbstractComponentMutator {
 	 * @param dest Destination class
 	 * */
 	protected void reassignGroups() {
-		int i, numOfGroups = 0;
 		int size = this.classIndexes.size();
-		this.visited = new boolean[size];
+		int [] classes = new int[size];
+		int [] classesToGroups = new int[this.relationships.getNumberOfClasses()];
 		this.classGroup = new int[size];
 
-		for(i=0; i<size; i++)
-			this.visited[i]=false;
+		for(int i=0; i<size; i++)
+			classes[i] = this.classIndexes.get(i);
 
-		for(i=0; i<size; i++){
-			if(!this.visited[i]){
-				this.classGroup[i]=numOfGroups; // Set group number
-				numOfGroups++;
-				graphDepthPath(i, this.classIndexes.get(i));
-			}
-		}
+		this.relationships.getGraph().getConnectedGroups().computeGroups(classes, 0, size,
+				classesToGroups, this.origClassIndex, this.destClassIndex);
+
+		for(int i=0; i<size; i++)
+			this.classGroup[i] = classesToGroups[classes[i]];
 	}
 
 
@@ -385,8 +348,8 @@ public class AddInterfaceMutator extends AbstractComponentMutator {
 		// Create the new distribution
 		setNewDistribution();
 
-		// Create the mutated tree
-		SyntaxTree mutTree = this.schema.createSyntaxTree(this.numberOfComponents, this.distribution);
+		// Create the mutated tree, only the components affected by the change are built again
+		SyntaxTree mutTree = this.schema.createSyntaxTree(this.numberOfComponents, this.distribution, this.ind);
 
 		return mutTree;
 	}
@@ -396,9 +359,8 @@ public class AddInterfaceMutator extends AbstractComponentMutator {
 	 * */
 	private void setNewDistribution(){
 		SyntaxTree tree = this.ind.getGenotype();
-		int actualComp = -1, actualClass = -1, index;
-		String symbol;
-		boolean isClass = false, isConnector=false;
+		ComponentIndex componentIndex = this.ind.getComponentIndex();
+		int actualClass, index, first, last;
 		int numOfClasses = schema.getNumOfClasses();
 		this.classNames = new String[this.classesSplitDistr.length];
 		this.distribution = new int [numOfClasses];
@@ -406,27 +368,15 @@ public class AddInterfaceMutator extends AbstractComponentMutator {
 		int j=0;
 		// First, locate the component to be divided
 		// Also save the new class distribution
-		for(int i=0; !isConnector; i++){
-			symbol = tree.getNode(i).getSymbol();
-			if(tree.getNode(i).arity()!=0){
-				if(tree.getNode(i).getSymbol().equalsIgnoreCase("component")){
-					actualComp++;
-				}
-				else if(symbol.equalsIgnoreCase("classes")){
-					isClass=true;	// The beginning of a set of classes
-				}
-				else if(symbol.equalsIgnoreCase("required-interfaces")){
-					isClass=false;	// The end of a set of classes
-					actualClass=-1;
-				}
-				else if(symbol.equalsIgnoreCase("connectors"))
-					isConnector=true;	// The end of classes and interfaces information
-			}
-			// Terminal, class
-			else if(isClass){
+		for(int actualComp=0; actualComp<this.ind.getNumberOfComponents(); actualComp++){
+			first = componentIndex.getClassesStart(actualComp);
+			last = componentIndex.getClassesEnd(actualComp);
+
+			// Classes of the component
+			for(int i=first; i<last; i++){
 
-				actualClass++;
-				index = this.species.getDataset().getIndexOfColumn(this.species.getDataset().getColumnByName(symbol));
+				actualClass = i-first;
+				index = this.relationships.getClassIndex(tree.getNode(i));
 				// Another component, if it located later, his component number will be decreased because divided component will be the located at the end
 				if(actualComp != this.componentSplit)	
 					this.distribution[index]=(actualComp>this.componentSplit ? actualComp-1 : actualComp);
@@ -541,32 +491,4 @@ public class AddInterfaceMutator extends AbstractComponentMutator {
 			}
 		}
 	}
-
-	/**
-	 * Realize a graph depth search marking 
-	 * visited nodes.
-	 * @param actualNode The node origin.
-	 * @param classIndex The column index in the dataset for the origin node.
-	 * */
-	private void graphDepthPath(int actualNode, int classIndex){
-		int j, size = this.visited.length;
-		// Now, the node is visited
-		this.visited[actualNode]=true;
-		for(j=0; j<size; j++){
-
-			// Not a relation between orig and dest classes (the break point)
-			if((classIndex==this.origClassIndex && this.classIndexes.get(j)!=this.destClassIndex) ||
-					(classIndex==this.destClassIndex && this.classIndexes.get(j)!=this.origClassIndex) ||
-					(classIndex!=this.origClassIndex && classIndex!=this.destClassIndex)){
-
-				// The node origin is connected with the node j, not visited yet, continue recursive depth search with j
-				if( !(((MultiIntegerColumn)this.species.getDataset().getColumn(classIndex)).getElement(this.classIndexes.get(j)) instanceof InvalidValue)
-						&& !this.visited[j]){
-
-					this.classGroup[j]=this.classGroup[actualNode];	// Set its group number
-					graphDepthPath(j, this.classIndexes.get(j));
-				}
-			}
-		}
-	}
 }
\ No newline at end of file
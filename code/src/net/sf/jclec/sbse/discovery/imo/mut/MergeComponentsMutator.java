@@ -65,7 +65,7 @@ public class MergeComponentsMutator extends AbstractComponentMutator {
 		//System.out.println("IND: " + ind.toString());
 		//System.out.println("MUT: " + mutTree);
 
-		IIndividual mutant = this.species.createIndividual(mutTree);
+		IIndividual mutant = this.species.createIndividual(mutTree, this.distribution);
 
 		/*if(ind.numberFrozenComponents() != 0){
 			System.out.println("MERGE COMPONENTS MUTATOR");
@@ -191,8 +191,8 @@ public class MergeComponentsMutator extends AbstractComponentMutator {
 		// Create the new distribution
 		setNewDistribution();
 
-		// Create the mutated tree
-		SyntaxTree mutTree = this.schema.createSyntaxTree(this.numberOfComponents, this.distribution);
+		// Create the mutated tree, only the components affected by the change are built again
+		SyntaxTree mutTree = this.schema.createSyntaxTree(this.numberOfComponents, this.distribution, this.ind);
 
 		return mutTree;
 	}
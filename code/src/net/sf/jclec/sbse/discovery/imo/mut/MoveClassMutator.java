@@ -3,6 +3,8 @@ package net.sf.jclec.sbse.discovery.imo.mut;
 import java.util.ArrayList;
 
 import net.sf.jclec.IIndividual;
+import net.sf.jclec.sbse.discovery.imo.ClassMove;
+import net.sf.jclec.sbse.discovery.imo.ComponentIndex;
 import net.sf.jclec.sbse.discovery.imo.InteractiveMOIndividual;
 import net.sf.jclec.syntaxtree.SyntaxTree;
 import net.sf.jclec.util.random.IRandGen;
@@ -36,6 +38,9 @@ public class MoveClassMutator extends AbstractComponentMutator {
 	/** Class to be moved */
 	private int classToBeMoved;
 
+	/** Index of the moved class in the dataset */
+	private int movedClassIndex;
+
 	private ArrayList<Integer> origCandidates;
 	private ArrayList<Integer> destCandidates;
 
@@ -64,7 +69,7 @@ public class MoveClassMutator extends AbstractComponentMutator {
 		//System.out.println("IND: " + ind.toString());
 		//System.out.println("MUT: " + mutTree);
 
-		IIndividual mutant = this.species.createIndividual(mutTree);
+		IIndividual mutant = this.species.createIndividual(mutTree, this.distribution);
 
 		/*if(ind.numberFrozenComponents() != 0){
 			System.out.println("MOVE CLASS MUTATOR");
@@ -86,6 +91,12 @@ public class MoveClassMutator extends AbstractComponentMutator {
 			((InteractiveMOIndividual)mutant).setFrozenComponent(i, ((InteractiveMOIndividual)ind).isFrozenComponent(i));
 		}
 
+		// Describe the move, so the mutant can be evaluated from the summary of its parent
+		if(ind.getSummary() != null){
+			((InteractiveMOIndividual)mutant).setClassMove(
+					new ClassMove(ind.getSummary(), this.movedClassIndex, this.origComponent, this.destComponent));
+		}
+
 		// testing
 		/*System.out.println("MOVE CLASS -> origin="+this.origComponent + " destination="+this.destComponent);
 		System.out.println("PARENT: ");
@@ -172,8 +183,8 @@ public class MoveClassMutator extends AbstractComponentMutator {
 		// Create the new distribution
 		setNewDistribution();
 
-		// Create the mutated tree
-		SyntaxTree mutTree = this.schema.createSyntaxTree(this.numberOfComponents, this.distribution);
+		// Create the mutated tree, only the components affected by the change are built again
+		SyntaxTree mutTree = this.schema.createSyntaxTree(this.numberOfComponents, this.distribution, this.ind);
 
 		return mutTree;
 	}
@@ -183,9 +194,8 @@ public class MoveClassMutator extends AbstractComponentMutator {
 	 * */
 	private void setNewDistribution(){
 		SyntaxTree tree = this.ind.getGenotype();
-		String symbol;
-		boolean isClass = false, classFound = false;
-		int currentClass = -1, index, currentComponent = -1;
+		ComponentIndex componentIndex = this.ind.getComponentIndex();
+		int index;
 
 		// Create the new class distribution
 		int [] indDistribution = this.ind.getClassesDistribution();
@@ -198,34 +208,9 @@ public class MoveClassMutator extends AbstractComponentMutator {
 		}
 
 		// Locate the class that will be moved and change the number of components it belongs to
-		for(int i=0; !classFound; i++){
-			symbol = tree.getNode(i).getSymbol();
-
-			// Non terminal
-			if(tree.getNode(i).arity()!=0){
-				if(symbol.equalsIgnoreCase("component")){
-					currentComponent++; // Increment component's count
-				}
-				else if(symbol.equalsIgnoreCase("classes")){
-					isClass=true;	// The beginning of a set of classes
-				}
-				else if(symbol.equalsIgnoreCase("required-interfaces")){
-					isClass=false;	// The end of a set of classes
-					currentClass=-1;
-				}
-			}
-			// Terminal, class
-			else if(isClass){
-				currentClass++;
-
-				// The class to be moved
-				if(this.origComponent==currentComponent && this.classToBeMoved==currentClass){
-					index = this.species.getDataset().getIndexOfColumn(this.species.getDataset().getColumnByName(symbol));
-					this.distribution[index]=this.destComponent;
-					classFound = true;
-				}
-			}
-		}
+		index = this.relationships.getClassIndex(tree.getNode(componentIndex.getClassesStart(this.origComponent)+this.classToBeMoved));
+		this.distribution[index]=this.destComponent;
+		this.movedClassIndex = index;
 
 		////////////////////////
 		/*System.out.println("Origin: " + origComponent + " Destination: " + destComponent + " DISTRIBUTION:");
@@ -2,6 +2,7 @@ package net.sf.jclec.sbse.discovery.imo.objectives;
 
 import net.sf.jclec.IFitness;
 import net.sf.jclec.fitness.SimpleValueFitness;
+import net.sf.jclec.sbse.discovery.imo.ArchitectureSummary;
 import net.sf.jclec.sbse.discovery.imo.InteractiveMOIndividual;
 
 /**
@@ -22,7 +23,7 @@ import net.sf.jclec.sbse.discovery.imo.InteractiveMOIndividual;
  * @version 1.0
  * @see Metric
  * */
-public class ABS extends Metric {
+public class ABS extends Metric implements IFusedMetric {
 
 	/////////////////////////////////////////////////////////////////
 	//---------------------------------------------------- Properties
@@ -48,23 +49,35 @@ public class ABS extends Metric {
 	/////////////////////////////////////////////////////////////////
 
 	@Override
-	protected void prepare(InteractiveMOIndividual ind) {
+	public double [] prepare(InteractiveMOIndividual ind) {
 		int numOfComponents = ind.getNumberOfComponents();
 		double [] abs = new double[numOfComponents];
 		int [] numOfAbstractClasses = ind.getNumberOfAbstractClasses();
 		for(int i=0; i<numOfComponents; i++){
 			abs[i] = (double)numOfAbstractClasses[i]/(double)ind.getNumberOfClasses(i);
 		}
-		setComponentsMeasure(abs);
-		abs=null;
+		return abs;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * */
+	@Override
+	public double [] prepare(ArchitectureSummary summary) {
+		int numOfComponents = summary.getNumberOfComponents();
+		double [] abs = new double[numOfComponents];
+		int [] numOfAbstractClasses = summary.getNumberOfAbstractClasses();
+		for(int i=0; i<numOfComponents; i++){
+			abs[i] = (double)numOfAbstractClasses[i]/(double)summary.getNumberOfClasses(i);
+		}
+		return abs;
 	}
 
 	@Override
-	protected IFitness compute(InteractiveMOIndividual ind) {
+	public IFitness compute(InteractiveMOIndividual ind, double [] abs) {
 		// Abstractness of each component
 		int numOfComponents = ind.getNumberOfComponents();
 		double avg = 0.0;
-		double [] abs = getComponentsMeasure();
 		for(int i=0; i<numOfComponents; i++){
 			avg += abs[i];
 		}	
@@ -2,6 +2,7 @@ package net.sf.jclec.sbse.discovery.imo.objectives;
 
 import net.sf.jclec.IFitness;
 import net.sf.jclec.fitness.SimpleValueFitness;
+import net.sf.jclec.sbse.discovery.imo.ArchitectureSummary;
 import net.sf.jclec.sbse.discovery.imo.InteractiveMOIndividual;
 
 /**
@@ -22,7 +23,7 @@ import net.sf.jclec.sbse.discovery.imo.InteractiveMOIndividual;
  * @version 1.0
  * @see Metric
  * */
-public class CB extends Metric {
+public class CB extends Metric implements IFusedMetric {
 
 	/////////////////////////////////////////////////////////////////
 	//---------------------------------------------------- Properties
@@ -48,18 +49,30 @@ public class CB extends Metric {
 	/////////////////////////////////////////////////////////////////
 
 	@Override
-	protected void prepare(InteractiveMOIndividual ind) {
+	public double [] prepare(InteractiveMOIndividual ind) {
 		int numberOfComponents = ind.getNumberOfComponents();
 		double [] numOfClasses = new double[numberOfComponents];
 		for(int i=0; i<numberOfComponents; i++){
 			numOfClasses[i] = ind.getNumberOfClasses(i);
 		}
-		setComponentsMeasure(numOfClasses);
-		numOfClasses = null;
+		return numOfClasses;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * */
+	@Override
+	public double [] prepare(ArchitectureSummary summary) {
+		int numberOfComponents = summary.getNumberOfComponents();
+		double [] numOfClasses = new double[numberOfComponents];
+		for(int i=0; i<numberOfComponents; i++){
+			numOfClasses[i] = summary.getNumberOfClasses(i);
+		}
+		return numOfClasses;
 	}
 
 	@Override
-	protected IFitness compute(InteractiveMOIndividual ind) {
+	public IFitness compute(InteractiveMOIndividual ind, double [] measures) {
 		double res;
 		double sb, csu;
 
@@ -4,6 +4,7 @@ import org.apache.commons.configuration.Configuration;
 
 import net.sf.jclec.IFitness;
 import net.sf.jclec.fitness.SimpleValueFitness;
+import net.sf.jclec.sbse.discovery.imo.ArchitectureSummary;
 import net.sf.jclec.sbse.discovery.imo.InteractiveMOIndividual;
 
 /**
@@ -26,7 +27,7 @@ import net.sf.jclec.sbse.discovery.imo.InteractiveMOIndividual;
  * @version 1.0
  * @see Metric
  * */
-public class CL extends Metric {
+public class CL extends Metric implements IFusedMetric {
 
 	/////////////////////////////////////////////////////////////////
 	//---------------------------------------------------- Properties
@@ -85,7 +86,7 @@ public class CL extends Metric {
 	}
 
 	@Override
-	protected void prepare(InteractiveMOIndividual ind) {
+	public double [] prepare(InteractiveMOIndividual ind) {
 		int numOfComponents = ind.getNumberOfComponents();
 		double [] cc_link = new double[numOfComponents];
 		for(int i=0; i<numOfComponents; i++){
@@ -96,15 +97,31 @@ public class CL extends Metric {
 				cc_link[i] = 0.0;
 			}
 		}
-		setComponentsMeasure(cc_link);
-		cc_link=null;
+		return cc_link;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * */
+	@Override
+	public double [] prepare(ArchitectureSummary summary) {
+		int numOfComponents = summary.getNumberOfComponents();
+		double [] cc_link = new double[numOfComponents];
+		for(int i=0; i<numOfComponents; i++){
+			if(summary.getNumberOfProvided(i)>this.threshold){
+				cc_link[i] = 1.0;
+			}
+			else{
+				cc_link[i] = 0.0;
+			}
+		}
+		return cc_link;
 	}
 
 	@Override
-	protected IFitness compute(InteractiveMOIndividual ind) {
+	public IFitness compute(InteractiveMOIndividual ind, double [] cc_link) {
 		double numOfCriticalComponents = 0.0;
 		int numOfComponents = ind.getNumberOfComponents();
-		double [] cc_link = getComponentsMeasure();
 		for(int i=0; i<numOfComponents; i++){
 			numOfCriticalComponents+=cc_link[i];
 		}
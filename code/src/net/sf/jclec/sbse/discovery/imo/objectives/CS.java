@@ -4,6 +4,7 @@ import org.apache.commons.configuration.Configuration;
 
 import net.sf.jclec.IFitness;
 import net.sf.jclec.fitness.SimpleValueFitness;
+import net.sf.jclec.sbse.discovery.imo.ArchitectureSummary;
 import net.sf.jclec.sbse.discovery.imo.InteractiveMOIndividual;
 
 /**
@@ -24,7 +25,7 @@ import net.sf.jclec.sbse.discovery.imo.InteractiveMOIndividual;
  * @version 1.0
  * @see Metric
  * */
-public class CS extends Metric {
+public class CS extends Metric implements IFusedMetric {
 
 	/////////////////////////////////////////////////////////////////
 	// --------------------------------------------------- Properties
@@ -90,9 +91,9 @@ public class CS extends Metric {
 	 * {@inheritDoc}
 	 * */
 	@Override
-	public void prepare(InteractiveMOIndividual ind) {
+	public double [] prepare(InteractiveMOIndividual ind) {
 		int numOfComponents = ind.getNumberOfComponents();
-		int maxNumOfClasses = (int)Math.round(getDataset().getColumns().size()*this.threshold);
+		int maxNumOfClasses = (int)Math.round(this.relationships.getNumberOfClasses()*this.threshold);
 		double [] cc_size = new double[numOfComponents];
 		for(int i=0; i<numOfComponents; i++){
 			if(ind.getNumberOfClasses(i)>maxNumOfClasses){
@@ -102,18 +103,35 @@ public class CS extends Metric {
 				cc_size[i] = 0.0;
 			}
 		}
-		setComponentsMeasure(cc_size);
-		cc_size=null;
+		return cc_size;
 	}
 
 	/**
 	 * {@inheritDoc}
 	 * */
 	@Override
-	public IFitness compute(InteractiveMOIndividual ind) {
+	public double [] prepare(ArchitectureSummary summary) {
+		int numOfComponents = summary.getNumberOfComponents();
+		int maxNumOfClasses = (int)Math.round(this.relationships.getNumberOfClasses()*this.threshold);
+		double [] cc_size = new double[numOfComponents];
+		for(int i=0; i<numOfComponents; i++){
+			if(summary.getNumberOfClasses(i)>maxNumOfClasses){
+				cc_size[i] = 1.0;
+			}
+			else{
+				cc_size[i] = 0.0;
+			}
+		}
+		return cc_size;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * */
+	@Override
+	public IFitness compute(InteractiveMOIndividual ind, double [] cc_size) {
 		double numOfCriticalComponents = 0.0;
 		int numOfComponents = ind.getNumberOfComponents();
-		double [] cc_size = getComponentsMeasure();
 		for(int i=0; i<numOfComponents; i++){
 			numOfCriticalComponents+=cc_size[i];
 		}
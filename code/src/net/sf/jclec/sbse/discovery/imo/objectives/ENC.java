@@ -2,6 +2,8 @@ package net.sf.jclec.sbse.discovery.imo.objectives;
 
 import net.sf.jclec.IFitness;
 import net.sf.jclec.fitness.SimpleValueFitness;
+import net.sf.jclec.sbse.discovery.GrammarSymbols;
+import net.sf.jclec.sbse.discovery.imo.ArchitectureSummary;
 import net.sf.jclec.sbse.discovery.imo.InteractiveMOIndividual;
 import net.sf.jclec.syntaxtree.SyntaxTree;
 
@@ -28,7 +30,7 @@ import net.sf.jclec.syntaxtree.SyntaxTree;
  * @see Metric
  * */
 
-public class ENC extends Metric {
+public class ENC extends Metric implements IFusedMetric {
 
 	/////////////////////////////////////////////////////////////////
 	// --------------------------------------------------- Properties
@@ -53,12 +55,12 @@ public class ENC extends Metric {
 	 * {@inheritDoc}
 	 * */
 	@Override
-	protected void prepare(InteractiveMOIndividual ind) {
+	public double [] prepare(InteractiveMOIndividual ind) {
 		// Get genotype
 		SyntaxTree genotype;
 		int numOfComponents = ind.getNumberOfComponents();
 
-		int k;
+		int k, code;
 		String symbol, otherSymbol;
 		boolean isInternal = true, isReqInterface = false;
 		String [] aux;
@@ -78,7 +80,7 @@ public class ENC extends Metric {
 			for(int j=2; !lastClass; j++){
 				symbol = genotype.getNode(j).getSymbol();
 
-				if(symbol.equalsIgnoreCase("required-interfaces"))
+				if(GrammarSymbols.getCode(genotype.getNode(j)) == GrammarSymbols.REQUIRED_INTERFACES)
 					lastClass=true;
 				if(!lastClass){
 					
@@ -90,9 +92,10 @@ public class ENC extends Metric {
 						otherSymbol = genotype.getNode(k).getSymbol();
 
 						if(genotype.getNode(k).arity()!=0){
-							if(otherSymbol.equalsIgnoreCase("required-interfaces"))
+							code = GrammarSymbols.getCode(genotype.getNode(k));
+							if(code == GrammarSymbols.REQUIRED_INTERFACES)
 								isReqInterface = true;
-							else if(otherSymbol.equalsIgnoreCase("provided-interfaces")){
+							else if(code == GrammarSymbols.PROVIDED_INTERFACES){
 								isReqInterface = false;
 							}
 						}
@@ -131,17 +134,29 @@ public class ENC extends Metric {
 		for(int i=0; i<numOfComponents; i++){
 			enc[i] = ((double)internalClasses[i])/((double)ind.getNumberOfClasses(i));
 		}
-		setComponentsMeasure(enc);
-		enc=null;
+		return enc;
 	}
 
 	/**
 	 * {@inheritDoc}
 	 * */
 	@Override
-	protected IFitness compute(InteractiveMOIndividual ind) {
+	public double [] prepare(ArchitectureSummary summary) {
+		// Classes that do not participate in the interfaces of their component
+		int numOfComponents = summary.getNumberOfComponents();
+		double [] enc = new double[numOfComponents];
+		for(int i=0; i<numOfComponents; i++){
+			enc[i] = ((double)summary.getNumberOfInternalClasses(i))/((double)summary.getNumberOfClasses(i));
+		}
+		return enc;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * */
+	@Override
+	public IFitness compute(InteractiveMOIndividual ind, double [] enc) {
 		int numOfComponents = ind.getNumberOfComponents();
-		double [] enc = getComponentsMeasure();
 		double avg = 0.0;
 		for(int i=0; i<numOfComponents; i++){
 			avg += enc[i];
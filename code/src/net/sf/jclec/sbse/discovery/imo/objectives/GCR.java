@@ -2,6 +2,7 @@ package net.sf.jclec.sbse.discovery.imo.objectives;
 
 import net.sf.jclec.IFitness;
 import net.sf.jclec.fitness.SimpleValueFitness;
+import net.sf.jclec.sbse.discovery.imo.ArchitectureSummary;
 import net.sf.jclec.sbse.discovery.imo.InteractiveMOIndividual;
 
 /**
@@ -16,7 +17,7 @@ import net.sf.jclec.sbse.discovery.imo.InteractiveMOIndividual;
  * @author Sebastian Ventura
  * @version 1.0
  * */
-public class GCR extends Metric {
+public class GCR extends Metric implements IFusedMetric {
 
 	/////////////////////////////////////////////////////////////////
 	// --------------------------------------------------- Properties
@@ -48,21 +49,33 @@ public class GCR extends Metric {
 	 * {@inheritDoc}
 	 * */
 	@Override
-	protected void prepare(InteractiveMOIndividual ind) {
+	public double [] prepare(InteractiveMOIndividual ind) {
 		int numberOfComponents = ind.getNumberOfComponents();
 		double [] groups = new double[numberOfComponents];
 		for(int i=0; i<numberOfComponents; i++){
 			groups[i] = ind.getNumberOfGroups(i);
 		}
-		setComponentsMeasure(groups);
-		groups = null;
+		return groups;
 	}
 
 	/**
 	 * {@inheritDoc}
 	 * */
 	@Override
-	protected IFitness compute(InteractiveMOIndividual ind) {
+	public double [] prepare(ArchitectureSummary summary) {
+		int numberOfComponents = summary.getNumberOfComponents();
+		double [] groups = new double[numberOfComponents];
+		for(int i=0; i<numberOfComponents; i++){
+			groups[i] = summary.getNumberOfGroups(i);
+		}
+		return groups;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * */
+	@Override
+	public IFitness compute(InteractiveMOIndividual ind, double [] measures) {
 		int numberOfComponents = ind.getNumberOfComponents();
 		double numberOfGroups = 0.0;
 			
@@ -71,7 +84,7 @@ public class GCR extends Metric {
 			numberOfGroups += ind.getNumberOfGroups(i);
 		}
 		double aux = (double)numberOfGroups/(double)numberOfComponents;
-		double maxValue = getDataset().getColumns().size() / (double) numberOfComponents;
+		double maxValue = this.relationships.getNumberOfClasses() / (double) numberOfComponents;
 		double gcr = ((aux-1.0)/(maxValue-1.0)); // normalize
 		return new SimpleValueFitness(gcr);
 	}
@@ -1,12 +1,12 @@
 package net.sf.jclec.sbse.discovery.imo.objectives;
 
-import es.uco.kdis.datapro.dataset.column.MultiIntegerColumn;
-import es.uco.kdis.datapro.datatypes.MultiIntegerValue;
-import es.uco.kdis.datapro.datatypes.InvalidValue;
 import net.sf.jclec.IFitness;
 import net.sf.jclec.fitness.SimpleValueFitness;
+import net.sf.jclec.sbse.discovery.GrammarSymbols;
+import net.sf.jclec.sbse.discovery.imo.ArchitectureSummary;
 import net.sf.jclec.sbse.discovery.imo.InteractiveMOIndividual;
 import net.sf.jclec.syntaxtree.SyntaxTree;
+import net.sf.jclec.syntaxtree.SyntaxTreeNode;
 
 /**
  * Intra-Modular Coupling Density (ICD) Metric
@@ -24,7 +24,7 @@ import net.sf.jclec.syntaxtree.SyntaxTree;
  * @author Sebastian Ventura
  * @version 1.0
  * */
-public class ICD extends Metric {
+public class ICD extends Metric implements IFusedMetric {
 
 	/////////////////////////////////////////////////////////////////
 	// --------------------------------------------------- Properties
@@ -49,14 +49,13 @@ public class ICD extends Metric {
 	 * {@inheritDoc}
 	 * */
 	@Override
-	protected void prepare(InteractiveMOIndividual ind) {
+	public double [] prepare(InteractiveMOIndividual ind) {
 
 		// Get genotype
 		SyntaxTree genotype = ind.getGenotype();
-		int j, otherClassIndex, actualCmp=-1;
+		int j, classIndex, otherClassIndex, actualCmp=-1;
 		boolean isClass = false, isConnector = false;
-		MultiIntegerColumn column, otherColumn;
-		String symbol;
+		SyntaxTreeNode node;
 
 		// Initialize
 		int numberOfComponents = ind.getNumberOfComponents();
@@ -70,42 +69,37 @@ public class ICD extends Metric {
 		// Compute c_in for each component in the individual
 		for(int i=1; !isConnector; i++){
 
-			symbol = genotype.getNode(i).getSymbol();
+			node = genotype.getNode(i);
 
 			// Non terminal node
-			if(genotype.getNode(i).arity()!=0){
+			if(node.arity()!=0){
+				switch(GrammarSymbols.getCode(node)){
 				// The symbol classes indicates the beginning of a 
 				// group of classes in a component
-				if(symbol.equalsIgnoreCase("classes")){
+				case GrammarSymbols.CLASSES:
 					isClass=true;
 					actualCmp++;
-				}
-				else if(symbol.equalsIgnoreCase("required-interfaces")){
+					break;
+				case GrammarSymbols.REQUIRED_INTERFACES:
 					isClass=false;
-				}
-				else if(symbol.equalsIgnoreCase("connectors")){
+					break;
+				case GrammarSymbols.CONNECTORS:
 					isConnector=true;
+					break;
 				}
 			}
 
 			// Terminal node
 			else if(isClass){
 
-				// Get the dataset information about the class
-				column = (MultiIntegerColumn) this.dataset.getColumnByName(symbol);
+				// Get the index of the class
+				classIndex = this.relationships.getClassIndex(node);
 
 				// Check the relations with the rest of class in the component
 				j=i+1;	
 				while(genotype.getNode(j).arity()==0){
-					otherColumn = (MultiIntegerColumn)this.dataset.getColumnByName(genotype.getNode(j).getSymbol());
-					otherClassIndex = this.dataset.getIndexOfColumn(otherColumn);
-
-					Object relations = column.getElement(otherClassIndex);
-
-					// Not an invalid value
-					if(!(relations instanceof InvalidValue)){
-						c_in[actualCmp] += ((double)((MultiIntegerValue)relations).getSize()/2);
-					}
+					otherClassIndex = this.relationships.getClassIndex(genotype.getNode(j));
+					c_in[actualCmp] += this.relationships.getNumberOfRelationships(classIndex, otherClassIndex);
 					j++;
 				}
 			}
@@ -117,7 +111,7 @@ public class ICD extends Metric {
 		}
 
 		// Now, compute icd for each component
-		int nClasses = getDataset().getColumns().size();
+		int nClasses = this.relationships.getNumberOfClasses();
 		double [] icd = new double[numberOfComponents];
 		double ratio, classesRatio;
 		for(int i=0; i<numberOfComponents; i++){
@@ -131,18 +125,43 @@ public class ICD extends Metric {
 			}
 		}
 
-		setComponentsMeasure(icd);
-		icd = null;
+		return icd;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * */
+	@Override
+	public double [] prepare(ArchitectureSummary summary) {
+		int numberOfComponents = summary.getNumberOfComponents();
+		int nClasses = this.relationships.getNumberOfClasses();
+		double [] icd = new double[numberOfComponents];
+		double c_in, c_out, ratio, classesRatio;
+
+		// Relations inside the component and interfaces
+		for(int i=0; i<numberOfComponents; i++){
+			c_in = summary.getInternalRelations(i);
+			c_out = summary.getNumberOfProvided(i) + summary.getNumberOfRequired(i);
+			if(c_out!=0){
+				ratio = c_in/(c_in+c_out);
+				classesRatio = ((double)nClasses - (double)summary.getNumberOfClasses(i))/(double)nClasses;
+				icd[i] = ratio*classesRatio;
+			}
+			else{
+				icd[i] = 0.0;
+			}
+		}
+
+		return icd;
 	}
 
 	/**
 	 * {@inheritDoc}
 	 * */
 	@Override
-	protected IFitness compute(InteractiveMOIndividual ind) {
+	public IFitness compute(InteractiveMOIndividual ind, double [] icd) {
 		int nComponents = ind.getNumberOfComponents();
 		double avg = 0.0;
-		double [] icd = getComponentsMeasure();
 		// Average ICD
 		for(int i=0; i<nComponents; i++){
 			avg += icd[i];
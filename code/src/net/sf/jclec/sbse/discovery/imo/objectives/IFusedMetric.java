@@ -0,0 +1,33 @@
+package net.sf.jclec.sbse.discovery.imo.objectives;
+
+import net.sf.jclec.sbse.discovery.imo.ArchitectureSummary;
+
+/**
+ * Interface for the metrics that can be computed
+ * by the fused evaluation engine. Instead of routing
+ * the genotype, these metrics obtain the measures
+ * per component from the summary of the architecture,
+ * which is decoded only once for all the objectives.
+ *
+ * <p>HISTORY:
+ * <ul>
+ *  <li>1.0: Creation (October 2026)
+ * </ul>
+ *
+ * @author Aurora Ramirez
+ * @author Jose Raul Romero
+ * @author Sebastian Ventura
+ * @version 1.0
+ * @see ArchitectureSummary
+ * */
+public interface IFusedMetric {
+
+	/**
+	 * Prepare the computation using the summary of
+	 * the architecture. It should return the same measures
+	 * per component than <code>prepare(InteractiveMOIndividual)</code>.
+	 * @param summary The summary of the individual
+	 * @return The measure per component
+	 * */
+	public double [] prepare(ArchitectureSummary summary);
+}
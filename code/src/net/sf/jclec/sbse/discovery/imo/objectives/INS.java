@@ -2,6 +2,9 @@ package net.sf.jclec.sbse.discovery.imo.objectives;
 
 import net.sf.jclec.IFitness;
 import net.sf.jclec.fitness.SimpleValueFitness;
+import net.sf.jclec.sbse.discovery.GrammarSymbols;
+import net.sf.jclec.sbse.discovery.imo.ArchitectureSummary;
+import net.sf.jclec.sbse.discovery.imo.ConnectorEnd;
 import net.sf.jclec.sbse.discovery.imo.InteractiveMOIndividual;
 import net.sf.jclec.syntaxtree.SyntaxTree;
 
@@ -28,7 +31,7 @@ import net.sf.jclec.syntaxtree.SyntaxTree;
  * @author Sebastian Ventura
  * @version 1.0
  * */
-public class INS extends Metric {
+public class INS extends Metric implements IFusedMetric {
 
 	/////////////////////////////////////////////////////////////////
 	// --------------------------------------------------- Properties
@@ -57,13 +60,13 @@ public class INS extends Metric {
 	 * {@inheritDoc}
 	 * */
 	@Override
-	protected void prepare(InteractiveMOIndividual ind) {
+	public double [] prepare(InteractiveMOIndividual ind) {
 		// Get genotype
 		SyntaxTree genotype = ind.getGenotype();
 		int numOfComponents = ind.getNumberOfComponents();
 
 		int j;
-		String symbol;
+		int code;
 
 		// Initialize
 		boolean [][] afferentRelations = new boolean[numOfComponents][numOfComponents];
@@ -77,33 +80,27 @@ public class INS extends Metric {
 		}
 		
 		// search the node where the connectors begin
-		int i=0;
-		while(!genotype.getNode(i).getSymbol().equalsIgnoreCase("connectors")){
-			i++;
-		}
+		int i=ind.getComponentIndex().getConnectorsStart();
 		
 		// For each connector, extract the afferent and efferent relations for all the component
 		int provComponent = -1, reqComponent = -1;
-		String [] aux;
 		while(i<genotype.size()){
 			
-			symbol = genotype.getNode(i).getSymbol();
+			code = GrammarSymbols.getCode(genotype.getNode(i));
 
-			if(symbol.equalsIgnoreCase("provided-interface")){
+			if(code == GrammarSymbols.PROVIDED_INTERFACE){
 				// get the index of the component that provides the interface
-				aux = genotype.getNode(i+1).getSymbol().split("-");
-				provComponent = Integer.parseInt(aux[0].substring(aux[0].lastIndexOf("t")+1,aux[0].length())) -1;
+				provComponent = ConnectorEnd.getComponent(genotype.getNode(i+1));
 				i+=2;
 				
 			}
-			else if(symbol.equalsIgnoreCase("required-interfaces")){
+			else if(code == GrammarSymbols.REQUIRED_INTERFACES){
 				
 				j=i+1;
-				while(j<genotype.size() && !genotype.getNode(j).getSymbol().equalsIgnoreCase("connector")){
+				while(j<genotype.size() && GrammarSymbols.getCode(genotype.getNode(j)) != GrammarSymbols.CONNECTOR){
 					
 					// get the index of the component that requires the interface
-					aux = genotype.getNode(j).getSymbol().split("-");
-					reqComponent = Integer.parseInt(aux[0].substring(aux[0].lastIndexOf("t")+1,aux[0].length())) -1;
+					reqComponent = ConnectorEnd.getComponent(genotype.getNode(j));
 					
 					// update the matrix
 					afferentRelations[provComponent][reqComponent]=true;
@@ -135,18 +132,37 @@ public class INS extends Metric {
 			else
 				ins[i] = 1.0;
 		}
-		setComponentsMeasure(ins);
-		ins = null;
+		return ins;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * */
+	@Override
+	public double [] prepare(ArchitectureSummary summary) {
+		// Instability of each component
+		int numOfComponents = summary.getNumberOfComponents();
+		double [] ins = new double[numOfComponents];
+		int numAfferent, numEfferent;
+
+		for(int i=0; i<numOfComponents; i++){
+			numAfferent = summary.getNumberOfAfferent(i);
+			numEfferent = summary.getNumberOfEfferent(i);
+			if(numAfferent!=0)
+				ins[i] = ((double)numEfferent)/((double)(numAfferent+numEfferent));
+			else
+				ins[i] = 1.0;
+		}
+		return ins;
 	}
 
 	/**
 	 * {@inheritDoc}
 	 * */
 	@Override
-	protected IFitness compute(InteractiveMOIndividual ind) {
+	public IFitness compute(InteractiveMOIndividual ind, double [] ins) {
 		int numOfComponents = ind.getNumberOfComponents();
 		double avg=0.0;
-		double [] ins = getComponentsMeasure();
 
 		// Average instability in the architecture
 		for(int i=0; i<numOfComponents; i++){
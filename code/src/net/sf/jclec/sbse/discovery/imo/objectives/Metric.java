@@ -7,6 +7,7 @@ import net.sf.jclec.IFitness;
 import net.sf.jclec.IIndividual;
 import net.sf.jclec.mo.evaluation.Objective;
 import net.sf.jclec.sbse.discovery.imo.InteractiveMOIndividual;
+import net.sf.jclec.sbse.discovery.imo.RelationshipModel;
 
 /**
  * An abstract objective for the evaluation of
@@ -37,6 +38,9 @@ public abstract class Metric extends Objective {
 	/** Dataset that contains the problem information (analysis model) */
 	protected Dataset dataset;
 
+	/** Primitive representation of the relationships in the dataset */
+	protected RelationshipModel relationships;
+
 	/** Objective name */
 	protected String name;
 
@@ -49,9 +53,6 @@ public abstract class Metric extends Objective {
 	/** Maximum number of interfaces */
 	private int maxInterfaces;
 	
-	/** Measure per component */
-	private double [] componentsMeasure;
-		
 	/////////////////////////////////////////////////////////////////
 	// ------------------------------------------------- Constructors
 	/////////////////////////////////////////////////////////////////
@@ -83,6 +84,22 @@ public abstract class Metric extends Objective {
 		this.dataset = dataset;
 	}
 	
+	/**
+	 * Get the relationship model
+	 * @return The relationship model
+	 * */
+	public RelationshipModel getRelationshipModel(){
+		return this.relationships;
+	}
+
+	/**
+	 * Set the relationship model
+	 * @param relationships The relationship model
+	 * */
+	public void setRelationshipModel(RelationshipModel relationships){
+		this.relationships = relationships;
+	}
+
 	/**
 	 * Get the objective name
 	 * @return The objective name
@@ -160,18 +177,6 @@ public abstract class Metric extends Objective {
 		this.maxInterfaces = maxInterfaces;
 	}
 	
-	public double [] getComponentsMeasure(){
-		return this.componentsMeasure;
-	}
-	
-	protected void setComponentsMeasure(double [] values){
-		int size = values.length;
-		this.componentsMeasure = new double[size];
-		for(int i=0; i<size; i++){
-			this.componentsMeasure[i] = values[i];
-		}
-	}
-	
 	/////////////////////////////////////////////////////////////////
 	// --------------------------------------------- Override methods
 	/////////////////////////////////////////////////////////////////
@@ -187,12 +192,14 @@ public abstract class Metric extends Objective {
 	 * performed in two steps:
 	 * <p>Prepare the computation (get auxiliary measures)
 	 * <p>Compute the objective value
+	 * <p>The auxiliary measures are returned to the caller,
+	 * so several individuals can be evaluated at once.
 	 * */
 	@Override
 	public IFitness evaluate(IIndividual ind){
 		// Prepare and compute the objective value
-		prepare((InteractiveMOIndividual)ind);
-		return compute((InteractiveMOIndividual)ind);
+		InteractiveMOIndividual emoInd = (InteractiveMOIndividual)ind;
+		return compute(emoInd, prepare(emoInd));
 	}
 
 	/////////////////////////////////////////////////////////////////
@@ -203,16 +210,19 @@ public abstract class Metric extends Objective {
 	 * Prepare the computation. Required characteristics
 	 * are taken from the individual.
 	 * @param ind The individual
+	 * @return The measure per component
 	 * */
-	protected abstract void prepare(InteractiveMOIndividual ind);
+	public abstract double [] prepare(InteractiveMOIndividual ind);
 
 	/**
 	 * Compute the objective value. <code>prepare()</code> 
 	 * should be executed before to prepare computation.
 	 * @see prepare(IIndividual ind)
+	 * @param ind The individual
+	 * @param measures The measure per component returned by <code>prepare()</code>
 	 * @return Result of the metric
 	 * */
-	protected abstract IFitness compute(InteractiveMOIndividual ind);
+	public abstract IFitness compute(InteractiveMOIndividual ind, double [] measures);
 	
 	/**
 	 * Compute the maximum objective value. It should be used
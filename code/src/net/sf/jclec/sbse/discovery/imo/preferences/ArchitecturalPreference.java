@@ -1,5 +1,6 @@
 package net.sf.jclec.sbse.discovery.imo.preferences;
 
+import net.sf.jclec.mo.evaluation.fitness.MOFitness;
 import net.sf.jclec.sbse.discovery.imo.InteractiveMOIndividual;
 
 /**
@@ -9,13 +10,14 @@ import net.sf.jclec.sbse.discovery.imo.InteractiveMOIndividual;
  * <p>History:
  * <ul>
  * 	<li>1.0: Creation (February 2015)
+ * 	<li>1.1: Objective values read once per individual (October 2026)
  * </ul>
  * 
  * @author Aurora Ramirez
  * @author Jose Raul Romero
  * @author Sebastian Ventura
  * 
- * @version 1.0
+ * @version 1.1
  */
 public abstract class ArchitecturalPreference {
 
@@ -166,6 +168,30 @@ public abstract class ArchitecturalPreference {
 	public boolean wasAddedInLastInteraction(){
 		return this.addedLastInteraction;
 	}
+
+	/////////////////////////////////////////////////////////////////
+	// -------------------------------------------- Protected methods
+	/////////////////////////////////////////////////////////////////
+
+	/**
+	 * Get the objective values of an individual
+	 * @param individual The individual
+	 * @return The objective values, NaN if a value
+	 * cannot be obtained
+	 * */
+	protected static double [] getObjectiveValues(InteractiveMOIndividual individual){
+		MOFitness fitness = (MOFitness)individual.getFitness();
+		double [] values = new double[fitness.getNumberOfObjectives()];
+		for(int i=0; i<values.length; i++){
+			try {
+				values[i] = fitness.getObjectiveDoubleValue(i);
+			} catch (IllegalAccessException | IllegalArgumentException e) {
+				e.printStackTrace();
+				values[i] = Double.NaN;
+			}
+		}
+		return values;
+	}
 	
 	/////////////////////////////////////////////////////////////////
 	// --------------------------------------------- Abstract methods
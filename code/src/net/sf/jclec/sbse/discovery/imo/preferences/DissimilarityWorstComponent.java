@@ -14,12 +14,13 @@ import net.sf.jclec.syntaxtree.SyntaxTree;
  * <p>History:
  * <ul>
  * 	<li>1.0: Creation (May 2015)
+ * 	<li>1.1: Jaccard index over bitsets of classes (October 2026)
  * </ul>
  * 
  * @author Aurora Ramirez
  * @author Jose Raul Romero
  * @author Sebastian Ventura
- * @version 1.0
+ * @version 1.1
  * */
 
 public class DissimilarityWorstComponent extends SimilarityBestComponent {
@@ -61,18 +62,13 @@ public class DissimilarityWorstComponent extends SimilarityBestComponent {
 	@Override
 	public double evaluatePreference(InteractiveMOIndividual individual) {
 
-		SyntaxTree genotype = individual.getGenotype();
 		int numberOfComponents = individual.getNumberOfComponents();
-		ArrayList<String> classes;
 		double dissimilarity, maxDissimilarity = Double.POSITIVE_INFINITY;
 
 		// Locate each component in the individual
 		for(int i=0; i<numberOfComponents; i++){
-			// Get the set of classes
-			classes = extractClasses(genotype, i);
-
 			// Check the dissimilarity for this component
-			dissimilarity = 1.0 - similarity(classes);
+			dissimilarity = 1.0 - similarity(individual, i);
 
 			// Update the worst case
 			if(dissimilarity < maxDissimilarity){
@@ -3,6 +3,7 @@ package net.sf.jclec.sbse.discovery.imo.preferences;
 import java.util.ArrayList;
 
 import net.sf.jclec.sbse.discovery.imo.InteractiveMOIndividual;
+import net.sf.jclec.sbse.discovery.imo.InterfaceCatalog;
 import net.sf.jclec.syntaxtree.SyntaxTree;
 
 /**
@@ -14,12 +15,13 @@ import net.sf.jclec.syntaxtree.SyntaxTree;
  * <p>History:
  * <ul>
  * 	<li>1.0: Creation (May 2015)
+ * 	<li>1.1: Operations compared by their identifiers (October 2026)
  * </ul>
  * 
  * @author Aurora Ramirez
  * @author Jose Raul Romero
  * @author Sebastian Ventura
- * @version 1.0
+ * @version 1.1
  * */
 
 public class DissimilarityWorstInterface extends SimilarityBestInterface {
@@ -62,11 +64,10 @@ public class DissimilarityWorstInterface extends SimilarityBestInterface {
 	@Override
 	public double evaluatePreference(InteractiveMOIndividual individual) {
 
-		SyntaxTree genotype = individual.getGenotype();
+		InterfaceCatalog catalog = individual.getInterfaceCatalog();
 		int numberOfComponents = individual.getNumberOfComponents();
 		int numberOfProvInterfaces;
 		int n=0;
-		ArrayList<String> operations;
 		double dissimilarity, maxDissimilarity = Double.POSITIVE_INFINITY;
 
 		// Locate each provided interface in the individual
@@ -77,11 +78,8 @@ public class DissimilarityWorstInterface extends SimilarityBestInterface {
 			if(numberOfProvInterfaces>0){
 				for(int j=0; j<numberOfProvInterfaces; j++){
 
-					// Get the set of operations
-					operations = extractOperations(genotype, i, j, false);
-
 					// Check the similarity for this interface
-					dissimilarity = 1 - similarity(operations);
+					dissimilarity = 1 - similarity(catalog, i, j);
 
 					// Update worst case
 					if(dissimilarity < maxDissimilarity){
@@ -0,0 +1,261 @@
+package net.sf.jclec.sbse.discovery.imo.preferences;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import net.sf.jclec.sbse.discovery.imo.InteractiveMOIndividual;
+import net.sf.jclec.sbse.discovery.imo.InterfaceCatalog;
+
+/**
+ * Plan to evaluate a list of architectural preferences.
+ * The preferences are grouped by the information of the
+ * individual that they require, so an individual is decoded
+ * once (its number of components, the classes of its components,
+ * its catalog of interfaces and its objective values) and each
+ * component and interface is visited once for all the
+ * preferences of the same group. The value of each preference
+ * is the one returned by its <code>evaluatePreference</code>
+ * method. The preferences of other types are evaluated by that method.
+ *
+ * <p>The plan returns the raw value of each preference, so the
+ * priority and the confidence of the preferences are applied
+ * by the strategy as before.
+ *
+ * <p>HISTORY:
+ * <ul>
+ *  <li>1.0: Creation (October 2026)
+ * </ul>
+ *
+ * @author Aurora Ramirez
+ * @author Jose Raul Romero
+ * @author Sebastian Ventura
+ * @version 1.0
+ * @see ArchitecturalPreference
+ * */
+public class PreferencePlan {
+
+	//////////////////////////////////////////////////////////////////
+	//----------------------------------------------------- Properties
+	//////////////////////////////////////////////////////////////////
+
+	/** The preferences */
+	private ArchitecturalPreference [] preferences;
+
+	/** Positions of the component preferences */
+	private int [] components;
+
+	/** Positions of the interface preferences */
+	private int [] interfaces;
+
+	/** Positions of the preferences based on the objective values */
+	private int [] objectives;
+
+	/** Positions of the preferences on the number of components */
+	private int [] numberOfComponents;
+
+	/** Positions of the preferences of other types */
+	private int [] others;
+
+	//////////////////////////////////////////////////////////////////
+	//---------------------------------------------------- Constructor
+	//////////////////////////////////////////////////////////////////
+
+	/**
+	 * Parameterized constructor. It compiles a range of a list of preferences.
+	 * @param preferences The list of preferences
+	 * @param from The position of the first preference
+	 * @param to The position after the last preference
+	 * */
+	public PreferencePlan(List<ArchitecturalPreference> preferences, int from, int to){
+		List<Integer> components = new ArrayList<Integer>();
+		List<Integer> interfaces = new ArrayList<Integer>();
+		List<Integer> objectives = new ArrayList<Integer>();
+		List<Integer> numberOfComponents = new ArrayList<Integer>();
+		List<Integer> others = new ArrayList<Integer>();
+		Class<?> type;
+
+		this.preferences = new ArchitecturalPreference[to-from];
+		for(int i=0; i<this.preferences.length; i++){
+			this.preferences[i] = preferences.get(from+i);
+			type = this.preferences[i].getClass();
+			if(type == SimilarityBestComponent.class || type == DissimilarityWorstComponent.class){
+				components.add(i);
+			}
+			else if(type == SimilarityBestInterface.class || type == DissimilarityWorstInterface.class){
+				interfaces.add(i);
+			}
+			else if(type == SimilarityMeasureInRange.class || type == SimilarityReferencePoint.class){
+				objectives.add(i);
+			}
+			else if(type == SimilarityNumberComponents.class){
+				numberOfComponents.add(i);
+			}
+			else{
+				others.add(i);
+			}
+		}
+		this.components = toArray(components);
+		this.interfaces = toArray(interfaces);
+		this.objectives = toArray(objectives);
+		this.numberOfComponents = toArray(numberOfComponents);
+		this.others = toArray(others);
+	}
+
+	//////////////////////////////////////////////////////////////////
+	//------------------------------------------------ Get/set methods
+	//////////////////////////////////////////////////////////////////
+
+	/**
+	 * Get the number of preferences
+	 * @return The number of preferences in the plan
+	 * */
+	public int size(){
+		return this.preferences.length;
+	}
+
+	/**
+	 * Get a preference
+	 * @param index The position of the preference in the plan
+	 * @return The preference
+	 * */
+	public ArchitecturalPreference getPreference(int index){
+		return this.preferences[index];
+	}
+
+	//////////////////////////////////////////////////////////////////
+	//------------------------------------------------- Public methods
+	//////////////////////////////////////////////////////////////////
+
+	/**
+	 * Evaluate all the preferences of the plan
+	 * @param individual The individual
+	 * @return The value of each preference, in the order of the plan
+	 * */
+	public double [] evaluate(InteractiveMOIndividual individual){
+		double [] values = new double[this.preferences.length];
+		int n = individual.getNumberOfComponents();
+
+		if(this.components.length > 0){
+			evaluateComponents(individual, n, values);
+		}
+		if(this.interfaces.length > 0){
+			evaluateInterfaces(individual, n, values);
+		}
+		if(this.objectives.length > 0){
+			double [] objectiveValues = ArchitecturalPreference.getObjectiveValues(individual);
+			for(int p: this.objectives){
+				if(this.preferences[p] instanceof SimilarityMeasureInRange){
+					values[p] = ((SimilarityMeasureInRange)this.preferences[p]).evaluatePreference(objectiveValues);
+				}
+				else{
+					values[p] = ((SimilarityReferencePoint)this.preferences[p]).evaluatePreference(objectiveValues);
+				}
+			}
+		}
+		for(int p: this.numberOfComponents){
+			values[p] = this.preferences[p].evaluatePreference(individual);
+		}
+		for(int p: this.others){
+			values[p] = this.preferences[p].evaluatePreference(individual);
+		}
+		return values;
+	}
+
+	//////////////////////////////////////////////////////////////////
+	//------------------------------------------------ Private methods
+	//////////////////////////////////////////////////////////////////
+
+	/**
+	 * Evaluate the component preferences, visiting each component once
+	 * @param individual The individual
+	 * @param n The number of components
+	 * @param values The value of each preference
+	 * */
+	private void evaluateComponents(InteractiveMOIndividual individual, int n, double [] values){
+		long [][] classes = individual.getComponentClasses();
+		SimilarityBestComponent preference;
+		double similarity;
+
+		for(int p: this.components){
+			values[p] = this.preferences[p] instanceof DissimilarityWorstComponent ?
+					Double.POSITIVE_INFINITY : Double.NEGATIVE_INFINITY;
+		}
+		for(int i=0; i<n; i++){
+			for(int p: this.components){
+				preference = (SimilarityBestComponent)this.preferences[p];
+				if(preference.classSet != null && classes != null){
+					similarity = preference.similarity(classes[i]);
+				}
+				else{
+					similarity = preference.similarity(individual, i);
+				}
+				// Update the worst case or the best case
+				if(preference instanceof DissimilarityWorstComponent){
+					if(1.0 - similarity < values[p]){
+						values[p] = 1.0 - similarity;
+					}
+				}
+				else if(similarity > values[p]){
+					values[p] = similarity;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Evaluate the interface preferences, visiting each interface once.
+	 * The interfaces are visited as <code>evaluatePreference</code>
+	 * does in the interface preferences.
+	 * @param individual The individual
+	 * @param n The number of components
+	 * @param values The value of each preference
+	 * */
+	private void evaluateInterfaces(InteractiveMOIndividual individual, int n, double [] values){
+		InterfaceCatalog catalog = individual.getInterfaceCatalog();
+		int numberOfProvInterfaces = n > 0 ? individual.getNumberOfProvided(0) : 0;
+		SimilarityBestInterface preference;
+		double similarity;
+
+		for(int p: this.interfaces){
+			values[p] = this.preferences[p] instanceof DissimilarityWorstInterface ?
+					Double.POSITIVE_INFINITY : Double.NEGATIVE_INFINITY;
+		}
+		for(int i=0; i<n; i++){
+			if(numberOfProvInterfaces > 0){
+				for(int j=0; j<numberOfProvInterfaces; j++){
+					for(int p: this.interfaces){
+						preference = (SimilarityBestInterface)this.preferences[p];
+						similarity = preference.similarity(catalog, i, j);
+						// Update the worst case or the best case
+						if(preference instanceof DissimilarityWorstInterface){
+							if(1 - similarity < values[p]){
+								values[p] = 1 - similarity;
+							}
+						}
+						else if(similarity > values[p]){
+							values[p] = similarity;
+						}
+					}
+				}
+			}
+			else{
+				for(int p: this.interfaces){
+					values[p] = 0.0;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Convert a list of positions
+	 * @param list The list
+	 * @return The array of positions
+	 * */
+	private int [] toArray(List<Integer> list){
+		int [] array = new int[list.size()];
+		for(int i=0; i<array.length; i++){
+			array[i] = list.get(i);
+		}
+		return array;
+	}
+}
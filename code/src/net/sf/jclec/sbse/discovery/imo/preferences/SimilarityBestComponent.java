@@ -2,25 +2,32 @@ package net.sf.jclec.sbse.discovery.imo.preferences;
 
 import java.util.ArrayList;
 
+import net.sf.jclec.sbse.discovery.GrammarSymbols;
+import net.sf.jclec.sbse.discovery.TerminalNode;
+import net.sf.jclec.sbse.discovery.imo.ComponentIndex;
 import net.sf.jclec.sbse.discovery.imo.InteractiveMOIndividual;
 import net.sf.jclec.syntaxtree.SyntaxTree;
+import net.sf.jclec.syntaxtree.SyntaxTreeNode;
 
 /**
  *  This preference considers how good is an individual
  *  when comparing its components to the best component
  *  identified by the architect. It uses the Jaccard index
  *  to compute the similarity between two sets of classes.
+ *  When the classes of the component are identified by their
+ *  indexes, the sets are compared as bitsets.
  * 
  * <p>History:
  * <ul>
  * 	<li>1.0: Creation (February 2015)
+ * 	<li>1.1: Jaccard index over bitsets of classes (October 2026)
  * </ul>
  * 
  * @author Aurora Ramirez
  * @author Jose Raul Romero
  * @author Sebastian Ventura
  * 
- * @version 1.0
+ * @version 1.1
  * */
 public class SimilarityBestComponent extends ArchitecturalPreference {
 
@@ -34,6 +41,9 @@ public class SimilarityBestComponent extends ArchitecturalPreference {
 	/** The set of classes */
 	protected ArrayList<String> setOfClasses;
 
+	/** The set of classes as a bitset indexed by class, null if the indexes are unknown */
+	protected long [] classSet;
+
 	/////////////////////////////////////////////////////////////////
 	// ------------------------------------------------- Constructors
 	/////////////////////////////////////////////////////////////////
@@ -70,20 +80,15 @@ public class SimilarityBestComponent extends ArchitecturalPreference {
 	@Override
 	public double evaluatePreference(InteractiveMOIndividual individual) {
 
-		SyntaxTree genotype = individual.getGenotype();
 		int numberOfComponents = individual.getNumberOfComponents();
-		ArrayList<String> classes;
 		double similarity, maxSimilarity = Double.NEGATIVE_INFINITY;
 
 		//System.out.println("INDIVIDUAL: " + individual.toString());
 		
 		// Locate each component in the individual
 		for(int i=0; i<numberOfComponents; i++){
-			// Get the set of classes
-			classes = extractClasses(genotype, i);
-
 			// Check the similarity for this component
-			similarity = similarity(classes);
+			similarity = similarity(individual, i);
 
 			// Update best case
 			if(similarity > maxSimilarity){
@@ -105,12 +110,29 @@ public class SimilarityBestComponent extends ArchitecturalPreference {
 	public void setComponentSubTree(SyntaxTree component){
 		this.component = component.copy();
 		this.setOfClasses = extractClasses(component, 0);
+		this.classSet = extractClassSet(component, 0);
 	}
 
 	/////////////////////////////////////////////////////////////////
 	// ---------------------------------------------- Private methods
 	/////////////////////////////////////////////////////////////////
 
+	/**
+	 * Extract the classes of a component of an individual
+	 * @param individual The individual
+	 * @param index The index of the component
+	 * */
+	protected ArrayList<String> extractClasses(InteractiveMOIndividual individual, int index){
+		SyntaxTree genotype = individual.getGenotype();
+		ComponentIndex componentIndex = individual.getComponentIndex();
+		int end = componentIndex.getClassesEnd(index);
+		ArrayList<String> setOfClasses = new ArrayList<String>(componentIndex.getNumberOfClasses(index));
+		for(int i=componentIndex.getClassesStart(index); i<end; i++){
+			setOfClasses.add(genotype.getNode(i).getSymbol());
+		}
+		return setOfClasses;
+	}
+
 	/**
 	 * Extract the classes from the component subtree
 	 * @param tree The syntax tree that encapsulates the architecture
@@ -129,17 +151,19 @@ public class SimilarityBestComponent extends ArchitecturalPreference {
 
 			// Non terminal node
 			if(tree.getNode(i).arity()!=0){	
-				if(symbol.equalsIgnoreCase("classes")){
+				switch(GrammarSymbols.getCode(tree.getNode(i))){
+				case GrammarSymbols.CLASSES:
 					n++;
 					isClass = true;
-				}
-				if(symbol.equalsIgnoreCase("required-interfaces")){
+					break;
+				case GrammarSymbols.REQUIRED_INTERFACES:
 					isClass = false;
 					if(n==index)// the component was found, force the finish
 						finish=true;
-				}
-				if(symbol.equalsIgnoreCase("connector")){
+					break;
+				case GrammarSymbols.CONNECTOR:
 					finish = true;
+					break;
 				}
 			}
 
@@ -154,6 +178,99 @@ public class SimilarityBestComponent extends ArchitecturalPreference {
 		return setOfClasses;
 	}
 
+	/**
+	 * Extract the indexes of the classes from the component subtree
+	 * @param tree The syntax tree that encapsulates the architecture
+	 * @param index The index of the component
+	 * @return The bitset of classes, null if a class has no index
+	 * */
+	protected long [] extractClassSet(SyntaxTree tree, int index){
+		ArrayList<Integer> indexes = new ArrayList<Integer>();
+		SyntaxTreeNode node;
+		int n=-1, max=-1, classIndex;
+		boolean finish = false, isClass = false;
+
+		// Search the n-th component, as in extractClasses
+		for(int i=0; !finish; i++){
+
+			node = tree.getNode(i);
+
+			// Non terminal node
+			if(node.arity()!=0){
+				switch(GrammarSymbols.getCode(node)){
+				case GrammarSymbols.CLASSES:
+					n++;
+					isClass = true;
+					break;
+				case GrammarSymbols.REQUIRED_INTERFACES:
+					isClass = false;
+					if(n==index)
+						finish=true;
+					break;
+				case GrammarSymbols.CONNECTOR:
+					finish = true;
+					break;
+				}
+			}
+
+			// Terminal node
+			else if(n==index && isClass){
+				classIndex = node instanceof TerminalNode ? ((TerminalNode)node).getClassIndex() : -1;
+				if(classIndex == -1){
+					return null;
+				}
+				indexes.add(classIndex);
+				max = Math.max(max, classIndex);
+			}
+		}
+
+		long [] set = new long[(max+64)>>>6];
+		for(int c: indexes){
+			set[c>>>6] |= 1L << c;
+		}
+		return set;
+	}
+
+	/**
+	 * Compute the similarity between the best component
+	 * and a component of an individual. The bitsets of
+	 * classes are used if they are available for both of them.
+	 * @param individual The individual
+	 * @param index The index of the component
+	 * @return A double value in [0,1] representing the similarity
+	 * */
+	protected double similarity(InteractiveMOIndividual individual, int index){
+		if(this.classSet != null){
+			long [][] classes = individual.getComponentClasses();
+			if(classes != null){
+				return similarity(classes[index]);
+			}
+		}
+		return similarity(extractClasses(individual, index));
+	}
+
+	/**
+	 * Compute the similarity between the best component
+	 * and another component. It uses the Jaccard index,
+	 * computed from the number of bits in the intersection
+	 * and the union of both sets.
+	 * @param otherClassSet The bitset of classes of the other component
+	 * @return A double value in [0,1] representing the similarity between
+	 * the components in terms of their classes.
+	 * */
+	public double similarity(long [] otherClassSet){
+		int inCommon = 0, nTotalDifferentClasses = 0;
+		int size = Math.max(this.classSet.length, otherClassSet.length);
+		long best, other;
+		for(int i=0; i<size; i++){
+			best = i < this.classSet.length ? this.classSet[i] : 0L;
+			other = i < otherClassSet.length ? otherClassSet[i] : 0L;
+			inCommon += Long.bitCount(best & other);
+			nTotalDifferentClasses += Long.bitCount(best | other);
+		}
+		return (double)inCommon / (double)nTotalDifferentClasses;
+	}
+
 	/**
 	 * Compute the similarity between the best component
 	 * and another component. It uses the Jaccard index.
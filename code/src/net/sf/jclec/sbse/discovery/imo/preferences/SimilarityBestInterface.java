@@ -1,8 +1,12 @@
 package net.sf.jclec.sbse.discovery.imo.preferences;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 
+import net.sf.jclec.sbse.discovery.GrammarSymbols;
 import net.sf.jclec.sbse.discovery.imo.InteractiveMOIndividual;
+import net.sf.jclec.sbse.discovery.imo.InterfaceCatalog;
+import net.sf.jclec.sbse.discovery.imo.OperationTable;
 import net.sf.jclec.syntaxtree.SyntaxTree;
 
 /**
@@ -10,16 +14,20 @@ import net.sf.jclec.syntaxtree.SyntaxTree;
  *  when comparing its interfaces to the best interface
  *  identified by the architect. It uses the Jaccard index
  *  to compute the similarity between two sets of operations.
+ *  The operations are compared by their identifiers in the
+ *  table of operations of the schema.
  * 
  * <p>History:
  * <ul>
  * 	<li>1.0: Creation (May 2015)
+ * 	<li>1.1: Operations compared by their identifiers (October 2026)
+ * 	<li>1.2: Identifiers given by the table of the schema (October 2026)
  * </ul>
  * 
  * @author Aurora Ramirez
  * @author Jose Raul Romero
  * @author Sebastian Ventura
- * @version 1.0
+ * @version 1.2
  * */
 public class SimilarityBestInterface extends ArchitecturalPreference {
 
@@ -33,6 +41,12 @@ public class SimilarityBestInterface extends ArchitecturalPreference {
 	/** The set of operations */
 	protected ArrayList<String> setOfOperations;
 
+	/** The identifiers of the operations, sorted */
+	protected transient int [] operationIds;
+
+	/** The table that gave the identifiers of the operations */
+	protected transient OperationTable operationTable;
+
 	/////////////////////////////////////////////////////////////////
 	// ------------------------------------------------- Constructors
 	/////////////////////////////////////////////////////////////////
@@ -71,11 +85,10 @@ public class SimilarityBestInterface extends ArchitecturalPreference {
 	 * */
 	@Override
 	public double evaluatePreference(InteractiveMOIndividual individual) {
-		SyntaxTree genotype = individual.getGenotype();
+		InterfaceCatalog catalog = individual.getInterfaceCatalog();
 		int numberOfComponents = individual.getNumberOfComponents();
 		int numberOfProvInterfaces;
 		int n=0;
-		ArrayList<String> operations;
 		double similarity, maxSimilarity = Double.NEGATIVE_INFINITY;
 
 		// Locate each provided interface in the individual
@@ -86,11 +99,8 @@ public class SimilarityBestInterface extends ArchitecturalPreference {
 			if(numberOfProvInterfaces > 0){
 				for(int j=0; j<numberOfProvInterfaces; j++){
 
-					// Get the set of operations
-					operations = extractOperations(genotype, i, j, false);
-
 					// Check the similarity for this interface
-					similarity = similarity(operations);
+					similarity = similarity(catalog, i, j);
 
 					// Update most similar component
 					if(similarity > maxSimilarity){
@@ -118,6 +128,7 @@ public class SimilarityBestInterface extends ArchitecturalPreference {
 	public void setInterfaceSubTree(SyntaxTree interfaceSubTree, int interfaceIndex){
 		this.interfaceSubTree = interfaceSubTree.copy();
 		this.setOfOperations = extractOperations(interfaceSubTree, 0, interfaceIndex, true);
+		this.operationIds = null;
 		/*System.out.println("Operations:");
 		for(int i=0; i<setOfOperations.size(); i++){
 			System.out.println("\t"+setOfOperations.get(i));
@@ -150,21 +161,23 @@ public class SimilarityBestInterface extends ArchitecturalPreference {
 
 			// Non terminal node
 			if(tree.getNode(i).arity()!=0){
-				if(symbol.equalsIgnoreCase("provided-interfaces")){
+				switch(GrammarSymbols.getCode(tree.getNode(i))){
+				case GrammarSymbols.PROVIDED_INTERFACES:
 					nC++;
 					nI=-1;
-				}
-				else if(symbol.equalsIgnoreCase("interface")){
+					break;
+				case GrammarSymbols.INTERFACE:
 					nI++;
 					isInterface = true;
-				}
-				else if(symbol.equalsIgnoreCase("connector")){
+					break;
+				case GrammarSymbols.CONNECTOR:
 					finish = true;
 					isInterface = false;
-				}
-				else if(symbol.equalsIgnoreCase("component")){
+					break;
+				case GrammarSymbols.COMPONENT:
 					nI=-1;
 					isInterface = false;
+					break;
 				}
 			}
 
@@ -183,6 +196,52 @@ public class SimilarityBestInterface extends ArchitecturalPreference {
 		return setOfOperations;
 	}
 
+	/**
+	 * Get the identifiers of the operations of the best interface.
+	 * They are computed again if the table changes.
+	 * @param table The table of operations of the schema
+	 * @return The sorted identifiers
+	 * */
+	protected synchronized int [] getOperationIds(OperationTable table){
+		if(this.operationIds == null || this.operationTable != table){
+			int [] ids = new int[this.setOfOperations.size()];
+			for(int i=0; i<ids.length; i++){
+				ids[i] = table.getOperationId(this.setOfOperations.get(i));
+			}
+			Arrays.sort(ids);
+			this.operationIds = ids;
+			this.operationTable = table;
+		}
+		return this.operationIds;
+	}
+
+	/**
+	 * Compute the similarity between the best interface and the
+	 * interface of an individual that <code>extractOperations</code>
+	 * obtains from its genotype. Since the scan of the genotype
+	 * continues until the next provided interfaces, the operations
+	 * of the required interface at the same position in the next
+	 * component are also considered.
+	 * @param catalog The catalog of interfaces of the individual
+	 * @param componentIndex The index of the component
+	 * @param interfaceIndex The index of the provided interface
+	 * @return A double value in [0,1] representing the similarity between
+	 * the interfaces in terms of their operations.
+	 * */
+	protected double similarity(InterfaceCatalog catalog, int componentIndex, int interfaceIndex){
+		int [] best = getOperationIds(catalog.getOperationTable());
+		int [] provided = new int[0], required = new int[0];
+		if(interfaceIndex < catalog.getNumberOfProvided(componentIndex)){
+			provided = catalog.getProvided(componentIndex, interfaceIndex);
+		}
+		if(componentIndex+1 < catalog.getNumberOfComponents() && interfaceIndex < catalog.getNumberOfRequired(componentIndex+1)){
+			required = catalog.getRequired(componentIndex+1, interfaceIndex);
+		}
+		int inCommon = InterfaceCatalog.countContained(best, provided, required);
+		int nTotalDifferentOperations = best.length + provided.length + required.length - inCommon;
+		return (double)inCommon / (double)nTotalDifferentOperations;
+	}
+
 	/**
 	 * Compute the similarity between the best interface
 	 * and another interface. It uses the Jaccard index.
@@ -1,6 +1,5 @@
 package net.sf.jclec.sbse.discovery.imo.preferences;
 
-import net.sf.jclec.mo.evaluation.fitness.MOFitness;
 import net.sf.jclec.sbse.discovery.imo.InteractiveMOIndividual;
 
 /**
@@ -11,13 +10,14 @@ import net.sf.jclec.sbse.discovery.imo.InteractiveMOIndividual;
  * <p>History:
  * <ul>
  * 	<li>1.0: Creation (February 2015)
+ * 	<li>1.1: Evaluation over the objective values (October 2026)
  * </ul>
  * 
  * @author Aurora Ramirez
  * @author Jose Raul Romero
  * @author Sebastian Ventura
  * 
- * @version 1.0
+ * @version 1.1
  * */
 public class SimilarityMeasureInRange extends ArchitecturalPreference {
 
@@ -73,13 +73,24 @@ public class SimilarityMeasureInRange extends ArchitecturalPreference {
 				index = i;
 		}*/
 
+		return evaluatePreference(getObjectiveValues(individual));
+	}
+
+	/////////////////////////////////////////////////////////////////
+	// ----------------------------------------------- Public methods
+	/////////////////////////////////////////////////////////////////
+
+	/**
+	 * Evaluate the preference from the objective values
+	 * @param objectives The objective values of the individual
+	 * @return The similarity, -1 if the value is not available
+	 * */
+	public double evaluatePreference(double [] objectives){
 		// Compare the value
 		double value = -1;
 		double similarity = -1;
-		try {
-			value = ((MOFitness)individual.getFitness()).getObjectiveDoubleValue(index);
-		} catch (IllegalAccessException | IllegalArgumentException e) {
-			e.printStackTrace();
+		if(this.index < objectives.length && !Double.isNaN(objectives[this.index])){
+			value = objectives[this.index];
 		}
 
 		if(value!=-1){
@@ -88,10 +99,6 @@ public class SimilarityMeasureInRange extends ArchitecturalPreference {
 		return similarity;
 	}
 
-	/////////////////////////////////////////////////////////////////
-	// ----------------------------------------------- Public methods
-	/////////////////////////////////////////////////////////////////
-
 	/**
 	 * Set the parameters of the preference
 	 * @param name The objective function name
@@ -1,6 +1,5 @@
 package net.sf.jclec.sbse.discovery.imo.preferences;
 
-import net.sf.jclec.mo.evaluation.fitness.MOFitness;
 import net.sf.jclec.sbse.discovery.imo.InteractiveMOIndividual;
 
 /**
@@ -12,12 +11,13 @@ import net.sf.jclec.sbse.discovery.imo.InteractiveMOIndividual;
  * <p>History:
  * <ul>
  * 	<li>1.0: Creation (April 2016)
+ * 	<li>1.1: Evaluation over the objective values (October 2026)
  * </ul>
  * 
  * @author Aurora Ramirez
  * @author Jose Raul Romero
  * @author Sebastian Ventura
- * @version 1.0
+ * @version 1.1
  * */
 public class SimilarityReferencePoint extends ArchitecturalPreference {
 
@@ -56,37 +56,24 @@ public class SimilarityReferencePoint extends ArchitecturalPreference {
 
 	@Override
 	public double evaluatePreference(InteractiveMOIndividual individual) {
+		return evaluatePreference(getObjectiveValues(individual));
+	}
+
+	/**
+	 * Evaluate the preference from the objective values
+	 * @param objectives The objective values of the individual
+	 * @return The inverted value of the achievement scalarizing function
+	 * */
+	public double evaluatePreference(double [] objectives) {
 		double max = Double.NEGATIVE_INFINITY;
 		double distance;
 
-		///////////////////////////////////
-		/*System.out.print("Reference point: ");
-		for(int i=0; i<referencePoint.length; i++){
-			System.out.print(referencePoint[i] + " ");
-		}
-		System.out.print("\nWeights: ");
-		for(int i=0; i<this.weights.length; i++){
-			System.out.print(weights[i] + " ");
-		}
-		System.out.print("\nObjective values:");
-		for(int i=0; i<this.weights.length; i++){
-			try{
-				System.out.print((((MOFitness)individual.getFitness()).getObjectiveDoubleValue(i)) + " ");
-			} catch (IllegalAccessException | IllegalArgumentException e) {
-				e.printStackTrace();
-			}
-		}
-		System.out.println("\nComputing ASF...");*/
-		// compute the achievement scalarizing function
-		for(int i=0; i<referencePoint.length; i++){
-			try {
-				distance = this.weights[i]*(((MOFitness)individual.getFitness()).getObjectiveDoubleValue(i)-this.referencePoint[i]); // minimization formulation
-				//System.out.println("\ti=" + i+" distance="+distance + " max=" + max);
-				if(distance > 0 && distance > max)
-					max = distance;
-			} catch (IllegalAccessException | IllegalArgumentException e) {
-				e.printStackTrace();
-			}
+		// compute the achievement scalarizing function, the objectives
+		// without value are not considered
+		for(int i=0; i<referencePoint.length && i<objectives.length; i++){
+			distance = this.weights[i]*(objectives[i]-this.referencePoint[i]); // minimization formulation
+			if(distance > 0 && distance > max)
+				max = distance;
 		}
 
 		// Invert the preference value (minimize the achievement scalarizing function)
@@ -118,9 +118,9 @@ public class OnePointCrossover extends InteractiveMORecombinator {
 		System.out.println("Son 1: #comp=" + nComponents);*/
 		// If the number of components is valid, add the son
 		if(nComponents >= this.schema.getMinNumOfComp() && nComponents <= this.schema.getMaxNumOfComp()){
-			// Create the individual
-			tree = this.schema.createSyntaxTree(nComponents, distSon);
-			son = ((InteractiveMOSpecies)species).createIndividual(tree);
+			// Create the individual, the components not affected by the crossover are copied from the first parent
+			tree = this.schema.createSyntaxTree(nComponents, distSon, (InteractiveMOIndividual)parentsBuffer.get(parentsCounter));
+			son = ((InteractiveMOSpecies)species).createIndividual(tree, distSon.clone());
 			//System.out.println("Add Son 1: #comp="+ ((IMOIndividual)son).getNumberOfComponents());
 			sonsBuffer.add(son);
 			//System.out.println(((IMOIndividual)sonsBuffer.get(sonsBuffer.size()-1)));
@@ -166,9 +166,9 @@ public class OnePointCrossover extends InteractiveMORecombinator {
 		// If the number of components is valid, add the son
 		//System.out.println("Son 2: #comp=" + nComponents);
 		if(nComponents >= this.schema.getMinNumOfComp() && nComponents <= this.schema.getMaxNumOfComp()){
-			// Create the individual
-			tree = this.schema.createSyntaxTree(nComponents, distSon);
-			son = ((InteractiveMOSpecies)species).createIndividual(tree);
+			// Create the individual, the components not affected by the crossover are copied from the second parent
+			tree = this.schema.createSyntaxTree(nComponents, distSon, (InteractiveMOIndividual)parentsBuffer.get(parentsCounter+1));
+			son = ((InteractiveMOSpecies)species).createIndividual(tree, distSon.clone());
 			//System.out.println("Add Son 2: #comp="+ ((IMOIndividual)son).getNumberOfComponents());
 			sonsBuffer.add(son);
 			//System.out.println(((IMOIndividual)sonsBuffer.get(sonsBuffer.size()-1)));
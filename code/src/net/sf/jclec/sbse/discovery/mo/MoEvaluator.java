@@ -1,20 +1,19 @@
 package net.sf.jclec.sbse.discovery.mo;
 
-import java.util.ArrayList;
 import java.util.List;
 
 import org.apache.commons.configuration.Configuration;
 
 import es.uco.kdis.datapro.dataset.Dataset;
 import es.uco.kdis.datapro.dataset.InstanceIterator;
-import es.uco.kdis.datapro.dataset.column.MultiIntegerColumn;
-import es.uco.kdis.datapro.datatypes.MultiIntegerValue;
-import es.uco.kdis.datapro.datatypes.InvalidValue;
 import net.sf.jclec.IIndividual;
 import net.sf.jclec.mo.evaluation.MOEvaluator;
 import net.sf.jclec.mo.evaluation.Objective;
 import net.sf.jclec.syntaxtree.SyntaxTree;
 import net.sf.jclec.sbse.discovery.Individual;
+import net.sf.jclec.sbse.discovery.imo.ConnectedGroups;
+import net.sf.jclec.sbse.discovery.imo.RelationshipGraph;
+import net.sf.jclec.sbse.discovery.imo.RelationshipModel;
 import net.sf.jclec.sbse.discovery.mo.objectives.Metric;
 
 /**
@@ -52,14 +51,8 @@ public class MoEvaluator extends MOEvaluator {
 	/** Number of classes */
 	private int numberOfClasses;
 
-	/** Array with the indexes of classes in a component  */
-	private transient ArrayList<Integer> indexes = new ArrayList<Integer>();
-
-	/** Array of nodes visited used the graph depth function  */
-	private transient boolean visited [];
-
-	/** Classes and its correspondent group inside the component */
-	private transient int classGroup [];
+	/** Relationships between classes, decoded from the dataset */
+	private RelationshipModel relationships;
 
 	/** Maximum number of components */
 	private int maxComponents;
@@ -160,6 +153,7 @@ public class MoEvaluator extends MOEvaluator {
 		// Configure in the objectives
 		for(Objective obj: this.objectives){
 			((Metric)obj).setDataset(relationshipsDataset);
+			((Metric)obj).setRelationshipModel(this.relationships);
 			((Metric)obj).setMaxComponents(maxComponents);
 			((Metric)obj).setMinComponents(minComponents);
 			((Metric)obj).setMaxInterfaces(maxInterfaces);
@@ -173,10 +167,12 @@ public class MoEvaluator extends MOEvaluator {
 	public void setRelationshipsDataset(Dataset dataset){ 
 		this.relationshipsDataset = dataset;
 		this.numberOfClasses = this.relationshipsDataset.getColumns().size();
+		this.relationships = new RelationshipModel(this.relationshipsDataset);
 		
-		// Set dataset in the metrics
+		// Set dataset and relationships in the metrics
 		for(Objective obj: this.objectives){
 			((Metric)obj).setDataset(this.relationshipsDataset);
+			((Metric)obj).setRelationshipModel(this.relationships);
 		}
 	}
 	
@@ -268,7 +264,7 @@ public class MoEvaluator extends MOEvaluator {
 				componentNumClasses[actualCmp]++;
 
 				// Set the component at which the class belongs
-				index = this.relationshipsDataset.getIndexOfColumn(this.relationshipsDataset.getColumnByName(symbol));
+				index = this.relationships.getClassIndex(genotype.getNode(i));
 				distribution[index] = actualCmp;
 			}
 		}// end of tree route
@@ -287,16 +283,17 @@ public class MoEvaluator extends MOEvaluator {
 		SyntaxTree genotype = ind.getGenotype();
 
 		int numberOfComponents = ind.getNumberOfComponents();
-		int numberOfClasses = this.relationshipsDataset.getColumns().size();
+		int numberOfClasses = this.relationships.getNumberOfClasses();
 
-		int classIndex, actualCmp=-1;
+		int actualCmp=-1, first=0, last=0;
 		boolean isClass = false, isConnector = false;
-		MultiIntegerColumn column;
 		String symbol;
 
 		// Initialize
-		this.classGroup = new int [numberOfClasses];
+		ConnectedGroups engine = this.relationships.getGraph().getConnectedGroups();
+		int [] classGroup = new int [numberOfClasses];
 		int componentNumGroups[] = new int[numberOfComponents];
+		int [] indexes = new int[numberOfClasses];
 
 		// Compute metrics for each component in the individual
 		for(int i=1; !isConnector; i++){
@@ -311,12 +308,12 @@ public class MoEvaluator extends MOEvaluator {
 					isClass=true;
 					actualCmp++;
 					// New set of classes
-					this.indexes.clear();
+					first = last;
 				}
 				else if(symbol.equalsIgnoreCase("required-interfaces")){
 					isClass=false;
 					// End of component classes, compute the number of groups
-					componentNumGroups[actualCmp] = this.numberOfGroups();
+					componentNumGroups[actualCmp] = engine.computeGroups(indexes, first, last, classGroup);
 				}
 				else if(symbol.equalsIgnoreCase("connectors")){
 					isConnector=true;
@@ -325,17 +322,13 @@ public class MoEvaluator extends MOEvaluator {
 			// Terminal node
 			else if(isClass){
 
-				// Get the dataset information about the class
-				column = (MultiIntegerColumn) this.relationshipsDataset.getColumnByName(symbol);
-				classIndex = this.relationshipsDataset.getIndexOfColumn(column);
-
 				// Add the class index in the array of indexes
-				this.indexes.add(classIndex);
+				indexes[last++] = this.relationships.getClassIndex(genotype.getNode(i));
 			}
 		}// end of tree route
 
 		// Set on individual
-		ind.setClassesToGroups(this.classGroup);
+		ind.setClassesToGroups(classGroup);
 		ind.setNumberOfGroups(componentNumGroups);
 	}
 
@@ -344,101 +337,29 @@ public class MoEvaluator extends MOEvaluator {
 	 * @param ind: The individual
 	 * */ 
 	private void setNumberExternalRelations(Individual ind) {
-		// Get genotype
-		SyntaxTree genotype = ind.getGenotype();
 		int numberOfComponents = ind.getNumberOfComponents();
+		int [] distribution = ind.getClassesDistribution();
+		RelationshipGraph graph = this.relationships.getGraph();
+		int j, degree, nExternal;
 
-		int j, actualIndex, classIndex, actualCmp=-1, otherCmp=-1;
-		boolean isClass = false, isOtherClass = false, isConnector = false;
-		MultiIntegerColumn column;
-		int nav_ij, nav_ji;
-		String symbol;
-		Object oValue;
-		MultiIntegerValue relations_ij, relations_ji;
-		
 		// Initialize
 		int componentNumberExternalConnections [] = new int[numberOfComponents];
 
-		for(int i=0; i<numberOfComponents; i++){
-			componentNumberExternalConnections[i] = 0;
-		}
-
-		// Compute needed metrics for each component
-		for(int i=1; !isConnector; i++){
-
-			symbol = genotype.getNode(i).getSymbol();
-
-			// Non terminal node
-			if(genotype.getNode(i).arity()!=0){
-				// The symbol classes indicates the beginning of a new component
-				if(symbol.equalsIgnoreCase("classes")){
-					isClass=true;
-					actualCmp++;
-				}
-				else if(symbol.equalsIgnoreCase("required-interfaces")){
-					isClass=false;
-				}
-				else if(symbol.equalsIgnoreCase("connectors")){
-					isConnector=true;
-				}
-			}
-
-			// Terminal node
-			else{
-				// If the terminal is a class
-				if(isClass){
-
-					// Get the dataset information about the class
-					column = (MultiIntegerColumn) this.relationshipsDataset.getColumnByName(symbol);
-					actualIndex = this.relationshipsDataset.getIndexOfColumn(column);
-
-					// Check the relations with classes belonging to other components
-					otherCmp=actualCmp;			// Start in the actual component
-					j=i+1;
-
-					while(!(genotype.getNode(j).getSymbol().equalsIgnoreCase("connectors"))){
-
-						// Search a class in the other component
-						if((genotype.getNode(j-1).getSymbol().equalsIgnoreCase("classes"))){
-							isOtherClass=true;
-							otherCmp++;
-						}
-
-						if(isOtherClass){
-							// Get relations between classes
-							classIndex = this.relationshipsDataset.getIndexOfColumn(this.relationshipsDataset.getColumnByName(genotype.getNode(j).getSymbol()));
-							
-							oValue = column.getElement(classIndex);
-							
-							// Not an invalid value
-							if(!(oValue instanceof InvalidValue)){
-
-								relations_ij = (MultiIntegerValue) oValue;
-								relations_ji = (MultiIntegerValue)((MultiIntegerColumn)this.relationshipsDataset.getColumn(classIndex)).getElement(actualIndex);
-
-								// Check type and navigation of each relation
-								for(int k=1; k<relations_ij.getSize(); k+=2){
-
-									nav_ij = relations_ij.getValue(k);
-									nav_ji = relations_ji.getValue(k);
-
-									// Not a candidate interface, because its a bidirectional relation
-									if(nav_ij==nav_ji){
-										componentNumberExternalConnections[actualCmp]++;
-										componentNumberExternalConnections[otherCmp]++;
-									}
-								}
-							}
-							// End of classes in the other component
-							if(genotype.getNode(j+1).arity()!=0){
-								isOtherClass=false;
-							}
-						}
-						j++;
-					}
+		// Only the undirected neighbours of each class are checked, each pair is considered once
+		for(int i=0; i<this.numberOfClasses; i++){
+			degree = graph.getUndirectedDegree(i);
+			for(int p=0; p<degree; p++){
+				j = graph.getUndirectedNeighbour(i, p);
+
+				// The classes belong to different components
+				if(j>i && distribution[i]!=distribution[j]){
+					// Relations between classes that are not candidate interfaces (bidirectional)
+					nExternal = this.relationships.getNumberOfExternalRelations(i, j);
+					componentNumberExternalConnections[distribution[i]]+=nExternal;
+					componentNumberExternalConnections[distribution[j]]+=nExternal;
 				}
 			}
-		}// end of tree route
+		}
 
 		ind.setExternalConnections(componentNumberExternalConnections);
 	}
@@ -471,7 +392,7 @@ public class MoEvaluator extends MOEvaluator {
 			if((Boolean)instance.get(1)){
 
 				// Get the index of the class
-				index = relationshipsDataset.getIndexOfColumn(relationshipsDataset.getColumnByName(className));
+				index = this.relationships.getClassIndex(className);
 
 				// Get the corresponding component
 				component = classDistribution[index];
@@ -482,49 +403,4 @@ public class MoEvaluator extends MOEvaluator {
 
 		ind.setNumberOfAbstractClasses(numOfAbstractClasses);
 	}
-
-	/**
-	 * Compute the number of connected component
-	 * in the graph formed with the actual 
-	 * <code>indexes</code>.
-	 * @return Number of connected component
-	 * */
-	private int numberOfGroups() {
-		int i, numOfGroups = 0;
-		int size = this.indexes.size();
-		this.visited = new boolean[size];
-
-		for(i=0; i<size; i++)
-			this.visited[i]=false;
-
-		for(i=0; i<size; i++){
-			if(!this.visited[i]){
-				this.classGroup[this.indexes.get(i)]=numOfGroups; // Set group number
-				numOfGroups++;
-				graphDepthPath(i, this.indexes.get(i));
-			}
-		}
-		return numOfGroups;
-	}
-
-	/**
-	 * Realize a graph depth search marking 
-	 * visited nodes.
-	 * @param actualNode The node origin.
-	 * @param classIndex The column index in the dataset for the origin node.
-	 * */
-	private void graphDepthPath(int actualNode, int classIndex){
-		int j, size = this.visited.length;
-		// Now, the node is visited
-		this.visited[actualNode]=true;
-		for(j=0; j<size; j++){
-			// The node origin is connected with the node j, not visited yet, continue recursive depth search with j
-			if( !(((MultiIntegerColumn)this.relationshipsDataset.getColumn(classIndex)).getElement(this.indexes.get(j)) instanceof InvalidValue)
-					&& !this.visited[j]){
-
-				this.classGroup[this.indexes.get(j)]=this.classGroup[classIndex];	// Set its group number
-				graphDepthPath(j, this.indexes.get(j));
-			}
-		}
-	}
-}
\ No newline at end of file
+}
@@ -1,17 +1,12 @@
 package net.sf.jclec.sbse.discovery.mo.objectives;
 
-import java.util.List;
-
 import org.apache.commons.configuration.Configuration;
 
-import es.uco.kdis.datapro.dataset.column.ColumnAbstraction;
-import es.uco.kdis.datapro.dataset.column.MultiIntegerColumn;
-import es.uco.kdis.datapro.datatypes.MultiIntegerValue;
-import es.uco.kdis.datapro.datatypes.InvalidValue;
 import net.sf.jclec.IFitness;
 import net.sf.jclec.fitness.SimpleValueFitness;
 import net.sf.jclec.sbse.discovery.Individual;
-import net.sf.jclec.syntaxtree.SyntaxTree;
+import net.sf.jclec.sbse.discovery.imo.RelationshipGraph;
+import net.sf.jclec.sbse.discovery.imo.RelationshipModel;
 
 /**
  * External Relations Penalty (ERP) Metric
@@ -45,6 +40,9 @@ public class ERP extends Metric {
 	/** Max value for the current dataset */
 	protected double maxValue =-1;
 
+	/** Weights of the undirected relationships between each pair of classes */
+	private double [] pairWeights;
+
 	/////////////////////////////////////////////////////////////////
 	// ------------------------------------------------- Constructors
 	/////////////////////////////////////////////////////////////////
@@ -111,115 +109,39 @@ public class ERP extends Metric {
 	 * */
 	@Override
 	protected void prepare(Individual solution) {
-		// Get genotype
-		SyntaxTree genotype = solution.getGenotype();
 		int numberOfComponents = solution.getNumberOfComponents();
+		int [] distribution = solution.getClassesDistribution();
+		RelationshipGraph graph = this.relationships.getGraph();
+		int numberOfClasses = graph.getNumberOfClasses();
+		int j, degree, actualCmp, otherCmp;
+		double sumTerm;
 
-		int j, actualIndex, classIndex, actualCmp=-1, otherCmp=-1;
-		boolean isClass = false, isOtherClass = false, isConnector = false;
-		MultiIntegerColumn column;
-		int nav_ij, nav_ji, relationType;
-		String symbol;
-		MultiIntegerValue relations_ij, relations_ji;
-		Object oValue;
-		
-		// Initialize
-		this.componentSumWeightedExternalConnections = new double [numberOfComponents][numberOfComponents];
-
-		for(int i=0; i<numberOfComponents; i++){
-			for(j=0; j<numberOfComponents; j++){
-				this.componentSumWeightedExternalConnections[i][j] = 0.0;
-			}
+		if(this.pairWeights == null){
+			computeMaxValue();
 		}
 
-		// Compute needed metrics for each component
-		for(int i=1; !isConnector; i++){
-
-			symbol = genotype.getNode(i).getSymbol();
+		// Initialize
+		this.componentSumWeightedExternalConnections = new double [numberOfComponents][numberOfComponents];
 
-			// Non terminal node
-			if(genotype.getNode(i).arity()!=0){
-				// The symbol classes indicates the beginning of a new component
-				if(symbol.equalsIgnoreCase("classes")){
-					isClass=true;
-					actualCmp++;
-				}
-				else if(symbol.equalsIgnoreCase("required-interfaces")){
-					isClass=false;
-				}
-				else if(symbol.equalsIgnoreCase("connectors")){
-					isConnector=true;
+		// Check the undirected relations of each class with classes belonging to other components,
+		// each pair of classes is considered once
+		for(int i=0; i<numberOfClasses; i++){
+			actualCmp = distribution[i];
+			degree = graph.getUndirectedDegree(i);
+			for(int p=0; p<degree; p++){
+				j = graph.getUndirectedNeighbour(i, p);
+				otherCmp = distribution[j];
+				if(j>i && actualCmp!=otherCmp){
+					// Weight of the undirected relations between classes (dependences are not possible)
+					sumTerm = this.pairWeights[i*numberOfClasses+j];
+
+					// Update total sum
+					this.componentSumWeightedExternalConnections[actualCmp][otherCmp] += sumTerm;
+					this.componentSumWeightedExternalConnections[otherCmp][actualCmp] += sumTerm;
 				}
 			}
+		}
 
-			// Terminal node
-			else{
-				// If the terminal is a class
-				if(isClass){
-
-					// Get the dataset information about the class
-					column = (MultiIntegerColumn) this.dataset.getColumnByName(symbol);
-					actualIndex = this.dataset.getIndexOfColumn(column);
-
-					// Check the relations with classes belonging to other components
-					otherCmp=actualCmp;			// Start in the actual component
-					j=i+1;
-
-					while(!(genotype.getNode(j).getSymbol().equalsIgnoreCase("connectors"))){
-
-						// Search a class in the other component
-						if((genotype.getNode(j-1).getSymbol().equalsIgnoreCase("classes"))){
-							isOtherClass=true;
-							otherCmp++;
-						}
-
-						if(isOtherClass){
-							// Get relations between classes
-							classIndex = this.dataset.getIndexOfColumn(this.dataset.getColumnByName(genotype.getNode(j).getSymbol()));
-							
-							oValue = ((MultiIntegerColumn)column).getElement(classIndex);
-
-							// Not an invalid value
-							if(!(oValue instanceof InvalidValue)){
-								relations_ij = (MultiIntegerValue)oValue;
-								relations_ji = (MultiIntegerValue)((MultiIntegerColumn)this.dataset.getColumn(classIndex)).getElement(actualIndex);
-
-								// Check type and navigation of each relation
-								for(int k=1; k<relations_ij.getSize(); k+=2){
-
-									relationType = relations_ij.getValue(k-1);
-									nav_ij = relations_ij.getValue(k);
-									nav_ji = relations_ji.getValue(k);
-
-									// Not a candidate interface, because its a bidirectional relation
-									if(nav_ij==nav_ji){
-										
-										// Check the type of relation (dependences are not possible)
-										double sumTerm = 0.0;
-										switch(relationType){
-										case 1: sumTerm = this.umlWeights[0]; break; // Association
-										case 3: sumTerm = this.umlWeights[1]; break; // Aggregation
-										case 4: sumTerm = this.umlWeights[2]; break; // Composition	
-										case 5: sumTerm = this.umlWeights[3]; break; // Generalization
-										}
-
-										// Update total sum
-										this.componentSumWeightedExternalConnections[actualCmp][otherCmp] += sumTerm;
-										this.componentSumWeightedExternalConnections[otherCmp][actualCmp] += sumTerm;
-									}
-								}
-							}
-							// End of classes in the other component
-							if(genotype.getNode(j+1).arity()!=0){
-								isOtherClass=false;
-							}
-						}
-						j++;
-					}
-				}
-			}
-		}// end of tree route
-		
 		// ERP for each component
 		double [] erp = new double[numberOfComponents];
 		for(int i=0; i<numberOfComponents; i++){
@@ -257,43 +179,31 @@ public class ERP extends Metric {
 	 * not explicitly specifies its navigability)
 	 * */
 	public void computeMaxValue(){
-		Object values, values2;
-		List<ColumnAbstraction> cols = dataset.getColumns();
+		RelationshipGraph graph = this.relationships.getGraph();
+		int size = graph.getNumberOfClasses();
 		int totalRel = 0;
-		int size = cols.size(), size2;
-		MultiIntegerColumn col;
-		int type, nav_ij, nav_ji;
-		int nRelationships;
-		
-		for(int i=0; i<size; i++){
-			col = (MultiIntegerColumn) cols.get(i);
-			size2 = col.getSize();
-			for(int j=i; j<size2; j++){
-				values = col.getElement(j);
-				values2 = ((MultiIntegerColumn)this.dataset.getColumn(j)).getElement(i);
-				
-				if(!(values instanceof InvalidValue)){//Not an invalid value
-					nRelationships = ((MultiIntegerValue)values).getSize();
-					for(int k=0; k<nRelationships; k+=2){
-						// Get the type of relationship
-						type = ((MultiIntegerValue)values).getValue(k);
-						nav_ij = ((MultiIntegerValue)values).getValue(k+1);
-						nav_ji = ((MultiIntegerValue)values2).getValue(k+1);
+		int j, degree, nRelationships;
 
-						// Not a candidate interface, because its a bidirectional relation
-						if(nav_ij==nav_ji){
-							// Add the correspondent weight to the total sum
-							switch(type){
-							case 1: totalRel += this.umlWeights[0]; break; // Association
-							case 3: totalRel += this.umlWeights[1]; break; // Aggregation
-							case 4: totalRel += this.umlWeights[2]; break; // Composition	
-							case 5: totalRel += this.umlWeights[3]; break; // Generalization
-							}
-						}
+		for(int i=0; i<size; i++){
+			degree = graph.getUndirectedDegree(i);
+			for(int p=0; p<degree; p++){
+				j = graph.getUndirectedNeighbour(i, p);
+				if(j<i){
+					continue;
+				}
+				nRelationships = this.relationships.getNumberOfRelationships(i, j);
+				for(int k=0; k<nRelationships; k++){
+					// Not a candidate interface, because its a bidirectional relation
+					if(this.relationships.isUndirected(i, j, k)){
+						// Add the correspondent weight to the total sum
+						totalRel += RelationshipModel.getWeight(this.relationships.getType(i, j, k), this.umlWeights);
 					}
 				}
 			}
 		}
 		this.maxValue = totalRel;
+
+		// Weights of the relationships between each pair of classes
+		this.pairWeights = this.relationships.computeWeightedExternalRelations(this.umlWeights);
 	}
-}
\ No newline at end of file
+}
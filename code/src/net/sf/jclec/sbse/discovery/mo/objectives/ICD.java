@@ -1,8 +1,5 @@
 package net.sf.jclec.sbse.discovery.mo.objectives;
 
-import es.uco.kdis.datapro.dataset.column.MultiIntegerColumn;
-import es.uco.kdis.datapro.datatypes.MultiIntegerValue;
-import es.uco.kdis.datapro.datatypes.InvalidValue;
 import net.sf.jclec.IFitness;
 import net.sf.jclec.fitness.SimpleValueFitness;
 import net.sf.jclec.sbse.discovery.Individual;
@@ -54,9 +51,8 @@ public class ICD extends Metric {
 
 		// Get genotype
 		SyntaxTree genotype = solution.getGenotype();
-		int j, otherClassIndex, actualCmp=-1;
+		int j, classIndex, otherClassIndex, actualCmp=-1;
 		boolean isClass = false, isConnector = false;
-		MultiIntegerColumn column, otherColumn;
 		String symbol;
 
 		// Initialize
@@ -92,21 +88,14 @@ public class ICD extends Metric {
 			// Terminal node
 			else if(isClass){
 
-				// Get the dataset information about the class
-				column = (MultiIntegerColumn) this.dataset.getColumnByName(symbol);
+				// Get the index of the class
+				classIndex = this.relationships.getClassIndex(genotype.getNode(i));
 
 				// Check the relations with the rest of class in the component
 				j=i+1;	
 				while(genotype.getNode(j).arity()==0){
-					otherColumn = (MultiIntegerColumn)this.dataset.getColumnByName(genotype.getNode(j).getSymbol());
-					otherClassIndex = this.dataset.getIndexOfColumn(otherColumn);
-
-					Object relations = column.getElement(otherClassIndex);
-
-					// Not an invalid value
-					if(!(relations instanceof InvalidValue)){
-						c_in[actualCmp] += ((double)((MultiIntegerValue)relations).getSize()/2);
-					}
+					otherClassIndex = this.relationships.getClassIndex(genotype.getNode(j));
+					c_in[actualCmp] += this.relationships.getNumberOfRelationships(classIndex, otherClassIndex);
 					j++;
 				}
 			}
@@ -118,7 +107,7 @@ public class ICD extends Metric {
 		}
 
 		// Now, compute icd for each component
-		int nClasses = getDataset().getColumns().size();
+		int nClasses = this.relationships.getNumberOfClasses();
 		double [] icd = new double[numberOfComponents];
 		double ratio, classesRatio;
 		for(int i=0; i<numberOfComponents; i++){
@@ -7,6 +7,7 @@ import net.sf.jclec.IFitness;
 import net.sf.jclec.IIndividual;
 import net.sf.jclec.mo.evaluation.Objective;
 import net.sf.jclec.sbse.discovery.Individual;
+import net.sf.jclec.sbse.discovery.imo.RelationshipModel;
 
 /**
  * An abstract objective for the evaluation of
@@ -38,6 +39,9 @@ public abstract class Metric extends Objective {
 	/** Dataset that contains the problem information (analysis model) */
 	protected Dataset dataset;
 
+	/** Primitive representation of the relationships in the dataset */
+	protected RelationshipModel relationships;
+
 	/** Objective name */
 	protected String name;
 
@@ -83,6 +87,22 @@ public abstract class Metric extends Objective {
 	public void setDataset(Dataset dataset){
 		this.dataset = dataset;
 	}
+
+	/**
+	 * Get the relationship model
+	 * @return The relationship model
+	 * */
+	public RelationshipModel getRelationshipModel(){
+		return this.relationships;
+	}
+
+	/**
+	 * Set the relationship model
+	 * @param relationships The relationship model
+	 * */
+	public void setRelationshipModel(RelationshipModel relationships){
+		this.relationships = relationships;
+	}
 	
 	/**
 	 * Get the objective name
@@ -0,0 +1,192 @@
+package net.sf.jclec.sbse.discovery.imo;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import net.sf.jclec.IIndividual;
+import net.sf.jclec.util.random.IRandGen;
+
+/**
+ * Tests for the canonical hash of the architectures. An
+ * individual whose components are relabelled must have the
+ * same hash and be equivalent to the original one, whereas
+ * moving a class to another component must change the
+ * architecture. The set of architectures must find the
+ * same individual than a linear scan of the list.
+ *
+ * <p>HISTORY:
+ * <ul>
+ *  <li>1.0: Creation (October 2026)
+ * </ul>
+ *
+ * @author Aurora Ramirez
+ * @author Jose Raul Romero
+ * @author Sebastian Ventura
+ * @version 1.0
+ * @see net.sf.jclec.sbse.discovery.Individual#getArchitectureHash()
+ * @see ArchitectureSet
+ * */
+public class ArchitectureHashTest {
+
+	/** Seed of the random generator */
+	private static final long SEED = 192837465;
+
+	/** Number of individuals */
+	private static final int SIZE = 100;
+
+	/** The problem */
+	private TestProblem problem;
+
+	/** The species */
+	private InteractiveMOSpecies species;
+
+	/** The schema */
+	private InteractiveMOSchema schema;
+
+	@Before
+	public void setUp(){
+		this.problem = TestProblem.getInstance();
+		this.species = this.problem.createSpecies();
+		this.schema = (InteractiveMOSchema)this.species.getGenotypeSchema();
+	}
+
+	@Test
+	public void testRelabelledComponents(){
+		IRandGen randgen = TestProblem.createRandGen(SEED);
+		for(int i=0; i<SIZE; i++){
+			InteractiveMOIndividual ind = this.problem.createIndividual(this.species, randgen);
+			for(int r=0; r<3; r++){
+				InteractiveMOIndividual relabelled = relabel(ind, randgen);
+				assertEquals(ind.getArchitectureHash(), relabelled.getArchitectureHash());
+				assertTrue(ind.isEquivalent(relabelled));
+				assertTrue(relabelled.isEquivalent(ind));
+			}
+		}
+	}
+
+	@Test
+	public void testMovedClass(){
+		IRandGen randgen = TestProblem.createRandGen(SEED+1);
+		int numberOfMoves = 0;
+		for(int i=0; i<SIZE; i++){
+			InteractiveMOIndividual ind = this.problem.createIndividual(this.species, randgen);
+			int [] distribution = ind.getClassesDistribution().clone();
+			int n = ind.getNumberOfComponents();
+			int moved = randgen.choose(0, distribution.length);
+			int target = (distribution[moved] + randgen.choose(1, n)) % n;
+
+			// the source component should not become empty
+			int classesInSource = 0;
+			for(int c: distribution){
+				if(c == distribution[moved]){
+					classesInSource++;
+				}
+			}
+			if(classesInSource > 1){
+				distribution[moved] = target;
+				InteractiveMOIndividual other = create(n, distribution);
+				assertFalse(ind.isEquivalent(other));
+				assertFalse(other.isEquivalent(ind));
+				numberOfMoves++;
+			}
+		}
+		assertTrue(numberOfMoves > 0);
+	}
+
+	@Test
+	public void testSetEqualsLinearScan(){
+		IRandGen randgen = TestProblem.createRandGen(SEED+2);
+		List<IIndividual> list = new ArrayList<IIndividual>();
+		for(int i=0; i<SIZE; i++){
+			InteractiveMOIndividual ind = this.problem.createIndividual(this.species, randgen);
+			list.add(ind);
+			if(randgen.coin()){
+				list.add(relabel(ind, randgen));
+			}
+		}
+		ArchitectureSet set = new ArchitectureSet(list);
+		assertEquals(list.size(), set.size());
+
+		for(int i=0; i<SIZE; i++){
+			InteractiveMOIndividual query = randgen.coin() ?
+					relabel((InteractiveMOIndividual)list.get(randgen.choose(0, list.size())), randgen) :
+					this.problem.createIndividual(this.species, randgen);
+			InteractiveMOIndividual expected = null;
+			for(IIndividual member: list){
+				if(query.isEquivalent((InteractiveMOIndividual)member)){
+					expected = (InteractiveMOIndividual)member;
+					break;
+				}
+			}
+			assertSame(expected, set.findEquivalent(query));
+			assertEquals(expected != null, set.containsEquivalent(query));
+		}
+
+		// the removed individual is not found, but the equivalent ones are
+		InteractiveMOIndividual first = (InteractiveMOIndividual)list.get(0);
+		assertTrue(set.remove(first));
+		assertFalse(set.remove(first));
+		assertSame(findOther(list, first), set.findEquivalent(first));
+	}
+
+	/**
+	 * Create an individual whose components are relabelled
+	 * with a random permutation
+	 * @param ind The individual
+	 * @param randgen The random generator
+	 * @return The new individual, the same architecture
+	 * */
+	private InteractiveMOIndividual relabel(InteractiveMOIndividual ind, IRandGen randgen){
+		int n = ind.getNumberOfComponents();
+		int [] permutation = new int[n];
+		for(int c=0; c<n; c++){
+			permutation[c] = c;
+		}
+		for(int c=n-1; c>0; c--){
+			int j = randgen.choose(0, c+1);
+			int aux = permutation[c];
+			permutation[c] = permutation[j];
+			permutation[j] = aux;
+		}
+		int [] distribution = ind.getClassesDistribution();
+		int [] relabelled = new int[distribution.length];
+		for(int i=0; i<distribution.length; i++){
+			relabelled[i] = permutation[distribution[i]];
+		}
+		return create(n, relabelled);
+	}
+
+	/**
+	 * Create an individual
+	 * @param numberOfComponents The number of components
+	 * @param distribution The distribution of classes
+	 * @return The new individual
+	 * */
+	private InteractiveMOIndividual create(int numberOfComponents, int [] distribution){
+		return (InteractiveMOIndividual)this.species.createIndividual(
+				this.schema.createSyntaxTree(numberOfComponents, distribution), distribution);
+	}
+
+	/**
+	 * Find another individual equivalent to the given one
+	 * @param list The list of individuals
+	 * @param ind The individual
+	 * @return The first equivalent individual other than the given instance, null if it does not exist
+	 * */
+	private InteractiveMOIndividual findOther(List<IIndividual> list, InteractiveMOIndividual ind){
+		for(IIndividual member: list){
+			if(member != ind && ind.isEquivalent((InteractiveMOIndividual)member)){
+				return (InteractiveMOIndividual)member;
+			}
+		}
+		return null;
+	}
+}
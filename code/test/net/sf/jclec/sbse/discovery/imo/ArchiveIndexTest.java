@@ -0,0 +1,233 @@
+package net.sf.jclec.sbse.discovery.imo;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+
+import net.sf.jclec.IFitness;
+import net.sf.jclec.IIndividual;
+import net.sf.jclec.binarray.BinArrayIndividual;
+import net.sf.jclec.fitness.SimpleValueFitness;
+import net.sf.jclec.mo.evaluation.fitness.MOFitness;
+
+import org.junit.Test;
+
+/**
+ * Tests for the spatial index of the archive. The archive is
+ * updated with random insertions, replacements and removals,
+ * the territory sizes of the members change through the index
+ * between queries, and the results of the queries are compared
+ * with the linear scans of <code>InteractiveMOTDStrategy</code>
+ * over a list that receives the same updates.
+ *
+ * <p>HISTORY:
+ * <ul>
+ *  <li>1.0: Creation (October 2026)
+ *  <li>1.1: Territory sizes changed through the index (October 2026)
+ * </ul>
+ *
+ * @author Aurora Ramirez
+ * @author Jose Raul Romero
+ * @author Sebastian Ventura
+ * @version 1.1
+ * @see ArchiveIndex
+ * */
+public class ArchiveIndexTest {
+
+	/** Number of objectives */
+	private static final int OBJECTIVES = 3;
+
+	/** Largest territory size */
+	private static final double MAX_TERRITORY = 0.5;
+
+	/** Identifier of the next individual */
+	private int nextId = 0;
+
+	@Test
+	public void testQueriesAfterUpdates() throws Exception {
+		Random random = new Random(1);
+		List<IIndividual> archive = new ArrayList<IIndividual>();
+		for(int i=0; i<20; i++){
+			archive.add(createIndividual(random));
+		}
+		ArchiveIndex index = new ArchiveIndex(OBJECTIVES, archive);
+
+		for(int step=0; step<3000; step++){
+			int operation = random.nextInt(10);
+			if(operation < 3 || archive.isEmpty()){
+				IIndividual ind = createIndividual(random);
+				archive.add(ind);
+				index.add(ind);
+			}
+			else if(operation < 6){
+				int position = random.nextInt(archive.size());
+				IIndividual ind = createIndividual(random);
+				archive.set(position, ind);
+				index.set(position, ind);
+			}
+			else if(operation < 9){
+				int position = random.nextInt(archive.size());
+				archive.remove(position);
+				index.remove(position);
+			}
+			else if(random.nextInt(20) == 0){
+				archive.clear();
+				index.clear();
+			}
+
+			// the strategy changes the territories of the members
+			if(!archive.isEmpty() && random.nextInt(4) == 0){
+				int position = random.nextInt(archive.size());
+				double territory = randomTerritory(random);
+				index.setTerritory(position, territory);
+				assertEquals(territory, ((InteractiveMOFitness)archive.get(position).getFitness()).getTerritory(), 0.0);
+			}
+
+			assertEquals(archive.size(), index.size());
+			IIndividual query = createIndividual(random);
+			BitSet excluded = new BitSet();
+			for(int i=0; i<archive.size(); i++){
+				if(random.nextInt(4) == 0){
+					excluded.set(i);
+				}
+			}
+			assertEquals(nearest(archive, query, null), index.nearest(query, null));
+			assertEquals(nearest(archive, query, excluded), index.nearest(query, excluded));
+			assertEquals(countTerritories(archive, query), index.countTerritories(query));
+		}
+	}
+
+	@Test
+	public void testLargestTerritoryRemoved() throws Exception {
+		Random random = new Random(24680);
+		List<IIndividual> archive = new ArrayList<IIndividual>();
+		for(int i=0; i<50; i++){
+			archive.add(createIndividual(random));
+		}
+		ArchiveIndex index = new ArchiveIndex(OBJECTIVES, archive);
+
+		// the members with the largest territory are reduced or removed one by one
+		for(int step=0; step<archive.size(); step++){
+			int largest = 0;
+			for(int i=1; i<archive.size(); i++){
+				if(((InteractiveMOFitness)archive.get(i).getFitness()).getTerritory()
+						> ((InteractiveMOFitness)archive.get(largest).getFitness()).getTerritory()){
+					largest = i;
+				}
+			}
+			if(step%2 == 0){
+				index.setTerritory(largest, MAX_TERRITORY/10);
+			}
+			else{
+				archive.remove(largest);
+				index.remove(largest);
+			}
+			for(int q=0; q<10; q++){
+				IIndividual query = createIndividual(random);
+				assertEquals(countTerritories(archive, query), index.countTerritories(query));
+			}
+		}
+	}
+
+	/**
+	 * Find the nearest member with a linear scan
+	 * @param archive The archive
+	 * @param ind The solution
+	 * @param excluded The excluded positions, it can be null
+	 * @return The position of the first nearest member, -1 if there is not any member
+	 * */
+	private int nearest(List<IIndividual> archive, IIndividual ind, BitSet excluded) throws Exception {
+		double min = Double.POSITIVE_INFINITY, distance;
+		int position = -1;
+		for(int i=0; i<archive.size(); i++){
+			if(excluded == null || !excluded.get(i)){
+				distance = calculateDistance(ind, archive.get(i));
+				if(distance < min){
+					min = distance;
+					position = i;
+				}
+			}
+		}
+		return position;
+	}
+
+	/**
+	 * Count the members whose territory contains a solution with a linear scan
+	 * @param archive The archive
+	 * @param ind The solution
+	 * @return The number of members
+	 * */
+	private int countTerritories(List<IIndividual> archive, IIndividual ind) throws Exception {
+		int count = 0;
+		for(IIndividual member: archive){
+			if(calculateMaximumThreshold(ind, member) < ((InteractiveMOFitness)member.getFitness()).getTerritory()){
+				count++;
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * The rectilinear distance, as <code>InteractiveMOTDStrategy.calculateDistance</code>
+	 * @param solution1 The first solution
+	 * @param solution2 The second solution
+	 * @return The distance
+	 * */
+	private double calculateDistance(IIndividual solution1, IIndividual solution2) throws Exception {
+		MOFitness fitness1 = (MOFitness)solution1.getFitness();
+		MOFitness fitness2 = (MOFitness)solution2.getFitness();
+		double distance = 0.0;
+		for(int j=0; j<OBJECTIVES; j++){
+			distance += Math.abs(fitness1.getObjectiveDoubleValue(j)-fitness2.getObjectiveDoubleValue(j));
+		}
+		return distance;
+	}
+
+	/**
+	 * The maximum difference, as <code>InteractiveMOTDStrategy.calculateMaximumThreshold</code>
+	 * @param solution1 The first solution
+	 * @param solution2 The second solution
+	 * @return The maximum difference in the objective values
+	 * */
+	private double calculateMaximumThreshold(IIndividual solution1, IIndividual solution2) throws Exception {
+		MOFitness fitness1 = (MOFitness)solution1.getFitness();
+		MOFitness fitness2 = (MOFitness)solution2.getFitness();
+		double max = Double.NEGATIVE_INFINITY, distance;
+		for(int j=0; j<OBJECTIVES; j++){
+			distance = Math.abs(fitness1.getObjectiveDoubleValue(j)-fitness2.getObjectiveDoubleValue(j));
+			if(distance > max){
+				max = distance;
+			}
+		}
+		return max;
+	}
+
+	/**
+	 * Generate a random territory size, 0 in some cases
+	 * @param random The random generator
+	 * @return The territory size
+	 * */
+	private double randomTerritory(Random random){
+		return random.nextInt(6)*MAX_TERRITORY/5;
+	}
+
+	/**
+	 * Create an individual with random objective values in [0,1] and
+	 * a random territory size, repeated values are frequent
+	 * @param random The random generator
+	 * @return The individual
+	 * */
+	private IIndividual createIndividual(Random random){
+		IFitness [] components = new IFitness[OBJECTIVES];
+		for(int j=0; j<OBJECTIVES; j++){
+			components[j] = new SimpleValueFitness(random.nextInt(11)/10.0);
+		}
+		InteractiveMOFitness fitness = new InteractiveMOFitness(components);
+		fitness.setTerritory(randomTerritory(random));
+		int id = this.nextId++;
+		return new BinArrayIndividual(new byte[]{(byte)id, (byte)(id>>8), (byte)(id>>16)}, fitness);
+	}
+}
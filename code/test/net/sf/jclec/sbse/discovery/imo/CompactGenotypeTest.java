@@ -0,0 +1,142 @@
+package net.sf.jclec.sbse.discovery.imo;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import net.sf.jclec.IIndividual;
+import net.sf.jclec.syntaxtree.SyntaxTree;
+import net.sf.jclec.util.random.IRandGen;
+
+/**
+ * Tests for the compact genotype. The syntax tree built
+ * again from the compact genotype must be the original
+ * one, two genotypes of the same architecture must be
+ * equal whether they are compact or not, and a population
+ * that mixes compact and tree individuals must be
+ * evaluated as the population of tree individuals.
+ *
+ * <p>HISTORY:
+ * <ul>
+ *  <li>1.0: Creation (October 2026)
+ * </ul>
+ *
+ * @author Aurora Ramirez
+ * @author Jose Raul Romero
+ * @author Sebastian Ventura
+ * @version 1.0
+ * @see CompactGenotype
+ * */
+public class CompactGenotypeTest {
+
+	/** Seed of the random generator */
+	private static final long SEED = 246813579;
+
+	/** Number of individuals */
+	private static final int SIZE = 100;
+
+	/** Settings of the evaluator */
+	private static final String SETTINGS = "<fused-evaluation>true</fused-evaluation>";
+
+	/** Tolerance of the comparisons */
+	private static final double DELTA = 0.0;
+
+	/** The problem */
+	private TestProblem problem;
+
+	/** The species */
+	private InteractiveMOSpecies species;
+
+	/** The schema */
+	private InteractiveMOSchema schema;
+
+	@Before
+	public void setUp(){
+		this.problem = TestProblem.getInstance();
+		this.species = this.problem.createSpecies();
+		this.schema = (InteractiveMOSchema)this.species.getGenotypeSchema();
+	}
+
+	@Test
+	public void testRoundTrip(){
+		IRandGen randgen = TestProblem.createRandGen(SEED);
+		for(int i=0; i<SIZE; i++){
+			InteractiveMOIndividual ind = this.problem.createIndividual(this.species, randgen);
+			SyntaxTree original = ind.getGenotype();
+
+			CompactGenotype genotype = new CompactGenotype(ind, this.schema);
+			assertEquals(ind.getNumberOfComponents(), genotype.getNumberOfComponents());
+			assertArrayEquals(ind.getClassesDistribution(), genotype.getClassesDistribution());
+			TestProblem.assertSameTree(original, genotype.toSyntaxTree());
+
+			InteractiveMOIndividual compacted = (InteractiveMOIndividual)ind.copy();
+			compacted.compact(this.schema);
+			assertTrue(compacted.isCompact());
+			TestProblem.assertSameTree(original, compacted.getGenotype());
+			assertFalse(compacted.isCompact());
+		}
+	}
+
+	@Test
+	public void testEqualsAndHashCode(){
+		IRandGen randgen = TestProblem.createRandGen(SEED+1);
+		for(int i=0; i<SIZE; i++){
+			InteractiveMOIndividual ind = this.problem.createIndividual(this.species, randgen);
+			InteractiveMOIndividual compacted1 = (InteractiveMOIndividual)ind.copy();
+			InteractiveMOIndividual compacted2 = (InteractiveMOIndividual)ind.copy();
+			compacted1.compact(this.schema);
+			compacted2.compact(this.schema);
+
+			// Both compact
+			assertEquals(compacted1.getCompactGenotype(), compacted2.getCompactGenotype());
+			assertEquals(compacted1.getCompactGenotype().hashCode(), compacted2.getCompactGenotype().hashCode());
+			assertEquals(compacted1, compacted2);
+			assertTrue(compacted1.isCompact() && compacted2.isCompact());
+
+			// The genotype extracted from the tree
+			assertEquals(ind.getCompactGenotype(), compacted1.getCompactGenotype());
+			assertEquals(ind.getCompactGenotype().hashCode(), compacted1.getCompactGenotype().hashCode());
+
+			// Compact and tree
+			assertEquals(ind, compacted1);
+			assertEquals(compacted2, ind);
+
+			// Another architecture
+			InteractiveMOIndividual other = this.problem.createIndividual(this.species, randgen);
+			if(other.getNumberOfComponents() != ind.getNumberOfComponents()
+					|| !Arrays.equals(other.getClassesDistribution(), ind.getClassesDistribution())){
+				other.compact(this.schema);
+				assertFalse(other.getCompactGenotype().equals(compacted2.getCompactGenotype()));
+				assertFalse(other.equals(compacted2));
+			}
+		}
+	}
+
+	@Test
+	public void testMixedPopulation() throws Exception {
+		IRandGen randgen = TestProblem.createRandGen(SEED+2);
+		List<IIndividual> trees = this.problem.createIndividuals(this.species, randgen, SIZE);
+		List<IIndividual> mixed = new ArrayList<IIndividual>();
+		for(int i=0; i<SIZE; i++){
+			InteractiveMOIndividual ind = (InteractiveMOIndividual)trees.get(i).copy();
+			if(i%2 == 0){
+				ind.compact(this.schema);
+			}
+			mixed.add(ind);
+		}
+
+		this.problem.createEvaluator(this.species, SETTINGS).evaluate(trees);
+		this.problem.createEvaluator(this.species, SETTINGS).evaluate(mixed);
+		for(int i=0; i<SIZE; i++){
+			TestProblem.assertSameEvaluation((InteractiveMOIndividual)trees.get(i), (InteractiveMOIndividual)mixed.get(i), DELTA);
+		}
+	}
+}
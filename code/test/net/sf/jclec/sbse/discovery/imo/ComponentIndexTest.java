@@ -0,0 +1,166 @@
+package net.sf.jclec.sbse.discovery.imo;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import net.sf.jclec.sbse.discovery.GrammarSymbols;
+import net.sf.jclec.sbse.discovery.TerminalNode;
+import net.sf.jclec.syntaxtree.SyntaxTree;
+import net.sf.jclec.syntaxtree.SyntaxTreeNode;
+import net.sf.jclec.util.random.IRandGen;
+
+/**
+ * Tests for the index of the components. The positions
+ * stored by the index must be those found by routing the
+ * syntax tree from the root, and the number of classes and
+ * interfaces of each component must be those of the individual.
+ *
+ * <p>HISTORY:
+ * <ul>
+ *  <li>1.0: Creation (October 2026)
+ * </ul>
+ *
+ * @author Aurora Ramirez
+ * @author Jose Raul Romero
+ * @author Sebastian Ventura
+ * @version 1.0
+ * @see ComponentIndex
+ * */
+public class ComponentIndexTest {
+
+	/** Seed of the random generator */
+	private static final long SEED = 975318642;
+
+	/** Number of individuals */
+	private static final int SIZE = 200;
+
+	/** The problem */
+	private TestProblem problem;
+
+	/** The species */
+	private InteractiveMOSpecies species;
+
+	@Before
+	public void setUp(){
+		this.problem = TestProblem.getInstance();
+		this.species = this.problem.createSpecies();
+	}
+
+	@Test
+	public void testPositions(){
+		IRandGen randgen = TestProblem.createRandGen(SEED);
+		for(int i=0; i<SIZE; i++){
+			InteractiveMOIndividual ind = this.problem.createIndividual(this.species, randgen);
+			check(ind.getGenotype(), ind.getNumberOfComponents(), ind.getComponentIndex());
+		}
+	}
+
+	@Test
+	public void testCountsOfTheIndividual(){
+		IRandGen randgen = TestProblem.createRandGen(SEED+1);
+		for(int i=0; i<SIZE; i++){
+			InteractiveMOIndividual ind = this.problem.createIndividual(this.species, randgen);
+			ComponentIndex index = ind.getComponentIndex();
+			SyntaxTree tree = ind.getGenotype();
+			int [] distribution = ind.getClassesDistribution();
+			assertEquals(ind.getNumberOfComponents(), index.getNumberOfComponents());
+			for(int c=0; c<index.getNumberOfComponents(); c++){
+				assertEquals(ind.getNumberOfRequired(c), index.getNumberOfRequired(c));
+				assertEquals(ind.getNumberOfProvided(c), index.getNumberOfProvided(c));
+
+				// the classes of the component are those of the distribution
+				int numberOfClasses = 0;
+				for(int k=0; k<distribution.length; k++){
+					if(distribution[k] == c){
+						numberOfClasses++;
+					}
+				}
+				assertEquals(numberOfClasses, index.getNumberOfClasses(c));
+				for(int p=index.getClassesStart(c); p<index.getClassesEnd(c); p++){
+					assertEquals(c, distribution[((TerminalNode)tree.getNode(p)).getClassIndex()]);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Compare the index with the positions found routing the tree
+	 * @param tree The syntax tree
+	 * @param numberOfComponents The number of components
+	 * @param index The index of the components
+	 * */
+	private void check(SyntaxTree tree, int numberOfComponents, ComponentIndex index){
+		int [] component = new int[numberOfComponents];
+		int [] classes = new int[numberOfComponents];
+		int [] required = new int[numberOfComponents];
+		int [] provided = new int[numberOfComponents];
+		List<List<Integer>> requiredInterfaces = new ArrayList<List<Integer>>();
+		List<List<Integer>> providedInterfaces = new ArrayList<List<Integer>>();
+		int actual = -1, connectors = tree.size();
+		boolean inProvided = false;
+		SyntaxTreeNode node;
+
+		for(int i=0; i<tree.size() && connectors == tree.size(); i++){
+			node = tree.getNode(i);
+			if(node.arity() != 0){
+				switch(GrammarSymbols.getCode(node)){
+				case GrammarSymbols.COMPONENT:
+					actual++;
+					component[actual] = i;
+					requiredInterfaces.add(new ArrayList<Integer>());
+					providedInterfaces.add(new ArrayList<Integer>());
+					break;
+				case GrammarSymbols.CLASSES:
+					classes[actual] = i+1;
+					break;
+				case GrammarSymbols.REQUIRED_INTERFACES:
+					required[actual] = i+1;
+					inProvided = false;
+					break;
+				case GrammarSymbols.PROVIDED_INTERFACES:
+					provided[actual] = i+1;
+					inProvided = true;
+					break;
+				case GrammarSymbols.INTERFACE:
+					(inProvided ? providedInterfaces : requiredInterfaces).get(actual).add(i);
+					break;
+				case GrammarSymbols.CONNECTORS:
+					connectors = i;
+					break;
+				}
+			}
+		}
+
+		assertEquals(numberOfComponents, actual+1);
+		assertEquals(connectors, index.getConnectorsStart());
+		for(int c=0; c<numberOfComponents; c++){
+			int end = c+1 < numberOfComponents ? component[c+1] : connectors;
+			assertEquals(component[c], index.getComponentStart(c));
+			assertEquals(end, index.getComponentEnd(c));
+			assertEquals(classes[c], index.getClassesStart(c));
+			assertEquals(required[c]-1, index.getClassesEnd(c));
+			assertEquals(required[c], index.getRequiredStart(c));
+			assertEquals(provided[c]-1, index.getRequiredEnd(c));
+			assertEquals(provided[c], index.getProvidedStart(c));
+			assertEquals(end, index.getProvidedEnd(c));
+
+			List<Integer> positions = requiredInterfaces.get(c);
+			assertEquals(positions.size(), index.getNumberOfRequired(c));
+			for(int j=0; j<positions.size(); j++){
+				assertEquals(positions.get(j).intValue(), index.getRequiredInterfaceStart(c, j));
+				assertEquals(j+1 < positions.size() ? positions.get(j+1) : provided[c]-1, index.getRequiredInterfaceEnd(c, j));
+			}
+			positions = providedInterfaces.get(c);
+			assertEquals(positions.size(), index.getNumberOfProvided(c));
+			for(int j=0; j<positions.size(); j++){
+				assertEquals(positions.get(j).intValue(), index.getProvidedInterfaceStart(c, j));
+				assertEquals(j+1 < positions.size() ? positions.get(j+1) : end, index.getProvidedInterfaceEnd(c, j));
+			}
+		}
+	}
+}
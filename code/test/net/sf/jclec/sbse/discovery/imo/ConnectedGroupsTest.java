@@ -0,0 +1,167 @@
+package net.sf.jclec.sbse.discovery.imo;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests for the computation of the groups of classes. The
+ * number of groups and the group of each class are compared
+ * with the recursive depth search that the evaluator and the
+ * add-interface mutator ran before, for random components
+ * of the analysis model, with and without an ignored relationship.
+ *
+ * <p>HISTORY:
+ * <ul>
+ *  <li>1.0: Creation (October 2026)
+ * </ul>
+ *
+ * @author Aurora Ramirez
+ * @author Jose Raul Romero
+ * @author Sebastian Ventura
+ * @version 1.0
+ * @see ConnectedGroups
+ * */
+public class ConnectedGroupsTest {
+
+	/** The model */
+	private RelationshipModel model;
+
+	/** The engine */
+	private ConnectedGroups engine;
+
+	@Before
+	public void setUp(){
+		this.model = TestProblem.getInstance().getRelationshipModel();
+		this.engine = new ConnectedGroups(this.model.getGraph());
+	}
+
+	@Test
+	public void testAllClasses(){
+		int n = this.model.getNumberOfClasses();
+		int [] classes = new int[n];
+		for(int i=0; i<n; i++){
+			classes[i] = i;
+		}
+		check(classes, 0, n, -1, -1);
+	}
+
+	@Test
+	public void testRandomComponents(){
+		Random random = new Random(1);
+		int n = this.model.getNumberOfClasses();
+		for(int t=0; t<500; t++){
+			// classes of all the components, grouped by component
+			int [] classes = shuffledClasses(random, n);
+			int numberOfComponents = random.nextInt(Math.min(n, 6))+1;
+			int from = 0, to;
+			for(int c=0; c<numberOfComponents; c++){
+				to = c == numberOfComponents-1 ? n : from + random.nextInt(n-from-(numberOfComponents-c-1))+1;
+				check(classes, from, to, -1, -1);
+				from = to;
+			}
+		}
+	}
+
+	@Test
+	public void testIgnoredRelationship(){
+		Random random = new Random(2);
+		int n = this.model.getNumberOfClasses();
+		for(int t=0; t<500; t++){
+			int [] classes = shuffledClasses(random, n);
+			int to = random.nextInt(n)+1;
+			// a relationship between two classes of the set, if any
+			int orig = -1, dest = -1;
+			for(int p=0; orig == -1 && p<to; p++){
+				for(int q=0; q<to; q++){
+					if(p != q && this.model.areRelated(classes[p], classes[q]) && random.nextInt(3) == 0){
+						orig = classes[p];
+						dest = classes[q];
+						break;
+					}
+				}
+			}
+			check(classes, 0, to, orig, dest);
+			check(classes, 0, to, dest, orig);
+		}
+	}
+
+	/**
+	 * Compare the groups of the engine with the depth search
+	 * @param classes The classes
+	 * @param from First position of the set
+	 * @param to Last position of the set (exclusive)
+	 * @param origClass First class of the ignored relationship
+	 * @param destClass Second class of the ignored relationship
+	 * */
+	private void check(int [] classes, int from, int to, int origClass, int destClass){
+		int n = this.model.getNumberOfClasses();
+		int [] groups = new int[n];
+		int numberOfGroups = this.engine.computeGroups(classes, from, to, groups, origClass, destClass);
+
+		int size = to-from;
+		int [] expected = new int[size];
+		boolean [] visited = new boolean[size];
+		int expectedGroups = 0;
+		for(int i=0; i<size; i++){
+			if(!visited[i]){
+				expected[i] = expectedGroups++;
+				graphDepthPath(i, classes, from, to, expected, visited, origClass, destClass);
+			}
+		}
+		assertEquals(expectedGroups, numberOfGroups);
+		for(int i=0; i<size; i++){
+			assertEquals(expected[i], groups[classes[from+i]]);
+		}
+	}
+
+	/**
+	 * The recursive depth search of the add-interface mutator
+	 * @param actualNode The position of the origin in the set
+	 * @param classes The classes
+	 * @param from First position of the set
+	 * @param to Last position of the set (exclusive)
+	 * @param groups The group of each position of the set
+	 * @param visited The visited positions
+	 * @param origClass First class of the ignored relationship
+	 * @param destClass Second class of the ignored relationship
+	 * */
+	private void graphDepthPath(int actualNode, int [] classes, int from, int to, int [] groups, boolean [] visited,
+			int origClass, int destClass){
+		int classIndex = classes[from+actualNode];
+		visited[actualNode] = true;
+		for(int j=0; j<to-from; j++){
+			int other = classes[from+j];
+			if((classIndex == origClass && other != destClass) || (classIndex == destClass && other != origClass)
+					|| (classIndex != origClass && classIndex != destClass)){
+				if(this.model.areRelated(classIndex, other) && !visited[j]){
+					groups[j] = groups[actualNode];
+					graphDepthPath(j, classes, from, to, groups, visited, origClass, destClass);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Generate a random permutation of the classes
+	 * @param random The random generator
+	 * @param n The number of classes
+	 * @return The permutation
+	 * */
+	private int [] shuffledClasses(Random random, int n){
+		int [] classes = new int[n];
+		for(int i=0; i<n; i++){
+			classes[i] = i;
+		}
+		for(int i=n-1; i>0; i--){
+			int j = random.nextInt(i+1);
+			int aux = classes[i];
+			classes[i] = classes[j];
+			classes[j] = aux;
+		}
+		return classes;
+	}
+}
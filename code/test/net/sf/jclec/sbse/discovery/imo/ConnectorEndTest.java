@@ -0,0 +1,188 @@
+package net.sf.jclec.sbse.discovery.imo;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import net.sf.jclec.sbse.discovery.GrammarSymbols;
+import net.sf.jclec.sbse.discovery.TerminalNode;
+import net.sf.jclec.syntaxtree.SyntaxTree;
+import net.sf.jclec.syntaxtree.SyntaxTreeNode;
+import net.sf.jclec.util.random.IRandGen;
+
+/**
+ * Tests for the ends of the connectors. The indexes stored
+ * by the nodes and those parsed from the symbols of plain
+ * terminal nodes must be equal, also for the components and
+ * interfaces numbered with more than one digit, and the
+ * dependencies between the components of architectures with
+ * more than nine components must be found with both kinds
+ * of nodes.
+ *
+ * <p>HISTORY:
+ * <ul>
+ *  <li>1.0: Creation (October 2026)
+ * </ul>
+ *
+ * @author Aurora Ramirez
+ * @author Jose Raul Romero
+ * @author Sebastian Ventura
+ * @version 1.0
+ * @see ConnectorEnd
+ * */
+public class ConnectorEndTest {
+
+	/** Seed of the random generator */
+	private static final long SEED = 864209753;
+
+	/** Number of architectures */
+	private static final int SIZE = 50;
+
+	/** Number of components of the architectures */
+	private static final int COMPONENTS = 12;
+
+	/** Format of the symbols */
+	private static final Pattern SYMBOL = Pattern.compile("component(\\d+)-interface(\\d+)");
+
+	/** The problem */
+	private TestProblem problem;
+
+	/** The species */
+	private InteractiveMOSpecies species;
+
+	/** The schema */
+	private InteractiveMOSchema schema;
+
+	@Before
+	public void setUp(){
+		this.problem = TestProblem.getInstance();
+		this.species = this.problem.createSpecies();
+		this.schema = (InteractiveMOSchema)this.species.getGenotypeSchema();
+	}
+
+	@Test
+	public void testParseSymbols(){
+		for(int c=0; c<25; c++){
+			for(int i=0; i<15; i++){
+				ConnectorEnd end = new ConnectorEnd(c, i);
+				assertEquals("component"+(c+1)+"-interface"+(i+1), end.getSymbol());
+				TerminalNode plain = new TerminalNode(end.getSymbol(), GrammarSymbols.CONNECTOR_END);
+				assertEquals(c, ConnectorEnd.getComponent(plain));
+				assertEquals(i, ConnectorEnd.getInterface(plain));
+				assertEquals(c, ConnectorEnd.getComponent(end));
+				assertEquals(i, ConnectorEnd.getInterface(end));
+
+				ConnectorEnd copy = (ConnectorEnd)end.copy();
+				assertEquals(c, copy.getComponent());
+				assertEquals(i, copy.getInterface());
+				assertEquals(end.getSymbol(), copy.getSymbol());
+			}
+		}
+	}
+
+	@Test
+	public void testDependenciesWithManyComponents(){
+		int numberOfClasses = this.schema.getNumOfClasses();
+		assertTrue(numberOfClasses >= COMPONENTS);
+		IRandGen randgen = TestProblem.createRandGen(SEED);
+		int numberOfEnds = 0;
+
+		for(int n=0; n<SIZE; n++){
+			// each component receives one class, the rest are distributed randomly
+			int [] distribution = new int[numberOfClasses];
+			for(int i=0; i<numberOfClasses; i++){
+				distribution[i] = i < COMPONENTS ? i : randgen.choose(0, COMPONENTS);
+			}
+			for(int i=numberOfClasses-1; i>0; i--){
+				int j = randgen.choose(0, i+1);
+				int aux = distribution[i];
+				distribution[i] = distribution[j];
+				distribution[j] = aux;
+			}
+			SyntaxTree tree = this.schema.createSyntaxTree(COMPONENTS, distribution);
+			SyntaxTree plainTree = new SyntaxTree();
+			for(int i=0; i<tree.size(); i++){
+				SyntaxTreeNode node = tree.getNode(i);
+				if(node instanceof ConnectorEnd){
+					checkEnd(node);
+					plainTree.addNode(new TerminalNode(node.getSymbol(), GrammarSymbols.CONNECTOR_END));
+					numberOfEnds++;
+				}
+				else{
+					plainTree.addNode(node);
+				}
+			}
+
+			InteractiveMOIndividual ind = (InteractiveMOIndividual)this.species.createIndividual(tree, distribution);
+			InteractiveMOIndividual plainInd = (InteractiveMOIndividual)this.species.createIndividual(plainTree, distribution.clone());
+			boolean expected = isMutuallyDependent(tree);
+			assertEquals(COMPONENTS, ind.getNumberOfComponents());
+			assertEquals(expected, ind.hasMutuallyDepComponents());
+			assertEquals(expected, plainInd.hasMutuallyDepComponents());
+		}
+		assertTrue(numberOfEnds > 0);
+	}
+
+	/**
+	 * Check the indexes stored by an end of a connector
+	 * @param node The node
+	 * */
+	private void checkEnd(SyntaxTreeNode node){
+		Matcher matcher = SYMBOL.matcher(node.getSymbol());
+		assertTrue(matcher.matches());
+		assertEquals(Integer.parseInt(matcher.group(1))-1, ((ConnectorEnd)node).getComponent());
+		assertEquals(Integer.parseInt(matcher.group(2))-1, ((ConnectorEnd)node).getInterface());
+	}
+
+	/**
+	 * Check if two components depend on each other, reading
+	 * the whole numbers of the symbols of the connectors
+	 * @param tree The syntax tree
+	 * @return True if a component provides an interface to a component
+	 * that provides another interface to the first one
+	 * */
+	private boolean isMutuallyDependent(SyntaxTree tree){
+		boolean [][] connections = new boolean[COMPONENTS][COMPONENTS];
+		boolean isConnector = false, isProvided = false;
+		int provider = -1;
+		for(int i=0; i<tree.size(); i++){
+			SyntaxTreeNode node = tree.getNode(i);
+			if(node.arity() != 0){
+				String symbol = node.getSymbol();
+				if(symbol.equalsIgnoreCase("connectors")){
+					isConnector = true;
+				}
+				else if(symbol.equalsIgnoreCase("provided-interface")){
+					isProvided = true;
+				}
+				else if(symbol.equalsIgnoreCase("required-interfaces")){
+					isProvided = false;
+				}
+			}
+			else if(isConnector){
+				Matcher matcher = SYMBOL.matcher(node.getSymbol());
+				assertTrue(matcher.matches());
+				int component = Integer.parseInt(matcher.group(1))-1;
+				if(isProvided){
+					provider = component;
+				}
+				else{
+					connections[provider][component] = true;
+				}
+			}
+		}
+		for(int i=0; i<COMPONENTS; i++){
+			for(int j=i+1; j<COMPONENTS; j++){
+				if(connections[i][j] && connections[j][i]){
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+}
@@ -0,0 +1,149 @@
+package net.sf.jclec.sbse.discovery.imo;
+
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import net.sf.jclec.IIndividual;
+import net.sf.jclec.syntaxtree.SyntaxTree;
+import net.sf.jclec.util.random.IRandGen;
+
+/**
+ * Tests for the delta evaluation. Mutants are created by moving
+ * a class from a component to another one, as the move class
+ * mutator does. Each mutant is evaluated from the summary of its
+ * parent, and the result must be the same as the full evaluation
+ * of an identical architecture. Chains of moves are also checked,
+ * since the summary of a mutant is the parent summary of the next move.
+ *
+ * <p>HISTORY:
+ * <ul>
+ *  <li>1.0: Creation (October 2026)
+ * </ul>
+ *
+ * @author Aurora Ramirez
+ * @author Jose Raul Romero
+ * @author Sebastian Ventura
+ * @version 1.0
+ * @see ClassMove
+ * @see ArchitectureSummary
+ * */
+public class DeltaEvaluationTest {
+
+	/** Seed of the random generator */
+	private static final long SEED = 123456789;
+
+	/** Number of parents */
+	private static final int SIZE = 100;
+
+	/** Number of consecutive moves from each parent */
+	private static final int MOVES = 5;
+
+	/** Settings of the delta evaluation */
+	private static final String DELTA_EVALUATION = "<fused-evaluation>true</fused-evaluation>"
+			+ "<delta-evaluation>true</delta-evaluation>";
+
+	/** Settings of the full evaluation */
+	private static final String FULL_EVALUATION = "<fused-evaluation>false</fused-evaluation>";
+
+	/** Tolerance of the comparisons */
+	private static final double DELTA = 1e-9;
+
+	/** The problem */
+	private TestProblem problem;
+
+	/** The species */
+	private InteractiveMOSpecies species;
+
+	/** The schema */
+	private InteractiveMOSchema schema;
+
+	@Before
+	public void setUp(){
+		this.problem = TestProblem.getInstance();
+		this.species = this.problem.createSpecies();
+		this.schema = (InteractiveMOSchema)this.species.getGenotypeSchema();
+	}
+
+	@Test
+	public void testDeltaEqualsFull() throws Exception {
+		InteractiveMOEvaluator delta = this.problem.createEvaluator(this.species, DELTA_EVALUATION);
+		InteractiveMOEvaluator full = this.problem.createEvaluator(this.species, FULL_EVALUATION);
+		IRandGen randgen = TestProblem.createRandGen(SEED);
+		int numberOfMoves = 0;
+
+		for(int p=0; p<SIZE; p++){
+			InteractiveMOIndividual parent = this.problem.createIndividual(this.species, randgen);
+			evaluate(delta, parent);
+			for(int m=0; m<MOVES; m++){
+				InteractiveMOIndividual mutant = moveClass(parent, randgen);
+				if(mutant == null){
+					break;
+				}
+				evaluate(delta, mutant);
+				// the summary of the parent is released once the mutant is evaluated
+				assertNull(mutant.getClassMove());
+				InteractiveMOIndividual expected = (InteractiveMOIndividual)this.species.createIndividual(
+						this.schema.createSyntaxTree(mutant.getNumberOfComponents(), mutant.getClassesDistribution()));
+				evaluate(full, expected);
+				TestProblem.assertSameEvaluation(expected, mutant, DELTA);
+				numberOfMoves++;
+				parent = mutant;
+			}
+		}
+		assertTrue(numberOfMoves > 0);
+	}
+
+	/**
+	 * Create a mutant moving a random class of a component
+	 * that has, at least, two classes to another component
+	 * @param parent The parent, already evaluated
+	 * @param randgen The random generator
+	 * @return The mutant, that describes the move, null if
+	 * no component has two classes
+	 * */
+	private InteractiveMOIndividual moveClass(InteractiveMOIndividual parent, IRandGen randgen){
+		int n = parent.getNumberOfComponents();
+		int [] distribution = parent.getClassesDistribution().clone();
+		List<Integer> sources = new ArrayList<Integer>();
+		for(int c=0; c<n; c++){
+			if(parent.getNumberOfClasses(c) >= 2){
+				sources.add(c);
+			}
+		}
+		if(sources.isEmpty()){
+			return null;
+		}
+		int source = sources.get(randgen.choose(0, sources.size()));
+		int target = (source + randgen.choose(1, n)) % n;
+		List<Integer> classes = new ArrayList<Integer>();
+		for(int i=0; i<distribution.length; i++){
+			if(distribution[i] == source){
+				classes.add(i);
+			}
+		}
+		int classIndex = classes.get(randgen.choose(0, classes.size()));
+		distribution[classIndex] = target;
+
+		SyntaxTree tree = this.schema.createSyntaxTree(n, distribution);
+		InteractiveMOIndividual mutant = (InteractiveMOIndividual)this.species.createIndividual(tree);
+		mutant.setClassMove(new ClassMove(parent.getSummary(), classIndex, source, target));
+		return mutant;
+	}
+
+	/**
+	 * Evaluate an individual
+	 * @param evaluator The evaluator
+	 * @param ind The individual
+	 * */
+	private void evaluate(InteractiveMOEvaluator evaluator, InteractiveMOIndividual ind){
+		List<IIndividual> list = new ArrayList<IIndividual>();
+		list.add(ind);
+		evaluator.evaluate(list);
+	}
+}
@@ -0,0 +1,221 @@
+package net.sf.jclec.sbse.discovery.imo;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import net.sf.jclec.IIndividual;
+import net.sf.jclec.util.random.IRandGen;
+
+/**
+ * Tests for the cache of evaluations. An architecture whose
+ * components have been renumbered must share the fingerprint
+ * of the original one, so its evaluation is restored from the
+ * cache, and the restored values must be the ones of its own
+ * evaluation, with the measures in the order of its components.
+ * A different architecture with the same key must not be restored.
+ *
+ * <p>HISTORY:
+ * <ul>
+ *  <li>1.0: Creation (October 2026)
+ * </ul>
+ *
+ * @author Aurora Ramirez
+ * @author Jose Raul Romero
+ * @author Sebastian Ventura
+ * @version 1.0
+ * @see FitnessCache
+ * */
+public class FitnessCacheTest {
+
+	/** Seed of the random generator */
+	private static final long SEED = 987654321;
+
+	/** Number of individuals */
+	private static final int SIZE = 100;
+
+	/** Settings of the routed evaluation */
+	private static final String ROUTED = "<fused-evaluation>false</fused-evaluation>";
+
+	/** Settings of the fused evaluation */
+	private static final String FUSED = "<fused-evaluation>true</fused-evaluation>";
+
+	/** Tolerance of the comparisons */
+	private static final double DELTA = 1e-9;
+
+	/** The problem */
+	private TestProblem problem;
+
+	/** The species */
+	private InteractiveMOSpecies species;
+
+	/** The schema */
+	private InteractiveMOSchema schema;
+
+	@Before
+	public void setUp(){
+		this.problem = TestProblem.getInstance();
+		this.species = this.problem.createSpecies();
+		this.schema = (InteractiveMOSchema)this.species.getGenotypeSchema();
+	}
+
+	@Test
+	public void testPermutedComponentsRouted() throws Exception {
+		checkPermutedComponents(this.problem.createEvaluator(this.species, ROUTED + cacheSize(1000)), SEED);
+	}
+
+	@Test
+	public void testPermutedComponentsFused() throws Exception {
+		checkPermutedComponents(this.problem.createEvaluator(this.species, FUSED + cacheSize(1000)), SEED+1);
+	}
+
+	@Test
+	public void testBoundedSize(){
+		InteractiveMOEvaluator evaluator = this.problem.createEvaluator(this.species, ROUTED + cacheSize(10));
+		evaluator.evaluate(this.problem.createIndividuals(this.species, TestProblem.createRandGen(SEED+2), SIZE));
+		assertEquals(10, evaluator.getFitnessCache().getMaxSize());
+		assertTrue(evaluator.getFitnessCache().size() <= 10);
+	}
+
+	@Test
+	public void testCollisionConfirmed(){
+		InteractiveMOEvaluator evaluator = this.problem.createEvaluator(this.species, ROUTED + cacheSize(10));
+		FitnessCache cache = evaluator.getFitnessCache();
+		IRandGen randgen = TestProblem.createRandGen(SEED+3);
+		InteractiveMOIndividual stored = this.problem.createIndividual(this.species, randgen);
+		evaluate(evaluator, stored);
+
+		// Another architecture under the key of the stored one
+		int [] distribution = stored.getClassesDistribution().clone();
+		int moved = 0;
+		while(countClasses(distribution, distribution[moved]) == 1){
+			moved++;
+		}
+		distribution[moved] = (distribution[moved]+1) % stored.getNumberOfComponents();
+		InteractiveMOIndividual other = createIndividual(stored.getNumberOfComponents(), distribution);
+		int [] canonical = new int[stored.getNumberOfComponents()];
+		long key = cache.fingerprint(stored, canonical);
+		cache.fingerprint(other, canonical);
+
+		long misses = cache.getMisses();
+		assertFalse(cache.restore(key, canonical, other));
+		assertEquals(misses+1, cache.getMisses());
+		assertNull(other.getFitness());
+	}
+
+	/**
+	 * Count the classes in a component
+	 * @param distribution The distribution of classes
+	 * @param component The component
+	 * @return The number of classes in the component
+	 * */
+	private int countClasses(int [] distribution, int component){
+		int count = 0;
+		for(int c: distribution){
+			if(c == component){
+				count++;
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Evaluate random architectures and the same architectures
+	 * with their components renumbered
+	 * @param cached The evaluator with the cache enabled
+	 * @param seed The seed of the random generator
+	 * */
+	private void checkPermutedComponents(InteractiveMOEvaluator cached, long seed) throws Exception {
+		InteractiveMOEvaluator reference = this.problem.createEvaluator(this.species, ROUTED);
+		FitnessCache cache = cached.getFitnessCache();
+		IRandGen randgen = TestProblem.createRandGen(seed);
+
+		for(int i=0; i<SIZE; i++){
+			InteractiveMOIndividual original = this.problem.createIndividual(this.species, randgen);
+			evaluate(cached, original);
+
+			int [] distribution = permute(original, randgen);
+			InteractiveMOIndividual permuted = createIndividual(original.getNumberOfComponents(), distribution);
+			InteractiveMOIndividual expected = createIndividual(original.getNumberOfComponents(), distribution);
+
+			int [] canonical1 = new int[original.getNumberOfComponents()];
+			int [] canonical2 = new int[original.getNumberOfComponents()];
+			assertEquals(cache.fingerprint(original, canonical1), cache.fingerprint(permuted, canonical2));
+
+			long hits = cache.getHits();
+			evaluate(cached, permuted);
+			assertEquals(hits+1, cache.getHits());
+
+			evaluate(reference, expected);
+			TestProblem.assertSameEvaluation(expected, permuted, DELTA);
+			for(int c=0; c<expected.getNumberOfComponents(); c++){
+				assertEquals(expected.getNumberOfClasses(c), permuted.getNumberOfClasses(c));
+				assertEquals(expected.getNumberOfGroups(c), permuted.getNumberOfGroups(c));
+				assertEquals(expected.getExternalConnections()[c], permuted.getExternalConnections()[c]);
+			}
+		}
+	}
+
+	/**
+	 * Renumber the components of an architecture
+	 * @param ind The individual
+	 * @param randgen The random generator
+	 * @return The distribution of classes with a random numbering of the components
+	 * */
+	private int [] permute(InteractiveMOIndividual ind, IRandGen randgen){
+		int n = ind.getNumberOfComponents();
+		int [] permutation = new int[n];
+		for(int c=0; c<n; c++){
+			permutation[c] = c;
+		}
+		for(int c=n-1; c>0; c--){
+			int other = randgen.choose(0, c+1);
+			int aux = permutation[c];
+			permutation[c] = permutation[other];
+			permutation[other] = aux;
+		}
+		int [] distribution = ind.getClassesDistribution().clone();
+		for(int i=0; i<distribution.length; i++){
+			distribution[i] = permutation[distribution[i]];
+		}
+		return distribution;
+	}
+
+	/**
+	 * Create an individual
+	 * @param numberOfComponents The number of components
+	 * @param distribution The distribution of classes
+	 * @return The new individual, not evaluated
+	 * */
+	private InteractiveMOIndividual createIndividual(int numberOfComponents, int [] distribution){
+		return (InteractiveMOIndividual)this.species.createIndividual(
+				this.schema.createSyntaxTree(numberOfComponents, distribution));
+	}
+
+	/**
+	 * Get the setting of the size of the cache
+	 * @param size The maximum number of evaluations
+	 * @return The setting, in XML
+	 * */
+	private String cacheSize(int size){
+		return "<fitness-cache-size>" + size + "</fitness-cache-size>";
+	}
+
+	/**
+	 * Evaluate an individual
+	 * @param evaluator The evaluator
+	 * @param ind The individual
+	 * */
+	private void evaluate(InteractiveMOEvaluator evaluator, InteractiveMOIndividual ind){
+		List<IIndividual> list = new ArrayList<IIndividual>();
+		list.add(ind);
+		evaluator.evaluate(list);
+	}
+}
@@ -0,0 +1,92 @@
+package net.sf.jclec.sbse.discovery.imo;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import net.sf.jclec.IIndividual;
+
+/**
+ * Tests for the fused evaluation. The individuals are evaluated
+ * by decoding them once for all the metrics and by routing the
+ * genotype in each metric, and the objective values and the
+ * measures per component must be the same, up to the rounding
+ * errors of a different order of the sums.
+ *
+ * <p>HISTORY:
+ * <ul>
+ *  <li>1.0: Creation (October 2026)
+ * </ul>
+ *
+ * @author Aurora Ramirez
+ * @author Jose Raul Romero
+ * @author Sebastian Ventura
+ * @version 1.0
+ * @see ArchitectureSummary
+ * @see InteractiveMOEvaluator
+ * */
+public class FusedEvaluationTest {
+
+	/** Seed of the random generators */
+	private static final long SEED = 456789123;
+
+	/** Number of individuals */
+	private static final int SIZE = 200;
+
+	/** Settings of the routed evaluation */
+	private static final String ROUTED = "<fused-evaluation>false</fused-evaluation>";
+
+	/** Settings of the fused evaluation */
+	private static final String FUSED = "<fused-evaluation>true</fused-evaluation>";
+
+	/** Tolerance of the comparisons */
+	private static final double DELTA = 1e-9;
+
+	/** The problem */
+	private TestProblem problem;
+
+	/** The species */
+	private InteractiveMOSpecies species;
+
+	@Before
+	public void setUp(){
+		this.problem = TestProblem.getInstance();
+		this.species = this.problem.createSpecies();
+	}
+
+	@Test
+	public void testFusedEqualsRouted() throws Exception {
+		InteractiveMOEvaluator routed = this.problem.createEvaluator(this.species, ROUTED);
+		InteractiveMOEvaluator fused = this.problem.createEvaluator(this.species, FUSED);
+
+		// the same architectures, created from the same seed
+		List<IIndividual> expected = this.problem.createIndividuals(this.species, TestProblem.createRandGen(SEED), SIZE);
+		List<IIndividual> actual = this.problem.createIndividuals(this.species, TestProblem.createRandGen(SEED), SIZE);
+		routed.evaluate(expected);
+		fused.evaluate(actual);
+		for(int i=0; i<SIZE; i++){
+			InteractiveMOIndividual ind = (InteractiveMOIndividual)actual.get(i);
+			TestProblem.assertSameEvaluation((InteractiveMOIndividual)expected.get(i), ind, DELTA);
+			for(int c=0; c<ind.getNumberOfComponents(); c++){
+				assertEquals(((InteractiveMOIndividual)expected.get(i)).getNumberOfGroups(c), ind.getNumberOfGroups(c));
+				assertEquals(((InteractiveMOIndividual)expected.get(i)).getNumberOfClasses(c), ind.getNumberOfClasses(c));
+			}
+		}
+	}
+
+	@Test
+	public void testCrossCheck(){
+		// an IllegalStateException is thrown if both evaluations differ
+		InteractiveMOEvaluator fused = this.problem.createEvaluator(this.species, FUSED);
+		fused.setCrossCheckEvaluation(true);
+		List<IIndividual> individuals = this.problem.createIndividuals(this.species, TestProblem.createRandGen(SEED+1), SIZE);
+		fused.evaluate(individuals);
+		for(IIndividual ind: individuals){
+			assertNotNull(ind.getFitness());
+		}
+	}
+}
@@ -0,0 +1,142 @@
+package net.sf.jclec.sbse.discovery.imo;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import net.sf.jclec.IIndividual;
+import net.sf.jclec.sbse.discovery.imo.mut.AbstractComponentMutator;
+import net.sf.jclec.sbse.discovery.imo.mut.AddComponentMutator;
+import net.sf.jclec.sbse.discovery.imo.mut.AddInterfaceMutator;
+import net.sf.jclec.sbse.discovery.imo.mut.MergeComponentsMutator;
+import net.sf.jclec.sbse.discovery.imo.mut.MoveClassMutator;
+import net.sf.jclec.sbse.discovery.imo.mut.RemoveComponentMutator;
+import net.sf.jclec.syntaxtree.SyntaxTree;
+import net.sf.jclec.util.random.IRandGen;
+
+/**
+ * Tests for the incremental synthesis of the trees. The
+ * tree of each mutant, which copies the components of its
+ * parent that are not affected by the mutation, must be the
+ * tree built from scratch for the same distribution of classes.
+ * Each mutator is applied several times in a row, so the parents
+ * are also incremental trees.
+ *
+ * <p>HISTORY:
+ * <ul>
+ *  <li>1.0: Creation (October 2026)
+ * </ul>
+ *
+ * @author Aurora Ramirez
+ * @author Jose Raul Romero
+ * @author Sebastian Ventura
+ * @version 1.0
+ * @see InteractiveMOSchema#createSyntaxTree(int, int[], InteractiveMOIndividual)
+ * */
+public class IncrementalSynthesisTest {
+
+	/** Seed of the random generator */
+	private static final long SEED = 135792468;
+
+	/** Number of individuals */
+	private static final int SIZE = 50;
+
+	/** Number of consecutive mutations of each individual */
+	private static final int STEPS = 5;
+
+	/** The problem */
+	private TestProblem problem;
+
+	/** The species */
+	private InteractiveMOSpecies species;
+
+	/** The schema */
+	private InteractiveMOSchema schema;
+
+	/** The evaluator */
+	private InteractiveMOEvaluator evaluator;
+
+	@Before
+	public void setUp(){
+		this.problem = TestProblem.getInstance();
+		this.species = this.problem.createSpecies();
+		this.schema = (InteractiveMOSchema)this.species.getGenotypeSchema();
+		this.schema.setIncrementalSynthesis(true);
+		this.evaluator = this.problem.createEvaluator(this.species, "");
+	}
+
+	@Test
+	public void testMoveClass(){
+		checkMutator(new MoveClassMutator(), SEED);
+	}
+
+	@Test
+	public void testMergeComponents(){
+		checkMutator(new MergeComponentsMutator(), SEED+1);
+	}
+
+	@Test
+	public void testSplitComponent(){
+		checkMutator(new AddComponentMutator(), SEED+2);
+	}
+
+	@Test
+	public void testAddInterface(){
+		checkMutator(new AddInterfaceMutator(), SEED+3);
+	}
+
+	@Test
+	public void testRemoveComponent(){
+		checkMutator(new RemoveComponentMutator(), SEED+4);
+	}
+
+	@Test
+	public void testValidation(){
+		this.schema.setValidateSynthesis(true);
+		checkMutator(new MoveClassMutator(), SEED+5);
+		checkMutator(new RemoveComponentMutator(), SEED+6);
+		assertEquals(0, this.schema.getValidationFailures());
+	}
+
+	/**
+	 * Mutate random individuals and compare the
+	 * trees of the mutants with the complete rebuild
+	 * @param mutator The mutator
+	 * @param seed The seed of the random generator
+	 * */
+	private void checkMutator(AbstractComponentMutator mutator, long seed){
+		IRandGen randgen = TestProblem.createRandGen(seed);
+		mutator.contextualize(new TestContext(this.species, seed));
+		mutator.setRandom(true);
+		int numberOfMutations = 0;
+
+		for(int i=0; i<SIZE; i++){
+			InteractiveMOIndividual ind = this.problem.createIndividual(this.species, randgen);
+			evaluate(ind);
+			for(int s=0; s<STEPS && mutator.isApplicable(ind); s++){
+				InteractiveMOIndividual mutant = (InteractiveMOIndividual)mutator.mutateIndividual(ind, randgen);
+				SyntaxTree expected = this.schema.createSyntaxTree(mutant.getNumberOfComponents(), mutant.getClassesDistribution());
+				TestProblem.assertSameTree(expected, mutant.getGenotype());
+				evaluate(mutant);
+				ind = mutant;
+				numberOfMutations++;
+			}
+		}
+		assertTrue(numberOfMutations > 0);
+	}
+
+	/**
+	 * Evaluate an individual
+	 * @param ind The individual
+	 * */
+	private void evaluate(InteractiveMOIndividual ind){
+		List<IIndividual> list = new ArrayList<IIndividual>();
+		list.add(ind);
+		this.evaluator.evaluate(list);
+	}
+}
@@ -0,0 +1,166 @@
+package net.sf.jclec.sbse.discovery.imo;
+
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import net.sf.jclec.IIndividual;
+import net.sf.jclec.syntaxtree.SyntaxTree;
+import net.sf.jclec.util.random.IRandGen;
+
+/**
+ * Tests for the cache of synthesized components. The trees
+ * built by a schema with the cache enabled must be those built
+ * by a schema without cache, also when the components are restored
+ * from the cache in other positions (relabelled components) and
+ * when the cache is too small to keep all of them. The individuals
+ * created with both trees must have the same evaluation.
+ *
+ * <p>HISTORY:
+ * <ul>
+ *  <li>1.0: Creation (October 2026)
+ * </ul>
+ *
+ * @author Aurora Ramirez
+ * @author Jose Raul Romero
+ * @author Sebastian Ventura
+ * @version 1.0
+ * @see InterfaceCache
+ * @see InteractiveMOSchema#setInterfaceCacheSize(int)
+ * */
+public class InterfaceCacheTest {
+
+	/** Seed of the random generator */
+	private static final long SEED = 531975318;
+
+	/** Number of individuals */
+	private static final int SIZE = 100;
+
+	/** Size of the small cache */
+	private static final int SMALL_CACHE = 5;
+
+	/** The problem */
+	private TestProblem problem;
+
+	/** The species without cache */
+	private InteractiveMOSpecies species;
+
+	/** The species whose schema has the cache enabled */
+	private InteractiveMOSpecies cachedSpecies;
+
+	/** The schema with the cache enabled */
+	private InteractiveMOSchema cachedSchema;
+
+	@Before
+	public void setUp(){
+		this.problem = TestProblem.getInstance();
+		this.species = this.problem.createSpecies();
+		this.cachedSpecies = this.problem.createSpecies();
+		this.cachedSchema = (InteractiveMOSchema)this.cachedSpecies.getGenotypeSchema();
+		this.cachedSchema.setInterfaceCacheSize(1000);
+	}
+
+	@Test
+	public void testDisabledCache(){
+		assertNull(((InteractiveMOSchema)this.species.getGenotypeSchema()).getInterfaceCache());
+		this.cachedSchema.setInterfaceCacheSize(0);
+		assertNull(this.cachedSchema.getInterfaceCache());
+	}
+
+	@Test
+	public void testSameTrees(){
+		check(TestProblem.createRandGen(SEED));
+		InterfaceCache cache = this.cachedSchema.getInterfaceCache();
+		assertTrue(cache.getHits() > 0);
+		assertTrue(cache.getMisses() > 0);
+	}
+
+	@Test
+	public void testSmallCache(){
+		this.cachedSchema.setInterfaceCacheSize(SMALL_CACHE);
+		check(TestProblem.createRandGen(SEED+1));
+		InterfaceCache cache = this.cachedSchema.getInterfaceCache();
+		assertTrue(cache.size() <= SMALL_CACHE);
+		assertTrue(cache.getHits() > 0);
+	}
+
+	@Test
+	public void testSameEvaluation() throws Exception {
+		InteractiveMOEvaluator evaluator = this.problem.createEvaluator(this.species, "");
+		InteractiveMOEvaluator cachedEvaluator = this.problem.createEvaluator(this.cachedSpecies, "");
+		IRandGen randgen = TestProblem.createRandGen(SEED+2);
+		List<IIndividual> expected = new ArrayList<IIndividual>();
+		List<IIndividual> actual = new ArrayList<IIndividual>();
+		for(int i=0; i<SIZE; i++){
+			InteractiveMOIndividual ind = this.problem.createIndividual(this.species, randgen);
+			int [] distribution = relabel(ind.getClassesDistribution(), ind.getNumberOfComponents(), randgen);
+			for(int [] d: new int[][]{ind.getClassesDistribution(), distribution}){
+				expected.add(this.species.createIndividual(
+						((InteractiveMOSchema)this.species.getGenotypeSchema()).createSyntaxTree(ind.getNumberOfComponents(), d), d));
+				actual.add(this.cachedSpecies.createIndividual(
+						this.cachedSchema.createSyntaxTree(ind.getNumberOfComponents(), d), d.clone()));
+			}
+		}
+		evaluator.evaluate(expected);
+		cachedEvaluator.evaluate(actual);
+		for(int i=0; i<expected.size(); i++){
+			TestProblem.assertSameEvaluation((InteractiveMOIndividual)expected.get(i), (InteractiveMOIndividual)actual.get(i), 0.0);
+		}
+		assertTrue(this.cachedSchema.getInterfaceCache().getHits() > 0);
+	}
+
+	/**
+	 * Build the trees of random individuals, and of their
+	 * relabelled copies, with the cache and compare them
+	 * with the trees built without cache
+	 * @param randgen The random generator
+	 * */
+	private void check(IRandGen randgen){
+		for(int i=0; i<SIZE; i++){
+			InteractiveMOIndividual ind = this.problem.createIndividual(this.species, randgen);
+			int n = ind.getNumberOfComponents();
+			int [] distribution = ind.getClassesDistribution();
+
+			// the second time, the components are restored from the cache
+			for(int r=0; r<2; r++){
+				TestProblem.assertSameTree(ind.getGenotype(), this.cachedSchema.createSyntaxTree(n, distribution));
+			}
+
+			// the same components in other positions
+			int [] relabelled = relabel(distribution, n, randgen);
+			SyntaxTree expected = ((InteractiveMOSchema)this.species.getGenotypeSchema()).createSyntaxTree(n, relabelled);
+			TestProblem.assertSameTree(expected, this.cachedSchema.createSyntaxTree(n, relabelled));
+		}
+	}
+
+	/**
+	 * Relabel the components of a distribution
+	 * with a random permutation
+	 * @param distribution The distribution of classes
+	 * @param numberOfComponents The number of components
+	 * @param randgen The random generator
+	 * @return The new distribution
+	 * */
+	private int [] relabel(int [] distribution, int numberOfComponents, IRandGen randgen){
+		int [] permutation = new int[numberOfComponents];
+		for(int c=0; c<numberOfComponents; c++){
+			permutation[c] = c;
+		}
+		for(int c=numberOfComponents-1; c>0; c--){
+			int j = randgen.choose(0, c+1);
+			int aux = permutation[c];
+			permutation[c] = permutation[j];
+			permutation[j] = aux;
+		}
+		int [] relabelled = new int[distribution.length];
+		for(int i=0; i<distribution.length; i++){
+			relabelled[i] = permutation[distribution[i]];
+		}
+		return relabelled;
+	}
+}
@@ -0,0 +1,172 @@
+package net.sf.jclec.sbse.discovery.imo;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import net.sf.jclec.IFitness;
+import net.sf.jclec.IIndividual;
+import net.sf.jclec.binarray.BinArrayIndividual;
+import net.sf.jclec.fitness.SimpleValueFitness;
+import net.sf.jclec.mo.evaluation.fitness.MOFitness;
+
+import org.junit.Test;
+
+/**
+ * Tests for the computation of the maximin values. The values
+ * and the indexes of the metrics are compared with the ones of the
+ * loop that <code>InteractiveMOStrategy.maximinValue</code> ran for
+ * each individual, both for new sets and for sets that only change
+ * in a few individuals between generations.
+ *
+ * <p>HISTORY:
+ * <ul>
+ *  <li>1.0: Creation (October 2026)
+ * </ul>
+ *
+ * @author Aurora Ramirez
+ * @author Jose Raul Romero
+ * @author Sebastian Ventura
+ * @version 1.0
+ * @see MaximinCalculator
+ * */
+public class MaximinCalculatorTest {
+
+	/** Number of objectives */
+	private static final int OBJECTIVES = 3;
+
+	/** Identifier of the next individual */
+	private int nextId = 0;
+
+	@Test
+	public void testFullComputation() throws Exception {
+		Random random = new Random(1);
+		for(int t=0; t<100; t++){
+			MaximinCalculator calculator = new MaximinCalculator();
+			List<IIndividual> population = randomPopulation(random, random.nextInt(40)+1);
+			check(calculator, population);
+		}
+	}
+
+	@Test
+	public void testIncrementalComputation() throws Exception {
+		Random random = new Random(2);
+		MaximinCalculator calculator = new MaximinCalculator();
+		List<IIndividual> population = randomPopulation(random, 40);
+		for(int g=0; g<500; g++){
+			// replace two individuals, as the EP strategy does
+			for(int k=0; k<2; k++){
+				population.set(random.nextInt(population.size()), createIndividual(random));
+			}
+			if(random.nextInt(3) == 0){
+				Collections.shuffle(population, random);
+			}
+			check(calculator, population);
+		}
+		assertTrue(calculator.getIncrementalComputations() > 0);
+	}
+
+	/**
+	 * Compare the values of the calculator with the old loop
+	 * @param calculator The calculator
+	 * @param population The individuals
+	 * */
+	private void check(MaximinCalculator calculator, List<IIndividual> population) throws Exception {
+		List<IIndividual> nonDominated = nonDominated(population);
+		double [][] values = calculator.compute(population, nonDominated);
+		for(int i=0; i<population.size(); i++){
+			double [] expected = maximinValue(population.get(i), nonDominated);
+			assertEquals(expected[0], values[0][i], 0.0);
+			assertEquals(expected[1], values[1][i], 0.0);
+		}
+	}
+
+	/**
+	 * The maximin value as computed by <code>InteractiveMOStrategy.maximinValue</code>
+	 * @param individual The individual
+	 * @param nonDominated The non-dominated individuals
+	 * @return The maximin value and the index of the metric
+	 * */
+	private double [] maximinValue(IIndividual individual, List<IIndividual> nonDominated) throws Exception {
+		int nObjs = ((MOFitness)individual.getFitness()).getNumberOfObjectives();
+		double min, max = -1.0, dif;
+		int indexMin = -1, indexMax = -1;
+		for(IIndividual other: nonDominated){
+			if(!individual.equals(other)){
+				min = 1.0;
+				for(int j=0; j<nObjs; j++){
+					dif = ((MOFitness)individual.getFitness()).getObjectiveDoubleValue(j)
+							- ((MOFitness)other.getFitness()).getObjectiveDoubleValue(j);
+					if(dif < min){
+						min = dif;
+						indexMin = j;
+					}
+				}
+				if(min > max){
+					max = min;
+					indexMax = indexMin;
+				}
+			}
+		}
+		return new double[]{max, indexMax};
+	}
+
+	/**
+	 * Extract the non-dominated individuals
+	 * @param population The individuals
+	 * @return The non-dominated individuals, in the same order
+	 * */
+	private List<IIndividual> nonDominated(List<IIndividual> population) throws Exception {
+		List<IIndividual> nonDominated = new ArrayList<IIndividual>();
+		for(IIndividual ind: population){
+			boolean dominated = false;
+			for(int i=0; !dominated && i<population.size(); i++){
+				MOFitness other = (MOFitness)population.get(i).getFitness();
+				MOFitness fitness = (MOFitness)ind.getFitness();
+				boolean notWorse = true, better = false;
+				for(int j=0; j<OBJECTIVES; j++){
+					notWorse &= other.getObjectiveDoubleValue(j) <= fitness.getObjectiveDoubleValue(j);
+					better |= other.getObjectiveDoubleValue(j) < fitness.getObjectiveDoubleValue(j);
+				}
+				dominated = notWorse && better;
+			}
+			if(!dominated){
+				nonDominated.add(ind);
+			}
+		}
+		return nonDominated;
+	}
+
+	/**
+	 * Generate random individuals
+	 * @param random The random generator
+	 * @param size The number of individuals
+	 * @return The individuals
+	 * */
+	private List<IIndividual> randomPopulation(Random random, int size){
+		List<IIndividual> population = new ArrayList<IIndividual>();
+		for(int i=0; i<size; i++){
+			population.add(createIndividual(random));
+		}
+		return population;
+	}
+
+	/**
+	 * Create an individual with random objective values in [0,1],
+	 * repeated values are frequent
+	 * @param random The random generator
+	 * @return The individual
+	 * */
+	private IIndividual createIndividual(Random random){
+		IFitness [] components = new IFitness[OBJECTIVES];
+		for(int j=0; j<OBJECTIVES; j++){
+			components[j] = new SimpleValueFitness(random.nextInt(6)/5.0);
+		}
+		int id = this.nextId++;
+		return new BinArrayIndividual(new byte[]{(byte)id, (byte)(id>>8)}, new InteractiveMOFitness(components));
+	}
+}
@@ -0,0 +1,500 @@
+package net.sf.jclec.sbse.discovery.imo;
+
+import java.util.ArrayList;
+
+import es.uco.kdis.dss.databuilders.info.UMLClass;
+import es.uco.kdis.dss.databuilders.info.UMLOperation;
+import net.sf.jclec.sbse.discovery.TerminalNode;
+import net.sf.jclec.syntaxtree.SyntaxTree;
+
+/**
+ * Schema that synthesizes the interfaces as the schema did
+ * before the index of the candidate services: the symbols of
+ * the terminals are split to find the classes, the classes are
+ * looked up by name and the target components are kept in nested
+ * lists. It is the reference of <code>OperationIndexTest</code>.
+ * The only change is that the lists of target components are
+ * compared as sets, since a component added twice is not a
+ * different target.
+ *
+ * <p>HISTORY:
+ * <ul>
+ *  <li>1.0: Creation (October 2026)
+ * </ul>
+ *
+ * @author Aurora Ramirez
+ * @author Jose Raul Romero
+ * @author Sebastian Ventura
+ * @version 1.0
+ * @see InteractiveMOSchema
+ * */
+public class NestedListSchema extends InteractiveMOSchema {
+
+	/** Serial ID */
+	private static final long serialVersionUID = 6385015234720841193L;
+
+	/**
+	 * Parameterized constructor, the schema has
+	 * the symbols of the species
+	 * @param problem The problem
+	 * @param species The species
+	 * */
+	public NestedListSchema(TestProblem problem, InteractiveMOSpecies species){
+		super(problem.getDataset(), problem.getClassesList(), problem.getRelationshipModel());
+		setRootSymbol("architecture");
+		setTerminals(species.generateTerminalSymbols());
+		setNonTerminals(species.generateNonTerminalSymbols());
+		setMinNumOfComp(TestProblem.MIN_COMPONENTS);
+		setMaxNumOfComp(TestProblem.MAX_COMPONENTS);
+		setNumOfClasses(problem.getDataset().getColumns().size());
+	}
+
+	@Override
+	public void setRequiredInterfaces(SyntaxTree tree, int component, int [] distribution, int numberOfComponents) {
+
+		int numOfServices = this.terminals.length-this.numberOfClasses;
+		String class1name;
+		int size, index_class1, j;
+		RelationshipGraph graph = this.relationships.getGraph();
+		ArrayList<TerminalNode> candidateServices = new ArrayList<TerminalNode>();
+		ArrayList<Integer> provComponent = new ArrayList<Integer>();
+		ArrayList<ArrayList<Integer>> reqComponents = new ArrayList<ArrayList<Integer>>();
+		ArrayList<ArrayList<String>> classesReqComponents = new ArrayList<ArrayList<String>>();
+
+		for(int i=0; i<numOfServices; i++){
+
+			class1name = this.terminals[this.numberOfClasses+i].getSymbol().split(":")[0];
+			index_class1 = this.relationships.getClassIndex(class1name);
+
+			for(int p=0; p<graph.getNumberOfInvokers(index_class1); p++){
+				j = graph.getInvoker(index_class1, p);
+				size = this.relationships.getNumberOfRelationships(index_class1, j);
+
+				for(int k=0; k<size; k++){
+					if(distribution[j] == component
+							&& distribution[index_class1] != distribution[j]
+									&& this.relationships.isInvokedBy(index_class1, j, k)){
+
+						candidateServices.add(this.terminals[this.numberOfClasses+i]);
+						provComponent.add(distribution[index_class1]);
+						ArrayList<String> aux = new ArrayList<String>();
+						aux.add(this.relationships.getClassName(j));
+
+						reqComponents.add(searchReqComponents(index_class1, distribution, aux));
+						classesReqComponents.add(aux);
+					}
+				}
+			}
+		}
+
+		addRelatedOperations(candidateServices, reqComponents, provComponent, distribution, classesReqComponents, false);
+		addRelatedOperationsByClass(candidateServices, reqComponents, provComponent, distribution, component, classesReqComponents, false);
+		removeDuplicatedOperations(candidateServices, reqComponents, provComponent, classesReqComponents, false);
+
+		int s1, s2;
+		s1 = 0;
+		String reqClasses;
+
+		while(s1<reqComponents.size()){
+			tree.addNode(this.nonTerminalsMap.get("interface")[0]);
+			reqClasses = searchRequiredClasses(classesReqComponents.get(s1), component, distribution);
+			tree.addNode(new TerminalNode(candidateServices.get(s1).getSymbol() + reqClasses));
+			s2 = s1+1;
+			while(s2<reqComponents.size()){
+				if(provComponent.get(s1).intValue() == provComponent.get(s2).intValue()
+						&& equalsSets(reqComponents.get(s1), reqComponents.get(s2))){
+
+					reqClasses = searchRequiredClasses(classesReqComponents.get(s2), component, distribution);
+					tree.addNode(new TerminalNode(candidateServices.get(s2).getSymbol() + reqClasses));
+					candidateServices.remove(s2);
+					reqComponents.remove(s2);
+					provComponent.remove(s2);
+				}
+				else
+					s2++;
+			}
+			s1++;
+		}
+	}
+
+	@Override
+	public void setProvidedInterfaces(SyntaxTree tree, int component, int [] distribution, int numberOfComponents) {
+
+		int numOfServices = this.terminals.length-this.numberOfClasses;
+		String class1name;
+		int size, index_class1, j;
+		RelationshipGraph graph = this.relationships.getGraph();
+		ArrayList<TerminalNode> candidateServices = new ArrayList<TerminalNode>();
+		ArrayList<ArrayList<Integer>> targetComponent = new ArrayList<ArrayList<Integer>>();
+
+		for(int i=0; i<numOfServices; i++){
+
+			class1name = this.terminals[this.numberOfClasses+i].getSymbol().split(":")[0];
+			index_class1 = this.relationships.getClassIndex(class1name);
+
+			if(distribution[index_class1]==component){
+
+				for(int p=0; p<graph.getNumberOfInvokers(index_class1); p++){
+					j = graph.getInvoker(index_class1, p);
+					size = this.relationships.getNumberOfRelationships(index_class1, j);
+
+					for(int k=0; k<size; k++){
+						if(distribution[index_class1] != distribution[j]
+								&& this.relationships.isInvokedBy(index_class1, j, k)){
+
+							int index = candidateServices.indexOf(this.terminals[this.numberOfClasses+i]);
+							if(index!=-1){
+								if(!targetComponent.get(index).contains(distribution[j]))
+									targetComponent.get(index).add(distribution[j]);
+							}
+							else{
+								candidateServices.add(this.terminals[this.numberOfClasses+i]);
+								targetComponent.add(new ArrayList<Integer>());
+								targetComponent.get(candidateServices.size()-1).add(distribution[j]);
+							}
+						}
+					}
+				}
+			}
+		}
+
+		addRelatedOperations(candidateServices, targetComponent, null, distribution, null, true);
+		addRelatedOperationsByClass(candidateServices, targetComponent, null, distribution, component, null, true);
+		removeDuplicatedOperations(candidateServices, targetComponent, null, null, true);
+
+		int s1, s2;
+		s1 = 0;
+		while(s1<targetComponent.size()){
+			tree.addNode(this.nonTerminalsMap.get("interface")[0]);
+			tree.addNode(candidateServices.get(s1));
+			s2 = s1+1;
+			while(s2<targetComponent.size()){
+				if(equalsSets(targetComponent.get(s1), targetComponent.get(s2))){
+					tree.addNode(candidateServices.get(s2));
+					candidateServices.remove(s2);
+					targetComponent.remove(s2);
+				}
+				else
+					s2++;
+			}
+			s1++;
+		}
+	}
+
+	/**
+	 * Remove duplicated candidate operations
+	 * @param candidateOperations Set of candidate services
+	 * @param targetComponent Set of target components
+	 * @param provComponent The provider component of each operation (only for required services)
+	 * @param classesReqComponent The classes that require each operation (only for required services)
+	 * @param isProvided A flag indicating whether the operations are provided or required services
+	 * */
+	private void removeDuplicatedOperations(ArrayList<TerminalNode> candidateOperations,
+			ArrayList<ArrayList<Integer>> targetComponent, ArrayList<Integer> provComponent,
+			ArrayList<ArrayList<String>> classesReqComponent, boolean isProvided){
+		int c1 = 0, c2;
+		String oper1, oper2;
+		boolean duplicated;
+		String classname;
+
+		while(c1<candidateOperations.size()){
+			c2 = c1+1;
+			oper1 = candidateOperations.get(c1).getSymbol();
+			duplicated = false;
+			while(c2<candidateOperations.size()){
+				oper2 = candidateOperations.get(c2).getSymbol();
+				if(oper1.equalsIgnoreCase(oper2)){
+					candidateOperations.remove(c2);
+					targetComponent.remove(c2);
+					if(!isProvided){
+						provComponent.remove(c2);
+						for(int i=0; i<classesReqComponent.get(c2).size(); i++){
+							classname = classesReqComponent.get(c2).get(i);
+							if(!classesReqComponent.get(c1).contains(classname))
+								classesReqComponent.get(c1).add(classname);
+						}
+						classesReqComponent.remove(c2);
+					}
+					duplicated = true;
+				}
+				else{
+					c2++;
+				}
+			}
+			if(!duplicated){
+				c1++;
+			}
+		}
+	}
+
+	/**
+	 * Add the public operations of the classes related
+	 * by composition and generalization
+	 * @param candidateOperations Current set of candidate operations
+	 * @param targetComponents Set of target component of each operation
+	 * @param provComponent The provider component of each operation (only for required services)
+	 * @param distribution The current distribution of classes into components
+	 * @param classesReqComponent The classes that require each operation (only for required services)
+	 * @param isProvided A flag indicating whether the operations are provided or required services
+	 * */
+	private void addRelatedOperations(ArrayList<TerminalNode> candidateOperations,
+			ArrayList<ArrayList<Integer>> targetComponents, ArrayList<Integer> provComponent, int [] distribution,
+			ArrayList<ArrayList<String>> classesReqComponent, boolean isProvided){
+		int numberOfClasses = this.classesList.size();
+		String className, relatedClassName, operation2;
+		String [] aux;
+		int indexClass1, indexClass2;
+		int numberOfServices = candidateOperations.size();
+		int type;
+
+		for(int i=0; i<numberOfServices; i++){
+
+			aux = candidateOperations.get(i).getSymbol().split(":");
+			className = aux[0];
+			indexClass1 = this.relationships.getClassIndex(className);
+
+			for(int j=numberOfClasses; j<this.terminals.length; j++){
+
+				aux = this.terminals[j].getSymbol().split(":");
+				relatedClassName = aux[0];
+				operation2 = aux[1];
+				indexClass2 = this.relationships.getClassIndex(relatedClassName);
+
+				if(distribution[indexClass1] == distribution[indexClass2] &&
+						this.relationships.areRelated(indexClass1, indexClass2)){
+
+					for(int k=0; k<this.relationships.getNumberOfRelationships(indexClass1, indexClass2); k++){
+						type = this.relationships.getType(indexClass1, indexClass2, k);
+
+						if(type==4 || (type==5 && !isOperationDefinedByClass(indexClass1, operation2))){
+							candidateOperations.add(this.terminals[j]);
+							targetComponents.add(targetComponents.get(i));
+							if(!isProvided){
+								provComponent.add(provComponent.get(i));
+								ArrayList<String> auxList = new ArrayList<String>();
+								for(int c=0; c<classesReqComponent.get(i).size(); c++){
+									auxList.add(classesReqComponent.get(i).get(c));
+								}
+								classesReqComponent.add(auxList);
+							}
+						}
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Add the operations provided by the subclasses when the superclass
+	 * has not public methods but it has external relationships
+	 * @param candidateOperations Set of candidate operations
+	 * @param targetComponent Set of target components for the operations
+	 * @param provComponent The provider component of each operation (only for required services)
+	 * @param distribution The current distribution of classes into components
+	 * @param component The current component
+	 * @param classesReqComponent The classes that require each operation (only for required services)
+	 * @param isProvided A flag indicating whether we are looking for provided or required services of the component
+	 * */
+	private void addRelatedOperationsByClass(ArrayList<TerminalNode> candidateOperations,
+			ArrayList<ArrayList<Integer>> targetComponent, ArrayList<Integer> provComponent, int [] distribution,
+			int component, ArrayList<ArrayList<String>> classesReqComponent, boolean isProvided){
+		UMLClass umlclass;
+		ArrayList<String> subclasses;
+		String classname1, aux;
+		int classIndex, c;
+		int nClasses = distribution.length;
+		RelationshipGraph graph = this.relationships.getGraph();
+
+		for(int i=0; i<nClasses; i++){
+			if((isProvided && distribution[i] == component) || (!isProvided && distribution[i]!=component)){
+				umlclass = this.classesList.get(i);
+				classIndex = this.relationships.getClassIndex(umlclass.getName());
+
+				if(!umlclass.hasOperations() && hasExternalRelationships(i, distribution)){
+					subclasses = findSubclassesInComponent(i, distribution);
+
+					for(int j=0; j<subclasses.size(); j++){
+						classname1 = subclasses.get(j);
+
+						for(int k=nClasses; k<this.terminals.length; k++){
+							aux = this.terminals[k].getSymbol().split(":")[0];
+
+							if(classname1.equalsIgnoreCase(aux)){
+
+								if(isProvided){
+									for(int p=0; p<graph.getNumberOfInvokers(classIndex); p++){
+										c = graph.getInvoker(classIndex, p);
+
+										for(int l=0; l<this.relationships.getNumberOfRelationships(classIndex, c); l++){
+											if(this.relationships.isInvokedBy(classIndex, c, l)){
+												int index = candidateOperations.indexOf(this.terminals[k]);
+												if(index!=-1){
+													targetComponent.get(index).add(distribution[c]);
+												}
+												else{
+													candidateOperations.add(this.terminals[k]);
+													targetComponent.add(new ArrayList<Integer>());
+													targetComponent.get(candidateOperations.size()-1).add(distribution[c]);
+												}
+												break;
+											}
+										}
+									}
+								}
+
+								else{
+									for(int p=0; p<graph.getNumberOfInvokers(classIndex); p++){
+										c = graph.getInvoker(classIndex, p);
+
+										for(int l=0; l<this.relationships.getNumberOfRelationships(classIndex, c); l++){
+											if(this.relationships.isInvokedBy(classIndex, c, l) && distribution[c] == component){
+												int index = candidateOperations.indexOf(this.terminals[k]);
+												if(index!=-1){
+													targetComponent.get(index).add(distribution[classIndex]);
+													classesReqComponent.get(index).add(this.relationships.getClassName(c));
+												}
+												else{
+													candidateOperations.add(this.terminals[k]);
+													targetComponent.add(new ArrayList<Integer>());
+													targetComponent.get(candidateOperations.size()-1).add(distribution[classIndex]);
+													provComponent.add(component);
+													ArrayList<String> auxList = new ArrayList<String>();
+													auxList.add(this.relationships.getClassName(c));
+													classesReqComponent.add(auxList);
+												}
+											}
+										}
+									}
+								}
+							}
+						}
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Check if a class is invoked by a class of other component
+	 * @param classIndex The index of the class in the dataset
+	 * @param distribution The current distribution of classes into components
+	 * @return True if the class has external invocations
+	 * */
+	private boolean hasExternalRelationships(int classIndex, int[] distribution){
+		boolean result = false;
+		RelationshipGraph graph = this.relationships.getGraph();
+		int i;
+		for(int p=0; p<graph.getNumberOfInvokers(classIndex); p++){
+			i = graph.getInvoker(classIndex, p);
+			if(distribution[classIndex] != distribution[i]){
+				for(int j=0; j<this.relationships.getNumberOfRelationships(classIndex, i); j++){
+					if(this.relationships.isInvokedBy(classIndex, i, j)){
+						result = true;
+					}
+				}
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Find the subclasses allocated in the same component than a class
+	 * @param classIndex The index of the class in the dataset
+	 * @param distribution The current distribution of classes into components
+	 * @return The names of the subclasses
+	 * */
+	private ArrayList<String> findSubclassesInComponent(int classIndex, int[] distribution) {
+		ArrayList<String> subclasses = new ArrayList<String>();
+		RelationshipGraph graph = this.relationships.getGraph();
+		int i, size = graph.getDegree(classIndex, RelationshipModel.GENERALIZATION);
+
+		for(int p=0; p<size; p++){
+			i = graph.getNeighbour(classIndex, RelationshipModel.GENERALIZATION, p);
+			if(distribution[classIndex] == distribution[i]){
+				subclasses.add(this.relationships.getClassName(i));
+			}
+		}
+		return subclasses;
+	}
+
+	/**
+	 * Check if an operation is defined by a class
+	 * @param indexClass The index of the class
+	 * @param operationName The name of the operation
+	 * @return True if the class specifies this operation, false otherwise
+	 * */
+	private boolean isOperationDefinedByClass(int indexClass, String operationName){
+		boolean exists = false;
+		ArrayList<UMLOperation> operations = this.classesList.get(indexClass).getOperations();
+		for(int i=0; !exists && i<operations.size(); i++){
+			if(operations.get(i).getName().equalsIgnoreCase(operationName)){
+				exists = true;
+			}
+		}
+		return exists;
+	}
+
+	/**
+	 * Compare two lists of components as sets
+	 * @param set1 The first list
+	 * @param set2 The second list
+	 * @return True if both lists contain the same components
+	 * */
+	private boolean equalsSets(ArrayList<Integer> set1, ArrayList<Integer> set2){
+		return set1.containsAll(set2) && set2.containsAll(set1);
+	}
+
+	/**
+	 * Search the components that invoke a class
+	 * @param provClass The class that provides the operation
+	 * @param distribution The current distribution of classes into components
+	 * @param classesReqOperation The classes that require the operation, it is completed
+	 * @return The components that require the operation
+	 * */
+	private ArrayList<Integer> searchReqComponents(int provClass, int [] distribution, ArrayList<String> classesReqOperation){
+		ArrayList<Integer> components = new ArrayList<Integer>();
+		RelationshipGraph graph = this.relationships.getGraph();
+		int i, size;
+		String classname;
+
+		for(int p=0; p<graph.getNumberOfInvokers(provClass); p++){
+			i = graph.getInvoker(provClass, p);
+			size = this.relationships.getNumberOfRelationships(provClass, i);
+
+			for(int k=0; k<size; k++){
+				if(distribution[provClass] != distribution[i]
+						&& this.relationships.isInvokedBy(provClass, i, k)){
+					if(!components.contains(distribution[i])){
+						components.add(distribution[i]);
+						classname = this.relationships.getClassName(i);
+						if(!classesReqOperation.contains(classname))
+							classesReqOperation.add(classname);
+					}
+				}
+			}
+		}
+		return components;
+	}
+
+	/**
+	 * Write the classes of the current component that require an operation
+	 * @param classesReqOperation The classes that require the operation
+	 * @param currentComponent The current component
+	 * @param distribution The current distribution of classes into components
+	 * @return The list of classes, as written in the symbol of the operation
+	 * */
+	private String searchRequiredClasses(ArrayList<String> classesReqOperation, int currentComponent, int [] distribution){
+		StringBuffer sb = new StringBuffer(" [ ");
+		int index;
+		String classname;
+		for(int i=0; i<classesReqOperation.size(); i++){
+			classname = classesReqOperation.get(i);
+			index = this.relationships.getClassIndex(classname);
+			if(distribution[index] == currentComponent){
+				sb.append(classname + " ");
+			}
+		}
+		sb.append("]");
+		return sb.toString();
+	}
+}
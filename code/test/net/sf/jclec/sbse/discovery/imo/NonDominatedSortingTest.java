@@ -0,0 +1,228 @@
+package net.sf.jclec.sbse.discovery.imo;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import net.sf.jclec.IFitness;
+import net.sf.jclec.IIndividual;
+import net.sf.jclec.binarray.BinArrayIndividual;
+import net.sf.jclec.fitness.SimpleValueFitness;
+
+import org.junit.Test;
+
+/**
+ * Tests for the non-dominated sorting. The ranks and fronts are
+ * compared with the ones obtained by peeling the fronts one by one
+ * with the pairwise dominance checks, as the strategies did before.
+ *
+ * <p>HISTORY:
+ * <ul>
+ *  <li>1.0: Creation (October 2026)
+ * </ul>
+ *
+ * @author Aurora Ramirez
+ * @author Jose Raul Romero
+ * @author Sebastian Ventura
+ * @version 1.0
+ * @see NonDominatedSorting
+ * */
+public class NonDominatedSortingTest {
+
+	/** Number of random sets */
+	private static final int SETS = 300;
+
+	@Test
+	public void testUnconstrainedSort(){
+		Random random = new Random(1);
+		NonDominatedSorting sorting = new NonDominatedSorting(false);
+		for(int t=0; t<SETS; t++){
+			double [][] objectives = randomObjectives(random);
+			double [] infeasibility = randomInfeasibility(random, objectives.length);
+			// the degree of infeasibility is ignored
+			int [] ranks = sorting.sort(objectives, infeasibility).clone();
+			int [] expected = naiveRanks(objectives, null);
+			assertArrayEquals(expected, ranks);
+			checkFronts(sorting, expected);
+		}
+	}
+
+	@Test
+	public void testConstrainedSort(){
+		Random random = new Random(2);
+		NonDominatedSorting sorting = new NonDominatedSorting(true);
+		for(int t=0; t<SETS; t++){
+			double [][] objectives = randomObjectives(random);
+			double [] infeasibility = randomInfeasibility(random, objectives.length);
+			int [] ranks = sorting.sort(objectives, infeasibility).clone();
+			int [] expected = naiveRanks(objectives, infeasibility);
+			assertArrayEquals(expected, ranks);
+			checkFronts(sorting, expected);
+		}
+	}
+
+	@Test
+	public void testEmptySet(){
+		NonDominatedSorting sorting = new NonDominatedSorting(true);
+		assertEquals(0, sorting.sort(new double[0][], null).length);
+		assertEquals(0, sorting.getNumberOfFronts());
+	}
+
+	@Test
+	public void testNonDominatedIndividuals() throws Exception {
+		Random random = new Random(3);
+		NonDominatedSorting sorting = new NonDominatedSorting(false);
+		for(int t=0; t<SETS; t++){
+			double [][] objectives = randomObjectives(random);
+			List<IIndividual> individuals = new ArrayList<IIndividual>();
+			for(int i=0; i<objectives.length; i++){
+				individuals.add(createIndividual(i, objectives[i]));
+			}
+			int [] ranks = naiveRanks(objectives, null);
+			List<IIndividual> nonDominated = sorting.nonDominated(individuals);
+			int p = 0;
+			for(int i=0; i<ranks.length; i++){
+				if(ranks[i] == 0){
+					assertSame(individuals.get(i), nonDominated.get(p++));
+				}
+			}
+			assertEquals(p, nonDominated.size());
+		}
+	}
+
+	/**
+	 * Generate a random set of solutions with repeated values
+	 * @param random The random generator
+	 * @return The objective values of each solution
+	 * */
+	private double [][] randomObjectives(Random random){
+		int size = random.nextInt(60)+1;
+		int nObjs = random.nextInt(4)+1;
+		double [][] objectives = new double[size][nObjs];
+		for(int i=0; i<size; i++){
+			for(int j=0; j<nObjs; j++){
+				objectives[i][j] = random.nextInt(5)/4.0;
+			}
+		}
+		return objectives;
+	}
+
+	/**
+	 * Generate a random degree of infeasibility
+	 * @param random The random generator
+	 * @param size The number of solutions
+	 * @return The degree of infeasibility of each solution, 0 for a quarter of them
+	 * */
+	private double [] randomInfeasibility(Random random, int size){
+		double [] infeasibility = new double[size];
+		for(int i=0; i<size; i++){
+			infeasibility[i] = random.nextInt(4) == 0 ? random.nextInt(3)/2.0 : 0.0;
+		}
+		return infeasibility;
+	}
+
+	/**
+	 * Compute the ranks removing the non-dominated solutions one front at a time
+	 * @param objectives The objective values
+	 * @param infeasibility The degree of infeasibility, null for the Pareto dominance
+	 * @return The rank of each solution
+	 * */
+	private int [] naiveRanks(double [][] objectives, double [] infeasibility){
+		int size = objectives.length;
+		int [] ranks = new int[size];
+		boolean [] assigned = new boolean[size];
+		int remaining = size, rank = 0;
+		while(remaining > 0){
+			List<Integer> front = new ArrayList<Integer>();
+			for(int i=0; i<size; i++){
+				if(!assigned[i]){
+					boolean dominated = false;
+					for(int j=0; !dominated && j<size; j++){
+						dominated = !assigned[j] && dominates(objectives, infeasibility, j, i);
+					}
+					if(!dominated){
+						front.add(i);
+					}
+				}
+			}
+			for(int i: front){
+				assigned[i] = true;
+				ranks[i] = rank;
+				remaining--;
+			}
+			rank++;
+		}
+		return ranks;
+	}
+
+	/**
+	 * Check the dominance between two solutions
+	 * @param objectives The objective values
+	 * @param infeasibility The degree of infeasibility, null for the Pareto dominance
+	 * @param s1 The first solution
+	 * @param s2 The second solution
+	 * @return True if the first solution dominates the second one
+	 * */
+	private boolean dominates(double [][] objectives, double [] infeasibility, int s1, int s2){
+		if(infeasibility != null && infeasibility[s1] != infeasibility[s2]){
+			return infeasibility[s1] < infeasibility[s2];
+		}
+		if(infeasibility != null && infeasibility[s1] > 0){
+			return false;
+		}
+		boolean better = false;
+		for(int j=0; j<objectives[s1].length; j++){
+			if(objectives[s1][j] > objectives[s2][j]){
+				return false;
+			}
+			if(objectives[s1][j] < objectives[s2][j]){
+				better = true;
+			}
+		}
+		return better;
+	}
+
+	/**
+	 * Check the fronts of the last sorted set
+	 * @param sorting The sorting
+	 * @param ranks The expected ranks
+	 * */
+	private void checkFronts(NonDominatedSorting sorting, int [] ranks){
+		int numberOfFronts = 0;
+		for(int rank: ranks){
+			numberOfFronts = Math.max(numberOfFronts, rank+1);
+		}
+		assertEquals(numberOfFronts, sorting.getNumberOfFronts());
+		for(int f=0; f<numberOfFronts; f++){
+			List<Integer> expected = new ArrayList<Integer>();
+			for(int i=0; i<ranks.length; i++){
+				if(ranks[i] == f){
+					expected.add(i);
+				}
+			}
+			int [] front = sorting.getFront(f);
+			assertEquals(expected.size(), front.length);
+			for(int i=0; i<front.length; i++){
+				assertEquals((int)expected.get(i), front[i]);
+			}
+		}
+	}
+
+	/**
+	 * Create an individual with the given objective values
+	 * @param id The identifier of the individual
+	 * @param objectives The objective values
+	 * @return The individual
+	 * */
+	private IIndividual createIndividual(int id, double [] objectives){
+		IFitness [] components = new IFitness[objectives.length];
+		for(int j=0; j<objectives.length; j++){
+			components[j] = new SimpleValueFitness(objectives[j]);
+		}
+		return new BinArrayIndividual(new byte[]{(byte)id, (byte)(id>>8)}, new InteractiveMOFitness(components));
+	}
+}
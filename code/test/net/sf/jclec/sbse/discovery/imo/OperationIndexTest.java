@@ -0,0 +1,144 @@
+package net.sf.jclec.sbse.discovery.imo;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import net.sf.jclec.sbse.discovery.TerminalNode;
+import net.sf.jclec.syntaxtree.SyntaxTree;
+import net.sf.jclec.util.random.IRandGen;
+
+/**
+ * Tests for the index of the candidate services. The owners,
+ * symbols and consumers stored by the index must be those found
+ * by splitting the symbols of the terminals, and the interfaces
+ * synthesized with the index must be those synthesized with the
+ * nested lists used before it.
+ *
+ * <p>HISTORY:
+ * <ul>
+ *  <li>1.0: Creation (October 2026)
+ * </ul>
+ *
+ * @author Aurora Ramirez
+ * @author Jose Raul Romero
+ * @author Sebastian Ventura
+ * @version 1.0
+ * @see OperationIndex
+ * @see NestedListSchema
+ * */
+public class OperationIndexTest {
+
+	/** Seed of the random generator */
+	private static final long SEED = 246813579;
+
+	/** Number of individuals */
+	private static final int SIZE = 200;
+
+	/** The problem */
+	private TestProblem problem;
+
+	/** The species */
+	private InteractiveMOSpecies species;
+
+	/** The schema */
+	private InteractiveMOSchema schema;
+
+	@Before
+	public void setUp(){
+		this.problem = TestProblem.getInstance();
+		this.species = this.problem.createSpecies();
+		this.schema = (InteractiveMOSchema)this.species.getGenotypeSchema();
+	}
+
+	@Test
+	public void testServices(){
+		OperationIndex index = this.schema.getOperationIndex();
+		RelationshipModel relationships = this.problem.getRelationshipModel();
+		TerminalNode [] terminals = this.schema.getTerminals();
+		int numberOfClasses = this.schema.getNumOfClasses();
+		assertEquals(terminals.length-numberOfClasses, index.getNumberOfServices());
+
+		for(int s=0; s<index.getNumberOfServices(); s++){
+			String symbol = terminals[numberOfClasses+s].getSymbol();
+			int owner = relationships.getClassIndex(symbol.split(":")[0]);
+			assertEquals(owner, index.getOwner(s));
+			assertTrue(contains(index.getServices(owner), s));
+			assertEquals(index.getSymbolId(s), index.getSymbolId(symbol));
+			assertEquals(index.getSymbolId(s), index.getSymbolId(symbol.toUpperCase()));
+
+			// the services with the same symbol share the identifier
+			for(int t=0; t<s; t++){
+				boolean sameSymbol = symbol.equalsIgnoreCase(terminals[numberOfClasses+t].getSymbol());
+				assertEquals(sameSymbol, index.getSymbolId(s) == index.getSymbolId(t));
+			}
+		}
+		assertEquals(-1, index.getSymbolId("interface"));
+	}
+
+	@Test
+	public void testConsumers(){
+		OperationIndex index = this.schema.getOperationIndex();
+		RelationshipModel relationships = this.problem.getRelationshipModel();
+		RelationshipGraph graph = relationships.getGraph();
+
+		for(int c=0; c<relationships.getNumberOfClasses(); c++){
+			List<Integer> consumers = new ArrayList<Integer>();
+			List<Integer> links = new ArrayList<Integer>();
+			for(int p=0; p<graph.getNumberOfInvokers(c); p++){
+				int invoker = graph.getInvoker(c, p);
+				int numberOfLinks = 0;
+				for(int k=0; k<relationships.getNumberOfRelationships(c, invoker); k++){
+					if(relationships.isInvokedBy(c, invoker, k)){
+						numberOfLinks++;
+					}
+				}
+				if(numberOfLinks > 0){
+					consumers.add(invoker);
+					links.add(numberOfLinks);
+				}
+			}
+			assertEquals(consumers.size(), index.getConsumers(c).length);
+			for(int p=0; p<consumers.size(); p++){
+				assertEquals(consumers.get(p).intValue(), index.getConsumers(c)[p]);
+				assertEquals(links.get(p).intValue(), index.getConsumerLinks(c)[p]);
+			}
+		}
+	}
+
+	@Test
+	public void testSameTreesAsNestedLists(){
+		NestedListSchema reference = new NestedListSchema(this.problem, this.species);
+		IRandGen randgen = TestProblem.createRandGen(SEED);
+		int numberOfInterfaces = 0;
+		for(int i=0; i<SIZE; i++){
+			InteractiveMOIndividual ind = this.problem.createIndividual(this.species, randgen);
+			SyntaxTree expected = reference.createSyntaxTree(ind.getNumberOfComponents(), ind.getClassesDistribution());
+			TestProblem.assertSameTree(expected, ind.getGenotype());
+			for(int c=0; c<ind.getNumberOfComponents(); c++){
+				numberOfInterfaces += ind.getNumberOfRequired(c) + ind.getNumberOfProvided(c);
+			}
+		}
+		assertTrue(numberOfInterfaces > 0);
+	}
+
+	/**
+	 * Check if an array contains a value
+	 * @param array The array
+	 * @param value The value
+	 * @return True if the value is found
+	 * */
+	private boolean contains(int [] array, int value){
+		for(int v: array){
+			if(v == value){
+				return true;
+			}
+		}
+		return false;
+	}
+}
@@ -0,0 +1,189 @@
+package net.sf.jclec.sbse.discovery.imo;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import net.sf.jclec.IIndividual;
+import net.sf.jclec.syntaxtree.SyntaxTree;
+import net.sf.jclec.util.random.IRandGen;
+
+/**
+ * Tests for the identifiers of the operations. Two operations
+ * of the interfaces must have the same identifier if, and only
+ * if, their symbols are equal, and the catalogs must store the
+ * identifiers of the operations found in the syntax trees. Each
+ * schema has its own table, which is shared by the individuals
+ * that it creates and by their copies.
+ *
+ * <p>HISTORY:
+ * <ul>
+ *  <li>1.0: Creation (October 2026)
+ * </ul>
+ *
+ * @author Aurora Ramirez
+ * @author Jose Raul Romero
+ * @author Sebastian Ventura
+ * @version 1.0
+ * @see OperationTable
+ * @see InterfaceCatalog
+ * */
+public class OperationTableTest {
+
+	/** Seed of the random generator */
+	private static final long SEED = 141421356;
+
+	/** Number of individuals */
+	private static final int SIZE = 100;
+
+	/** The problem */
+	private TestProblem problem;
+
+	/** The species */
+	private InteractiveMOSpecies species;
+
+	/** The schema */
+	private InteractiveMOSchema schema;
+
+	@Before
+	public void setUp(){
+		this.problem = TestProblem.getInstance();
+		this.species = this.problem.createSpecies();
+		this.schema = (InteractiveMOSchema)this.species.getGenotypeSchema();
+	}
+
+	@Test
+	public void testIdsOfTheSymbols(){
+		OperationTable table = this.schema.getOperationTable();
+		List<String> symbols = new ArrayList<String>();
+		for(IIndividual ind: this.problem.createIndividuals(this.species, TestProblem.createRandGen(SEED), SIZE)){
+			InteractiveMOIndividual individual = (InteractiveMOIndividual)ind;
+			SyntaxTree genotype = individual.getGenotype();
+			ComponentIndex index = individual.getComponentIndex();
+			for(int c=0; c<individual.getNumberOfComponents(); c++){
+				for(int p=index.getRequiredStart(c); p<index.getProvidedEnd(c); p++){
+					if(genotype.getNode(p).arity() == 0){
+						symbols.add(genotype.getNode(p).getSymbol());
+					}
+				}
+			}
+		}
+		assertTrue(symbols.size() > 0);
+		symbols.add("unknown:symbol");
+		symbols.add("unknown:symbol [ Class ]");
+
+		// the same symbol always receives the same identifier
+		Map<String, Integer> ids = new HashMap<String, Integer>();
+		for(String symbol: symbols){
+			int id = table.getOperationId(symbol);
+			Integer previous = ids.put(symbol, id);
+			if(previous != null){
+				assertEquals(previous.intValue(), id);
+			}
+		}
+
+		// different symbols receive different identifiers
+		Map<Integer, String> inverse = new HashMap<Integer, String>();
+		for(Map.Entry<String, Integer> entry: ids.entrySet()){
+			String other = inverse.put(entry.getValue(), entry.getKey());
+			if(other != null){
+				assertTrue(other.equalsIgnoreCase(entry.getKey()));
+			}
+		}
+		assertTrue(table.getOperationId("unknown:symbol") < 0);
+	}
+
+	@Test
+	public void testCatalogOfTheTree(){
+		IRandGen randgen = TestProblem.createRandGen(SEED+1);
+		OperationTable table = this.schema.getOperationTable();
+		for(int i=0; i<SIZE; i++){
+			InteractiveMOIndividual ind = this.problem.createIndividual(this.species, randgen);
+			InterfaceCatalog catalog = ind.getInterfaceCatalog();
+			ComponentIndex index = ind.getComponentIndex();
+			SyntaxTree genotype = ind.getGenotype();
+			assertSame(table, catalog.getOperationTable());
+			assertEquals(ind.getNumberOfComponents(), catalog.getNumberOfComponents());
+			for(int c=0; c<catalog.getNumberOfComponents(); c++){
+				assertEquals(index.getNumberOfRequired(c), catalog.getNumberOfRequired(c));
+				for(int j=0; j<catalog.getNumberOfRequired(c); j++){
+					assertArrayEquals(ids(table, genotype, index.getRequiredInterfaceStart(c, j), index.getRequiredInterfaceEnd(c, j)),
+							catalog.getRequired(c, j));
+				}
+				assertEquals(index.getNumberOfProvided(c), catalog.getNumberOfProvided(c));
+				for(int j=0; j<catalog.getNumberOfProvided(c); j++){
+					assertArrayEquals(ids(table, genotype, index.getProvidedInterfaceStart(c, j), index.getProvidedInterfaceEnd(c, j)),
+							catalog.getProvided(c, j));
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testTablesOfTheSchemas(){
+		InteractiveMOSpecies other = this.problem.createSpecies();
+		OperationTable table = this.schema.getOperationTable();
+		OperationTable otherTable = ((InteractiveMOSchema)other.getGenotypeSchema()).getOperationTable();
+		assertSame(table, this.schema.getOperationTable());
+		assertNotSame(table, otherTable);
+
+		IRandGen randgen = TestProblem.createRandGen(SEED+2);
+		InteractiveMOIndividual ind = this.problem.createIndividual(this.species, randgen);
+		InteractiveMOIndividual otherInd = this.problem.createIndividual(other, randgen);
+		assertSame(table, ind.getOperationTable());
+		assertSame(otherTable, otherInd.getOperationTable());
+		assertSame(table, ((InteractiveMOIndividual)ind.copy()).getOperationTable());
+		assertSame(otherTable, otherInd.getInterfaceCatalog().getOperationTable());
+
+		// the provided operations have the same identifiers in both tables
+		int numberOfClasses = this.schema.getNumOfClasses();
+		for(int s=numberOfClasses; s<this.schema.getTerminals().length; s++){
+			String symbol = this.schema.getTerminals()[s].getSymbol();
+			assertEquals(table.getOperationId(symbol), otherTable.getOperationId(symbol));
+		}
+	}
+
+	@Test
+	public void testMissingTable(){
+		InteractiveMOIndividual ind = this.problem.createIndividual(this.species, TestProblem.createRandGen(SEED+3));
+		InteractiveMOIndividual withoutTable = new InteractiveMOIndividual(ind.getGenotype());
+		withoutTable.setClassesDistribution(ind.getClassesDistribution().clone());
+		try{
+			withoutTable.getInterfaceCatalog();
+			fail("The catalog was built without a table of operations");
+		}catch(IllegalStateException e){
+			// expected
+		}
+		withoutTable.setOperationTable(ind.getOperationTable());
+		assertSame(ind.getOperationTable(), withoutTable.getInterfaceCatalog().getOperationTable());
+	}
+
+	/**
+	 * Get the sorted identifiers of the operations of an interface
+	 * @param table The table of operations
+	 * @param genotype The syntax tree
+	 * @param start The position of the interface node
+	 * @param end The position after the last operation
+	 * @return The identifiers
+	 * */
+	private int [] ids(OperationTable table, SyntaxTree genotype, int start, int end){
+		int [] ids = new int[end-start-1];
+		for(int p=start+1; p<end; p++){
+			ids[p-start-1] = table.getOperationId(genotype.getNode(p).getSymbol());
+		}
+		Arrays.sort(ids);
+		return ids;
+	}
+}
@@ -0,0 +1,241 @@
+package net.sf.jclec.sbse.discovery.imo;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import net.sf.jclec.IIndividual;
+import net.sf.jclec.util.random.IRandGen;
+
+/**
+ * Tests for the parallel creation of individuals. The creator
+ * is contextualized with a stub context and provides the
+ * population with 1, 2 and 4 threads. In the parallel creation,
+ * each individual receives its own random generator, drawn from
+ * the context in the order of the individuals, so the population
+ * must be the one created in order with the same generators,
+ * whatever the number of threads. The rejected individuals must
+ * be created again with the next generators, and a failure in
+ * a thread must be thrown by <code>provide</code>.
+ *
+ * <p>HISTORY:
+ * <ul>
+ *  <li>1.0: Creation (October 2026)
+ *  <li>1.1: Population provided by the creator (October 2026)
+ * </ul>
+ *
+ * @author Aurora Ramirez
+ * @author Jose Raul Romero
+ * @author Sebastian Ventura
+ * @version 1.1
+ * @see net.sf.jclec.sbse.discovery.TreeCreator
+ * @see InteractiveMOTreeCreator
+ * */
+public class ParallelCreationTest {
+
+	/** Seed of the random generators */
+	private static final long SEED = 456789123;
+
+	/** Number of individuals */
+	private static final int SIZE = 200;
+
+	/** The problem */
+	private TestProblem problem;
+
+	/** The species */
+	private InteractiveMOSpecies species;
+
+	@Before
+	public void setUp(){
+		this.problem = TestProblem.getInstance();
+		this.species = this.problem.createSpecies();
+	}
+
+	@Test
+	public void testSequential(){
+		TestContext context = new TestContext(this.species, SEED);
+		List<IIndividual> actual = provide(context, 1, false, -1);
+		check(createInOrder(false, false), actual);
+		assertEquals(1, context.getNumberOfRandGens());
+	}
+
+	@Test
+	public void testParallelEqualsOrdered(){
+		List<IIndividual> expected = createInOrder(true, false);
+		for(int numberOfThreads: new int[]{2, 4}){
+			TestContext context = new TestContext(this.species, SEED);
+			check(expected, provide(context, numberOfThreads, false, -1));
+			// one generator for the creator and one for each individual
+			assertEquals(1+SIZE, context.getNumberOfRandGens());
+		}
+	}
+
+	@Test
+	public void testRejectedCreatedAgain(){
+		List<IIndividual> expected = createInOrder(true, true);
+		for(int numberOfThreads: new int[]{2, 4}){
+			TestContext context = new TestContext(this.species, SEED);
+			check(expected, provide(context, numberOfThreads, true, -1));
+			assertTrue(context.getNumberOfRandGens() > 1+SIZE);
+		}
+		check(createInOrder(false, true), provide(new TestContext(this.species, SEED), 1, true, -1));
+	}
+
+	@Test
+	public void testSharedSchemaCaches(){
+		// the caches of the schema are filled by the threads
+		((InteractiveMOSchema)this.species.getGenotypeSchema()).setInterfaceCacheSize(1000);
+		List<IIndividual> expected = createInOrder(true, false);
+		check(expected, provide(new TestContext(this.species, SEED), 4, false, -1));
+		check(expected, provide(new TestContext(this.species, SEED), 2, false, -1));
+	}
+
+	@Test
+	public void testFailurePropagated(){
+		for(int numberOfThreads: new int[]{1, 2, 4}){
+			try{
+				provide(new TestContext(this.species, SEED), numberOfThreads, false, SIZE/2);
+				fail("The failure of the creation was not propagated");
+			}catch(IllegalStateException e){
+				assertEquals(StubCreator.FAILURE, e.getMessage());
+			}
+		}
+	}
+
+	/**
+	 * Provide the individuals
+	 * @param context The context
+	 * @param numberOfThreads The number of threads
+	 * @param reject Whether the individuals with an even number of components are rejected
+	 * @param failure The number of the creation that fails, -1 if none
+	 * @return The created individuals
+	 * */
+	private List<IIndividual> provide(TestContext context, int numberOfThreads, boolean reject, int failure){
+		StubCreator creator = new StubCreator(reject, failure);
+		creator.setNumberOfThreads(numberOfThreads);
+		creator.contextualize(context);
+		return creator.provide(SIZE);
+	}
+
+	/**
+	 * Create the individuals in order, without threads
+	 * @param perIndividual True if each individual uses the
+	 * next generator of the context, as in the parallel creation,
+	 * false if all of them use the generator of the creator
+	 * @param reject Whether the individuals with an even number of components are rejected
+	 * @return The accepted individuals
+	 * */
+	private List<IIndividual> createInOrder(boolean perIndividual, boolean reject){
+		TestContext context = new TestContext(this.species, SEED);
+		StubCreator creator = new StubCreator(reject, -1);
+		creator.contextualize(context);
+		creator.provide(0);
+		List<IIndividual> individuals = new ArrayList<IIndividual>();
+		while(individuals.size() < SIZE){
+			IIndividual ind = creator.create(perIndividual ? context.createRandGen() : creator.getRandGen());
+			if(creator.accept(ind)){
+				individuals.add(ind);
+			}
+		}
+		return individuals;
+	}
+
+	/**
+	 * Compare the architectures
+	 * @param expected The reference individuals
+	 * @param actual The individuals to be checked
+	 * */
+	private void check(List<IIndividual> expected, List<IIndividual> actual){
+		assertEquals(expected.size(), actual.size());
+		for(int i=0; i<expected.size(); i++){
+			InteractiveMOIndividual expectedInd = (InteractiveMOIndividual)expected.get(i);
+			InteractiveMOIndividual actualInd = (InteractiveMOIndividual)actual.get(i);
+			assertEquals(expectedInd.getNumberOfComponents(), actualInd.getNumberOfComponents());
+			assertArrayEquals(expectedInd.getClassesDistribution(), actualInd.getClassesDistribution());
+			TestProblem.assertSameTree(expectedInd.getGenotype(), actualInd.getGenotype());
+		}
+	}
+
+	/**
+	 * Creator that can reject the individuals with an
+	 * even number of components and fail in a given creation
+	 * */
+	private static class StubCreator extends InteractiveMOTreeCreator {
+
+		/** Serial ID */
+		private static final long serialVersionUID = 4907612331527749170L;
+
+		/** Message of the failure */
+		static final String FAILURE = "The creation failed";
+
+		/** Whether the individuals with an even number of components are rejected */
+		private boolean reject;
+
+		/** The number of the creation that fails, -1 if none */
+		private int failure;
+
+		/** Number of creations */
+		private AtomicInteger creations = new AtomicInteger();
+
+		/**
+		 * Parameterized constructor
+		 * @param reject Whether the individuals with an even number of components are rejected
+		 * @param failure The number of the creation that fails, -1 if none
+		 * */
+		StubCreator(boolean reject, int failure){
+			super();
+			this.reject = reject;
+			this.failure = failure;
+		}
+
+		/**
+		 * Get the random generator of the creator
+		 * @return The generator drawn when the creator was contextualized
+		 * */
+		IRandGen getRandGen(){
+			return this.randgen;
+		}
+
+		/**
+		 * Create an individual
+		 * @param randgen The random generator
+		 * @return The new individual
+		 * */
+		IIndividual create(IRandGen randgen){
+			return createIndividual(randgen);
+		}
+
+		/**
+		 * Check if an individual is accepted
+		 * @param individual The individual
+		 * @return True if the individual is accepted
+		 * */
+		boolean accept(IIndividual individual){
+			return isAccepted(individual);
+		}
+
+		@Override
+		protected IIndividual createIndividual(IRandGen randgen){
+			if(this.creations.incrementAndGet() == this.failure){
+				throw new IllegalStateException(FAILURE);
+			}
+			return super.createIndividual(randgen);
+		}
+
+		@Override
+		protected boolean isAccepted(IIndividual individual){
+			if(this.reject && ((InteractiveMOIndividual)individual).getNumberOfComponents()%2 == 0){
+				return false;
+			}
+			return super.isAccepted(individual);
+		}
+	}
+}
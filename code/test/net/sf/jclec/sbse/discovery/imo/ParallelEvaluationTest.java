@@ -0,0 +1,82 @@
+package net.sf.jclec.sbse.discovery.imo;
+
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import net.sf.jclec.IIndividual;
+
+/**
+ * Tests for the parallel evaluation. The same architectures are
+ * evaluated by one thread and by several threads, and the objective
+ * values and the measures per component must be identical, since
+ * each evaluation only uses its own auxiliary data.
+ *
+ * <p>HISTORY:
+ * <ul>
+ *  <li>1.0: Creation (October 2026)
+ * </ul>
+ *
+ * @author Aurora Ramirez
+ * @author Jose Raul Romero
+ * @author Sebastian Ventura
+ * @version 1.0
+ * @see InteractiveMOEvaluator
+ * */
+public class ParallelEvaluationTest {
+
+	/** Seed of the random generators */
+	private static final long SEED = 456789123;
+
+	/** Number of individuals */
+	private static final int SIZE = 200;
+
+	/** The problem */
+	private TestProblem problem;
+
+	/** The species */
+	private InteractiveMOSpecies species;
+
+	@Before
+	public void setUp(){
+		this.problem = TestProblem.getInstance();
+		this.species = this.problem.createSpecies();
+	}
+
+	@Test
+	public void testRoutedEvaluation() throws Exception {
+		check(false, 2);
+		check(false, 4);
+	}
+
+	@Test
+	public void testFusedEvaluation() throws Exception {
+		check(true, 2);
+		check(true, 4);
+	}
+
+	/**
+	 * Compare the sequential and the parallel evaluation
+	 * @param fusedEvaluation Whether the fused evaluation is enabled
+	 * @param numberOfThreads The number of threads of the parallel evaluation
+	 * */
+	private void check(boolean fusedEvaluation, int numberOfThreads) throws Exception {
+		String engine = "<fused-evaluation>" + fusedEvaluation + "</fused-evaluation>";
+		InteractiveMOEvaluator sequential = this.problem.createEvaluator(this.species, engine);
+		InteractiveMOEvaluator parallel = this.problem.createEvaluator(this.species, 
+				engine + "<number-of-threads>" + numberOfThreads + "</number-of-threads>");
+		List<IIndividual> expected = this.problem.createIndividuals(this.species, TestProblem.createRandGen(SEED), SIZE);
+		List<IIndividual> actual = this.problem.createIndividuals(this.species, TestProblem.createRandGen(SEED), SIZE);
+		try{
+			sequential.evaluate(expected);
+			parallel.evaluate(actual);
+		}
+		finally{
+			parallel.shutdown();
+		}
+		for(int i=0; i<SIZE; i++){
+			TestProblem.assertSameEvaluation((InteractiveMOIndividual)expected.get(i), (InteractiveMOIndividual)actual.get(i), 0.0);
+		}
+	}
+}
@@ -0,0 +1,153 @@
+package net.sf.jclec.sbse.discovery.imo;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import net.sf.jclec.IIndividual;
+import net.sf.jclec.mo.evaluation.fitness.MOFitness;
+import net.sf.jclec.sbse.discovery.imo.preferences.ArchitecturalPreference;
+import net.sf.jclec.sbse.discovery.imo.preferences.DissimilarityWorstComponent;
+import net.sf.jclec.sbse.discovery.imo.preferences.SimilarityBestComponent;
+import net.sf.jclec.sbse.discovery.imo.preferences.SimilarityMeasureInRange;
+import net.sf.jclec.sbse.discovery.imo.preferences.SimilarityNumberComponents;
+import net.sf.jclec.util.random.IRandGen;
+
+/**
+ * Tests for the values of the preferences kept by the individuals.
+ * After a set of preferences that only appends preferences to the
+ * previous one, only the new preferences must be evaluated; after
+ * a set that does not extend the previous one, all of them must be
+ * evaluated again. In both cases, the values must be those of a
+ * fresh evaluation of each preference.
+ *
+ * <p>HISTORY:
+ * <ul>
+ *  <li>1.0: Creation (October 2026)
+ * </ul>
+ *
+ * @author Aurora Ramirez
+ * @author Jose Raul Romero
+ * @author Sebastian Ventura
+ * @version 1.0
+ * @see InteractiveMOStrategy#scorePreferences(InteractiveMOIndividual)
+ * */
+public class PreferenceScoresTest {
+
+	/** Seed of the random generator */
+	private static final long SEED = 314159265;
+
+	/** Number of individuals */
+	private static final int SIZE = 50;
+
+	/** Number of preferences */
+	private static final int PREFERENCES = 12;
+
+	/** The individuals */
+	private List<IIndividual> individuals;
+
+	/** The preferences */
+	private List<ArchitecturalPreference> preferences;
+
+	/** The strategy */
+	private InteractiveMOStrategy strategy;
+
+	@Before
+	public void setUp(){
+		TestProblem problem = TestProblem.getInstance();
+		InteractiveMOSpecies species = problem.createSpecies();
+		InteractiveMOEvaluator evaluator = problem.createEvaluator(species, "");
+		IRandGen randgen = TestProblem.createRandGen(SEED);
+		this.individuals = problem.createIndividuals(species, randgen, SIZE);
+		evaluator.evaluate(this.individuals);
+		int nObjs = ((MOFitness)this.individuals.get(0).getFitness()).getNumberOfObjectives();
+
+		this.preferences = new ArrayList<ArchitecturalPreference>();
+		while(this.preferences.size() < PREFERENCES){
+			InteractiveMOIndividual ind = (InteractiveMOIndividual)this.individuals.get(randgen.choose(0, SIZE));
+			int component = randgen.choose(0, ind.getNumberOfComponents());
+			SimilarityBestComponent best = new SimilarityBestComponent();
+			best.setComponentSubTree(ind.getComponentTree(component));
+			this.preferences.add(best);
+			DissimilarityWorstComponent worst = new DissimilarityWorstComponent();
+			worst.setComponentSubTree(ind.getComponentTree(component));
+			this.preferences.add(worst);
+			double min = randgen.uniform(0.0, 0.5);
+			this.preferences.add(new SimilarityMeasureInRange(randgen.choose(0, nObjs), min, min + randgen.uniform(0.0, 0.5)));
+			this.preferences.add(new SimilarityNumberComponents(TestProblem.MIN_COMPONENTS, TestProblem.MAX_COMPONENTS,
+					randgen.choose(TestProblem.MIN_COMPONENTS, TestProblem.MAX_COMPONENTS+1)));
+		}
+		this.strategy = new InteractiveMOStrategy();
+	}
+
+	@Test
+	public void testAppendedPreferences(){
+		int half = PREFERENCES/2;
+		this.strategy.setPreferences(new ArrayList<ArchitecturalPreference>(this.preferences.subList(0, half)));
+		long version = this.strategy.getPreferenceSetVersion();
+		check(half);
+		assertEquals((long)half*SIZE, this.strategy.getNumberOfPreferenceEvaluations());
+
+		// only the appended preferences are evaluated
+		this.strategy.setPreferences(new ArrayList<ArchitecturalPreference>(this.preferences));
+		assertEquals(version, this.strategy.getPreferenceSetVersion());
+		check(PREFERENCES);
+		assertEquals((long)PREFERENCES*SIZE, this.strategy.getNumberOfPreferenceEvaluations());
+
+		// the values are kept if the set does not change
+		check(PREFERENCES);
+		assertEquals((long)PREFERENCES*SIZE, this.strategy.getNumberOfPreferenceEvaluations());
+	}
+
+	@Test
+	public void testReplacedPreferences(){
+		this.strategy.setPreferences(new ArrayList<ArchitecturalPreference>(this.preferences));
+		long version = this.strategy.getPreferenceSetVersion();
+		check(PREFERENCES);
+
+		// the same preferences in other order
+		List<ArchitecturalPreference> reordered = new ArrayList<ArchitecturalPreference>(this.preferences);
+		Collections.reverse(reordered);
+		this.strategy.setPreferences(reordered);
+		assertTrue(this.strategy.getPreferenceSetVersion() != version);
+		check(PREFERENCES);
+		assertEquals(2L*PREFERENCES*SIZE, this.strategy.getNumberOfPreferenceEvaluations());
+	}
+
+	@Test
+	public void testShorterPreferences(){
+		this.strategy.setPreferences(new ArrayList<ArchitecturalPreference>(this.preferences));
+		long version = this.strategy.getPreferenceSetVersion();
+		check(PREFERENCES);
+
+		// a prefix of the previous set does not extend it
+		int shorter = PREFERENCES/3;
+		this.strategy.setPreferences(new ArrayList<ArchitecturalPreference>(this.preferences.subList(0, shorter)));
+		assertTrue(this.strategy.getPreferenceSetVersion() != version);
+		check(shorter);
+		assertEquals((long)(PREFERENCES+shorter)*SIZE, this.strategy.getNumberOfPreferenceEvaluations());
+	}
+
+	/**
+	 * Score the preferences of each individual and compare
+	 * the values with a fresh evaluation of each preference
+	 * @param numberOfPreferences The number of preferences of the strategy
+	 * */
+	private void check(int numberOfPreferences){
+		List<ArchitecturalPreference> current = this.strategy.getPreferences();
+		assertEquals(numberOfPreferences, current.size());
+		for(IIndividual ind: this.individuals){
+			List<Double> values = this.strategy.scorePreferences((InteractiveMOIndividual)ind);
+			assertEquals(numberOfPreferences, values.size());
+			for(int p=0; p<numberOfPreferences; p++){
+				assertEquals(current.get(p).evaluatePreference((InteractiveMOIndividual)ind), values.get(p), 0.0);
+			}
+		}
+	}
+}
@@ -0,0 +1,252 @@
+package net.sf.jclec.sbse.discovery.imo;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import net.sf.jclec.IIndividual;
+import net.sf.jclec.mo.evaluation.fitness.MOFitness;
+import net.sf.jclec.sbse.discovery.imo.preferences.ArchitecturalPreference;
+import net.sf.jclec.sbse.discovery.imo.preferences.SimilarityBestComponent;
+import net.sf.jclec.sbse.discovery.imo.preferences.SimilarityMeasureInRange;
+import net.sf.jclec.sbse.discovery.imo.preferences.SimilarityNumberComponents;
+import net.sf.jclec.util.random.IRandGen;
+
+/**
+ * Tests for the redundant fitness assignments of the TD strategy.
+ * Two strategies follow the same sequence of changes of the members
+ * and the preferences, one of them skips the redundant assignments
+ * and the other one always assigns the fitness values. The values
+ * of both populations must be equal after each step, and only the
+ * steps that change nothing (or replace a member by a copy) must be
+ * skipped. The assignment of the stub strategies only computes the
+ * preference values, since the dominance values require an algorithm.
+ *
+ * <p>HISTORY:
+ * <ul>
+ *  <li>1.0: Creation (October 2026)
+ * </ul>
+ *
+ * @author Aurora Ramirez
+ * @author Jose Raul Romero
+ * @author Sebastian Ventura
+ * @version 1.0
+ * @see InteractiveMOTDStrategy#updateFitness(List, List)
+ * */
+public class RedundantAssignmentTest {
+
+	/** Seed of the random generator */
+	private static final long SEED = 753197531;
+
+	/** Number of individuals */
+	private static final int SIZE = 30;
+
+	/** Number of steps */
+	private static final int STEPS = 200;
+
+	/** The problem */
+	private TestProblem problem;
+
+	/** The species */
+	private InteractiveMOSpecies species;
+
+	/** The evaluator */
+	private InteractiveMOEvaluator evaluator;
+
+	@Before
+	public void setUp(){
+		this.problem = TestProblem.getInstance();
+		this.species = this.problem.createSpecies();
+		this.evaluator = this.problem.createEvaluator(this.species, "");
+	}
+
+	@Test
+	public void testSkippedEqualsForced(){
+		IRandGen randgen = TestProblem.createRandGen(SEED);
+		StubStrategy skipping = new StubStrategy(true);
+		StubStrategy forced = new StubStrategy(false);
+
+		List<IIndividual> initial = create(randgen, SIZE);
+		List<IIndividual> population1 = copy(initial), population2 = copy(initial);
+		List<IIndividual> archive1 = new ArrayList<IIndividual>(), archive2 = new ArrayList<IIndividual>();
+		List<ArchitecturalPreference> preferences = new ArrayList<ArchitecturalPreference>();
+		preferences.add(createPreference(randgen, (InteractiveMOIndividual)initial.get(0)));
+		skipping.setPreferences(new ArrayList<ArchitecturalPreference>(preferences));
+		forced.setPreferences(new ArrayList<ArchitecturalPreference>(preferences));
+		skipping.updateFitness(population1, archive1);
+		forced.updateFitness(population2, archive2);
+		check(population2, population1);
+
+		int expectedSkips = 0;
+		for(int s=0; s<STEPS; s++){
+			int position = randgen.choose(0, SIZE);
+			boolean redundant = false;
+			switch(randgen.choose(0, 7)){
+
+			// nothing changes
+			case 0:
+				redundant = true;
+				break;
+
+			// a member is replaced by a copy
+			case 1:
+				population1.set(position, population1.get(position).copy());
+				population2.set(position, population2.get(position).copy());
+				redundant = true;
+				break;
+
+			// a member is replaced by a new individual
+			case 2:
+				IIndividual ind = create(randgen, 1).get(0);
+				population1.set(position, ind.copy());
+				population2.set(position, ind.copy());
+				break;
+
+			// a member is added to the archive
+			case 3:
+				archive1.add(population1.get(position).copy());
+				archive2.add(population2.get(position).copy());
+				break;
+
+			// a preference is appended
+			case 4:
+				preferences.add(createPreference(randgen, (InteractiveMOIndividual)initial.get(position)));
+				skipping.setPreferences(new ArrayList<ArchitecturalPreference>(preferences));
+				forced.setPreferences(new ArrayList<ArchitecturalPreference>(preferences));
+				break;
+
+			// the set of preferences is replaced, it does not extend the previous one
+			case 5:
+				preferences.add(0, createPreference(randgen, (InteractiveMOIndividual)initial.get(position)));
+				skipping.setPreferences(new ArrayList<ArchitecturalPreference>(preferences));
+				forced.setPreferences(new ArrayList<ArchitecturalPreference>(preferences));
+				break;
+
+			// the confidence of a preference changes
+			default:
+				preferences.get(randgen.choose(0, preferences.size())).setScaledConfidence(randgen.uniform(0.1, 1.0));
+				skipping.confidencesChanged();
+				forced.confidencesChanged();
+				break;
+			}
+
+			if(redundant){
+				expectedSkips++;
+			}
+			skipping.updateFitness(population1, archive1);
+			forced.updateFitness(population2, archive2);
+			check(population2, population1);
+			check(archive2, archive1);
+			assertEquals(expectedSkips, skipping.getNumberOfSkippedAssignments());
+			assertEquals(s+2-expectedSkips, skipping.getNumberOfAssignments());
+			assertEquals(0, forced.getNumberOfSkippedAssignments());
+		}
+	}
+
+	/**
+	 * Compare the fitness values of two sets of individuals
+	 * @param expected The individuals of the strategy that always assigns the values
+	 * @param actual The individuals of the strategy that skips the redundant assignments
+	 * */
+	private void check(List<IIndividual> expected, List<IIndividual> actual){
+		assertEquals(expected.size(), actual.size());
+		for(int i=0; i<expected.size(); i++){
+			InteractiveMOFitness expectedFitness = (InteractiveMOFitness)expected.get(i).getFitness();
+			InteractiveMOFitness actualFitness = (InteractiveMOFitness)actual.get(i).getFitness();
+			assertEquals(expectedFitness.getPreferenceValue(), actualFitness.getPreferenceValue(), 0.0);
+			assertEquals(expectedFitness.getValue(), actualFitness.getValue(), 0.0);
+		}
+	}
+
+	/**
+	 * Create evaluated individuals
+	 * @param randgen The random generator
+	 * @param size The number of individuals
+	 * @return The individuals
+	 * */
+	private List<IIndividual> create(IRandGen randgen, int size){
+		List<IIndividual> individuals = this.problem.createIndividuals(this.species, randgen, size);
+		this.evaluator.evaluate(individuals);
+		return individuals;
+	}
+
+	/**
+	 * Copy a list of individuals
+	 * @param individuals The individuals
+	 * @return A list with a copy of each individual
+	 * */
+	private List<IIndividual> copy(List<IIndividual> individuals){
+		List<IIndividual> copies = new ArrayList<IIndividual>();
+		for(IIndividual ind: individuals){
+			copies.add(ind.copy());
+		}
+		return copies;
+	}
+
+	/**
+	 * Create a random preference
+	 * @param randgen The random generator
+	 * @param ind The individual that defines the component preferences
+	 * @return The preference
+	 * */
+	private ArchitecturalPreference createPreference(IRandGen randgen, InteractiveMOIndividual ind){
+		ArchitecturalPreference preference;
+		switch(randgen.choose(0, 3)){
+		case 0:
+			SimilarityBestComponent best = new SimilarityBestComponent();
+			best.setComponentSubTree(ind.getComponentTree(randgen.choose(0, ind.getNumberOfComponents())));
+			preference = best;
+			break;
+		case 1:
+			int nObjs = ((MOFitness)ind.getFitness()).getNumberOfObjectives();
+			double min = randgen.uniform(0.0, 0.5);
+			preference = new SimilarityMeasureInRange(randgen.choose(0, nObjs), min, min + randgen.uniform(0.0, 0.5));
+			break;
+		default:
+			preference = new SimilarityNumberComponents(TestProblem.MIN_COMPONENTS, TestProblem.MAX_COMPONENTS,
+					randgen.choose(TestProblem.MIN_COMPONENTS, TestProblem.MAX_COMPONENTS+1));
+			break;
+		}
+		preference.setScaledConfidence(randgen.uniform(0.1, 1.0));
+		return preference;
+	}
+
+	/**
+	 * TD strategy whose fitness assignment only computes
+	 * the preference values of the individuals
+	 * */
+	private static class StubStrategy extends InteractiveMOTDStrategy {
+
+		/** Serial ID */
+		private static final long serialVersionUID = 2954031760418239865L;
+
+		/**
+		 * Parameterized constructor
+		 * @param skipRedundantAssignments Whether the redundant assignments are skipped
+		 * */
+		StubStrategy(boolean skipRedundantAssignments){
+			super();
+			this.skipRedundantAssignments = skipRedundantAssignments;
+		}
+
+		@Override
+		protected void fitnessAssignment(List<IIndividual> population, List<IIndividual> archive){
+			saveAssignment(population, archive);
+			List<IIndividual> allIndividuals = new ArrayList<IIndividual>(population);
+			if(archive != null){
+				allIndividuals.addAll(archive);
+			}
+			for(IIndividual ind: allIndividuals){
+				InteractiveMOIndividual individual = (InteractiveMOIndividual)ind;
+				evaluateNewPreferences(individual);
+				double value = preferenceValue(individual);
+				((InteractiveMOFitness)individual.getFitness()).setPreferenceValue(value);
+				((MOFitness)individual.getFitness()).setValue(1.0-value);
+			}
+		}
+	}
+}
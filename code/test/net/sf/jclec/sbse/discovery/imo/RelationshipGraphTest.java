@@ -0,0 +1,161 @@
+package net.sf.jclec.sbse.discovery.imo;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests for the relationship graph. The neighbours of each
+ * adjacency are compared with a scan of all the pairs of
+ * classes in the relationship model.
+ *
+ * <p>HISTORY:
+ * <ul>
+ *  <li>1.0: Creation (October 2026)
+ * </ul>
+ *
+ * @author Aurora Ramirez
+ * @author Jose Raul Romero
+ * @author Sebastian Ventura
+ * @version 1.0
+ * @see RelationshipGraph
+ * */
+public class RelationshipGraphTest {
+
+	/** Types of relationships */
+	private static final int [] TYPES = new int[]{RelationshipModel.ASSOCIATION,
+		RelationshipModel.AGGREGATION, RelationshipModel.COMPOSITION, RelationshipModel.GENERALIZATION};
+
+	/** The model */
+	private RelationshipModel model;
+
+	/** The graph */
+	private RelationshipGraph graph;
+
+	@Before
+	public void setUp(){
+		this.model = TestProblem.getInstance().getRelationshipModel();
+		this.graph = this.model.getGraph();
+	}
+
+	@Test
+	public void testNeighbours(){
+		int n = this.model.getNumberOfClasses();
+		assertEquals(n, this.graph.getNumberOfClasses());
+		for(int i=0; i<n; i++){
+			List<Integer> expected = new ArrayList<Integer>();
+			for(int j=0; j<n; j++){
+				if(this.model.areRelated(i, j)){
+					expected.add(j);
+				}
+			}
+			assertEquals(expected.size(), this.graph.getDegree(i));
+			for(int p=0; p<expected.size(); p++){
+				assertEquals((int)expected.get(p), this.graph.getNeighbour(i, p));
+			}
+		}
+	}
+
+	@Test
+	public void testTypedNeighbours(){
+		int n = this.model.getNumberOfClasses();
+		for(int type: TYPES){
+			for(int i=0; i<n; i++){
+				List<Integer> expected = new ArrayList<Integer>();
+				for(int j=0; j<n; j++){
+					if(this.model.areRelated(i, j) && this.model.containsType(i, j, type)){
+						expected.add(j);
+					}
+				}
+				assertEquals(expected.size(), this.graph.getDegree(i, type));
+				for(int p=0; p<expected.size(); p++){
+					assertEquals((int)expected.get(p), this.graph.getNeighbour(i, type, p));
+				}
+			}
+		}
+		// other types have not their own adjacency
+		assertEquals(0, this.graph.getDegree(0, -1));
+	}
+
+	@Test
+	public void testUndirectedNeighbours(){
+		int n = this.model.getNumberOfClasses();
+		for(int i=0; i<n; i++){
+			List<Integer> expected = new ArrayList<Integer>();
+			for(int j=0; j<n; j++){
+				boolean undirected = false;
+				for(int k=0; !undirected && k<this.model.getNumberOfRelationships(i, j); k++){
+					undirected = this.model.isUndirected(i, j, k);
+				}
+				if(undirected){
+					expected.add(j);
+				}
+			}
+			assertEquals(expected.size(), this.graph.getUndirectedDegree(i));
+			for(int p=0; p<expected.size(); p++){
+				assertEquals((int)expected.get(p), this.graph.getUndirectedNeighbour(i, p));
+			}
+		}
+	}
+
+	@Test
+	public void testNavigableNeighbours(){
+		int n = this.model.getNumberOfClasses();
+		for(int i=0; i<n; i++){
+			List<Integer> invokers = new ArrayList<Integer>();
+			List<Integer> invoked = new ArrayList<Integer>();
+			for(int j=0; j<n; j++){
+				if(isInvokedBy(i, j)){
+					invokers.add(j);
+				}
+				if(isInvokedBy(j, i)){
+					invoked.add(j);
+				}
+			}
+			assertEquals(invokers.size(), this.graph.getNumberOfInvokers(i));
+			for(int p=0; p<invokers.size(); p++){
+				assertEquals((int)invokers.get(p), this.graph.getInvoker(i, p));
+			}
+			assertEquals(invoked.size(), this.graph.getNumberOfInvoked(i));
+			for(int p=0; p<invoked.size(); p++){
+				assertEquals((int)invoked.get(p), this.graph.getInvoked(i, p));
+			}
+		}
+	}
+
+	@Test
+	public void testConnectedGroupsPerThread() throws Exception {
+		final ConnectedGroups [] engines = new ConnectedGroups[1];
+		Thread thread = new Thread(){
+			@Override
+			public void run(){
+				engines[0] = graph.getConnectedGroups();
+			}
+		};
+		thread.start();
+		thread.join();
+		assertSame(this.graph.getConnectedGroups(), this.graph.getConnectedGroups());
+		assertNotSame(engines[0], this.graph.getConnectedGroups());
+	}
+
+	/**
+	 * Check if a class is invoked by another class
+	 * @param i The invoked class
+	 * @param j The invoker class
+	 * @return True if some relationship between the classes is navigable from j to i
+	 * */
+	private boolean isInvokedBy(int i, int j){
+		for(int k=0; k<this.model.getNumberOfRelationships(i, j); k++){
+			if(this.model.isInvokedBy(i, j, k)){
+				return true;
+			}
+		}
+		return false;
+	}
+}
@@ -0,0 +1,120 @@
+package net.sf.jclec.sbse.discovery.imo;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import es.uco.kdis.datapro.dataset.Dataset;
+import es.uco.kdis.datapro.dataset.column.MultiIntegerColumn;
+import es.uco.kdis.datapro.datatypes.InvalidValue;
+import es.uco.kdis.datapro.datatypes.MultiIntegerValue;
+
+/**
+ * Tests for the relationship model. Each query is compared
+ * with the value decoded from the relationships dataset, as
+ * the evaluator, the metrics and the operators read it before.
+ *
+ * <p>HISTORY:
+ * <ul>
+ *  <li>1.0: Creation (October 2026)
+ * </ul>
+ *
+ * @author Aurora Ramirez
+ * @author Jose Raul Romero
+ * @author Sebastian Ventura
+ * @version 1.0
+ * @see RelationshipModel
+ * */
+public class RelationshipModelTest {
+
+	/** The relationships dataset */
+	private Dataset dataset;
+
+	/** The model */
+	private RelationshipModel model;
+
+	@Before
+	public void setUp(){
+		this.dataset = TestProblem.getInstance().getDataset();
+		this.model = new RelationshipModel(this.dataset);
+	}
+
+	@Test
+	public void testClassNames(){
+		int n = this.dataset.getColumns().size();
+		assertEquals(n, this.model.getNumberOfClasses());
+		for(int i=0; i<n; i++){
+			String name = this.dataset.getColumn(i).getName();
+			assertEquals(name, this.model.getClassName(i));
+			assertEquals(i, this.model.getClassIndex(name));
+		}
+		assertEquals(-1, this.model.getClassIndex("not a class name"));
+	}
+
+	@Test
+	public void testRelationships(){
+		int n = this.model.getNumberOfClasses();
+		for(int i=0; i<n; i++){
+			MultiIntegerColumn column = (MultiIntegerColumn)this.dataset.getColumn(i);
+			for(int j=0; j<n; j++){
+				Object value = column.getElement(j);
+				assertEquals(!(value instanceof InvalidValue), this.model.areRelated(i, j));
+				if(value instanceof InvalidValue){
+					assertEquals(0, this.model.getNumberOfRelationships(i, j));
+					assertEquals(0, this.model.getNumberOfExternalRelations(i, j));
+				}
+				else{
+					MultiIntegerValue relations = (MultiIntegerValue)value;
+					assertEquals(relations.getSize()/2, this.model.getNumberOfRelationships(i, j));
+					for(int k=0; k<relations.getSize(); k+=2){
+						assertEquals(relations.getValue(k), this.model.getType(i, j, k/2));
+						assertEquals(relations.getValue(k+1), this.model.getNavigability(i, j, k/2));
+						assertTrue(this.model.containsType(i, j, relations.getValue(k)));
+					}
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testSymmetricPairs(){
+		// the navigability in the opposite direction is read from the reverse pair
+		int n = this.model.getNumberOfClasses();
+		for(int i=0; i<n; i++){
+			for(int j=0; j<n; j++){
+				assertEquals(this.model.areRelated(i, j), this.model.areRelated(j, i));
+				assertEquals(this.model.getNumberOfRelationships(i, j), this.model.getNumberOfRelationships(j, i));
+				for(int k=0; k<this.model.getNumberOfRelationships(i, j); k++){
+					assertEquals(this.model.getType(i, j, k), this.model.getType(j, i, k));
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testExternalRelations(){
+		int n = this.model.getNumberOfClasses();
+		double [] umlWeights = new double[]{1, 2, 3, 5};
+		double [] weighted = this.model.computeWeightedExternalRelations(umlWeights);
+		for(int i=0; i<n; i++){
+			for(int j=0; j<n; j++){
+				int external = 0;
+				double weight = 0.0;
+				for(int k=0; k<this.model.getNumberOfRelationships(i, j); k++){
+					boolean undirected = this.model.getNavigability(i, j, k) == this.model.getNavigability(j, i, k);
+					assertEquals(undirected, this.model.isUndirected(i, j, k));
+					assertEquals(this.model.getNavigability(i, j, k) == 1 && this.model.getNavigability(j, i, k) == 0,
+							this.model.isInvokedBy(i, j, k));
+					if(undirected){
+						external++;
+						weight += RelationshipModel.getWeight(this.model.getType(i, j, k), umlWeights);
+					}
+				}
+				assertEquals(external, this.model.getNumberOfExternalRelations(i, j));
+				assertEquals(weight, weighted[i*n+j], 0.0);
+			}
+		}
+	}
+}
@@ -0,0 +1,88 @@
+package net.sf.jclec.sbse.discovery.imo;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import net.sf.jclec.IEvaluator;
+import net.sf.jclec.IIndividual;
+import net.sf.jclec.IPopulation;
+import net.sf.jclec.ISpecies;
+import net.sf.jclec.util.random.IRandGen;
+import net.sf.jclec.util.random.RanecuFactory;
+
+/**
+ * Execution context used by the tests to contextualize
+ * the operators and the creators without an algorithm.
+ * It provides the species and a sequence of random
+ * generators that starts from a given seed, and it
+ * counts the random generators created.
+ *
+ * <p>HISTORY:
+ * <ul>
+ *  <li>1.0: Creation (October 2026)
+ * </ul>
+ *
+ * @author Aurora Ramirez
+ * @author Jose Raul Romero
+ * @author Sebastian Ventura
+ * @version 1.0
+ * */
+public class TestContext implements IPopulation {
+
+	/** Serial ID */
+	private static final long serialVersionUID = -3725719356472193684L;
+
+	/** The species */
+	private ISpecies species;
+
+	/** Factory of random generators */
+	private RanecuFactory factory;
+
+	/** Number of random generators created */
+	private int numberOfRandGens;
+
+	/**
+	 * Parameterized constructor
+	 * @param species The species
+	 * @param seed The seed of the random generators
+	 * */
+	public TestContext(ISpecies species, long seed){
+		this.species = species;
+		this.factory = new RanecuFactory();
+		this.factory.setSeed(seed);
+	}
+
+	/**
+	 * Get the number of random generators created
+	 * @return The number of calls to <code>createRandGen()</code>
+	 * */
+	public synchronized int getNumberOfRandGens(){
+		return this.numberOfRandGens;
+	}
+
+	@Override
+	public synchronized IRandGen createRandGen(){
+		this.numberOfRandGens++;
+		return this.factory.createRandGen();
+	}
+
+	@Override
+	public ISpecies getSpecies(){
+		return this.species;
+	}
+
+	@Override
+	public IEvaluator getEvaluator(){
+		return null;
+	}
+
+	@Override
+	public int getGeneration(){
+		return 0;
+	}
+
+	@Override
+	public List<IIndividual> getInhabitants(){
+		return new ArrayList<IIndividual>();
+	}
+}
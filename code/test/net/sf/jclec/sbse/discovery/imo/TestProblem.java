@@ -0,0 +1,252 @@
+package net.sf.jclec.sbse.discovery.imo;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.commons.configuration.ConfigurationException;
+import org.apache.commons.configuration.XMLConfiguration;
+
+import es.uco.kdis.datapro.dataset.Dataset;
+import es.uco.kdis.dss.databuilders.DiscoveryDataBuilderFromXMI;
+import es.uco.kdis.dss.databuilders.info.UMLClass;
+import net.sf.jclec.IIndividual;
+import net.sf.jclec.mo.evaluation.fitness.MOFitness;
+import net.sf.jclec.sbse.discovery.GeneratedTree;
+import net.sf.jclec.syntaxtree.SyntaxTree;
+import net.sf.jclec.util.random.IRandGen;
+import net.sf.jclec.util.random.RanecuFactory;
+
+/**
+ * Problem instance shared by the tests. The analysis
+ * model is the one used by the configuration files
+ * (<code>data/datapro4j.xmi</code>, relative to the
+ * root of the project), and it is loaded only once.
+ * The species and the evaluators are configured as
+ * <code>InteractiveMOEPAlgorithm</code> does, with
+ * all the metrics of the configuration files.
+ *
+ * <p>HISTORY:
+ * <ul>
+ *  <li>1.0: Creation (October 2026)
+ * </ul>
+ *
+ * @author Aurora Ramirez
+ * @author Jose Raul Romero
+ * @author Sebastian Ventura
+ * @version 1.0
+ * */
+public class TestProblem {
+
+	//////////////////////////////////////////////////////////////////
+	//----------------------------------------------------- Properties
+	//////////////////////////////////////////////////////////////////
+
+	/** Path to the analysis model */
+	public static final String ANALYSIS_MODEL = "data/datapro4j.xmi";
+
+	/** Minimum number of components */
+	public static final int MIN_COMPONENTS = 2;
+
+	/** Maximum number of components */
+	public static final int MAX_COMPONENTS = 6;
+
+	/** The objectives of the evaluator */
+	private static final String OBJECTIVES = 
+			"<objectives>"
+			+ "<objective type=\"net.sf.jclec.sbse.discovery.imo.objectives.ICD\" maximize=\"false\" min=\"0\" max=\"1\"/>"
+			+ "<objective type=\"net.sf.jclec.sbse.discovery.imo.objectives.ERP\" maximize=\"false\" min=\"0\" max=\"1\">"
+			+ "<assoc-weight>1.0</assoc-weight><aggreg-weight>2.0</aggreg-weight>"
+			+ "<compos-weight>3.0</compos-weight><gener-weight>5.0</gener-weight></objective>"
+			+ "<objective type=\"net.sf.jclec.sbse.discovery.imo.objectives.GCR\" maximize=\"false\" min=\"0\" max=\"1\"/>"
+			+ "<objective type=\"net.sf.jclec.sbse.discovery.imo.objectives.CS\" maximize=\"false\" min=\"0\" max=\"1\">"
+			+ "<size-threshold>0.3</size-threshold></objective>"
+			+ "<objective type=\"net.sf.jclec.sbse.discovery.imo.objectives.ABS\" maximize=\"false\" min=\"0\" max=\"1\"/>"
+			+ "<objective type=\"net.sf.jclec.sbse.discovery.imo.objectives.CL\" maximize=\"false\" min=\"0\" max=\"1\">"
+			+ "<link-threshold>8</link-threshold></objective>"
+			+ "<objective type=\"net.sf.jclec.sbse.discovery.imo.objectives.ENC\" maximize=\"false\" min=\"0\" max=\"1\"/>"
+			+ "<objective type=\"net.sf.jclec.sbse.discovery.imo.objectives.INS\" maximize=\"false\" min=\"0\" max=\"1\"/>"
+			+ "<objective type=\"net.sf.jclec.sbse.discovery.imo.objectives.CB\" maximize=\"false\" min=\"0\" max=\"1\"/>"
+			+ "</objectives>";
+
+	/** The shared instance */
+	private static TestProblem instance;
+
+	/** The relationships dataset */
+	private Dataset dataset;
+
+	/** The list of classes */
+	private ArrayList<UMLClass> classesList;
+
+	/** The relationship model */
+	private RelationshipModel relationships;
+
+	//////////////////////////////////////////////////////////////////
+	//---------------------------------------------------- Constructor
+	//////////////////////////////////////////////////////////////////
+
+	/**
+	 * Private constructor, it builds the datasets
+	 * */
+	private TestProblem(){
+		DiscoveryDataBuilderFromXMI builder = new DiscoveryDataBuilderFromXMI(ANALYSIS_MODEL);
+		builder.buildDatasets();
+		this.dataset = builder.getRelationshipsDataset();
+		this.classesList = builder.getClasses();
+		this.relationships = new RelationshipModel(this.dataset);
+	}
+
+	//////////////////////////////////////////////////////////////////
+	//------------------------------------------------- Public methods
+	//////////////////////////////////////////////////////////////////
+
+	/**
+	 * Get the shared instance
+	 * @return The problem instance
+	 * */
+	public static synchronized TestProblem getInstance(){
+		if(instance == null){
+			instance = new TestProblem();
+		}
+		return instance;
+	}
+
+	/**
+	 * Get the relationships dataset
+	 * @return The dataset
+	 * */
+	public Dataset getDataset(){
+		return this.dataset;
+	}
+
+	/**
+	 * Get the list of classes
+	 * @return The classes of the analysis model
+	 * */
+	public ArrayList<UMLClass> getClassesList(){
+		return this.classesList;
+	}
+
+	/**
+	 * Get the relationship model
+	 * @return The model decoded from the dataset
+	 * */
+	public RelationshipModel getRelationshipModel(){
+		return this.relationships;
+	}
+
+	/**
+	 * Create a species with its genotype schema
+	 * @return The configured species
+	 * */
+	public InteractiveMOSpecies createSpecies(){
+		InteractiveMOSpecies species = new InteractiveMOSpecies();
+		species.setDataset(this.dataset);
+		species.setClassesList(this.classesList);
+		species.setRelationshipModel(this.relationships);
+		species.setConstraints(MIN_COMPONENTS, MAX_COMPONENTS);
+		return species;
+	}
+
+	/**
+	 * Create an evaluator
+	 * @param species The species, used to compute the maximum number of interfaces
+	 * @param settings Other settings of the evaluator, in XML
+	 * @return The configured evaluator
+	 * */
+	public InteractiveMOEvaluator createEvaluator(InteractiveMOSpecies species, String settings){
+		XMLConfiguration configuration = new XMLConfiguration();
+		try {
+			configuration.load(new StringReader("<evaluator>" + OBJECTIVES + settings + "</evaluator>"));
+		} catch (ConfigurationException e) {
+			throw new IllegalStateException(e);
+		}
+		InteractiveMOEvaluator evaluator = new InteractiveMOEvaluator();
+		evaluator.configure(configuration);
+		evaluator.setFitnessPrototype(new InteractiveMOFitness());
+		evaluator.setRelationshipsDataset(this.dataset);
+		evaluator.setClassesList(this.classesList);
+		evaluator.setRelationshipModel(this.relationships);
+		int maxInterfaces = (species.getGenotypeSchema().getTerminals().length 
+				- species.getGenotypeSchema().getNumOfClasses())/2;
+		evaluator.setProblemCharacteristics(MIN_COMPONENTS, MAX_COMPONENTS, maxInterfaces);
+		evaluator.setObjectiveMaxValues();
+		return evaluator;
+	}
+
+	/**
+	 * Create a random generator
+	 * @param seed The seed
+	 * @return A generator that always returns the same sequence for the same seed
+	 * */
+	public static IRandGen createRandGen(long seed){
+		RanecuFactory factory = new RanecuFactory();
+		factory.setSeed(seed);
+		return factory.createRandGen();
+	}
+
+	/**
+	 * Create a random individual
+	 * @param species The species
+	 * @param randgen The random generator
+	 * @return The new individual, not evaluated
+	 * */
+	public InteractiveMOIndividual createIndividual(InteractiveMOSpecies species, IRandGen randgen){
+		InteractiveMOSchema schema = (InteractiveMOSchema)species.getGenotypeSchema();
+		int numberOfComponents = randgen.choose(MIN_COMPONENTS, MAX_COMPONENTS+1);
+		GeneratedTree tree = schema.createSyntaxTree(numberOfComponents, randgen);
+		return (InteractiveMOIndividual)species.createIndividual(tree.getTree(), tree.getClassesDistribution());
+	}
+
+	/**
+	 * Create a list of random individuals
+	 * @param species The species
+	 * @param randgen The random generator
+	 * @param size The number of individuals
+	 * @return The new individuals, not evaluated
+	 * */
+	public List<IIndividual> createIndividuals(InteractiveMOSpecies species, IRandGen randgen, int size){
+		List<IIndividual> individuals = new ArrayList<IIndividual>();
+		for(int i=0; i<size; i++){
+			individuals.add(createIndividual(species, randgen));
+		}
+		return individuals;
+	}
+
+	/**
+	 * Check that two evaluations of the same architecture are equal
+	 * @param expected The reference individual
+	 * @param actual The individual to be checked
+	 * @param delta The tolerance, 0 if the values should be identical
+	 * */
+	public static void assertSameEvaluation(InteractiveMOIndividual expected, InteractiveMOIndividual actual, double delta)
+			throws Exception {
+		MOFitness expectedFitness = (MOFitness)expected.getFitness();
+		MOFitness actualFitness = (MOFitness)actual.getFitness();
+		int nObjs = expectedFitness.getNumberOfObjectives();
+		int nComps = expected.getNumberOfComponents();
+		assertEquals(nObjs, actualFitness.getNumberOfObjectives());
+		assertEquals(nComps, actual.getNumberOfComponents());
+		for(int i=0; i<nObjs; i++){
+			assertEquals(expectedFitness.getObjectiveDoubleValue(i), actualFitness.getObjectiveDoubleValue(i), delta);
+			for(int c=0; c<nComps; c++){
+				assertEquals(expected.getComponentMeasure(i, c), actual.getComponentMeasure(i, c), delta);
+			}
+		}
+		assertEquals(expected.degreeOfInfeasibility(), actual.degreeOfInfeasibility(), 0.0);
+	}
+
+	/**
+	 * Check that two syntax trees have the same sequence of symbols
+	 * @param expected The reference tree
+	 * @param actual The tree to be checked
+	 * */
+	public static void assertSameTree(SyntaxTree expected, SyntaxTree actual){
+		assertEquals(expected.size(), actual.size());
+		for(int i=0; i<expected.size(); i++){
+			assertEquals("Node " + i, expected.getNode(i).getSymbol(), actual.getNode(i).getSymbol());
+		}
+	}
+}
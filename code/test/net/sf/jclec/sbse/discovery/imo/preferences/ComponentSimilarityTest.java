@@ -0,0 +1,128 @@
+package net.sf.jclec.sbse.discovery.imo.preferences;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import net.sf.jclec.IIndividual;
+import net.sf.jclec.sbse.discovery.TerminalNode;
+import net.sf.jclec.sbse.discovery.imo.InteractiveMOIndividual;
+import net.sf.jclec.sbse.discovery.imo.InteractiveMOSpecies;
+import net.sf.jclec.sbse.discovery.imo.TestProblem;
+import net.sf.jclec.syntaxtree.SyntaxTree;
+import net.sf.jclec.syntaxtree.SyntaxTreeNode;
+import net.sf.jclec.util.random.IRandGen;
+
+/**
+ * Tests for the similarity between components. The Jaccard
+ * index computed over the bitsets of classes must be the one
+ * computed over the lists of class names, for each component
+ * of the individuals, and the preferences whose classes have
+ * no index (built from names or from plain terminal nodes)
+ * must give the same values than those built from the trees.
+ *
+ * <p>HISTORY:
+ * <ul>
+ *  <li>1.0: Creation (October 2026)
+ * </ul>
+ *
+ * @author Aurora Ramirez
+ * @author Jose Raul Romero
+ * @author Sebastian Ventura
+ * @version 1.0
+ * @see SimilarityBestComponent
+ * @see DissimilarityWorstComponent
+ * */
+public class ComponentSimilarityTest {
+
+	/** Seed of the random generator */
+	private static final long SEED = 271828182;
+
+	/** Number of individuals */
+	private static final int SIZE = 100;
+
+	/** Number of reference components */
+	private static final int REFERENCES = 20;
+
+	/** The individuals */
+	private List<IIndividual> individuals;
+
+	/** The subtrees of the reference components */
+	private List<SyntaxTree> references;
+
+	@Before
+	public void setUp(){
+		TestProblem problem = TestProblem.getInstance();
+		InteractiveMOSpecies species = problem.createSpecies();
+		IRandGen randgen = TestProblem.createRandGen(SEED);
+		this.individuals = problem.createIndividuals(species, randgen, SIZE);
+		this.references = new ArrayList<SyntaxTree>();
+		for(int r=0; r<REFERENCES; r++){
+			InteractiveMOIndividual ind = (InteractiveMOIndividual)this.individuals.get(randgen.choose(0, SIZE));
+			this.references.add(ind.getComponentTree(randgen.choose(0, ind.getNumberOfComponents())));
+		}
+	}
+
+	@Test
+	public void testBitsetEqualsNames(){
+		for(SyntaxTree reference: this.references){
+			SimilarityBestComponent preference = new SimilarityBestComponent(reference);
+			assertNotNull(preference.classSet);
+			for(IIndividual ind: this.individuals){
+				InteractiveMOIndividual individual = (InteractiveMOIndividual)ind;
+				long [][] classes = individual.getComponentClasses();
+				for(int c=0; c<individual.getNumberOfComponents(); c++){
+					ArrayList<String> names = preference.extractClasses(individual.getGenotype(), c);
+					assertEquals(preference.similarity(names), preference.similarity(classes[c]), 0.0);
+					assertEquals(preference.similarity(names), preference.similarity(individual, c), 0.0);
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testPreferencesWithoutIndexes(){
+		for(SyntaxTree reference: this.references){
+			SimilarityBestComponent best = new SimilarityBestComponent(reference);
+			DissimilarityWorstComponent worst = new DissimilarityWorstComponent(reference);
+			SimilarityBestComponent bestByNames = new SimilarityBestComponent(best.extractClasses(reference, 0));
+			DissimilarityWorstComponent worstByNames = new DissimilarityWorstComponent(best.extractClasses(reference, 0));
+			SimilarityBestComponent bestByPlainNodes = new SimilarityBestComponent(plain(reference));
+			DissimilarityWorstComponent worstByPlainNodes = new DissimilarityWorstComponent(plain(reference));
+			assertNull(bestByNames.classSet);
+			assertNull(bestByPlainNodes.classSet);
+			assertNull(worstByPlainNodes.classSet);
+
+			for(IIndividual ind: this.individuals){
+				InteractiveMOIndividual individual = (InteractiveMOIndividual)ind;
+				double expected = best.evaluatePreference(individual);
+				assertEquals(expected, bestByNames.evaluatePreference(individual), 0.0);
+				assertEquals(expected, bestByPlainNodes.evaluatePreference(individual), 0.0);
+				expected = worst.evaluatePreference(individual);
+				assertEquals(expected, worstByNames.evaluatePreference(individual), 0.0);
+				assertEquals(expected, worstByPlainNodes.evaluatePreference(individual), 0.0);
+			}
+		}
+	}
+
+	/**
+	 * Copy a subtree replacing its terminal nodes
+	 * by nodes that only keep the symbol
+	 * @param tree The subtree
+	 * @return The copy, whose classes have no index
+	 * */
+	private SyntaxTree plain(SyntaxTree tree){
+		SyntaxTree copy = new SyntaxTree();
+		for(int i=0; i<tree.size(); i++){
+			SyntaxTreeNode node = tree.getNode(i);
+			copy.addNode(node.arity() == 0 ? new TerminalNode(node.getSymbol()) : node);
+		}
+		return copy;
+	}
+}
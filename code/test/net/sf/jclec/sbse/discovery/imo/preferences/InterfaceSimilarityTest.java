@@ -0,0 +1,193 @@
+package net.sf.jclec.sbse.discovery.imo.preferences;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import net.sf.jclec.IIndividual;
+import net.sf.jclec.sbse.discovery.imo.InteractiveMOIndividual;
+import net.sf.jclec.sbse.discovery.imo.InteractiveMOSpecies;
+import net.sf.jclec.sbse.discovery.imo.TestProblem;
+import net.sf.jclec.util.random.IRandGen;
+
+/**
+ * Tests for the similarity between interfaces. The Jaccard
+ * index computed over the identifiers of the operations stored
+ * in the catalogs must be the one computed over the symbols that
+ * <code>extractOperations</code> obtains from the genotypes, also
+ * when the same preference is evaluated on individuals whose
+ * schemas have different tables of operations.
+ *
+ * <p>HISTORY:
+ * <ul>
+ *  <li>1.0: Creation (October 2026)
+ * </ul>
+ *
+ * @author Aurora Ramirez
+ * @author Jose Raul Romero
+ * @author Sebastian Ventura
+ * @version 1.0
+ * @see SimilarityBestInterface
+ * @see DissimilarityWorstInterface
+ * */
+public class InterfaceSimilarityTest {
+
+	/** Seed of the random generator */
+	private static final long SEED = 173205080;
+
+	/** Number of individuals */
+	private static final int SIZE = 100;
+
+	/** Number of reference interfaces */
+	private static final int REFERENCES = 20;
+
+	/** The individuals */
+	private List<IIndividual> individuals;
+
+	/** The individuals of a species with other schema */
+	private List<IIndividual> otherIndividuals;
+
+	/** The preferences for the best interfaces */
+	private List<SimilarityBestInterface> bestPreferences;
+
+	/** The preferences for the worst interfaces */
+	private List<DissimilarityWorstInterface> worstPreferences;
+
+	@Before
+	public void setUp(){
+		TestProblem problem = TestProblem.getInstance();
+		InteractiveMOSpecies species = problem.createSpecies();
+		InteractiveMOSpecies otherSpecies = problem.createSpecies();
+		IRandGen randgen = TestProblem.createRandGen(SEED);
+		this.individuals = problem.createIndividuals(species, randgen, SIZE);
+		this.otherIndividuals = problem.createIndividuals(otherSpecies, randgen, SIZE);
+		this.bestPreferences = new ArrayList<SimilarityBestInterface>();
+		this.worstPreferences = new ArrayList<DissimilarityWorstInterface>();
+		while(this.bestPreferences.size() < REFERENCES){
+			InteractiveMOIndividual ind = (InteractiveMOIndividual)this.individuals.get(randgen.choose(0, SIZE));
+			int component = randgen.choose(0, ind.getNumberOfComponents());
+			if(ind.getNumberOfProvided(component) > 0){
+				int index = randgen.choose(0, ind.getNumberOfProvided(component));
+				SimilarityBestInterface best = new SimilarityBestInterface();
+				best.setInterfaceSubTree(ind.getComponentTree(component), index);
+				this.bestPreferences.add(best);
+				DissimilarityWorstInterface worst = new DissimilarityWorstInterface();
+				worst.setInterfaceSubTree(ind.getComponentTree(component), index);
+				this.worstPreferences.add(worst);
+			}
+		}
+	}
+
+	@Test
+	public void testIdsEqualsSymbols(){
+		for(SimilarityBestInterface preference: this.bestPreferences){
+			assertTrue(preference.setOfOperations.size() > 0);
+			check(preference, this.individuals);
+		}
+	}
+
+	@Test
+	public void testOtherTables(){
+		// the identifiers are computed again for each table
+		for(SimilarityBestInterface preference: this.bestPreferences){
+			check(preference, this.individuals);
+			check(preference, this.otherIndividuals);
+			check(preference, this.individuals);
+		}
+	}
+
+	@Test
+	public void testPreferenceValues(){
+		for(int p=0; p<REFERENCES; p++){
+			SimilarityBestInterface best = this.bestPreferences.get(p);
+			DissimilarityWorstInterface worst = this.worstPreferences.get(p);
+			SimilarityBestInterface bestByNames = new SimilarityBestInterface(best.setOfOperations);
+			DissimilarityWorstInterface worstByNames = new DissimilarityWorstInterface(best.setOfOperations);
+			List<IIndividual> all = new ArrayList<IIndividual>(this.individuals);
+			all.addAll(this.otherIndividuals);
+			for(IIndividual ind: all){
+				InteractiveMOIndividual individual = (InteractiveMOIndividual)ind;
+				assertEquals(bestValue(best, individual), best.evaluatePreference(individual), 0.0);
+				assertEquals(bestValue(best, individual), bestByNames.evaluatePreference(individual), 0.0);
+				assertEquals(worstValue(worst, individual), worst.evaluatePreference(individual), 0.0);
+				assertEquals(worstValue(worst, individual), worstByNames.evaluatePreference(individual), 0.0);
+			}
+		}
+	}
+
+	/**
+	 * Compare the similarity computed over the catalogs with the
+	 * similarity computed over the symbols for each provided
+	 * interface of the individuals, and for the positions of the
+	 * interfaces of the first component, which the preferences visit
+	 * @param preference The preference
+	 * @param individuals The individuals
+	 * */
+	private void check(SimilarityBestInterface preference, List<IIndividual> individuals){
+		for(IIndividual ind: individuals){
+			InteractiveMOIndividual individual = (InteractiveMOIndividual)ind;
+			for(int c=0; c<individual.getNumberOfComponents(); c++){
+				int n = Math.max(individual.getNumberOfProvided(c), individual.getNumberOfProvided(0));
+				for(int j=0; j<n; j++){
+					ArrayList<String> operations = preference.extractOperations(individual.getGenotype(), c, j, false);
+					assertEquals(preference.similarity(operations),
+							preference.similarity(individual.getInterfaceCatalog(), c, j), 0.0);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Compute the value of a best interface preference
+	 * over the symbols of the genotype. As the preference,
+	 * it visits the number of provided interfaces of the
+	 * first component in all the components.
+	 * @param preference The preference
+	 * @param individual The individual
+	 * @return The value of the preference
+	 * */
+	private double bestValue(SimilarityBestInterface preference, InteractiveMOIndividual individual){
+		double maxSimilarity = Double.NEGATIVE_INFINITY;
+		for(int c=0; c<individual.getNumberOfComponents(); c++){
+			if(individual.getNumberOfProvided(0) > 0){
+				for(int j=0; j<individual.getNumberOfProvided(0); j++){
+					maxSimilarity = Math.max(maxSimilarity,
+							preference.similarity(preference.extractOperations(individual.getGenotype(), c, j, false)));
+				}
+			}
+			else{
+				maxSimilarity = 0.0;
+			}
+		}
+		return maxSimilarity;
+	}
+
+	/**
+	 * Compute the value of a worst interface preference
+	 * over the symbols of the genotype, visiting the same
+	 * interfaces than the preference
+	 * @param preference The preference
+	 * @param individual The individual
+	 * @return The value of the preference
+	 * */
+	private double worstValue(DissimilarityWorstInterface preference, InteractiveMOIndividual individual){
+		double minDissimilarity = Double.POSITIVE_INFINITY;
+		for(int c=0; c<individual.getNumberOfComponents(); c++){
+			if(individual.getNumberOfProvided(0) > 0){
+				for(int j=0; j<individual.getNumberOfProvided(0); j++){
+					minDissimilarity = Math.min(minDissimilarity,
+							1 - preference.similarity(preference.extractOperations(individual.getGenotype(), c, j, false)));
+				}
+			}
+			else{
+				minDissimilarity = 0.0;
+			}
+		}
+		return minDissimilarity;
+	}
+}
@@ -0,0 +1,188 @@
+package net.sf.jclec.sbse.discovery.imo.preferences;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import net.sf.jclec.IIndividual;
+import net.sf.jclec.mo.evaluation.fitness.MOFitness;
+import net.sf.jclec.sbse.discovery.imo.InteractiveMOEvaluator;
+import net.sf.jclec.sbse.discovery.imo.InteractiveMOIndividual;
+import net.sf.jclec.sbse.discovery.imo.InteractiveMOSpecies;
+import net.sf.jclec.sbse.discovery.imo.TestProblem;
+import net.sf.jclec.syntaxtree.SyntaxTree;
+import net.sf.jclec.util.random.IRandGen;
+
+/**
+ * Tests for the plan of preferences. The value of each preference
+ * in the plan is compared with its <code>evaluatePreference</code>
+ * method and, for the component and interface preferences, with
+ * the scans of the genotype that these methods ran before: the
+ * classes and the operations are extracted from the syntax tree
+ * and compared as lists of symbols.
+ *
+ * <p>HISTORY:
+ * <ul>
+ *  <li>1.0: Creation (October 2026)
+ * </ul>
+ *
+ * @author Aurora Ramirez
+ * @author Jose Raul Romero
+ * @author Sebastian Ventura
+ * @version 1.0
+ * @see PreferencePlan
+ * */
+public class PreferencePlanTest {
+
+	/** Seed of the random generator */
+	private static final long SEED = 192837465;
+
+	/** Number of individuals */
+	private static final int SIZE = 100;
+
+	/** Number of individuals used to define the preferences */
+	private static final int REFERENCES = 4;
+
+	/** The individuals */
+	private List<IIndividual> individuals;
+
+	/** The preferences */
+	private List<ArchitecturalPreference> preferences;
+
+	@Before
+	public void setUp(){
+		TestProblem problem = TestProblem.getInstance();
+		InteractiveMOSpecies species = problem.createSpecies();
+		InteractiveMOEvaluator evaluator = problem.createEvaluator(species, "<fused-evaluation>false</fused-evaluation>");
+		IRandGen randgen = TestProblem.createRandGen(SEED);
+
+		this.individuals = problem.createIndividuals(species, randgen, SIZE);
+		evaluator.evaluate(this.individuals);
+		int nObjs = ((MOFitness)this.individuals.get(0).getFitness()).getNumberOfObjectives();
+
+		// Preferences of each type, defined from some of the individuals
+		this.preferences = new ArrayList<ArchitecturalPreference>();
+		for(int r=0; r<REFERENCES; r++){
+			InteractiveMOIndividual ind = (InteractiveMOIndividual)this.individuals.get(randgen.choose(0, SIZE));
+			int component = randgen.choose(0, ind.getNumberOfComponents());
+
+			SimilarityBestComponent best = new SimilarityBestComponent();
+			best.setComponentSubTree(ind.getComponentTree(component));
+			this.preferences.add(best);
+			DissimilarityWorstComponent worst = new DissimilarityWorstComponent();
+			worst.setComponentSubTree(ind.getComponentTree(component));
+			this.preferences.add(worst);
+
+			if(ind.getNumberOfProvided(component) > 0){
+				int index = randgen.choose(0, ind.getNumberOfProvided(component));
+				SimilarityBestInterface bestInterface = new SimilarityBestInterface();
+				bestInterface.setInterfaceSubTree(ind.getComponentTree(component), index);
+				this.preferences.add(bestInterface);
+				DissimilarityWorstInterface worstInterface = new DissimilarityWorstInterface();
+				worstInterface.setInterfaceSubTree(ind.getComponentTree(component), index);
+				this.preferences.add(worstInterface);
+			}
+
+			double min = randgen.uniform(0.0, 0.5);
+			this.preferences.add(new SimilarityMeasureInRange(randgen.choose(0, nObjs), min, min + randgen.uniform(0.0, 0.5)));
+			double [] point = new double[nObjs];
+			double [] weights = new double[nObjs];
+			for(int j=0; j<nObjs; j++){
+				point[j] = randgen.uniform(0.0, 1.0);
+				weights[j] = 1.0/nObjs;
+			}
+			this.preferences.add(new SimilarityReferencePoint(point, weights));
+			this.preferences.add(new SimilarityNumberComponents(TestProblem.MIN_COMPONENTS, TestProblem.MAX_COMPONENTS, 
+					randgen.choose(TestProblem.MIN_COMPONENTS+1, TestProblem.MAX_COMPONENTS)));
+		}
+	}
+
+	@Test
+	public void testPlanEqualsPreferences(){
+		PreferencePlan plan = new PreferencePlan(this.preferences, 0, this.preferences.size());
+		assertEquals(this.preferences.size(), plan.size());
+		for(IIndividual ind: this.individuals){
+			double [] values = plan.evaluate((InteractiveMOIndividual)ind);
+			for(int p=0; p<values.length; p++){
+				assertEquals(this.preferences.get(p).evaluatePreference((InteractiveMOIndividual)ind), values[p], 0.0);
+			}
+		}
+	}
+
+	@Test
+	public void testPlanEqualsGenotypeScans(){
+		PreferencePlan plan = new PreferencePlan(this.preferences, 0, this.preferences.size());
+		for(IIndividual ind: this.individuals){
+			double [] values = plan.evaluate((InteractiveMOIndividual)ind);
+			for(int p=0; p<values.length; p++){
+				ArchitecturalPreference preference = this.preferences.get(p);
+				if(preference instanceof SimilarityBestComponent){
+					assertEquals(scanComponents((SimilarityBestComponent)preference, (InteractiveMOIndividual)ind), values[p], 0.0);
+				}
+				else if(preference instanceof SimilarityBestInterface){
+					assertEquals(scanInterfaces((SimilarityBestInterface)preference, (InteractiveMOIndividual)ind), values[p], 0.0);
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testPartialPlan(){
+		int from = 1, to = this.preferences.size()-1;
+		PreferencePlan plan = new PreferencePlan(this.preferences, from, to);
+		assertEquals(to-from, plan.size());
+		for(IIndividual ind: this.individuals){
+			double [] values = plan.evaluate((InteractiveMOIndividual)ind);
+			for(int p=0; p<values.length; p++){
+				assertEquals(this.preferences.get(from+p).evaluatePreference((InteractiveMOIndividual)ind), values[p], 0.0);
+			}
+		}
+	}
+
+	/**
+	 * Evaluate a component preference extracting the classes of each component from the genotype
+	 * @param preference The preference
+	 * @param individual The individual
+	 * @return The best similarity, or the worst dissimilarity
+	 * */
+	private double scanComponents(SimilarityBestComponent preference, InteractiveMOIndividual individual){
+		boolean worst = preference instanceof DissimilarityWorstComponent;
+		double value = worst ? Double.POSITIVE_INFINITY : Double.NEGATIVE_INFINITY;
+		SyntaxTree genotype = individual.getGenotype();
+		for(int i=0; i<individual.getNumberOfComponents(); i++){
+			double similarity = preference.similarity(preference.extractClasses(genotype, i));
+			value = worst ? Math.min(value, 1.0 - similarity) : Math.max(value, similarity);
+		}
+		return value;
+	}
+
+	/**
+	 * Evaluate an interface preference extracting the operations of each interface from the genotype
+	 * @param preference The preference
+	 * @param individual The individual
+	 * @return The best similarity, or the worst dissimilarity
+	 * */
+	private double scanInterfaces(SimilarityBestInterface preference, InteractiveMOIndividual individual){
+		boolean worst = preference instanceof DissimilarityWorstInterface;
+		double value = worst ? Double.POSITIVE_INFINITY : Double.NEGATIVE_INFINITY;
+		SyntaxTree genotype = individual.getGenotype();
+		// the number of provided interfaces is read from the first component, as before
+		int numberOfProvInterfaces = individual.getNumberOfProvided(0);
+		for(int i=0; i<individual.getNumberOfComponents(); i++){
+			if(numberOfProvInterfaces > 0){
+				for(int j=0; j<numberOfProvInterfaces; j++){
+					double similarity = preference.similarity(preference.extractOperations(genotype, i, j, false));
+					value = worst ? Math.min(value, 1 - similarity) : Math.max(value, similarity);
+				}
+			}
+			else{
+				value = 0.0;
+			}
+		}
+		return value;
+	}
+}